@@ -1,3 +1,7 @@
+-- Script de criação manual do banco. As alterações de esquema (ex: índices) ficam versionadas
+-- em src/main/resources/db/migration e são aplicadas automaticamente pela aplicação ao iniciar
+-- (SchemaMigrator). Basta criar o banco vazio (CREATE DATABASE abaixo); V1__baseline.sql
+-- equivale ao restante deste script.
 -- Define o banco de dados a ser utilizado. Se não existir, ele será criado.
 CREATE DATABASE IF NOT EXISTS gestao_projetos_db;
 -- Seleciona o banco de dados para as operações seguintes.
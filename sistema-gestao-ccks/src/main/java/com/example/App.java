@@ -1,18 +1,70 @@
 package com.example;
 
+import com.example.dao.ChangeFeed;
+import com.example.dao.EntityCaches;
+import com.example.service.JobScheduler;
+import com.example.service.SearchService;
+import com.example.util.DatabaseConnection;
+import com.example.util.SchemaMigrator;
 import java.net.URL;
+import java.sql.Connection;
+import java.sql.SQLException;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 
 import java.io.IOException;
 
 public class App extends Application {
 
+    // Permite desligar a migração automática (ex: quando o esquema é gerenciado por um DBA).
+    private static final boolean MIGRATE_ON_STARTUP =
+            Boolean.parseBoolean(System.getProperty("gestao.migrate.enabled", "true"));
+
+    private SQLException migrationError;
+
+    /**
+     * Leva o esquema do banco à versão atual antes de abrir a primeira tela.
+     * Roda na thread de inicialização do JavaFX, fora da thread da interface.
+     */
+    @Override
+    public void init() {
+        if (!MIGRATE_ON_STARTUP) {
+            return;
+        }
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                // Banco inacessível: a tela de login informará o erro ao tentar autenticar.
+                return;
+            }
+            new SchemaMigrator().migrate(conn);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            migrationError = e;
+        }
+    }
+
     @Override
     public void start(Stage stage) {
+        if (migrationError != null) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Erro de Banco de Dados");
+            alert.setHeaderText("Não foi possível atualizar o esquema do banco de dados.");
+            alert.setContentText(migrationError.getMessage());
+            alert.showAndWait();
+            Platform.exit();
+            return;
+        }
+        // Acompanha as alterações gravadas por outras instâncias para atualizar as telas abertas.
+        ChangeFeed.startPolling();
+        // O índice de busca se inscreve antes das telas, para receber cada alteração antes delas.
+        SearchService.start();
+        // Atraso das tarefas, percentual concluído e status dos projetos, gravados para as telas lerem prontos.
+        JobScheduler.start();
         try {
             // Carrega a tela de login a partir do FXML
             URL fxmlUrl = getClass().getResource("/com/example/ui/Login.fxml");
@@ -32,6 +84,21 @@ public class App extends Application {
         }
     }
 
+    @Override
+    public void stop() {
+        JobScheduler.stop();
+        SearchService.stop();
+        ChangeFeed.stopPolling();
+        if (Boolean.getBoolean("gestao.debug")) {
+            EntityCaches.stats().forEach(stats -> System.out.printf(
+                    "Cache %s: %d acertos, %d falhas (%.0f%%), %d descartes, %d entradas%n",
+                    stats.name(), stats.hits(), stats.misses(), stats.hitRate() * 100,
+                    stats.evictions(), stats.size()));
+        }
+        // Fecha as conexões mantidas abertas pelo pool ao encerrar a aplicação.
+        DatabaseConnection.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
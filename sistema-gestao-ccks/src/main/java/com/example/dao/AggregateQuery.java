@@ -0,0 +1,116 @@
+package com.example.dao;
+
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caminho comum para consultas de agregação ("projeções" de contagem) usadas pelos gráficos
+ * e indicadores. Em vez de carregar listas de entidades só para contá-las, os DAOs enviam um
+ * {@code SELECT ... COUNT(*) ... GROUP BY} e recebem apenas os números.
+ *
+ * As consultas seguem uma convenção de colunas: a(s) chave(s) de agrupamento vêm primeiro
+ * e a contagem vem por último.
+ */
+final class AggregateQuery {
+
+    private AggregateQuery() {
+    }
+
+    /**
+     * Executa uma consulta no formato {@code SELECT chave_int, COUNT(*) ... GROUP BY chave_int}.
+     * @param sql A consulta de agregação.
+     * @return Um mapa chave → contagem. Chaves sem linhas não aparecem no mapa.
+     */
+    static Map<Integer, Integer> countByInt(String sql) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                counts.put(rs.getInt(1), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
+    /**
+     * Executa uma consulta no formato {@code SELECT coluna_enum, COUNT(*) ... GROUP BY coluna_enum}.
+     * @param sql A consulta de agregação.
+     * @param enumType O tipo do enum armazenado na coluna (ex: TaskStatus).
+     * @return Um mapa com a contagem de cada valor; valores sem linhas recebem zero.
+     */
+    static <E extends Enum<E>> Map<E, Integer> countByEnum(String sql, Class<E> enumType) {
+        Map<E, Integer> counts = zeroedEnumMap(enumType);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                counts.put(Enum.valueOf(enumType, rs.getString(1)), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
+    /**
+     * Executa uma consulta no formato
+     * {@code SELECT chave_int, coluna_enum, COUNT(*) ... GROUP BY chave_int, coluna_enum}.
+     * @param sql A consulta de agregação.
+     * @param enumType O tipo do enum armazenado na segunda coluna.
+     * @return Um mapa chave → (valor do enum → contagem).
+     */
+    static <E extends Enum<E>> Map<Integer, Map<E, Integer>> countByIntAndEnum(String sql, Class<E> enumType) {
+        Map<Integer, Map<E, Integer>> counts = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                counts.computeIfAbsent(rs.getInt(1), key -> zeroedEnumMap(enumType))
+                      .put(Enum.valueOf(enumType, rs.getString(2)), rs.getInt(3));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
+    /**
+     * Executa uma consulta que retorna um único número (ex: {@code SELECT COUNT(*) ...}).
+     * @param sql A consulta escalar.
+     * @return O valor da primeira coluna da primeira linha, ou 0 se não houver linhas.
+     */
+    static int count(String sql) {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> zeroedEnumMap(Class<E> enumType) {
+        Map<E, Integer> map = new EnumMap<>(enumType);
+        for (E value : enumType.getEnumConstants()) {
+            map.put(value, 0);
+        }
+        return map;
+    }
+}
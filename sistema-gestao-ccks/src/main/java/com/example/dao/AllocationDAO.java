@@ -0,0 +1,112 @@
+package com.example.dao;
+
+import com.example.model.TaskStatus;
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO de leitura para a análise de alocação: o período de cada tarefa atribuída e as equipes
+ * alocadas em cada projeto. Como o {@link DashboardDAO}, lê só as colunas necessárias.
+ */
+public class AllocationDAO {
+
+    // O período em que a tarefa ocupa o responsável: as datas reais, quando existem; senão, as
+    // planejadas. Uma tarefa com só uma das pontas vira um período de um dia.
+    private static final String ASSIGNMENT_COLUMNS =
+            "SELECT t.id, t.responsible_id, t.project_id, t.status, " +
+            "COALESCE(t.actual_start_date, t.planned_start_date, t.actual_end_date, t.planned_end_date) AS start_date, " +
+            "COALESCE(t.actual_end_date, t.planned_end_date, t.actual_start_date, t.planned_start_date) AS end_date " +
+            "FROM tasks t ";
+
+    private static final String HAS_PERIOD =
+            "(t.planned_start_date IS NOT NULL OR t.planned_end_date IS NOT NULL " +
+            "OR t.actual_start_date IS NOT NULL OR t.actual_end_date IS NOT NULL)";
+
+    static final String ASSIGNMENTS_SQL =
+            ASSIGNMENT_COLUMNS + "WHERE t.responsible_id IS NOT NULL AND " + HAS_PERIOD;
+
+    // Só as tarefas dos membros da equipe (idx_tasks_responsible_end_date atende à junção).
+    static final String TEAM_ASSIGNMENTS_SQL =
+            ASSIGNMENT_COLUMNS + "JOIN team_members m ON m.user_id = t.responsible_id " +
+            "WHERE m.team_id = ? AND " + HAS_PERIOD;
+
+    static final String PROJECT_TEAMS_SQL = "SELECT project_id, team_id FROM project_teams";
+
+    /**
+     * Uma tarefa atribuída e o período em que ela ocupa o responsável.
+     * @param start O primeiro dia do período.
+     * @param end O último dia do período, inclusive (nunca antes de {@code start} em dados válidos).
+     */
+    public record Assignment(int taskId, int responsibleId, int projectId, TaskStatus status,
+                             LocalDate start, LocalDate end) {
+    }
+
+    /**
+     * Lê todas as tarefas atribuídas a alguém e com alguma data.
+     * @return As tarefas, ou null em caso de erro.
+     */
+    public List<Assignment> getAssignments() {
+        return queryAssignments(ASSIGNMENTS_SQL, null);
+    }
+
+    /**
+     * Lê as tarefas atribuídas aos membros da equipe (em todos os projetos, não só nos da equipe).
+     * @return As tarefas, ou null em caso de erro.
+     */
+    public List<Assignment> getTeamAssignments(int teamId) {
+        return queryAssignments(TEAM_ASSIGNMENTS_SQL, teamId);
+    }
+
+    private List<Assignment> queryAssignments(String sql, Integer teamId) {
+        List<Assignment> assignments = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (teamId != null) {
+                pstmt.setInt(1, teamId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Date start = rs.getDate("start_date");
+                    Date end = rs.getDate("end_date");
+                    assignments.add(new Assignment(rs.getInt("id"), rs.getInt("responsible_id"),
+                            rs.getInt("project_id"), TaskStatus.valueOf(rs.getString("status")),
+                            start.toLocalDate(), end.toLocalDate()));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return assignments;
+    }
+
+    /**
+     * Lê as equipes alocadas em cada projeto.
+     * @return O mapa projeto → IDs das equipes, ou um mapa vazio em caso de erro.
+     */
+    public Map<Integer, List<Integer>> getTeamIdsByProject() {
+        Map<Integer, List<Integer>> teamsByProject = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(PROJECT_TEAMS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                teamsByProject.computeIfAbsent(rs.getInt("project_id"), id -> new ArrayList<>()).add(rs.getInt("team_id"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return Map.of();
+        }
+        return teamsByProject;
+    }
+}
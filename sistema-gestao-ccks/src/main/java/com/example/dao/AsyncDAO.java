@@ -0,0 +1,64 @@
+package com.example.dao;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Fachada assíncrona para os DAOs. Executa qualquer chamada de DAO em uma thread virtual
+ * e devolve um {@link CompletableFuture}, de modo que a thread do JavaFX nunca espere pelo banco.
+ *
+ * As chamadas ficam bloqueadas no JDBC sem ocupar threads de plataforma; o limite real de
+ * concorrência continua sendo o pool de conexões ({@code DatabaseConnection}).
+ *
+ * Cancelar o future devolvido, ou completá-lo com erro antes da hora (ex: {@code orTimeout}),
+ * apenas descarta o resultado: a chamada que ainda não começou é pulada, e a que já começou
+ * termina normalmente e devolve a conexão ao pool. A thread nunca é interrompida, porque
+ * interromper uma thread virtual bloqueada no socket do JDBC fecha a conexão, que o pool
+ * teria de descartar e reabrir.
+ *
+ * Uso: {@code AsyncDAO.supply(() -> userDAO.getAllUsers()).thenAccept(...)}
+ */
+public final class AsyncDAO {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("dao-", 0).factory());
+
+    private AsyncDAO() {
+    }
+
+    /**
+     * Executa uma consulta ou operação de DAO em segundo plano.
+     * @param call A chamada ao DAO (ex: {@code () -> taskDAO.getAllTasks()}).
+     * @return Um future completado com o resultado da chamada, ou excepcionalmente com a
+     *         exceção lançada por ela.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            // Cancelado (ou expirado) antes de começar: nem pega uma conexão.
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(call.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Executa uma operação de DAO sem resultado em segundo plano.
+     * @param call A operação (ex: {@code () -> cache.clear()}).
+     * @return Um future completado quando a operação terminar.
+     */
+    public static CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.dao;
+
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO de escrita em massa, usado pela importação de dados.
+ *
+ * Cada chamada a {@link #insertChunk} grava um bloco de linhas em uma única transação, com
+ * {@code addBatch}/{@code executeBatch} em lotes de tamanho configurável. Com
+ * {@code rewriteBatchedStatements=true} na URL de conexão, o driver do MySQL envia cada lote
+ * como um único {@code INSERT ... VALUES (...), (...), ...}.
+ *
+ * Se o bloco falhar por uma violação de restrição (ex: um login duplicado), a transação é desfeita,
+ * a conexão volta ao pool e as linhas do bloco são gravadas uma a uma, para que só as linhas com
+ * problema fiquem de fora. Outros erros (ex: conexão perdida) fazem o bloco inteiro falhar, sem
+ * novas tentativas.
+ */
+public class BulkInsertDAO {
+
+    /**
+     * Preenche os parâmetros do INSERT com os dados de uma linha.
+     */
+    @FunctionalInterface
+    public interface RowBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    /**
+     * Tabelas que aceitam importação, com o INSERT de cada uma.
+     */
+    public enum Table {
+        USERS(NamedSql.USER_INSERT, ChangeEvent.Entity.USER),
+        PROJECTS(NamedSql.PROJECT_INSERT, ChangeEvent.Entity.PROJECT),
+        TASKS(NamedSql.TASK_INSERT, ChangeEvent.Entity.TASK);
+
+        private final String insertSql;
+        private final ChangeEvent.Entity entity;
+
+        Table(NamedSql insertSql, ChangeEvent.Entity entity) {
+            this.insertSql = insertSql.sql();
+            this.entity = entity;
+        }
+    }
+
+    /**
+     * Resultado da gravação de um bloco.
+     * @param inserted Quantidade de linhas gravadas.
+     * @param failures Linhas que não puderam ser gravadas: posição no bloco → mensagem do banco.
+     */
+    public record ChunkResult(int inserted, Map<Integer, String> failures) {
+    }
+
+    /**
+     * Grava um bloco de linhas em uma transação.
+     * @param table A tabela de destino.
+     * @param rows As linhas do bloco, já validadas.
+     * @param batchSize Quantidade de linhas por {@code executeBatch}.
+     * @return Quantas linhas foram gravadas e quais falharam.
+     */
+    public ChunkResult insertChunk(Table table, List<RowBinder> rows, int batchSize) {
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, Map.of());
+        }
+        SQLException failure;
+        Connection conn = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            if (conn == null) {
+                return allFailed(rows, "Sem conexão com o banco de dados.");
+            }
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement pstmt = conn.prepareStatement(table.insertSql)) {
+                int pending = 0;
+                for (RowBinder row : rows) {
+                    row.bind(pstmt);
+                    pstmt.addBatch();
+                    if (++pending == batchSize) {
+                        pstmt.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    pstmt.executeBatch();
+                }
+            }
+            // Um único registro por bloco: as telas recarregam a lista em vez de aplicar milhares de alterações.
+            ChangeEvent event = ChangeEvent.reload(table.entity);
+            ChangeFeed.record(conn, event);
+            conn.commit();
+            ChangeFeed.publish(List.of(event));
+            return new ChunkResult(rows.size(), Map.of());
+
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            failure = e;
+        } finally {
+            invalidateCaches(table);
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        // A conexão do bloco já voltou ao pool: a nova tentativa usa uma só conexão por vez.
+        if (!DatabaseConnection.getDialect().isConstraintViolation(failure)) {
+            failure.printStackTrace();
+            return allFailed(rows, failure.getMessage());
+        }
+        // O lote não diz com precisão qual linha falhou: refaz o bloco linha a linha.
+        return insertOneByOne(table, rows);
+    }
+
+    /**
+     * Grava cada linha isoladamente (auto-commit), coletando as falhas de restrição. Um erro de
+     * outro tipo interrompe a gravação: as linhas restantes falham com ele.
+     */
+    private ChunkResult insertOneByOne(Table table, List<RowBinder> rows) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        int inserted = 0;
+        Connection connection = DatabaseConnection.getConnection();
+        if (connection == null) {
+            return allFailed(rows, "Sem conexão com o banco de dados.");
+        }
+        try (Connection conn = connection;
+             PreparedStatement pstmt = conn.prepareStatement(table.insertSql)) {
+
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    rows.get(i).bind(pstmt);
+                    pstmt.executeUpdate();
+                    inserted++;
+                } catch (SQLException e) {
+                    if (!DatabaseConnection.getDialect().isConstraintViolation(e)) {
+                        throw e;
+                    }
+                    failures.put(i, e.getMessage());
+                }
+            }
+            if (inserted > 0) {
+                ChangeFeed.recordAndPublish(conn, ChangeEvent.reload(table.entity));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            // Sem conexão: as linhas restantes também falham.
+            for (int i = inserted + failures.size(); i < rows.size(); i++) {
+                failures.put(i, e.getMessage());
+            }
+        }
+        return new ChunkResult(inserted, failures);
+    }
+
+    private static ChunkResult allFailed(List<RowBinder> rows, String message) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            failures.put(i, message);
+        }
+        return new ChunkResult(0, failures);
+    }
+
+    private void invalidateCaches(Table table) {
+        switch (table) {
+            case USERS -> EntityCaches.USERS.invalidateAll();
+            case PROJECTS -> EntityCaches.PROJECTS.invalidateAll();
+            default -> {
+                // As tarefas não ficam em cache.
+            }
+        }
+    }
+}
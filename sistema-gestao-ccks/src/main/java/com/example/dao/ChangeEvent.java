@@ -0,0 +1,59 @@
+package com.example.dao;
+
+/**
+ * Uma alteração gravada no banco, publicada pelo {@link ChangeFeed} para que as telas abertas
+ * atualizem só o registro afetado.
+ *
+ * O evento não carrega os dados do registro: quem o recebe relê o registro pelo ID
+ * (ex: {@link TaskDAO#getTaskById(int)}), que reflete o estado atual mesmo que várias
+ * alterações tenham acontecido em sequência.
+ *
+ * @param entity O tipo do registro alterado.
+ * @param entityId O ID do registro (0 em {@link Kind#RELOAD}).
+ * @param kind O tipo da alteração.
+ * @param projectId Nas tarefas, o projeto cujas contagens a alteração muda: o da tarefa incluída,
+ *                  alterada ou excluída. Uma tarefa que muda de projeto gera um evento para o
+ *                  projeto antigo e outro para o novo. 0 nos demais registros e nas alterações de
+ *                  tarefa que não mudam as contagens (ex: dependências).
+ */
+public record ChangeEvent(Entity entity, int entityId, Kind kind, int projectId) {
+
+    /** Tipos de registro acompanhados. */
+    public enum Entity {
+        USER, PROJECT, TASK, TEAM
+    }
+
+    /** Tipos de alteração. */
+    public enum Kind {
+        INSERT,
+        UPDATE,
+        DELETE,
+        /** Muitos registros mudaram de uma vez (ex: importação em massa): recarregue a lista inteira. */
+        RELOAD
+    }
+
+    public ChangeEvent(Entity entity, int entityId, Kind kind) {
+        this(entity, entityId, kind, 0);
+    }
+
+    /** Alteração de uma tarefa do projeto informado. */
+    static ChangeEvent task(Kind kind, int taskId, int projectId) {
+        return new ChangeEvent(Entity.TASK, taskId, kind, projectId);
+    }
+
+    static ChangeEvent inserted(Entity entity, int entityId) {
+        return new ChangeEvent(entity, entityId, Kind.INSERT);
+    }
+
+    static ChangeEvent updated(Entity entity, int entityId) {
+        return new ChangeEvent(entity, entityId, Kind.UPDATE);
+    }
+
+    static ChangeEvent deleted(Entity entity, int entityId) {
+        return new ChangeEvent(entity, entityId, Kind.DELETE);
+    }
+
+    static ChangeEvent reload(Entity entity) {
+        return new ChangeEvent(entity, 0, Kind.RELOAD);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Canal de alterações ("change feed") dos registros da aplicação.
+ *
+ * - Os métodos de escrita dos DAOs registram cada alteração na tabela change_log (na mesma
+ *   conexão, e na mesma transação quando houver) e a publicam aos ouvintes desta instância
+ *   assim que ela é confirmada.
+ * - O {@link ChangeLogPoller} lê periodicamente as linhas gravadas por outras instâncias da
+ *   aplicação e as publica da mesma forma, depois de invalidar os caches afetados.
+ *
+ * As telas assinam o canal e aplicam só as alterações recebidas às suas listas, em vez de
+ * recarregá-las inteiras após cada gravação.
+ *
+ * Configuração via propriedades de sistema: {@code gestao.changes.pollMillis} (intervalo da
+ * consulta a change_log, padrão 2000; 0 desliga a consulta) e {@code gestao.changes.retentionHours}
+ * (por quanto tempo as linhas de change_log são mantidas, padrão 24).
+ */
+public final class ChangeFeed {
+
+    /**
+     * Recebe as alterações publicadas. É chamado na thread que fez a gravação (ou na thread do
+     * {@link ChangeLogPoller}), nunca na thread do JavaFX: a tela deve repassar o trabalho a ela.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onChanges(List<ChangeEvent> events);
+    }
+
+    private static final long POLL_MILLIS = Long.getLong("gestao.changes.pollMillis", 2000L);
+    private static final long RETENTION_MILLIS = Long.getLong("gestao.changes.retentionHours", 24L) * 3_600_000L;
+
+    /** Identifica as linhas de change_log gravadas por esta instância da aplicação. */
+    static final String ORIGIN = UUID.randomUUID().toString();
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+    // Ouvintes só das gravações desta instância (ver subscribeLocal).
+    private static final List<Listener> LOCAL_LISTENERS = new CopyOnWriteArrayList<>();
+
+    // Protegido pelo lock da classe.
+    private static ChangeLogPoller poller;
+
+    private ChangeFeed() {
+    }
+
+    /**
+     * Passa a entregar as alterações ao ouvinte.
+     */
+    public static void subscribe(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Passa a entregar ao ouvinte só as alterações gravadas por esta instância da aplicação, sem as
+     * lidas pelo {@link ChangeLogPoller}. Para trabalho que cada instância faz pelas próprias
+     * gravações (ex: o JobScheduler), e que repetido em todas as instâncias seria desperdício.
+     */
+    public static void subscribeLocal(Listener listener) {
+        LOCAL_LISTENERS.add(listener);
+    }
+
+    /**
+     * Deixa de entregar as alterações ao ouvinte (ex: a tela foi fechada).
+     */
+    public static void unsubscribe(Listener listener) {
+        LISTENERS.remove(listener);
+        LOCAL_LISTENERS.remove(listener);
+    }
+
+    /**
+     * Inicia a consulta periódica às alterações feitas por outras instâncias da aplicação.
+     * Deve ser chamado depois da migração do esquema, que cria a tabela change_log.
+     */
+    public static synchronized void startPolling() {
+        if (poller != null || POLL_MILLIS <= 0) {
+            return;
+        }
+        poller = new ChangeLogPoller(POLL_MILLIS, RETENTION_MILLIS);
+        poller.start();
+    }
+
+    /**
+     * Encerra a consulta periódica. Deve ser chamado antes de fechar o pool de conexões.
+     */
+    public static synchronized void stopPolling() {
+        if (poller != null) {
+            poller.stop();
+            poller = null;
+        }
+    }
+
+    /**
+     * Registra a alteração em change_log, usando a conexão (e a transação) da gravação.
+     * Uma falha aqui não desfaz a gravação: ela só deixa de ser vista pelas outras instâncias
+     * até que recarreguem as listas.
+     */
+    static void record(Connection conn, ChangeEvent event) {
+        try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.CHANGE_LOG_INSERT.sql())) {
+            pstmt.setString(1, event.entity().name());
+            pstmt.setInt(2, event.entityId());
+            pstmt.setString(3, event.kind().name());
+            pstmt.setString(4, ORIGIN);
+            pstmt.setInt(5, event.projectId());
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Registra a alteração em change_log e a publica. Para gravações em auto-commit, já confirmadas.
+     */
+    static void recordAndPublish(Connection conn, ChangeEvent event) {
+        recordAndPublish(conn, List.of(event));
+    }
+
+    /**
+     * Registra as alterações de uma mesma gravação em change_log e as publica juntas.
+     */
+    static void recordAndPublish(Connection conn, List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            record(conn, event);
+        }
+        publish(events);
+    }
+
+    /**
+     * Entrega as alterações (já confirmadas no banco) feitas por esta instância a todos os ouvintes.
+     */
+    static void publish(List<ChangeEvent> events) {
+        deliver(LISTENERS, events);
+        deliver(LOCAL_LISTENERS, events);
+    }
+
+    /**
+     * Entrega as alterações feitas por outras instâncias, lidas pelo {@link ChangeLogPoller}, aos
+     * ouvintes de {@link #subscribe}.
+     */
+    static void publishRemote(List<ChangeEvent> events) {
+        deliver(LISTENERS, events);
+    }
+
+    private static void deliver(List<Listener> listeners, List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.onChanges(events);
+            } catch (RuntimeException e) {
+                // Um ouvinte com erro não impede a entrega aos demais, nem a gravação.
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Descarta os caches afetados por alterações feitas por outra instância da aplicação.
+     * (As gravações desta instância já invalidam os caches nos próprios DAOs.)
+     */
+    static void invalidateCaches(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            switch (event.entity()) {
+                case USER -> {
+                    // A exclusão de um usuário também remove suas participações em equipes.
+                    invalidate(EntityCaches.USERS, event);
+                    EntityCaches.TEAM_MEMBERSHIP.invalidateAll();
+                }
+                case PROJECT -> invalidate(EntityCaches.PROJECTS, event);
+                case TEAM -> {
+                    invalidate(EntityCaches.TEAMS, event);
+                    invalidate(EntityCaches.TEAM_MEMBERSHIP, event);
+                }
+                default -> {
+                    // As tarefas não ficam em cache.
+                }
+            }
+        }
+    }
+
+    /** Descarta o registro do evento, ou todos os do tipo em um {@link ChangeEvent.Kind#RELOAD}. */
+    private static void invalidate(EntityCaches.Table<?> table, ChangeEvent event) {
+        if (event.kind() == ChangeEvent.Kind.RELOAD) {
+            table.invalidateAll();
+        } else {
+            table.invalidate(event.entityId());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.dao;
+
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta periodicamente a tabela change_log e publica no {@link ChangeFeed} as alterações
+ * gravadas por outras instâncias da aplicação.
+ *
+ * - Cada consulta lê só as linhas novas ({@code WHERE id > ?}, pela chave primária). Algumas
+ *   linhas já vistas são relidas ({@link #LOOKBACK}), porque uma transação que pegou um ID
+ *   menor pode ser confirmada depois de outra com ID maior; as já publicadas são ignoradas.
+ * - Se houver alterações demais de uma vez (ex: a instância ficou sem banco por um tempo,
+ *   ou houve uma importação em massa), publica um {@link ChangeEvent.Kind#RELOAD} de cada
+ *   tipo de registro em vez de uma alteração por linha.
+ * - Linhas mais antigas que o período de retenção são apagadas de tempos em tempos.
+ * - Com o banco inacessível, as tentativas são espaçadas progressivamente, até 1 minuto.
+ *
+ * Roda em uma única thread (daemon), então o estado abaixo não precisa de sincronização.
+ */
+final class ChangeLogPoller {
+
+    /** Máximo de linhas lidas por consulta; acima disso, as telas recarregam as listas inteiras. */
+    static final int BATCH_LIMIT = 500;
+    /** Quantos IDs abaixo do último lido são consultados de novo a cada vez. */
+    static final int LOOKBACK = 50;
+
+    private static final long PRUNE_INTERVAL_MILLIS = 3_600_000L;
+    private static final long MAX_BACKOFF_MILLIS = 60_000L;
+    private static final int MAX_REMEMBERED_IDS = 1024;
+
+    private final long intervalMillis;
+    private final long retentionMillis;
+    private final ScheduledExecutorService executor;
+
+    // Maior ID já lido (-1 antes da primeira consulta) e IDs recentes já publicados.
+    private long cursor = -1;
+    private final LinkedHashSet<Long> seenIds = new LinkedHashSet<>();
+
+    private long nextPruneAt = 0;
+    private long nextAttemptAt = 0;
+    private int consecutiveFailures = 0;
+
+    ChangeLogPoller(long intervalMillis, long retentionMillis) {
+        this.intervalMillis = intervalMillis;
+        this.retentionMillis = retentionMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-log-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void start() {
+        executor.scheduleWithFixedDelay(this::pollSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void pollSafely() {
+        long now = System.currentTimeMillis();
+        if (now < nextAttemptAt) {
+            return;
+        }
+        try {
+            poll(now);
+            if (consecutiveFailures > 0) {
+                // Alterações de outras instâncias podem ter sido apagadas durante a falha.
+                consecutiveFailures = 0;
+                publishReloadAll();
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (consecutiveFailures++ == 0) {
+                System.err.println("Falha ao consultar o registro de alterações: " + e);
+            }
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, intervalMillis << Math.min(consecutiveFailures, 10));
+            nextAttemptAt = now + backoff;
+        }
+    }
+
+    private void poll(long now) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Banco de dados inacessível.");
+            }
+            if (cursor < 0) {
+                // Começa do fim: o que foi gravado antes já está nas listas carregadas pelas telas.
+                cursor = maxId(conn);
+            } else {
+                readNewRows(conn);
+            }
+            if (now >= nextPruneAt) {
+                prune(conn, now);
+                nextPruneAt = now + PRUNE_INTERVAL_MILLIS;
+            }
+        }
+    }
+
+    private void readNewRows(Connection conn) throws SQLException {
+        LinkedHashSet<ChangeEvent> events = new LinkedHashSet<>();
+        int rows = 0;
+        long maxId = cursor;
+        try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.CHANGE_LOG_AFTER.sql())) {
+            pstmt.setLong(1, Math.max(0, cursor - LOOKBACK));
+            pstmt.setInt(2, BATCH_LIMIT + LOOKBACK);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                    long id = rs.getLong("id");
+                    maxId = Math.max(maxId, id);
+                    if (!remember(id) || ChangeFeed.ORIGIN.equals(rs.getString("origin"))) {
+                        continue;
+                    }
+                    ChangeEvent event = toEvent(rs);
+                    if (event != null) {
+                        events.add(event);
+                    }
+                }
+            }
+        }
+        cursor = maxId;
+
+        if (rows == BATCH_LIMIT + LOOKBACK) {
+            // Ainda há linhas não lidas: em vez de publicá-las uma a uma, recarrega tudo e
+            // continua a partir da última linha gravada.
+            cursor = maxId(conn);
+            publishReloadAll();
+            return;
+        }
+        List<ChangeEvent> batch = new ArrayList<>(events);
+        ChangeFeed.invalidateCaches(batch);
+        ChangeFeed.publishRemote(batch);
+    }
+
+    /**
+     * Guarda o ID como já publicado.
+     * @return false se ele já tinha sido visto.
+     */
+    private boolean remember(long id) {
+        if (!seenIds.add(id)) {
+            return false;
+        }
+        if (seenIds.size() > MAX_REMEMBERED_IDS) {
+            seenIds.remove(seenIds.iterator().next());
+        }
+        return true;
+    }
+
+    /**
+     * Converte uma linha de change_log; linhas de versões futuras da aplicação (tipos
+     * desconhecidos) são ignoradas.
+     */
+    private static ChangeEvent toEvent(ResultSet rs) throws SQLException {
+        try {
+            return new ChangeEvent(ChangeEvent.Entity.valueOf(rs.getString("entity")), rs.getInt("entity_id"),
+                    ChangeEvent.Kind.valueOf(rs.getString("kind")), rs.getInt("project_id"));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long maxId(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.CHANGE_LOG_MAX_ID.sql());
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void publishReloadAll() {
+        List<ChangeEvent> reloads = new ArrayList<>();
+        for (ChangeEvent.Entity entity : ChangeEvent.Entity.values()) {
+            reloads.add(ChangeEvent.reload(entity));
+        }
+        seenIds.clear();
+        ChangeFeed.invalidateCaches(reloads);
+        ChangeFeed.publishRemote(reloads);
+    }
+
+    private void prune(Connection conn, long now) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.CHANGE_LOG_PRUNE.sql())) {
+            pstmt.setTimestamp(1, new Timestamp(now - retentionMillis));
+            pstmt.executeUpdate();
+        }
+    }
+}
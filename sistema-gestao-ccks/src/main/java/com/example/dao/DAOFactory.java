@@ -0,0 +1,41 @@
+package com.example.dao;
+
+/**
+ * Ponto único de obtenção dos DAOs da aplicação.
+ *
+ * As implementações JDBC não guardam estado (as conexões vêm do pool e os caches são
+ * compartilhados em {@link EntityCaches}), então uma instância de cada é reaproveitada.
+ * Elas funcionam com qualquer banco suportado por {@link com.example.util.DatabaseConnection}
+ * (MySQL no servidor compartilhado ou H2 embutido), graças ao {@link com.example.util.SqlDialect}.
+ */
+public final class DAOFactory {
+
+    private static final UserDAO USER_DAO = new JdbcUserDAO();
+    private static final ProjectDAO PROJECT_DAO = new JdbcProjectDAO();
+    private static final TaskDAO TASK_DAO = new JdbcTaskDAO();
+    private static final TeamDAO TEAM_DAO = new JdbcTeamDAO();
+    private static final TaskDependencyDAO TASK_DEPENDENCY_DAO = new JdbcTaskDependencyDAO();
+
+    private DAOFactory() {
+    }
+
+    public static UserDAO getUserDAO() {
+        return USER_DAO;
+    }
+
+    public static ProjectDAO getProjectDAO() {
+        return PROJECT_DAO;
+    }
+
+    public static TaskDAO getTaskDAO() {
+        return TASK_DAO;
+    }
+
+    public static TeamDAO getTeamDAO() {
+        return TEAM_DAO;
+    }
+
+    public static TaskDependencyDAO getTaskDependencyDAO() {
+        return TASK_DEPENDENCY_DAO;
+    }
+}
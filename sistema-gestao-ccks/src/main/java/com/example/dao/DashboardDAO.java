@@ -0,0 +1,212 @@
+package com.example.dao;
+
+import com.example.model.DashboardSnapshot;
+import com.example.model.DashboardSnapshot.ProjectTaskCounts;
+import com.example.model.DashboardSnapshot.TeamMemberCount;
+import com.example.model.ProjectStatus;
+import com.example.model.TaskStatus;
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO de leitura para o dashboard. Calcula todos os indicadores com agregações
+ * ({@code GROUP BY}) no banco de dados e devolve um {@link DashboardSnapshot}.
+ */
+public class DashboardDAO {
+
+    // Todas as agregações seguem juntas em um único UNION ALL, ou seja, um único round-trip.
+    // Cada linha é identificada pela coluna 'kind':
+    //   PROJECT_STATUS -> projetos por status
+    //   TASK_STATUS    -> tarefas por status
+    //   OVERDUE        -> tarefas atrasadas (coluna overdue, mantida pelo StatusRollupJob)
+    //   PROJECT_TASKS  -> matriz projeto × status, com as atrasadas de cada célula na coluna 'overdue'
+    //                     (LEFT JOIN para incluir projetos sem tarefas)
+    //   TEAM_MEMBERS   -> membros por equipe (LEFT JOIN para incluir equipes vazias)
+    // Os status são convertidos para texto com CONCAT porque projects.status e tasks.status são
+    // ENUMs com valores diferentes e dividem a mesma coluna do UNION.
+    static final String SNAPSHOT_SQL =
+            "SELECT 'PROJECT_STATUS' AS kind, NULL AS id, NULL AS name, CONCAT(status, '') AS status, COUNT(*) AS total, " +
+            "0 AS overdue FROM projects GROUP BY status " +
+            "UNION ALL " +
+            "SELECT 'TASK_STATUS', NULL, NULL, CONCAT(status, ''), COUNT(*), 0 FROM tasks GROUP BY status " +
+            "UNION ALL " +
+            "SELECT 'OVERDUE', NULL, NULL, NULL, COUNT(*), 0 FROM tasks WHERE overdue = TRUE " +
+            "UNION ALL " +
+            "SELECT 'PROJECT_TASKS', p.id, p.name, CONCAT(t.status, ''), COUNT(t.id), " +
+            "SUM(CASE WHEN t.overdue = TRUE THEN 1 ELSE 0 END) " +
+            "FROM projects p LEFT JOIN tasks t ON t.project_id = p.id GROUP BY p.id, p.name, t.status " +
+            "UNION ALL " +
+            "SELECT 'TEAM_MEMBERS', tm.id, tm.name, NULL, COUNT(m.user_id), 0 " +
+            "FROM teams tm LEFT JOIN team_members m ON m.team_id = tm.id GROUP BY tm.id, tm.name " +
+            "ORDER BY kind, name, id";
+
+    static final String TEAM_MEMBERS_SQL =
+            "SELECT tm.id, tm.name, COUNT(m.user_id) AS total " +
+            "FROM teams tm LEFT JOIN team_members m ON m.team_id = tm.id GROUP BY tm.id, tm.name " +
+            "ORDER BY tm.name, tm.id";
+
+    /**
+     * Busca o retrato atual dos indicadores do dashboard.
+     * @return O snapshot calculado, ou um snapshot vazio em caso de erro.
+     */
+    public DashboardSnapshot getSnapshot() {
+        DashboardSnapshot snapshot = tryGetSnapshot();
+        return snapshot != null ? snapshot : DashboardSnapshot.empty();
+    }
+
+    /**
+     * Busca o retrato atual dos indicadores do dashboard.
+     * @return O snapshot calculado, ou null em caso de erro (um banco vazio dá um snapshot vazio).
+     */
+    public DashboardSnapshot tryGetSnapshot() {
+        int inProgressProjects = 0;
+        int pendingTasks = 0;
+        int overdueTasks = 0;
+        int completedTasks = 0;
+        // Acumula as contagens por projeto; LinkedHashMap preserva a ordem por nome vinda do banco.
+        Map<Integer, ProjectCountsBuilder> countsByProject = new LinkedHashMap<>();
+        List<TeamMemberCount> teamMembers = new ArrayList<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SNAPSHOT_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                String kind = rs.getString("kind");
+                String status = rs.getString("status");
+                int total = rs.getInt("total");
+
+                switch (kind) {
+                    case "PROJECT_STATUS":
+                        if (ProjectStatus.valueOf(status) == ProjectStatus.EM_ANDAMENTO) {
+                            inProgressProjects = total;
+                        }
+                        break;
+                    case "TASK_STATUS":
+                        TaskStatus taskStatus = TaskStatus.valueOf(status);
+                        if (taskStatus == TaskStatus.PENDENTE) {
+                            pendingTasks = total;
+                        } else if (taskStatus == TaskStatus.CONCLUIDA) {
+                            completedTasks = total;
+                        }
+                        break;
+                    case "OVERDUE":
+                        overdueTasks = total;
+                        break;
+                    case "PROJECT_TASKS":
+                        countsByProject.computeIfAbsent(rs.getInt("id"), id -> new ProjectCountsBuilder())
+                                .add(rs, status, total);
+                        break;
+                    case "TEAM_MEMBERS":
+                        teamMembers.add(new TeamMemberCount(rs.getInt("id"), rs.getString("name"), total));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        List<ProjectTaskCounts> tasksByProject = new ArrayList<>(countsByProject.size());
+        for (Map.Entry<Integer, ProjectCountsBuilder> entry : countsByProject.entrySet()) {
+            tasksByProject.add(entry.getValue().build(entry.getKey()));
+        }
+
+        return new DashboardSnapshot(inProgressProjects, pendingTasks, overdueTasks, completedTasks,
+                tasksByProject, teamMembers);
+    }
+
+    /**
+     * Reconta a matriz projeto × status (com as atrasadas) só dos projetos informados, em blocos de
+     * {@link NamedSql#ID_LIST_SIZE} IDs por consulta. Usado para manter o KpiEngine depois de
+     * alterações de tarefas: o custo depende das tarefas desses projetos, não do total de tarefas.
+     * @param projectIds Os IDs dos projetos.
+     * @return Um mapa ID → contagens (projetos que não existem mais não aparecem), ou null em caso de erro.
+     */
+    public Map<Integer, ProjectTaskCounts> getProjectTaskCounts(Collection<Integer> projectIds) {
+        List<Integer> ids = List.copyOf(new LinkedHashSet<>(projectIds));
+        Map<Integer, ProjectCountsBuilder> countsByProject = new HashMap<>();
+        if (!ids.isEmpty()) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(NamedSql.TASK_COUNTS_BY_PROJECT_IDS.sql())) {
+                for (int from = 0; from < ids.size(); from += NamedSql.ID_LIST_SIZE) {
+                    List<Integer> chunk = ids.subList(from, Math.min(from + NamedSql.ID_LIST_SIZE, ids.size()));
+                    // O IN tem tamanho fixo: o último bloco repete o último ID nas posições que sobram.
+                    for (int i = 0; i < NamedSql.ID_LIST_SIZE; i++) {
+                        pstmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            countsByProject.computeIfAbsent(rs.getInt("id"), id -> new ProjectCountsBuilder())
+                                    .add(rs, rs.getString("status"), rs.getInt("total"));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+        Map<Integer, ProjectTaskCounts> counts = new HashMap<>();
+        countsByProject.forEach((id, builder) -> counts.put(id, builder.build(id)));
+        return counts;
+    }
+
+    /**
+     * Conta os membros de cada equipe, inclusive das equipes vazias.
+     * @return As contagens ordenadas pelo nome da equipe, ou uma lista vazia em caso de erro.
+     */
+    public List<TeamMemberCount> getTeamMemberCounts() {
+        List<TeamMemberCount> teamMembers = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(TEAM_MEMBERS_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                teamMembers.add(new TeamMemberCount(rs.getInt("id"), rs.getString("name"), rs.getInt("total")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return teamMembers;
+    }
+
+    /**
+     * Acumula as linhas (uma por status) de um projeto na matriz projeto × status.
+     */
+    private static final class ProjectCountsBuilder {
+        private final int[] tasksByStatus = new int[TaskStatus.values().length];
+        private String name;
+        private int overdue;
+
+        /** Soma uma linha; projetos sem tarefas chegam com status nulo (ou vazio) e contagem zero. */
+        private void add(ResultSet rs, String status, int total) throws SQLException {
+            name = rs.getString("name");
+            if (status != null && !status.isEmpty()) {
+                tasksByStatus[TaskStatus.valueOf(status).ordinal()] = total;
+                overdue += rs.getInt("overdue");
+            }
+        }
+
+        private ProjectTaskCounts build(int projectId) {
+            return new ProjectTaskCounts(projectId, name,
+                    tasksByStatus[TaskStatus.PENDENTE.ordinal()],
+                    tasksByStatus[TaskStatus.EM_EXECUCAO.ordinal()],
+                    tasksByStatus[TaskStatus.CONCLUIDA.ordinal()],
+                    overdue);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.dao;
+
+import com.example.model.Project;
+import com.example.model.Team;
+import com.example.model.User;
+import com.example.util.EntityCache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caches compartilhados pelos DAOs para os usuários, projetos e equipes, que as telas usam para
+ * montar combos e mapas ID → nome e que mudam pouco.
+ *
+ * Cada tipo de registro fica em um {@link Table}: os registros são guardados um a um, pelo ID,
+ * e a lista completa guarda só os IDs, na ordem da consulta, montada a partir deles. O limite de
+ * entradas vale por registro: uma lista maior que o limite não cabe no cache e é lida do banco.
+ *
+ * Os DAOs leem através destes caches e os invalidam em todos os métodos de escrita.
+ * Os objetos guardados nunca saem do cache: os DAOs devolvem cópias ({@link #copyOf}), então um
+ * formulário que altera o objeto antes de uma gravação que falha não corrompe o que as outras
+ * telas leem. As tarefas não passam por aqui: são muitas e mudam com frequência.
+ *
+ * Configuração via propriedades de sistema: {@code gestao.cache.ttlSeconds} (padrão 60)
+ * e {@code gestao.cache.maxEntries} (registros por tipo, padrão 10000). Os acertos, falhas e
+ * descartes ({@link #stats()}) são impressos ao fechar a aplicação com {@code -Dgestao.debug=true}.
+ */
+public final class EntityCaches {
+
+    private static final long TTL_MILLIS = Long.getLong("gestao.cache.ttlSeconds", 60L) * 1000L;
+    private static final int MAX_ENTRIES = Integer.getInteger("gestao.cache.maxEntries", 10_000);
+
+    /**
+     * Os membros de uma equipe, como guardados em {@link #TEAM_MEMBERSHIP}.
+     */
+    record TeamMembership(int teamId, List<Integer> userIds) {
+    }
+
+    /**
+     * O cache de um tipo de registro: os registros por ID e a lista completa montada a partir deles.
+     *
+     * A lista completa vale enquanto nenhum registro do tipo for invalidado (uma alteração pode
+     * mudar a ordem ou o conjunto) e enquanto todos os registros dela estiverem no cache; se algum
+     * tiver expirado ou sido descartado, ela é relida por inteiro.
+     *
+     * @param <T> O tipo do registro; os objetos guardados não devem ser alterados.
+     */
+    static final class Table<T> {
+        private final EntityCache<Integer, T> byId;
+        private final ToIntFunction<T> idOf;
+
+        // Guardados pelo monitor de 'this': os IDs da lista completa e a geração de byId em que foram lidos.
+        private List<Integer> allIds;
+        private long allIdsGeneration;
+
+        private Table(String name, ToIntFunction<T> idOf) {
+            this(name, MAX_ENTRIES, idOf);
+        }
+
+        Table(String name, int maxEntries, ToIntFunction<T> idOf) {
+            this.byId = new EntityCache<>(name, maxEntries, TTL_MILLIS);
+            this.idOf = idOf;
+        }
+
+        /**
+         * Retorna todos os registros, do cache ou, se faltar algum, do loader.
+         * @param loader A consulta de todos os registros, já na ordem da lista.
+         * @return Os registros em cache (não devem ser alterados), ou null se o loader falhar.
+         */
+        List<T> getAll(Supplier<List<T>> loader) {
+            long generation = byId.generation();
+            List<Integer> ids;
+            synchronized (this) {
+                ids = allIdsGeneration == generation ? allIds : null;
+            }
+            if (ids != null) {
+                List<T> items = resolve(ids);
+                if (items != null) {
+                    return items;
+                }
+            }
+
+            List<T> loaded = loader.get();
+            if (loaded == null) {
+                return null;
+            }
+            Map<Integer, T> loadedById = new LinkedHashMap<>();
+            for (T item : loaded) {
+                loadedById.put(idOf.applyAsInt(item), item);
+            }
+            if (byId.putAll(loadedById, generation)) {
+                synchronized (this) {
+                    allIds = List.copyOf(loadedById.keySet());
+                    allIdsGeneration = generation;
+                }
+            }
+            return loaded;
+        }
+
+        /** Os registros da lista, na ordem; null se algum não estiver mais no cache. */
+        private List<T> resolve(List<Integer> ids) {
+            List<T> items = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                T item = byId.getIfPresent(id);
+                if (item == null) {
+                    return null;
+                }
+                items.add(item);
+            }
+            return items;
+        }
+
+        /** Descarta um registro alterado (e, com ele, a lista completa). */
+        void invalidate(int id) {
+            byId.invalidate(id);
+        }
+
+        /** Descarta todos os registros do tipo. */
+        void invalidateAll() {
+            byId.invalidateAll();
+        }
+
+        EntityCache.CacheStats stats() {
+            return byId.stats();
+        }
+    }
+
+    /** Usuários, em ordem de nome. */
+    static final Table<User> USERS = new Table<>("users", User::getId);
+
+    /** Projetos, em ordem de nome. */
+    static final Table<Project> PROJECTS = new Table<>("projects", Project::getId);
+
+    /** Equipes, em ordem de nome. */
+    static final Table<Team> TEAMS = new Table<>("teams", Team::getId);
+
+    /** Membros de cada equipe, por ID da equipe (as equipes sem membros não aparecem). */
+    static final Table<TeamMembership> TEAM_MEMBERSHIP = new Table<>("teamMembership", TeamMembership::teamId);
+
+    private EntityCaches() {
+    }
+
+    /**
+     * Retorna as estatísticas de acertos e falhas de todos os caches.
+     */
+    public static List<EntityCache.CacheStats> stats() {
+        return List.of(USERS.stats(), PROJECTS.stats(), TEAMS.stats(), TEAM_MEMBERSHIP.stats());
+    }
+
+    /**
+     * Copia uma lista lida do cache, objeto por objeto, para entregar ao chamador.
+     * @param cached A lista em cache (null se a consulta falhou).
+     * @param copier Copia um objeto (ex: {@code Project::copy}).
+     * @return Uma lista nova e alterável, vazia se {@code cached} for null.
+     */
+    static <T> List<T> copyOf(List<T> cached, UnaryOperator<T> copier) {
+        if (cached == null) {
+            return new ArrayList<>();
+        }
+        List<T> copies = new ArrayList<>(cached.size());
+        for (T item : cached) {
+            copies.add(copier.apply(item));
+        }
+        return copies;
+    }
+
+    /**
+     * Descarta o conteúdo de todos os caches (ex: após uma importação em massa).
+     */
+    public static void invalidateAll() {
+        USERS.invalidateAll();
+        PROJECTS.invalidateAll();
+        TEAMS.invalidateAll();
+        TEAM_MEMBERSHIP.invalidateAll();
+    }
+}
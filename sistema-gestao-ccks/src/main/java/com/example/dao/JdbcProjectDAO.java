@@ -0,0 +1,335 @@
+package com.example.dao;
+
+import com.example.model.Project;
+import com.example.model.ProjectProgress;
+import com.example.model.ProjectStatus;
+import com.example.model.TaskStatus;
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Implementação JDBC do DAO para a entidade Project. Encapsula a lógica de acesso ao banco de dados para projetos.
+ */
+public class JdbcProjectDAO implements ProjectDAO {
+
+    /**
+     * Adiciona um novo projeto ao banco de dados. Em caso de sucesso, o projeto recebe o ID gerado.
+     * @param project O objeto Project a ser salvo.
+     * @return true se a inserção for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean addProject(Project project) {
+        String sql = NamedSql.PROJECT_INSERT.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, project.getName());
+            pstmt.setString(2, project.getDescription());
+            pstmt.setDate(3, Date.valueOf(project.getStartDate()));
+            pstmt.setDate(4, Date.valueOf(project.getPlannedEndDate()));
+            pstmt.setString(5, project.getStatus().name());
+            pstmt.setInt(6, project.getManagerId());
+
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    project.setId(generatedKeys.getInt(1));
+                }
+            }
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.inserted(ChangeEvent.Entity.PROJECT, project.getId()));
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            EntityCaches.PROJECTS.invalidate(project.getId());
+        }
+    }
+
+    /**
+     * Busca todos os projetos cadastrados no banco de dados.
+     * A lista vem do cache compartilhado ({@link EntityCaches}) quando disponível; os objetos
+     * devolvidos são cópias e podem ser alterados livremente.
+     * @return Uma lista de objetos Project.
+     */
+    @Override
+    public List<Project> getAllProjects() {
+        List<Project> projects = EntityCaches.PROJECTS.getAll(this::queryAllProjects);
+        return EntityCaches.copyOf(projects, Project::copy);
+    }
+
+    /**
+     * Como {@link #getAllProjects()}, mas retorna null se a consulta falhar.
+     * @return Cópias dos projetos, ou null em caso de erro.
+     */
+    @Override
+    public List<Project> tryGetAllProjects() {
+        List<Project> projects = EntityCaches.PROJECTS.getAll(this::queryAllProjects);
+        return projects == null ? null : EntityCaches.copyOf(projects, Project::copy);
+    }
+
+    /**
+     * Consulta todos os projetos no banco de dados.
+     * @return A lista (imutável) de projetos, ou null em caso de erro.
+     */
+    private List<Project> queryAllProjects() {
+        List<Project> projects = new ArrayList<>();
+        String sql = NamedSql.PROJECT_SELECT_ALL.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                projects.add(mapRowToProject(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return List.copyOf(projects);
+    }
+
+    /**
+     * Busca um projeto pelo ID, direto no banco (sem passar pelo cache).
+     * @param projectId O ID do projeto.
+     * @return O projeto, ou null se ele não existir (ou em caso de erro).
+     */
+    @Override
+    public Project getProjectById(int projectId) {
+        String sql = NamedSql.PROJECT_SELECT_BY_ID.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, projectId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToProject(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Conta os projetos de cada status com uma consulta agrupada, sem carregar os projetos.
+     * @return Um mapa status → quantidade de projetos (status sem projetos recebem zero).
+     */
+    @Override
+    public Map<ProjectStatus, Integer> countProjectsByStatus() {
+        String sql = NamedSql.PROJECT_COUNT_BY_STATUS.sql();
+        return AggregateQuery.countByEnum(sql, ProjectStatus.class);
+    }
+
+    /**
+     * Aloca uma equipe a um projeto.
+     * @param projectId O ID do projeto.
+     * @param teamId O ID da equipe.
+     * @return true se a alocação for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean addTeamToProject(int projectId, int teamId) {
+        String sql = NamedSql.PROJECT_ADD_TEAM.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, projectId);
+            pstmt.setInt(2, teamId);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            // Ignora erro de chave duplicada (a equipe já está no projeto)
+            if (!DatabaseConnection.getDialect().isDuplicateKey(e)) {
+                e.printStackTrace();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Atualiza os dados de um projeto existente no banco de dados, se ele não foi alterado desde
+     * que foi lido (a versão da linha ainda é {@link Project#getVersion()}). Em caso de sucesso,
+     * o projeto recebe a nova versão.
+     * @param project O objeto Project com os dados atualizados.
+     * @return O resultado da atualização ({@link UpdateResult#CONFLICT} se outra gravação chegou antes).
+     */
+    @Override
+    public UpdateResult updateProject(Project project) {
+        String sql = NamedSql.PROJECT_UPDATE.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, project.getName());
+            pstmt.setString(2, project.getDescription());
+            pstmt.setDate(3, Date.valueOf(project.getStartDate()));
+            pstmt.setDate(4, Date.valueOf(project.getPlannedEndDate()));
+            pstmt.setString(5, project.getStatus().name());
+            pstmt.setInt(6, project.getManagerId());
+            pstmt.setInt(7, project.getId());
+            pstmt.setInt(8, project.getVersion());
+
+            if (pstmt.executeUpdate() == 0) {
+                return UpdateResult.ofMissedUpdate(conn, NamedSql.PROJECT_EXISTS, project.getId());
+            }
+            project.setVersion(project.getVersion() + 1);
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.updated(ChangeEvent.Entity.PROJECT, project.getId()));
+            return UpdateResult.UPDATED;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return UpdateResult.FAILED;
+        } finally {
+            EntityCaches.PROJECTS.invalidate(project.getId());
+        }
+    }
+
+    /**
+     * Deleta um projeto do banco de dados pelo seu ID.
+     * @param projectId O ID do projeto a ser deletado.
+     * @return true se a deleção for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean deleteProject(int projectId) {
+        String sql = NamedSql.PROJECT_DELETE.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, projectId);
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            // As tarefas do projeto saem junto (ON DELETE CASCADE); quem exibe tarefas trata isso.
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.deleted(ChangeEvent.Entity.PROJECT, projectId));
+            return true;
+        } catch (SQLException e) {
+            // Pode falhar devido a restrições de chave estrangeira (tarefas associadas, etc.)
+            // A cláusula ON DELETE CASCADE no banco de dados lida com isso para tabelas de associação.
+            e.printStackTrace();
+            return false;
+        } finally {
+            EntityCaches.PROJECTS.invalidate(projectId);
+        }
+    }
+
+    /**
+     * Grava o andamento de todos os projetos no dia: apaga as linhas da data e as recalcula a partir
+     * das tarefas em um único INSERT ... SELECT, na mesma transação.
+     * @param date O dia gravado.
+     * @return A quantidade de projetos gravados, ou -1 em caso de erro.
+     */
+    @Override
+    public int recordProgressSnapshot(LocalDate date) {
+        Connection conn = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement delete = conn.prepareStatement(NamedSql.PROGRESS_DELETE_DAY.sql())) {
+                delete.setDate(1, Date.valueOf(date));
+                delete.executeUpdate();
+            }
+            int recorded;
+            try (PreparedStatement insert = conn.prepareStatement(NamedSql.PROGRESS_SNAPSHOT_DAY.sql())) {
+                insert.setDate(1, Date.valueOf(date));
+                insert.setString(2, TaskStatus.PENDENTE.name());
+                insert.setString(3, TaskStatus.EM_EXECUCAO.name());
+                insert.setString(4, TaskStatus.CONCLUIDA.name());
+                recorded = insert.executeUpdate();
+            }
+            conn.commit();
+            return recorded;
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            // Outra instância gravou o mesmo dia ao mesmo tempo: a gravação dela vale.
+            if (!DatabaseConnection.getDialect().isDuplicateKey(e)) {
+                e.printStackTrace();
+            }
+            return -1;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Lê o histórico de andamento de um projeto entre as datas (inclusive), em ordem de data.
+     * A consulta percorre só o intervalo pedido, pela chave primária (project_id, snapshot_date).
+     * @param projectId O ID do projeto.
+     * @param from O primeiro dia.
+     * @param to O último dia.
+     * @return O histórico, ou uma lista vazia em caso de erro.
+     */
+    @Override
+    public List<ProjectProgress> getProgressHistory(int projectId, LocalDate from, LocalDate to) {
+        List<ProjectProgress> history = new ArrayList<>();
+        String sql = NamedSql.PROGRESS_SELECT_RANGE.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, projectId);
+            pstmt.setDate(2, Date.valueOf(from));
+            pstmt.setDate(3, Date.valueOf(to));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    history.add(new ProjectProgress(rs.getDate(1).toLocalDate(), rs.getInt(2),
+                            rs.getInt(3), rs.getInt(4), rs.getInt(5)));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+        return history;
+    }
+
+
+    /**
+     * Método auxiliar para mapear uma linha do ResultSet para um objeto Project.
+     * @param rs O ResultSet posicionado na linha a ser mapeada.
+     * @return Um objeto Project preenchido.
+     * @throws SQLException Se ocorrer um erro ao acessar os dados.
+     */
+    private Project mapRowToProject(ResultSet rs) throws SQLException {
+        Project project = new Project();
+        project.setId(rs.getInt("id"));
+        project.setName(rs.getString("name"));
+        project.setDescription(rs.getString("description"));
+        
+        // Converte java.sql.Date para java.time.LocalDate
+        project.setStartDate(rs.getDate("start_date").toLocalDate());
+        project.setPlannedEndDate(rs.getDate("planned_end_date").toLocalDate());
+        
+        // Converte a string do status para o enum ProjectStatus
+        project.setStatus(ProjectStatus.valueOf(rs.getString("status")));
+        
+        project.setManagerId(rs.getInt("manager_id"));
+        project.setVersion(rs.getInt("version"));
+        project.setCompletionPercent(rs.getInt("completion_percent"));
+        
+        return project;
+    }
+}
\ No newline at end of file
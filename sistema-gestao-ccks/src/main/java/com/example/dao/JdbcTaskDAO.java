@@ -0,0 +1,483 @@
+package com.example.dao;
+
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação JDBC do DAO (Data Access Object) para a entidade Task.
+ * Encapsula a lógica de acesso ao banco de dados para as tarefas.
+ */
+public class JdbcTaskDAO implements TaskDAO {
+
+    /**
+     * Busca todas as tarefas cadastradas no banco de dados.
+     * @return Uma lista com todos os objetos Task (vazia em caso de erro).
+     */
+    @Override
+    public List<Task> getAllTasks() {
+        List<Task> tasks = tryGetAllTasks();
+        return tasks == null ? new ArrayList<>() : tasks;
+    }
+
+    /**
+     * Busca todas as tarefas cadastradas no banco de dados.
+     * @return A lista de tarefas, ou null em caso de erro.
+     */
+    @Override
+    public List<Task> tryGetAllTasks() {
+        List<Task> tasks = new ArrayList<>();
+        String sql = NamedSql.TASK_SELECT_ALL.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                tasks.add(mapRowToTask(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return tasks;
+    }
+
+    /**
+     * Busca todas as tarefas da consulta, na ordem dela, sem paginação. Para listas limitadas
+     * pelos filtros (ex: as tarefas de um projeto); a lista completa é paginada.
+     * @param query Os filtros e a ordenação.
+     * @return As tarefas encontradas (vazia em caso de erro).
+     */
+    @Override
+    public List<Task> getTasks(TaskQuery query) {
+        return queryTasks(query.selectSql(), query.filterParameters());
+    }
+
+    /**
+     * Busca uma página de tarefas da consulta, ordenadas por prazo, usando paginação por chave
+     * ("keyset"): em vez de {@code OFFSET}, a consulta continua a partir da última tarefa da
+     * página anterior, então o custo de cada página não cresce com a posição dela na lista.
+     * A ordenação {@code planned_end_date, id} coloca as tarefas sem prazo (NULL) no início.
+     *
+     * @param query Os filtros; a ordenação deve ser a padrão ({@link TaskQuery#usesKeyset()}).
+     * @param after A chave da última tarefa da página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de tarefas na página.
+     * @return As tarefas da página, na ordem de exibição.
+     */
+    @Override
+    public List<Task> getTasksAfter(TaskQuery query, TaskKey after, int limit) {
+        List<Object> parameters = new ArrayList<>(query.filterParameters());
+        parameters.addAll(TaskQuery.keysetParameters(after));
+        parameters.add(limit);
+        return queryTasks(query.pageAfterSql(after), parameters);
+    }
+
+    /**
+     * Busca uma página de tarefas da consulta usando {@code LIMIT/OFFSET}. Usado quando a
+     * ordenação não é a padrão, ou quando a chave da página anterior ainda não é conhecida
+     * (ex: o usuário arrastou a barra de rolagem direto para o fim da tabela).
+     *
+     * @param query Os filtros e a ordenação.
+     * @param offset A posição da primeira tarefa da página.
+     * @param limit A quantidade máxima de tarefas na página.
+     * @return As tarefas da página, na ordem de exibição.
+     */
+    @Override
+    public List<Task> getTasksAt(TaskQuery query, int offset, int limit) {
+        List<Object> parameters = new ArrayList<>(query.filterParameters());
+        parameters.add(limit);
+        parameters.add(offset);
+        return queryTasks(query.pageAtOffsetSql(), parameters);
+    }
+
+    /**
+     * Conta as tarefas que atendem aos filtros da consulta.
+     * @return A quantidade de tarefas, ou 0 em caso de erro.
+     */
+    @Override
+    public int countTasks(TaskQuery query) {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.countSql())) {
+            setParameters(pstmt, query.filterParameters());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Busca tarefas que não estão concluídas e cujo prazo final está próximo (próximos 7 dias) ou já passou.
+     * @return Uma lista de tarefas filtradas e ordenadas por prazo.
+     */
+    @Override
+    public List<Task> getUpcomingAndOverdueTasks() {
+        List<Task> tasks = new ArrayList<>();
+        // Busca tarefas que não estão 'CONCLUIDA' e cujo prazo é hoje, no passado, ou nos próximos 7 dias.
+        // O limite é calculado aqui e passado como parâmetro: a aritmética de datas varia entre os bancos.
+        String sql = NamedSql.TASK_SELECT_UPCOMING.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(LocalDate.now().plusDays(7)));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(mapRowToTask(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return tasks;
+    }
+
+    /**
+     * Conta as tarefas de cada status com uma consulta agrupada, sem carregar as tarefas.
+     * @return Um mapa status → quantidade de tarefas (status sem tarefas recebem zero).
+     */
+    @Override
+    public Map<TaskStatus, Integer> countTasksByStatus() {
+        String sql = NamedSql.TASK_COUNT_BY_STATUS.sql();
+        return AggregateQuery.countByEnum(sql, TaskStatus.class);
+    }
+
+    /**
+     * Conta as tarefas de cada projeto, separadas por status, com uma consulta agrupada.
+     * @return Um mapa ID do projeto → (status → quantidade). Projetos sem tarefas não aparecem no mapa.
+     */
+    @Override
+    public Map<Integer, Map<TaskStatus, Integer>> countTasksByProjectAndStatus() {
+        String sql = NamedSql.TASK_COUNT_BY_PROJECT_AND_STATUS.sql();
+        return AggregateQuery.countByIntAndEnum(sql, TaskStatus.class);
+    }
+
+    /**
+     * Conta as tarefas marcadas como atrasadas (coluna overdue, mantida pelo StatusRollupJob).
+     * @return A quantidade de tarefas atrasadas.
+     */
+    @Override
+    public int countOverdueTasks() {
+        String sql = NamedSql.TASK_COUNT_OVERDUE.sql();
+        return AggregateQuery.count(sql);
+    }
+
+    /**
+     * Busca uma tarefa pelo ID.
+     * @param taskId O ID da tarefa.
+     * @return A tarefa, ou null se ela não existir (ou em caso de erro).
+     */
+    @Override
+    public Task getTaskById(int taskId) {
+        String sql = NamedSql.TASK_SELECT_BY_ID.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, taskId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToTask(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Busca várias tarefas pelo ID, em blocos de {@link NamedSql#ID_LIST_SIZE} IDs por consulta,
+     * todos na mesma conexão.
+     * @param taskIds Os IDs das tarefas.
+     * @return Um mapa ID → tarefa (IDs que não existem não aparecem), ou null em caso de erro.
+     */
+    @Override
+    public Map<Integer, Task> getTasksByIds(Collection<Integer> taskIds) {
+        List<Integer> ids = List.copyOf(new LinkedHashSet<>(taskIds));
+        Map<Integer, Task> tasks = new HashMap<>();
+        if (ids.isEmpty()) {
+            return tasks;
+        }
+        String sql = NamedSql.TASK_SELECT_BY_IDS.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int from = 0; from < ids.size(); from += NamedSql.ID_LIST_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + NamedSql.ID_LIST_SIZE, ids.size()));
+                // O IN tem tamanho fixo: o último bloco repete o último ID nas posições que sobram.
+                for (int i = 0; i < NamedSql.ID_LIST_SIZE; i++) {
+                    pstmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Task task = mapRowToTask(rs);
+                        tasks.put(task.getId(), task);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return tasks;
+    }
+
+    /**
+     * Adiciona uma nova tarefa ao banco de dados. Em caso de sucesso, a tarefa recebe o ID gerado.
+     * @param task O objeto Task a ser salvo.
+     * @return true se a inserção for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean addTask(Task task) {
+        String sql = NamedSql.TASK_INSERT.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, task.getTitle());
+            pstmt.setString(2, task.getDescription());
+            pstmt.setInt(3, task.getProjectId());
+            pstmt.setInt(4, task.getResponsibleId());
+            pstmt.setString(5, task.getStatus().name());
+
+            // Converte LocalDate para java.sql.Date, tratando nulos
+            if (task.getPlannedStartDate() != null) {
+                pstmt.setDate(6, Date.valueOf(task.getPlannedStartDate()));
+            } else {
+                pstmt.setNull(6, java.sql.Types.DATE);
+            }
+            if (task.getPlannedEndDate() != null) {
+                pstmt.setDate(7, Date.valueOf(task.getPlannedEndDate()));
+            } else {
+                pstmt.setNull(7, java.sql.Types.DATE);
+            }
+            if (task.getActualStartDate() != null) {
+                pstmt.setDate(8, Date.valueOf(task.getActualStartDate()));
+            } else {
+                pstmt.setNull(8, java.sql.Types.DATE);
+            }
+            if (task.getActualEndDate() != null) {
+                pstmt.setDate(9, Date.valueOf(task.getActualEndDate()));
+            } else {
+                pstmt.setNull(9, java.sql.Types.DATE);
+            }
+            task.setOverdue(Task.isOverdue(task.getStatus(), task.getPlannedEndDate(), LocalDate.now()));
+            pstmt.setBoolean(10, task.isOverdue());
+
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    task.setId(generatedKeys.getInt(1));
+                }
+            }
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.task(ChangeEvent.Kind.INSERT, task.getId(), task.getProjectId()));
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Atualiza uma tarefa existente no banco de dados, se ela não foi alterada desde que foi lida
+     * (a versão da linha ainda é {@link Task#getVersion()}). Em caso de sucesso, a tarefa recebe
+     * a nova versão.
+     * @param task O objeto Task com os dados atualizados.
+     * @return O resultado da atualização ({@link UpdateResult#CONFLICT} se outra gravação chegou antes).
+     */
+    @Override
+    public UpdateResult updateTask(Task task) {
+        String sql = NamedSql.TASK_UPDATE.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            // O projeto da versão que será substituída: a mesma versão garante que é o anterior a esta gravação.
+            int previousProjectId = previousProjectId(conn, task);
+
+            pstmt.setString(1, task.getTitle());
+            pstmt.setString(2, task.getDescription());
+            pstmt.setInt(3, task.getProjectId());
+            pstmt.setInt(4, task.getResponsibleId());
+            pstmt.setString(5, task.getStatus().name());
+
+            pstmt.setDate(6, task.getPlannedStartDate() != null ? Date.valueOf(task.getPlannedStartDate()) : null);
+            pstmt.setDate(7, task.getPlannedEndDate() != null ? Date.valueOf(task.getPlannedEndDate()) : null);
+            pstmt.setDate(8, task.getActualStartDate() != null ? Date.valueOf(task.getActualStartDate()) : null);
+            pstmt.setDate(9, task.getActualEndDate() != null ? Date.valueOf(task.getActualEndDate()) : null);
+            boolean overdue = Task.isOverdue(task.getStatus(), task.getPlannedEndDate(), LocalDate.now());
+            pstmt.setBoolean(10, overdue);
+            pstmt.setInt(11, task.getId());
+            pstmt.setInt(12, task.getVersion());
+
+            if (pstmt.executeUpdate() == 0) {
+                return UpdateResult.ofMissedUpdate(conn, NamedSql.TASK_EXISTS, task.getId());
+            }
+            task.setVersion(task.getVersion() + 1);
+            task.setOverdue(overdue);
+            List<ChangeEvent> events = new ArrayList<>(2);
+            events.add(ChangeEvent.task(ChangeEvent.Kind.UPDATE, task.getId(), task.getProjectId()));
+            if (previousProjectId != 0 && previousProjectId != task.getProjectId()) {
+                events.add(ChangeEvent.task(ChangeEvent.Kind.UPDATE, task.getId(), previousProjectId));
+            }
+            ChangeFeed.recordAndPublish(conn, events);
+            return UpdateResult.UPDATED;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return UpdateResult.FAILED;
+        }
+    }
+
+    /**
+     * Deleta uma tarefa do banco de dados pelo seu ID.
+     * O projeto da tarefa é lido na mesma transação (com a linha bloqueada) para o registro de alterações.
+     * @param taskId O ID da tarefa a ser deletada.
+     * @return true se a deleção for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean deleteTask(int taskId) {
+        Connection conn = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            int projectId;
+            try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.TASK_PROJECT_FOR_DELETE.sql())) {
+                pstmt.setInt(1, taskId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    projectId = rs.getInt(1);
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.TASK_DELETE.sql())) {
+                pstmt.setInt(1, taskId);
+                pstmt.executeUpdate();
+            }
+            ChangeEvent event = ChangeEvent.task(ChangeEvent.Kind.DELETE, taskId, projectId);
+            ChangeFeed.record(conn, event);
+            conn.commit();
+            ChangeFeed.publish(List.of(event));
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * O projeto da tarefa na versão lida por quem a está gravando.
+     * @return O ID do projeto, ou 0 se a tarefa já está em outra versão (a gravação dará conflito).
+     */
+    private static int previousProjectId(Connection conn, Task task) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.TASK_PROJECT_OF_VERSION.sql())) {
+            pstmt.setInt(1, task.getId());
+            pstmt.setInt(2, task.getVersion());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Executa uma consulta de tarefas montada por {@link TaskQuery}.
+     * @return As tarefas, na ordem da consulta (vazia em caso de erro).
+     */
+    private List<Task> queryTasks(String sql, List<Object> parameters) {
+        List<Task> tasks = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            setParameters(pstmt, parameters);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(mapRowToTask(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return tasks;
+    }
+
+    private static void setParameters(PreparedStatement pstmt, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            pstmt.setObject(i + 1, parameters.get(i));
+        }
+    }
+
+    /**
+     * Método auxiliar para mapear uma linha de um ResultSet para um objeto Task.
+     * @param rs O ResultSet posicionado na linha a ser mapeada.
+     * @return Um objeto Task preenchido.
+     * @throws SQLException Se ocorrer um erro ao acessar os dados do ResultSet.
+     */
+    private Task mapRowToTask(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getInt("id"));
+        task.setTitle(rs.getString("title"));
+        task.setDescription(rs.getString("description"));
+        task.setProjectId(rs.getInt("project_id"));
+        task.setResponsibleId(rs.getInt("responsible_id"));
+        task.setStatus(TaskStatus.valueOf(rs.getString("status")));
+        task.setVersion(rs.getInt("version"));
+        task.setOverdue(rs.getBoolean("overdue"));
+
+        Date plannedStartDate = rs.getDate("planned_start_date");
+        if (plannedStartDate != null) {
+            task.setPlannedStartDate(plannedStartDate.toLocalDate());
+        }
+
+        Date plannedEndDate = rs.getDate("planned_end_date");
+        if (plannedEndDate != null) {
+            task.setPlannedEndDate(plannedEndDate.toLocalDate());
+        }
+
+        Date actualStartDate = rs.getDate("actual_start_date");
+        if (actualStartDate != null) {
+            task.setActualStartDate(actualStartDate.toLocalDate());
+        }
+
+        Date actualEndDate = rs.getDate("actual_end_date");
+        if (actualEndDate != null) {
+            task.setActualEndDate(actualEndDate.toLocalDate());
+        }
+
+        return task;
+    }
+}
\ No newline at end of file
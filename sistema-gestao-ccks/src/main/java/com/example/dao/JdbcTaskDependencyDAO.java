@@ -0,0 +1,114 @@
+package com.example.dao;
+
+import com.example.model.TaskDependency;
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação JDBC de {@link TaskDependencyDAO}.
+ *
+ * Uma dependência muda o cronograma da sucessora, então cada gravação é publicada no
+ * {@link ChangeFeed} como uma alteração da tarefa sucessora.
+ */
+public class JdbcTaskDependencyDAO implements TaskDependencyDAO {
+
+    /**
+     * Grava uma dependência de término para início.
+     * @param predecessorId A tarefa que precisa terminar antes.
+     * @param successorId A tarefa que depende dela.
+     * @return true se a dependência for gravada, false se já existia, se as tarefas forem a mesma ou em caso de erro.
+     */
+    @Override
+    public boolean addDependency(int predecessorId, int successorId) {
+        if (predecessorId == successorId) {
+            return false;
+        }
+        String sql = NamedSql.TASK_DEPENDENCY_INSERT.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, predecessorId);
+            pstmt.setInt(2, successorId);
+            pstmt.executeUpdate();
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.updated(ChangeEvent.Entity.TASK, successorId));
+            return true;
+        } catch (SQLException e) {
+            // Ignora erro de chave duplicada (a dependência já existe)
+            if (!DatabaseConnection.getDialect().isDuplicateKey(e)) {
+                e.printStackTrace();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Remove uma dependência.
+     * @return true se a dependência existia e foi removida, false caso contrário.
+     */
+    @Override
+    public boolean removeDependency(int predecessorId, int successorId) {
+        String sql = NamedSql.TASK_DEPENDENCY_DELETE.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, predecessorId);
+            pstmt.setInt(2, successorId);
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.updated(ChangeEvent.Entity.TASK, successorId));
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Busca as dependências cujas sucessoras pertencem ao projeto.
+     * @return As dependências, ou uma lista vazia em caso de erro.
+     */
+    @Override
+    public List<TaskDependency> getDependenciesByProject(int projectId) {
+        List<TaskDependency> dependencies = new ArrayList<>();
+        String sql = NamedSql.TASK_DEPENDENCIES_BY_PROJECT.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, projectId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    dependencies.add(new TaskDependency(rs.getInt("predecessor_id"), rs.getInt("successor_id")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return dependencies;
+    }
+
+    /**
+     * Busca as predecessoras de uma tarefa.
+     * @return Os IDs das predecessoras, ou uma lista vazia em caso de erro.
+     */
+    @Override
+    public List<Integer> getPredecessorIds(int taskId) {
+        List<Integer> predecessorIds = new ArrayList<>();
+        String sql = NamedSql.TASK_DEPENDENCY_PREDECESSORS.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, taskId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    predecessorIds.add(rs.getInt("predecessor_id"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return predecessorIds;
+    }
+}
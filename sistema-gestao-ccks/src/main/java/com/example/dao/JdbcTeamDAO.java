@@ -0,0 +1,397 @@
+package com.example.dao;
+
+import com.example.model.Team;
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import com.example.model.User;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementação JDBC do DAO para a entidade Team (equipes e seus membros).
+ */
+public class JdbcTeamDAO implements TeamDAO {
+
+    // Máximo de IDs em cada DELETE ... IN (...), para não gerar comandos gigantes.
+    private static final int MEMBER_CHUNK_SIZE = 500;
+
+    /**
+     * Adiciona uma nova equipe e seus membros ao banco de dados.
+     * Usa uma transação para garantir que a equipe e seus membros sejam salvos atomicamente.
+     * @param team O objeto Team a ser salvo.
+     * @param memberIds A lista de IDs dos usuários que são membros da equipe.
+     * @return true se a operação for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean addTeam(Team team, List<Integer> memberIds) {
+        String insertTeamSQL = NamedSql.TEAM_INSERT.sql();
+        String insertMembersSQL = NamedSql.TEAM_MEMBER_INSERT.sql();
+        Connection conn = null;
+
+        try {
+            conn = DatabaseConnection.getConnection();
+            // Desabilita o auto-commit para controlar a transação manualmente
+            conn.setAutoCommit(false);
+
+            // 1. Inserir a equipe e obter o ID gerado
+            int teamId;
+            try (PreparedStatement pstmtTeam = conn.prepareStatement(insertTeamSQL, Statement.RETURN_GENERATED_KEYS)) {
+                pstmtTeam.setString(1, team.getName());
+                pstmtTeam.setString(2, team.getDescription());
+                pstmtTeam.executeUpdate();
+
+                try (ResultSet generatedKeys = pstmtTeam.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        teamId = generatedKeys.getInt(1);
+                        team.setId(teamId);
+                    } else {
+                        throw new SQLException("Falha ao criar equipe, nenhum ID obtido.");
+                    }
+                }
+            }
+
+            // 2. Inserir os membros na tabela de associação
+            if (memberIds != null && !memberIds.isEmpty()) {
+                try (PreparedStatement pstmtMembers = conn.prepareStatement(insertMembersSQL)) {
+                    for (Integer memberId : memberIds) {
+                        pstmtMembers.setInt(1, teamId);
+                        pstmtMembers.setInt(2, memberId);
+                        pstmtMembers.addBatch();
+                    }
+                    pstmtMembers.executeBatch();
+                }
+            }
+
+            // Registra a alteração na mesma transação e, se tudo correu bem, comita
+            ChangeEvent event = ChangeEvent.inserted(ChangeEvent.Entity.TEAM, teamId);
+            ChangeFeed.record(conn, event);
+            conn.commit();
+            ChangeFeed.publish(List.of(event));
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            // Em caso de erro, faz o rollback da transação
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return false;
+        } finally {
+            invalidateCaches(team.getId());
+            // Restaura o auto-commit e fecha a conexão
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Atualiza uma equipe existente e seus membros.
+     * Usa uma transação para garantir a atomicidade da operação.
+     *
+     * Em vez de apagar e reinserir todos os membros, compara a nova lista com a atual e
+     * grava só a diferença: adicionar uma pessoa a uma equipe grande custa um INSERT, não
+     * a reescrita de todas as linhas de team_members da equipe.
+     *
+     * A equipe só é alterada se a versão dela no banco ainda for {@link Team#getVersion()};
+     * a versão cobre também os membros, já que toda alteração deles passa por este método.
+     * @param team O objeto Team com nome e descrição atualizados.
+     * @param memberIds A nova lista de IDs de membros da equipe.
+     * @return O resultado da atualização ({@link UpdateResult#CONFLICT} se outra gravação chegou antes).
+     */
+    @Override
+    public UpdateResult updateTeam(Team team, List<Integer> memberIds) {
+        String updateTeamSQL = NamedSql.TEAM_UPDATE.sql();
+        // FOR UPDATE trava as participações lidas até o commit, para que duas edições
+        // simultâneas da mesma equipe não calculem a diferença sobre o mesmo estado.
+        String selectMembersSQL = NamedSql.TEAM_MEMBER_IDS_FOR_UPDATE.sql();
+        String insertMembersSQL = NamedSql.TEAM_MEMBER_INSERT.sql();
+        Connection conn = null;
+
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            // 1. Atualizar dados da equipe, se a versão ainda for a lida; senão, nada é gravado
+            try (PreparedStatement pstmtUpdate = conn.prepareStatement(updateTeamSQL)) {
+                pstmtUpdate.setString(1, team.getName());
+                pstmtUpdate.setString(2, team.getDescription());
+                pstmtUpdate.setInt(3, team.getId());
+                pstmtUpdate.setInt(4, team.getVersion());
+                if (pstmtUpdate.executeUpdate() == 0) {
+                    UpdateResult missed = UpdateResult.ofMissedUpdate(conn, NamedSql.TEAM_EXISTS, team.getId());
+                    conn.rollback();
+                    return missed;
+                }
+            }
+
+            // 2. Ler os membros atuais e calcular a diferença
+            Set<Integer> currentIds = new HashSet<>();
+            try (PreparedStatement pstmtSelect = conn.prepareStatement(selectMembersSQL)) {
+                pstmtSelect.setInt(1, team.getId());
+                try (ResultSet rs = pstmtSelect.executeQuery()) {
+                    while (rs.next()) {
+                        currentIds.add(rs.getInt(1));
+                    }
+                }
+            }
+            Set<Integer> newIds = memberIds != null ? new LinkedHashSet<>(memberIds) : new LinkedHashSet<>();
+            List<Integer> removedIds = new ArrayList<>();
+            for (Integer currentId : currentIds) {
+                if (!newIds.contains(currentId)) {
+                    removedIds.add(currentId);
+                }
+            }
+            newIds.removeAll(currentIds);
+
+            // 3. Remover quem saiu, em blocos de no máximo MEMBER_CHUNK_SIZE IDs por DELETE
+            for (int from = 0; from < removedIds.size(); from += MEMBER_CHUNK_SIZE) {
+                List<Integer> chunk = removedIds.subList(from, Math.min(from + MEMBER_CHUNK_SIZE, removedIds.size()));
+                String deleteMembersSQL = "DELETE FROM team_members WHERE team_id = ? AND user_id IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement pstmtDelete = conn.prepareStatement(deleteMembersSQL)) {
+                    pstmtDelete.setInt(1, team.getId());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmtDelete.setInt(i + 2, chunk.get(i));
+                    }
+                    pstmtDelete.executeUpdate();
+                }
+            }
+
+            // 4. Inserir quem entrou
+            if (!newIds.isEmpty()) {
+                try (PreparedStatement pstmtInsert = conn.prepareStatement(insertMembersSQL)) {
+                    for (Integer memberId : newIds) {
+                        pstmtInsert.setInt(1, team.getId());
+                        pstmtInsert.setInt(2, memberId);
+                        pstmtInsert.addBatch();
+                    }
+                    pstmtInsert.executeBatch();
+                }
+            }
+
+            ChangeEvent event = ChangeEvent.updated(ChangeEvent.Entity.TEAM, team.getId());
+            ChangeFeed.record(conn, event);
+            conn.commit();
+            team.setVersion(team.getVersion() + 1);
+            ChangeFeed.publish(List.of(event));
+            return UpdateResult.UPDATED;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return UpdateResult.FAILED;
+        } finally {
+            invalidateCaches(team.getId());
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Deleta uma equipe do banco de dados.
+     * A exclusão em cascata no banco de dados removerá as associações de membros.
+     * @param teamId O ID da equipe a ser deletada.
+     * @return true se a deleção for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean deleteTeam(int teamId) {
+        String sql = NamedSql.TEAM_DELETE.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, teamId);
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.deleted(ChangeEvent.Entity.TEAM, teamId));
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            invalidateCaches(teamId);
+        }
+    }
+
+    /**
+     * Descarta a equipe e seus membros em cache após uma escrita.
+     */
+    private void invalidateCaches(int teamId) {
+        EntityCaches.TEAMS.invalidate(teamId);
+        EntityCaches.TEAM_MEMBERSHIP.invalidate(teamId);
+    }
+
+    @Override
+    public List<User> getTeamMembers(int teamId) {
+        List<User> members = new ArrayList<>();
+        String sql = NamedSql.TEAM_MEMBERS.sql();
+        JdbcUserDAO userDAO = new JdbcUserDAO(); // Helper to map user rows
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, teamId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    members.add(userDAO.mapRowToUser(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return members;
+    }
+
+    /**
+     * Retorna os IDs dos membros de todas as equipes, carregados com uma única consulta e
+     * mantidos no cache compartilhado ({@link EntityCaches}). Junto com
+     * {@link UserDAO#getAllUsers()}, permite montar a lista de membros de qualquer equipe
+     * sem ir ao banco a cada troca de seleção.
+     * @return Um mapa ID da equipe → IDs dos membros. Equipes sem membros não aparecem no mapa.
+     */
+    @Override
+    public Map<Integer, List<Integer>> getMemberIdsByTeam() {
+        List<EntityCaches.TeamMembership> memberships =
+                EntityCaches.TEAM_MEMBERSHIP.getAll(this::queryMemberships);
+        if (memberships == null) {
+            return Map.of();
+        }
+        Map<Integer, List<Integer>> membership = new HashMap<>();
+        for (EntityCaches.TeamMembership entry : memberships) {
+            membership.put(entry.teamId(), entry.userIds());
+        }
+        return Collections.unmodifiableMap(membership);
+    }
+
+    /**
+     * Consulta todas as participações em equipes.
+     * @return Os membros (imutáveis) de cada equipe com membros, ou null em caso de erro.
+     */
+    private List<EntityCaches.TeamMembership> queryMemberships() {
+        Map<Integer, List<Integer>> membership = new HashMap<>();
+        String sql = NamedSql.TEAM_MEMBERSHIP_ALL.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                membership.computeIfAbsent(rs.getInt("team_id"), id -> new ArrayList<>()).add(rs.getInt("user_id"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        List<EntityCaches.TeamMembership> memberships = new ArrayList<>(membership.size());
+        membership.forEach((teamId, userIds) ->
+                memberships.add(new EntityCaches.TeamMembership(teamId, List.copyOf(userIds))));
+        return List.copyOf(memberships);
+    }
+
+    /**
+     * Conta os membros de todas as equipes com uma única consulta agrupada.
+     * Substitui chamar {@link #getTeamMembers(int)} equipe por equipe só para obter o tamanho.
+     * @return Um mapa ID da equipe → quantidade de membros. Equipes sem membros não aparecem no mapa.
+     */
+    @Override
+    public Map<Integer, Integer> countMembersByTeam() {
+        String sql = NamedSql.TEAM_MEMBER_COUNTS.sql();
+        return AggregateQuery.countByInt(sql);
+    }
+
+    /**
+     * Busca todas as equipes cadastradas.
+     * A lista vem do cache compartilhado ({@link EntityCaches}) quando disponível; os objetos
+     * devolvidos são cópias e podem ser alterados livremente.
+     * @return Uma lista de objetos Team.
+     */
+    @Override
+    public List<Team> getAllTeams() {
+        List<Team> teams = EntityCaches.TEAMS.getAll(this::queryAllTeams);
+        return EntityCaches.copyOf(teams, Team::copy);
+    }
+
+    /**
+     * Consulta todas as equipes no banco de dados.
+     * @return A lista (imutável) de equipes, ou null em caso de erro.
+     */
+    private List<Team> queryAllTeams() {
+        List<Team> teams = new ArrayList<>();
+        String sql = NamedSql.TEAM_SELECT_ALL.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                teams.add(mapRowToTeam(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return List.copyOf(teams);
+    }
+
+    /**
+     * Busca uma equipe pelo ID, direto no banco (sem passar pelo cache).
+     * @param teamId O ID da equipe.
+     * @return A equipe, ou null se ela não existir (ou em caso de erro).
+     */
+    @Override
+    public Team getTeamById(int teamId) {
+        String sql = NamedSql.TEAM_SELECT_BY_ID.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, teamId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToTeam(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private Team mapRowToTeam(ResultSet rs) throws SQLException {
+        Team team = new Team();
+        team.setId(rs.getInt("id"));
+        team.setName(rs.getString("name"));
+        team.setDescription(rs.getString("description"));
+        team.setVersion(rs.getInt("version"));
+        return team;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,322 @@
+package com.example.dao;
+
+import com.example.model.User;
+import com.example.model.User.UserProfile;
+import com.example.util.DatabaseConnection;
+import com.example.util.PasswordHasher;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação JDBC do DAO (Data Access Object) para a entidade User.
+ * Esta classe encapsula toda a lógica de acesso ao banco de dados (CRUD) para os usuários,
+ * separando as regras de negócio da persistência de dados.
+ */
+public class JdbcUserDAO implements UserDAO {
+
+    /**
+     * Busca um usuário e o hash da sua senha pelo login.
+     * A verificação da senha fica a cargo do {@code AuthenticationService}, fora desta classe,
+     * para que o custo do BCrypt não ocupe a conexão com o banco.
+     *
+     * @param login O nome de usuário.
+     * @return As credenciais do usuário, ou null se o login não existir (ou em caso de erro).
+     */
+    @Override
+    public Credentials findCredentialsByLogin(String login) {
+        // Query SQL para buscar um usuário pelo seu login.
+        String sql = NamedSql.USER_FIND_BY_LOGIN.sql();
+
+        // O 'try-with-resources' garante que a conexão (conn) e o PreparedStatement (pstmt)
+        // sejam fechados automaticamente no final do bloco, mesmo que ocorram exceções.
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            // Define o valor do primeiro parâmetro (?) na query SQL.
+            // Isso previne SQL Injection.
+            pstmt.setString(1, login);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new Credentials(mapRowToUser(rs), rs.getString("password"));
+                }
+            }
+        } catch (SQLException e) {
+            // Em caso de erro de SQL, imprime o erro para depuração.
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Regrava o hash da senha de um usuário (ex: com um custo de BCrypt maior).
+     * Só altera a linha se o hash ainda for o esperado, para não sobrescrever uma troca de
+     * senha feita ao mesmo tempo.
+     *
+     * @param userId O ID do usuário.
+     * @param expectedHash O hash lido na autenticação.
+     * @param newHash O novo hash da mesma senha.
+     * @return true se o hash foi atualizado, false caso contrário.
+     */
+    @Override
+    public boolean updatePasswordHash(int userId, String expectedHash, String newHash) {
+        String sql = NamedSql.USER_UPDATE_PASSWORD_HASH.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, newHash);
+            pstmt.setInt(2, userId);
+            pstmt.setString(3, expectedHash);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Adiciona um novo usuário ao banco de dados.
+     * A senha do usuário é criptografada com BCrypt antes de ser salva. Em caso de sucesso,
+     * o usuário recebe o ID gerado.
+     *
+     * @param user O objeto User contendo os dados do novo usuário. A senha deve estar em texto plano.
+     * @return true se o usuário foi adicionado com sucesso, false caso contrário.
+     */
+    @Override
+    public boolean addUser(User user) {
+        // Gera um 'salt' e criptografa a senha em texto plano do usuário, com o custo calibrado.
+        String hashedPassword = PasswordHasher.getDefault().hash(user.getPassword());
+
+        // Query SQL para inserir um novo usuário.
+        String sql = NamedSql.USER_INSERT.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            // Define os valores para cada parâmetro (?) na query.
+            pstmt.setString(1, user.getFullName());
+            pstmt.setString(2, user.getCpf());
+            pstmt.setString(3, user.getEmail());
+            pstmt.setString(4, user.getJobTitle());
+            pstmt.setString(5, user.getLogin());
+            pstmt.setString(6, hashedPassword); // Salva a senha já criptografada.
+            pstmt.setString(7, user.getProfile().name()); // Converte o Enum para String.
+
+            // Executa o comando de inserção. executeUpdate() retorna o número de linhas afetadas.
+            // Se for > 0, a inserção foi bem-sucedida.
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    user.setId(generatedKeys.getInt(1));
+                }
+            }
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.inserted(ChangeEvent.Entity.USER, user.getId()));
+            return true;
+        } catch (SQLException e) {
+            // Erros podem ocorrer por várias razões, como violação de chave única (login, cpf, email).
+            e.printStackTrace(); // Idealmente, logar o erro
+            return false;
+        } finally {
+            invalidateCaches(user.getId());
+        }
+    }
+
+    /**
+     * Busca no banco de dados todos os usuários que podem ser gerentes de projeto.
+     * Neste caso, são os usuários com perfil 'ADMINISTRADOR' ou 'GERENTE'.
+     *
+     * A lista é filtrada dos usuários em cache ({@link EntityCaches}), na mesma ordem de
+     * {@link #getAllUsers()}; os objetos devolvidos são cópias e podem ser alterados livremente.
+     *
+     * @return Uma lista de objetos User que são gerentes.
+     */
+    @Override
+    public List<User> getManagerUsers() {
+        List<User> managers = new ArrayList<>();
+        List<User> users = EntityCaches.USERS.getAll(this::queryAllUsers);
+        if (users != null) {
+            for (User user : users) {
+                if (user.getProfile() == User.UserProfile.ADMINISTRADOR || user.getProfile() == User.UserProfile.GERENTE) {
+                    managers.add(user.copy());
+                }
+            }
+        }
+        return managers;
+    }
+
+    /**
+     * Busca todos os usuários cadastrados no banco de dados.
+     * A lista vem do cache compartilhado ({@link EntityCaches}) quando disponível; os objetos
+     * devolvidos são cópias e podem ser alterados livremente.
+     *
+     * @return Uma lista com todos os objetos User.
+     */
+    @Override
+    public List<User> getAllUsers() {
+        List<User> users = EntityCaches.USERS.getAll(this::queryAllUsers);
+        return EntityCaches.copyOf(users, User::copy);
+    }
+
+    /**
+     * Como {@link #getAllUsers()}, mas retorna null se a consulta falhar.
+     * @return Cópias dos usuários, ou null em caso de erro.
+     */
+    @Override
+    public List<User> tryGetAllUsers() {
+        List<User> users = EntityCaches.USERS.getAll(this::queryAllUsers);
+        return users == null ? null : EntityCaches.copyOf(users, User::copy);
+    }
+
+    /**
+     * Consulta todos os usuários no banco de dados.
+     * @return A lista (imutável) de usuários, ou null em caso de erro.
+     */
+    private List<User> queryAllUsers() {
+        List<User> users = new ArrayList<>();
+        String sql = NamedSql.USER_SELECT_ALL.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                users.add(mapRowToUser(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace(); // Logar o erro.
+            return null;
+        }
+        return List.copyOf(users);
+    }
+
+    /**
+     * Busca um usuário pelo ID, direto no banco (sem passar pelo cache).
+     * @param userId O ID do usuário.
+     * @return O usuário, ou null se ele não existir (ou em caso de erro).
+     */
+    @Override
+    public User getUserById(int userId) {
+        String sql = NamedSql.USER_SELECT_BY_ID.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToUser(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Atualiza os dados de um usuário existente no banco de dados.
+     * A senha só é atualizada se uma nova for fornecida no objeto User.
+     *
+     * @param user O objeto User com os dados atualizados.
+     * @return true se a atualização for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean updateUser(User user) {
+        boolean passwordChanged = user.getPassword() != null && !user.getPassword().isEmpty();
+
+        String sql = passwordChanged ? NamedSql.USER_UPDATE_WITH_PASSWORD.sql() : NamedSql.USER_UPDATE.sql();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, user.getFullName());
+            pstmt.setString(2, user.getCpf());
+            pstmt.setString(3, user.getEmail());
+            pstmt.setString(4, user.getJobTitle());
+            pstmt.setString(5, user.getLogin());
+            pstmt.setString(6, user.getProfile().name());
+
+            int parameterIndex = 7;
+            if (passwordChanged) {
+                String hashedPassword = PasswordHasher.getDefault().hash(user.getPassword());
+                pstmt.setString(parameterIndex++, hashedPassword);
+            }
+            pstmt.setInt(parameterIndex, user.getId());
+
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.updated(ChangeEvent.Entity.USER, user.getId()));
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            invalidateCaches(user.getId());
+        }
+    }
+
+    /**
+     * Deleta um usuário do banco de dados pelo seu ID.
+     *
+     * @param userId O ID do usuário a ser deletado.
+     * @return true se a deleção for bem-sucedida, false caso contrário.
+     */
+    @Override
+    public boolean deleteUser(int userId) {
+        String sql = NamedSql.USER_DELETE.sql();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+            ChangeFeed.recordAndPublish(conn, ChangeEvent.deleted(ChangeEvent.Entity.USER, userId));
+            return true;
+        } catch (SQLException e) {
+            // Pode falhar devido a restrições de chave estrangeira (e.g., usuário é gerente de projeto)
+            e.printStackTrace();
+            return false;
+        } finally {
+            invalidateCaches(userId);
+        }
+    }
+
+    /**
+     * Descarta o usuário em cache (e, com ele, a lista de usuários). A exclusão de um usuário
+     * também remove suas participações em equipes (ON DELETE CASCADE).
+     */
+    private void invalidateCaches(int userId) {
+        EntityCaches.USERS.invalidate(userId);
+        EntityCaches.TEAM_MEMBERSHIP.invalidateAll();
+    }
+
+
+    /**
+     * Mapeia uma linha de um ResultSet para um objeto User.
+     * Reutiliza a lógica de criação de objetos User a partir de dados do banco.
+     *
+     * @param rs O ResultSet posicionado na linha a ser mapeada.
+     * @return Um objeto User preenchido com os dados da linha.
+     * @throws SQLException Se ocorrer um erro ao acessar os dados do ResultSet.
+     */
+    public User mapRowToUser(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getInt("id"));
+        user.setFullName(rs.getString("full_name"));
+        user.setLogin(rs.getString("login"));
+        // Converte a string do banco de dados de volta para o enum UserProfile.
+        user.setProfile(UserProfile.valueOf(rs.getString("profile")));
+        user.setEmail(rs.getString("email"));
+        user.setJobTitle(rs.getString("job_title"));
+        user.setCpf(rs.getString("cpf"));
+        // Nota de segurança: A senha (mesmo o hash) nunca é carregada para o objeto User
+        // que será usado na aplicação, para evitar exposição acidental.
+        return user;
+    }
+}
\ No newline at end of file
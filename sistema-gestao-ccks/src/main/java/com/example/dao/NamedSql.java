@@ -0,0 +1,152 @@
+package com.example.dao;
+
+import java.util.Collections;
+
+/**
+ * Registro dos comandos SQL dos DAOs, um por operação.
+ *
+ * Cada operação usa sempre o mesmo texto SQL (sem concatenação a cada chamada), o que permite
+ * ao pool de conexões reaproveitar o PreparedStatement já preparado na conexão
+ * (ver {@code ConnectionPool}) e ao servidor reaproveitar o plano do comando preparado.
+ * Variações de uma consulta (ex: a atualização de usuário com e sem senha) são entradas
+ * separadas, em vez de SQL montado em tempo de execução. A exceção são as listas de tarefas
+ * com os filtros e a ordenação escolhidos na tela, montadas por {@link TaskQuery} (que também
+ * gera um texto fixo para cada combinação).
+ *
+ * Consultas por lista de IDs têm sempre {@link #ID_LIST_SIZE} parâmetros no {@code IN (...)}:
+ * listas maiores são divididas em blocos, e o último bloco repete um ID até completar o tamanho.
+ *
+ * Os planos de execução de todas as entradas são conferidos pelo QueryPlanTest (src/test).
+ */
+enum NamedSql {
+
+    // --- Usuários ---
+    USER_FIND_BY_LOGIN("SELECT * FROM users WHERE login = ?"),
+    USER_UPDATE_PASSWORD_HASH("UPDATE users SET password = ? WHERE id = ? AND password = ?"),
+    USER_INSERT("INSERT INTO users (full_name, cpf, email, job_title, login, password, profile) VALUES (?, ?, ?, ?, ?, ?, ?)"),
+    USER_SELECT_ALL("SELECT * FROM users ORDER BY full_name"),
+    USER_UPDATE("UPDATE users SET full_name = ?, cpf = ?, email = ?, job_title = ?, login = ?, profile = ? WHERE id = ?"),
+    USER_UPDATE_WITH_PASSWORD("UPDATE users SET full_name = ?, cpf = ?, email = ?, job_title = ?, login = ?, profile = ?, password = ? WHERE id = ?"),
+    USER_DELETE("DELETE FROM users WHERE id = ?"),
+    USER_SELECT_BY_ID("SELECT * FROM users WHERE id = ?"),
+
+    // --- Projetos ---
+    PROJECT_INSERT("INSERT INTO projects (name, description, start_date, planned_end_date, status, manager_id) VALUES (?, ?, ?, ?, ?, ?)"),
+    PROJECT_SELECT_ALL("SELECT * FROM projects ORDER BY name"),
+    PROJECT_COUNT_BY_STATUS("SELECT status, COUNT(*) FROM projects GROUP BY status"),
+    PROJECT_ADD_TEAM("INSERT INTO project_teams (project_id, team_id) VALUES (?, ?)"),
+    PROJECT_UPDATE("UPDATE projects SET name = ?, description = ?, start_date = ?, planned_end_date = ?, status = ?, manager_id = ?, "
+            + "version = version + 1 WHERE id = ? AND version = ?"),
+    PROJECT_EXISTS("SELECT 1 FROM projects WHERE id = ?"),
+    PROJECT_DELETE("DELETE FROM projects WHERE id = ?"),
+    PROJECT_SELECT_BY_ID("SELECT * FROM projects WHERE id = ?"),
+
+    // --- Tarefas ---
+    TASK_SELECT_ALL("SELECT * FROM tasks ORDER BY planned_end_date"),
+    TASK_SELECT_UPCOMING("SELECT * FROM tasks WHERE status != 'CONCLUIDA' AND planned_end_date <= ? ORDER BY planned_end_date ASC"),
+    TASK_COUNT_BY_STATUS("SELECT status, COUNT(*) FROM tasks GROUP BY status"),
+    TASK_COUNT_BY_PROJECT_AND_STATUS("SELECT project_id, status, COUNT(*) FROM tasks GROUP BY project_id, status"),
+    TASK_COUNT_OVERDUE("SELECT COUNT(*) FROM tasks WHERE overdue = TRUE"),
+    TASK_INSERT("INSERT INTO tasks (title, description, project_id, responsible_id, status, planned_start_date, planned_end_date, actual_start_date, actual_end_date, overdue) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+    TASK_UPDATE("UPDATE tasks SET title = ?, description = ?, project_id = ?, responsible_id = ?, status = ?, "
+            + "planned_start_date = ?, planned_end_date = ?, actual_start_date = ?, actual_end_date = ?, overdue = ?, "
+            + "version = version + 1 WHERE id = ? AND version = ?"),
+    TASK_EXISTS("SELECT 1 FROM tasks WHERE id = ?"),
+    TASK_DELETE("DELETE FROM tasks WHERE id = ?"),
+    // O projeto da versão lida, para o registro de alterações (ver ChangeEvent#projectId).
+    TASK_PROJECT_OF_VERSION("SELECT project_id FROM tasks WHERE id = ? AND version = ?"),
+    TASK_PROJECT_FOR_DELETE("SELECT project_id FROM tasks WHERE id = ? FOR UPDATE"),
+    TASK_SELECT_BY_ID("SELECT * FROM tasks WHERE id = ?"),
+    TASK_SELECT_BY_IDS("SELECT * FROM tasks WHERE id IN (" + placeholders(NamedSql.ID_LIST_SIZE) + ")"),
+    // Matriz projeto × status (com as atrasadas) só dos projetos informados; projetos sem tarefas vêm
+    // com status nulo e contagem zero. Ver DashboardDAO#getProjectTaskCounts.
+    TASK_COUNTS_BY_PROJECT_IDS("SELECT p.id, p.name, CONCAT(t.status, '') AS status, COUNT(t.id) AS total, "
+            + "SUM(CASE WHEN t.overdue = TRUE THEN 1 ELSE 0 END) AS overdue "
+            + "FROM projects p LEFT JOIN tasks t ON t.project_id = p.id "
+            + "WHERE p.id IN (" + placeholders(NamedSql.ID_LIST_SIZE) + ") GROUP BY p.id, p.name, t.status"),
+
+    // --- Dependências entre tarefas ---
+    TASK_DEPENDENCY_INSERT("INSERT INTO task_dependencies (predecessor_id, successor_id) VALUES (?, ?)"),
+    TASK_DEPENDENCY_DELETE("DELETE FROM task_dependencies WHERE predecessor_id = ? AND successor_id = ?"),
+    TASK_DEPENDENCY_PREDECESSORS("SELECT predecessor_id FROM task_dependencies WHERE successor_id = ?"),
+    TASK_DEPENDENCIES_BY_PROJECT("SELECT d.predecessor_id, d.successor_id FROM task_dependencies d "
+            + "JOIN tasks t ON t.id = d.successor_id WHERE t.project_id = ?"),
+
+    // --- Equipes ---
+    TEAM_INSERT("INSERT INTO teams (name, description) VALUES (?, ?)"),
+    TEAM_UPDATE("UPDATE teams SET name = ?, description = ?, version = version + 1 WHERE id = ? AND version = ?"),
+    TEAM_EXISTS("SELECT 1 FROM teams WHERE id = ?"),
+    TEAM_DELETE("DELETE FROM teams WHERE id = ?"),
+    TEAM_SELECT_ALL("SELECT * FROM teams ORDER BY name"),
+    TEAM_SELECT_BY_ID("SELECT * FROM teams WHERE id = ?"),
+    TEAM_MEMBER_INSERT("INSERT INTO team_members (team_id, user_id) VALUES (?, ?)"),
+    TEAM_MEMBER_IDS_FOR_UPDATE("SELECT user_id FROM team_members WHERE team_id = ? FOR UPDATE"),
+    TEAM_MEMBERS("SELECT u.* FROM users u JOIN team_members tm ON u.id = tm.user_id WHERE tm.team_id = ?"),
+    TEAM_MEMBERSHIP_ALL("SELECT team_id, user_id FROM team_members"),
+    TEAM_MEMBER_COUNTS("SELECT team_id, COUNT(*) FROM team_members GROUP BY team_id"),
+
+    // --- Consolidação (StatusRollupJob) ---
+    // Matriz projeto × status com os dados do projeto que a consolidação compara; projetos sem
+    // tarefas vêm com status nulo e contagem zero. Ver RollupDAO#getProjectTotals.
+    ROLLUP_PROJECT_TOTALS("SELECT p.id, p.version, CONCAT(p.status, '') AS project_status, p.completion_percent, "
+            + "CONCAT(t.status, '') AS task_status, COUNT(t.id) AS total "
+            + "FROM projects p LEFT JOIN tasks t ON t.project_id = p.id "
+            + "GROUP BY p.id, p.version, p.status, p.completion_percent, t.status"),
+    ROLLUP_PROJECT_TOTALS_BY_IDS("SELECT p.id, p.version, CONCAT(p.status, '') AS project_status, p.completion_percent, "
+            + "CONCAT(t.status, '') AS task_status, COUNT(t.id) AS total "
+            + "FROM projects p LEFT JOIN tasks t ON t.project_id = p.id "
+            + "WHERE p.id IN (" + placeholders(NamedSql.ID_LIST_SIZE) + ") "
+            + "GROUP BY p.id, p.version, p.status, p.completion_percent, t.status"),
+    // Só as tarefas cujo atraso está desatualizado (parâmetro: a data de hoje).
+    ROLLUP_OVERDUE_CANDIDATES("SELECT id, project_id FROM tasks "
+            + "WHERE status <> 'CONCLUIDA' AND planned_end_date < ? AND overdue = FALSE"),
+    ROLLUP_NOT_OVERDUE_CANDIDATES("SELECT id, project_id FROM tasks "
+            + "WHERE overdue = TRUE AND (status = 'CONCLUIDA' OR planned_end_date IS NULL OR planned_end_date >= ?)"),
+    // Valores derivados: não mudam a versão da linha, para não invalidar uma edição aberta.
+    // O atraso repete a condição da leitura: uma tarefa alterada desde então fica como está.
+    ROLLUP_TASK_SET_OVERDUE("UPDATE tasks SET overdue = TRUE "
+            + "WHERE id = ? AND overdue = FALSE AND status <> 'CONCLUIDA' AND planned_end_date < ?"),
+    ROLLUP_TASK_CLEAR_OVERDUE("UPDATE tasks SET overdue = FALSE "
+            + "WHERE id = ? AND overdue = TRUE AND (status = 'CONCLUIDA' OR planned_end_date IS NULL OR planned_end_date >= ?)"),
+    ROLLUP_PROJECT_COMPLETION("UPDATE projects SET completion_percent = ? WHERE id = ?"),
+    // O status é um dado do projeto: só muda se o projeto não foi alterado desde a leitura.
+    ROLLUP_PROJECT_STATUS("UPDATE projects SET status = ?, version = version + 1 WHERE id = ? AND version = ?"),
+
+    // --- Histórico de andamento (ProgressSnapshotJob) ---
+    // A linha do dia é regravada a cada execução; os dias anteriores não mudam.
+    PROGRESS_DELETE_DAY("DELETE FROM project_progress_daily WHERE snapshot_date = ?"),
+    // Parâmetros: a data e os status PENDENTE, EM_EXECUCAO e CONCLUIDA. Projetos sem tarefas entram com zeros.
+    PROGRESS_SNAPSHOT_DAY("INSERT INTO project_progress_daily (project_id, snapshot_date, pending, in_progress, completed, overdue) "
+            + "SELECT p.id, ?, "
+            + "SUM(CASE WHEN t.status = ? THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.status = ? THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.status = ? THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.overdue = TRUE THEN 1 ELSE 0 END) "
+            + "FROM projects p LEFT JOIN tasks t ON t.project_id = p.id GROUP BY p.id"),
+    PROGRESS_SELECT_RANGE("SELECT snapshot_date, pending, in_progress, completed, overdue FROM project_progress_daily "
+            + "WHERE project_id = ? AND snapshot_date BETWEEN ? AND ? ORDER BY snapshot_date"),
+
+    // --- Registro de alterações (ChangeFeed) ---
+    CHANGE_LOG_INSERT("INSERT INTO change_log (entity, entity_id, kind, origin, project_id) VALUES (?, ?, ?, ?, ?)"),
+    CHANGE_LOG_MAX_ID("SELECT COALESCE(MAX(id), 0) FROM change_log"),
+    CHANGE_LOG_AFTER("SELECT id, entity, entity_id, kind, origin, project_id FROM change_log WHERE id > ? ORDER BY id LIMIT ?"),
+    CHANGE_LOG_PRUNE("DELETE FROM change_log WHERE changed_at < ?");
+
+    /** Quantidade de parâmetros do {@code IN (...)} das consultas por lista de IDs. */
+    static final int ID_LIST_SIZE = 100;
+
+    private final String sql;
+
+    NamedSql(String sql) {
+        this.sql = sql;
+    }
+
+    /** O texto SQL da operação. */
+    String sql() {
+        return sql;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,158 +1,77 @@
 package com.example.dao;
 
 import com.example.model.Project;
+import com.example.model.ProjectProgress;
 import com.example.model.ProjectStatus;
-import com.example.util.DatabaseConnection;
 
-import java.sql.Connection;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-import java.sql.ResultSet;
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.List;
-
+import java.util.Map;
 
 /**
- * DAO para a entidade Project. Encapsula a lógica de acesso ao banco de dados para projetos.
+ * DAO para a entidade Project. A implementação usada pela aplicação é obtida em {@link DAOFactory}.
  */
-public class ProjectDAO {
+public interface ProjectDAO {
 
     /**
-     * Adiciona um novo projeto ao banco de dados.
-     * @param project O objeto Project a ser salvo.
+     * Adiciona um novo projeto; em caso de sucesso, ele recebe o ID gerado.
      * @return true se a inserção for bem-sucedida, false caso contrário.
      */
-    public boolean addProject(Project project) {
-        String sql = "INSERT INTO projects (name, description, start_date, planned_end_date, status, manager_id) VALUES (?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, project.getName());
-            pstmt.setString(2, project.getDescription());
-            pstmt.setDate(3, Date.valueOf(project.getStartDate()));
-            pstmt.setDate(4, Date.valueOf(project.getPlannedEndDate()));
-            pstmt.setString(5, project.getStatus().name());
-            pstmt.setInt(6, project.getManagerId());
-
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    boolean addProject(Project project);
 
     /**
-     * Busca todos os projetos cadastrados no banco de dados.
-     * @return Uma lista de objetos Project.
+     * Retorna todos os projetos, ordenados pelo nome.
      */
-    public List<Project> getAllProjects() {
-        List<Project> projects = new ArrayList<>();
-        String sql = "SELECT * FROM projects ORDER BY name";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-
-            while (rs.next()) {
-                projects.add(mapRowToProject(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return projects;
-    }
+    List<Project> getAllProjects();
 
     /**
-     * Aloca uma equipe a um projeto.
-     * @param projectId O ID do projeto.
-     * @param teamId O ID da equipe.
-     * @return true se a alocação for bem-sucedida, false caso contrário.
+     * Como {@link #getAllProjects()}, mas indica a falha da consulta em vez de devolver uma lista vazia.
+     * @return Os projetos, ou null em caso de erro.
      */
-    public boolean addTeamToProject(int projectId, int teamId) {
-        String sql = "INSERT INTO project_teams (project_id, team_id) VALUES (?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, projectId);
-            pstmt.setInt(2, teamId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            // Ignora erro de chave duplicada (a equipe já está no projeto)
-            if (e.getErrorCode() != 1062) { // 1062 é o código de erro para 'Duplicate entry' no MySQL
-                e.printStackTrace();
-            }
-            return false;
-        }
-    }
+    List<Project> tryGetAllProjects();
 
     /**
-     * Atualiza os dados de um projeto existente no banco de dados.
-     * @param project O objeto Project com os dados atualizados.
-     * @return true se a atualização for bem-sucedida, false caso contrário.
+     * Busca um projeto pelo ID, direto no banco (sem passar pelo cache).
+     * @return O projeto, ou null se ele não existir (ou em caso de erro).
      */
-    public boolean updateProject(Project project) {
-        String sql = "UPDATE projects SET name = ?, description = ?, start_date = ?, planned_end_date = ?, status = ?, manager_id = ? WHERE id = ?";
+    Project getProjectById(int projectId);
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Conta os projetos de cada status; status sem projetos recebem zero.
+     */
+    Map<ProjectStatus, Integer> countProjectsByStatus();
 
-            pstmt.setString(1, project.getName());
-            pstmt.setString(2, project.getDescription());
-            pstmt.setDate(3, Date.valueOf(project.getStartDate()));
-            pstmt.setDate(4, Date.valueOf(project.getPlannedEndDate()));
-            pstmt.setString(5, project.getStatus().name());
-            pstmt.setInt(6, project.getManagerId());
-            pstmt.setInt(7, project.getId());
+    /**
+     * Aloca uma equipe em um projeto.
+     * @return true se a alocação for bem-sucedida, false caso contrário (inclusive se a equipe
+     *         já estava alocada no projeto).
+     */
+    boolean addTeamToProject(int projectId, int teamId);
 
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    /**
+     * Atualiza um projeto, desde que a versão dele no banco ainda seja {@link Project#getVersion()}.
+     * Em caso de sucesso, o projeto recebe a nova versão.
+     * @return O resultado da atualização; {@link UpdateResult#CONFLICT} se ele foi alterado desde a leitura.
+     */
+    UpdateResult updateProject(Project project);
 
     /**
-     * Deleta um projeto do banco de dados pelo seu ID.
-     * @param projectId O ID do projeto a ser deletado.
+     * Deleta um projeto (e, em cascata, suas tarefas e alocações).
      * @return true se a deleção for bem-sucedida, false caso contrário.
      */
-    public boolean deleteProject(int projectId) {
-        String sql = "DELETE FROM projects WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, projectId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            // Pode falhar devido a restrições de chave estrangeira (tarefas associadas, etc.)
-            // A cláusula ON DELETE CASCADE no banco de dados lida com isso para tabelas de associação.
-            e.printStackTrace();
-            return false;
-        }
-    }
+    boolean deleteProject(int projectId);
 
+    /**
+     * Grava o andamento de todos os projetos no dia informado, substituindo o que já havia sido
+     * gravado para esse dia. Os dias anteriores não mudam.
+     * @return A quantidade de projetos gravados, ou -1 em caso de erro.
+     */
+    int recordProgressSnapshot(LocalDate date);
 
     /**
-     * Método auxiliar para mapear uma linha do ResultSet para um objeto Project.
-     * @param rs O ResultSet posicionado na linha a ser mapeada.
-     * @return Um objeto Project preenchido.
-     * @throws SQLException Se ocorrer um erro ao acessar os dados.
+     * O histórico diário de andamento de um projeto entre as datas (inclusive), em ordem de data.
+     * Os dias sem registro não aparecem.
+     * @return O histórico, ou uma lista vazia em caso de erro.
      */
-    private Project mapRowToProject(ResultSet rs) throws SQLException {
-        Project project = new Project();
-        project.setId(rs.getInt("id"));
-        project.setName(rs.getString("name"));
-        project.setDescription(rs.getString("description"));
-        
-        // Converte java.sql.Date para java.time.LocalDate
-        project.setStartDate(rs.getDate("start_date").toLocalDate());
-        project.setPlannedEndDate(rs.getDate("planned_end_date").toLocalDate());
-        
-        // Converte a string do status para o enum ProjectStatus
-        project.setStatus(ProjectStatus.valueOf(rs.getString("status")));
-        
-        project.setManagerId(rs.getInt("manager_id"));
-        
-        return project;
-    }
-}
\ No newline at end of file
+    List<ProjectProgress> getProgressHistory(int projectId, LocalDate from, LocalDate to);
+}
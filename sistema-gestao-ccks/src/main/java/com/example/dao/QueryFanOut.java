@@ -0,0 +1,157 @@
+package com.example.dao;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executa um grupo de consultas independentes ao mesmo tempo (fan-out) e junta os resultados
+ * (join), no estilo de concorrência estruturada:
+ *
+ * - Cada consulta roda em sua própria thread virtual ({@link AsyncDAO}) com sua própria conexão
+ *   do pool, então o tempo total passa de soma(latências) para max(latência).
+ * - Cada consulta tem um tempo limite; ao estourar, ela falha com {@code TimeoutException}.
+ * - Falha rápida: se qualquer consulta falhar, as demais são canceladas e o resultado do
+ *   grupo falha imediatamente, sem esperar as outras.
+ * - Cancelar o resultado do grupo cancela todas as consultas.
+ *
+ * Cancelar uma consulta só descarta o resultado dela; a que já está no banco termina e devolve a
+ * conexão ao pool (ver {@link AsyncDAO}). Os tempos do grupo ficam em {@link #getTiming()} e só
+ * são impressos no console com {@code -Dgestao.debug=true}.
+ *
+ * Uso:
+ * <pre>
+ *   QueryFanOut fanOut = new QueryFanOut("dashboard", Duration.ofSeconds(10));
+ *   CompletableFuture&lt;List&lt;User&gt;&gt; users = fanOut.fork("users", userDAO::getAllUsers);
+ *   CompletableFuture&lt;List&lt;Task&gt;&gt; tasks = fanOut.fork("tasks", taskDAO::getAllTasks);
+ *   CompletableFuture&lt;Data&gt; data = fanOut.join(() -&gt; new Data(users.join(), tasks.join()));
+ * </pre>
+ * (StructuredTaskScope ainda é uma API em preview no Java 21, por isso a composição é feita
+ * com CompletableFuture.)
+ */
+public class QueryFanOut {
+
+    /**
+     * Tempos de um grupo de consultas concluído.
+     * @param latenciesMillis A latência de cada consulta, pelo nome, na ordem em que terminaram.
+     * @param wallClockMillis O tempo real entre o primeiro fork e o fim da última consulta.
+     */
+    public record Timing(Map<String, Long> latenciesMillis, long wallClockMillis) {
+
+        /** Quanto o grupo levaria executando as consultas uma após a outra. */
+        public long sumMillis() {
+            return latenciesMillis.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /** A latência da consulta mais lenta: o piso do tempo real em paralelo. */
+        public long maxMillis() {
+            return latenciesMillis.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        }
+    }
+
+    private static final boolean DEBUG = Boolean.getBoolean("gestao.debug");
+
+    private final String name;
+    private final Duration timeout;
+    private final List<CompletableFuture<?>> forks = new ArrayList<>();
+    private final Map<String, Long> latencies = new LinkedHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private volatile Timing timing;
+
+    /**
+     * @param name Nome do grupo, usado no registro de tempos.
+     * @param timeout Tempo limite de cada consulta.
+     */
+    public QueryFanOut(String name, Duration timeout) {
+        this.name = name;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Inicia uma consulta do grupo.
+     * @param queryName Nome da consulta, usado no registro de tempos.
+     * @param query A chamada ao DAO.
+     * @return O future da consulta; use {@code join()} dentro do combinador de {@link #join(Supplier)}.
+     */
+    public <T> CompletableFuture<T> fork(String queryName, Supplier<T> query) {
+        CompletableFuture<T> future = AsyncDAO.supply(() -> {
+            long start = System.nanoTime();
+            try {
+                return query.get();
+            } finally {
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                synchronized (latencies) {
+                    latencies.put(queryName, elapsed);
+                }
+            }
+        });
+        // orTimeout completa o future com TimeoutException; a consulta em andamento não é interrompida.
+        future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        forks.add(future);
+        return future;
+    }
+
+    /**
+     * Espera todas as consultas e combina seus resultados.
+     * @param combiner Monta o resultado a partir dos futures já concluídos (via {@code join()}).
+     * @return Um future com o resultado combinado, que falha assim que qualquer consulta falhar.
+     */
+    public <R> CompletableFuture<R> join(Supplier<R> combiner) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        CompletableFuture<?>[] all = forks.toArray(new CompletableFuture<?>[0]);
+
+        for (CompletableFuture<?> fork : all) {
+            fork.whenComplete((value, error) -> {
+                if (error != null && result.completeExceptionally(error)) {
+                    cancelAll();
+                }
+            });
+        }
+        CompletableFuture.allOf(all).thenRun(() -> {
+            recordTiming();
+            try {
+                result.complete(combiner.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                cancelAll();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Retorna os tempos do grupo, ou null se as consultas ainda não terminaram (ou falharam).
+     */
+    public Timing getTiming() {
+        return timing;
+    }
+
+    private void cancelAll() {
+        for (CompletableFuture<?> fork : forks) {
+            fork.cancel(false);
+        }
+    }
+
+    private void recordTiming() {
+        long wallClock = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        Map<String, Long> snapshot;
+        synchronized (latencies) {
+            snapshot = new LinkedHashMap<>(latencies);
+        }
+        timing = new Timing(snapshot, wallClock);
+        if (!DEBUG) {
+            return;
+        }
+        System.out.printf("[%s] %d consultas em paralelo: soma das latências = %d ms, maior = %d ms, tempo real = %d ms %s%n",
+                name, snapshot.size(), timing.sumMillis(), timing.maxMillis(), wallClock, snapshot);
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.dao;
+
+import com.example.model.ProjectStatus;
+import com.example.model.TaskStatus;
+import com.example.util.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DAO da consolidação feita pelo StatusRollupJob: o atraso das tarefas, o percentual concluído
+ * e o status dos projetos.
+ *
+ * As leituras nunca trazem uma linha por tarefa: os projetos vêm agregados por status
+ * ({@link #getProjectTotals()}) e o atraso só das tarefas em que ele está desatualizado
+ * ({@link #findOverdueChanges}).
+ *
+ * Tudo é gravado em uma única transação, com {@code addBatch}/{@code executeBatch} em lotes,
+ * e as alterações são publicadas no {@link ChangeFeed} depois da confirmação, como nas
+ * demais gravações. O atraso e o percentual são valores derivados e não mudam a versão da
+ * linha; a mudança de status muda, e só é aplicada se o projeto não foi alterado desde a leitura.
+ */
+public class RollupDAO {
+
+    /**
+     * O novo atraso de uma tarefa do projeto informado.
+     */
+    public record OverdueChange(int taskId, int projectId, boolean overdue) {
+    }
+
+    /**
+     * A mudança de status de um projeto, a partir da versão lida.
+     */
+    public record StatusChange(int projectId, int version, ProjectStatus status) {
+    }
+
+    /**
+     * Um projeto e a quantidade de tarefas dele em cada status.
+     * @param tasksByStatus Indexado por {@link TaskStatus#ordinal()}.
+     */
+    public record ProjectTotals(int projectId, int version, ProjectStatus status, int completionPercent,
+                                int[] tasksByStatus) {
+
+        /** A quantidade de tarefas do projeto no status informado. */
+        public int tasks(TaskStatus status) {
+            return tasksByStatus[status.ordinal()];
+        }
+
+        /** A quantidade total de tarefas do projeto. */
+        public int totalTasks() {
+            int total = 0;
+            for (int count : tasksByStatus) {
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Quantas linhas foram gravadas.
+     * @param overdueTasks Tarefas com o atraso alterado (as alteradas desde a leitura ficam de fora).
+     * @param completedProjects Projetos com o percentual concluído alterado.
+     * @param statusChanges Projetos com o status alterado (os alterados desde a leitura ficam de fora).
+     */
+    public record RollupResult(int overdueTasks, int completedProjects, int statusChanges) {
+    }
+
+    /**
+     * Lê todos os projetos com as tarefas agregadas por status (uma linha por projeto e status).
+     * @return Os projetos, ou null em caso de erro.
+     */
+    public List<ProjectTotals> getProjectTotals() {
+        Map<Integer, ProjectTotalsBuilder> totalsByProject = new LinkedHashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(NamedSql.ROLLUP_PROJECT_TOTALS.sql());
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                addTotalsRow(totalsByProject, rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return buildTotals(totalsByProject);
+    }
+
+    /**
+     * Lê só os projetos informados, com as tarefas agregadas por status, em blocos de
+     * {@link NamedSql#ID_LIST_SIZE} IDs por consulta.
+     * @param projectIds Os IDs dos projetos.
+     * @return Os projetos (os que não existem mais ficam de fora), ou null em caso de erro.
+     */
+    public List<ProjectTotals> getProjectTotals(Collection<Integer> projectIds) {
+        List<Integer> ids = List.copyOf(new LinkedHashSet<>(projectIds));
+        Map<Integer, ProjectTotalsBuilder> totalsByProject = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(NamedSql.ROLLUP_PROJECT_TOTALS_BY_IDS.sql())) {
+            for (int from = 0; from < ids.size(); from += NamedSql.ID_LIST_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + NamedSql.ID_LIST_SIZE, ids.size()));
+                // O IN tem tamanho fixo: o último bloco repete o último ID nas posições que sobram.
+                for (int i = 0; i < NamedSql.ID_LIST_SIZE; i++) {
+                    pstmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        addTotalsRow(totalsByProject, rs);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return buildTotals(totalsByProject);
+    }
+
+    /**
+     * Busca as tarefas cujo atraso gravado não corresponde mais à data informada: as abertas com
+     * o prazo vencido ainda não marcadas, e as marcadas que foram concluídas ou tiveram o prazo
+     * adiado. As demais tarefas não são lidas.
+     * @param today A data usada para o atraso.
+     * @return O novo atraso de cada uma, ou null em caso de erro.
+     */
+    public List<OverdueChange> findOverdueChanges(LocalDate today) {
+        List<OverdueChange> changes = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            readOverdueCandidates(conn, NamedSql.ROLLUP_OVERDUE_CANDIDATES, today, true, changes);
+            readOverdueCandidates(conn, NamedSql.ROLLUP_NOT_OVERDUE_CANDIDATES, today, false, changes);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return changes;
+    }
+
+    /**
+     * Grava os valores consolidados em uma transação.
+     * @param today A data usada para o atraso: cada gravação confere de novo a condição, e uma
+     *              tarefa alterada desde a leitura não é tocada.
+     * @param overdueChanges O novo atraso de cada tarefa alterada.
+     * @param completionByProject O novo percentual concluído de cada projeto alterado.
+     * @param statusChanges As mudanças de status.
+     * @param batchSize Quantidade de linhas por {@code executeBatch}.
+     * @return O que foi gravado, ou null em caso de erro (a transação é desfeita).
+     */
+    public RollupResult applyRollup(LocalDate today, List<OverdueChange> overdueChanges,
+                                    Map<Integer, Integer> completionByProject, List<StatusChange> statusChanges,
+                                    int batchSize) {
+        if (overdueChanges.isEmpty() && completionByProject.isEmpty() && statusChanges.isEmpty()) {
+            return new RollupResult(0, 0, 0);
+        }
+        Connection conn = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            List<OverdueChange> overdueApplied = new ArrayList<>();
+            try (PreparedStatement setOverdue = conn.prepareStatement(NamedSql.ROLLUP_TASK_SET_OVERDUE.sql());
+                 PreparedStatement clearOverdue = conn.prepareStatement(NamedSql.ROLLUP_TASK_CLEAR_OVERDUE.sql())) {
+                List<OverdueChange> toSet = new ArrayList<>();
+                List<OverdueChange> toClear = new ArrayList<>();
+                for (OverdueChange change : overdueChanges) {
+                    (change.overdue() ? toSet : toClear).add(change);
+                }
+                applyOverdue(setOverdue, toSet, today, batchSize, overdueApplied);
+                applyOverdue(clearOverdue, toClear, today, batchSize, overdueApplied);
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.ROLLUP_PROJECT_COMPLETION.sql())) {
+                for (Map.Entry<Integer, Integer> entry : completionByProject.entrySet()) {
+                    pstmt.setInt(1, entry.getValue());
+                    pstmt.setInt(2, entry.getKey());
+                    pstmt.addBatch();
+                }
+                if (!completionByProject.isEmpty()) {
+                    pstmt.executeBatch();
+                }
+            }
+            // Poucas linhas, mas cada uma precisa da própria contagem (a versão pode ter mudado).
+            Set<Integer> changedProjects = new LinkedHashSet<>(completionByProject.keySet());
+            int statusUpdated = 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(NamedSql.ROLLUP_PROJECT_STATUS.sql())) {
+                for (StatusChange change : statusChanges) {
+                    pstmt.setString(1, change.status().name());
+                    pstmt.setInt(2, change.projectId());
+                    pstmt.setInt(3, change.version());
+                    if (pstmt.executeUpdate() > 0) {
+                        statusUpdated++;
+                        changedProjects.add(change.projectId());
+                    }
+                }
+            }
+
+            List<ChangeEvent> events = new ArrayList<>();
+            if (overdueApplied.size() > ChangeLogPoller.BATCH_LIMIT) {
+                // Na virada de um dia com muitos prazos, as telas recarregam as tarefas de uma vez.
+                events.add(ChangeEvent.reload(ChangeEvent.Entity.TASK));
+            } else {
+                for (OverdueChange change : overdueApplied) {
+                    events.add(ChangeEvent.task(ChangeEvent.Kind.UPDATE, change.taskId(), change.projectId()));
+                }
+            }
+            for (int projectId : changedProjects) {
+                events.add(ChangeEvent.updated(ChangeEvent.Entity.PROJECT, projectId));
+            }
+            for (ChangeEvent event : events) {
+                ChangeFeed.record(conn, event);
+            }
+            conn.commit();
+            for (int projectId : changedProjects) {
+                EntityCaches.PROJECTS.invalidate(projectId);
+            }
+            ChangeFeed.publish(events);
+            return new RollupResult(overdueApplied.size(), completionByProject.size(), statusUpdated);
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return null;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static void readOverdueCandidates(Connection conn, NamedSql sql, LocalDate today, boolean overdue,
+                                              List<OverdueChange> changes) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.sql())) {
+            pstmt.setDate(1, Date.valueOf(today));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    changes.add(new OverdueChange(rs.getInt("id"), rs.getInt("project_id"), overdue));
+                }
+            }
+        }
+    }
+
+    /**
+     * Grava o atraso em lotes e guarda em {@code applied} as tarefas em que a gravação pegou.
+     */
+    private static void applyOverdue(PreparedStatement pstmt, List<OverdueChange> changes, LocalDate today,
+                                     int batchSize, List<OverdueChange> applied) throws SQLException {
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            List<OverdueChange> batch = changes.subList(from, Math.min(from + batchSize, changes.size()));
+            for (OverdueChange change : batch) {
+                pstmt.setInt(1, change.taskId());
+                pstmt.setDate(2, Date.valueOf(today));
+                pstmt.addBatch();
+            }
+            int[] counts = pstmt.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                // Drivers que não informam a contagem devolvem SUCCESS_NO_INFO: conta como gravada.
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    applied.add(batch.get(i));
+                }
+            }
+        }
+    }
+
+    private static void addTotalsRow(Map<Integer, ProjectTotalsBuilder> totalsByProject, ResultSet rs)
+            throws SQLException {
+        ProjectTotalsBuilder builder = totalsByProject.computeIfAbsent(rs.getInt("id"), id -> new ProjectTotalsBuilder());
+        builder.version = rs.getInt("version");
+        builder.status = ProjectStatus.valueOf(rs.getString("project_status"));
+        builder.completionPercent = rs.getInt("completion_percent");
+        // Projetos sem tarefas chegam com status nulo (ou vazio) e contagem zero.
+        String taskStatus = rs.getString("task_status");
+        if (taskStatus != null && !taskStatus.isEmpty()) {
+            builder.tasksByStatus[TaskStatus.valueOf(taskStatus).ordinal()] = rs.getInt("total");
+        }
+    }
+
+    private static List<ProjectTotals> buildTotals(Map<Integer, ProjectTotalsBuilder> totalsByProject) {
+        List<ProjectTotals> totals = new ArrayList<>(totalsByProject.size());
+        totalsByProject.forEach((id, builder) -> totals.add(
+                new ProjectTotals(id, builder.version, builder.status, builder.completionPercent, builder.tasksByStatus)));
+        return totals;
+    }
+
+    /**
+     * Acumula as linhas (uma por status) de um projeto.
+     */
+    private static final class ProjectTotalsBuilder {
+        private final int[] tasksByStatus = new int[TaskStatus.values().length];
+        private int version;
+        private ProjectStatus status;
+        private int completionPercent;
+    }
+}
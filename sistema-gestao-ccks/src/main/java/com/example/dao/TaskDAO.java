@@ -2,185 +2,114 @@ package com.example.dao;
 
 import com.example.model.Task;
 import com.example.model.TaskStatus;
-import com.example.util.DatabaseConnection;
-
-import java.sql.Connection;
-import java.sql.Date;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.util.ArrayList;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
- * DAO (Data Access Object) para a entidade Task.
- * Encapsula a lógica de acesso ao banco de dados para as tarefas.
+ * DAO para a entidade Task. A implementação usada pela aplicação é obtida em {@link DAOFactory}.
  */
-public class TaskDAO {
+public interface TaskDAO {
 
     /**
-     * Busca todas as tarefas cadastradas no banco de dados.
-     * @return Uma lista com todos os objetos Task.
+     * Chave de paginação ("keyset") de uma tarefa: a posição dela na ordenação
+     * {@code planned_end_date, id}. A próxima página começa logo após esta chave.
+     * @param plannedEndDate O prazo final da tarefa (pode ser nulo).
+     * @param id O ID da tarefa, usado como desempate.
      */
-    public List<Task> getAllTasks() {
-        List<Task> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM tasks ORDER BY planned_end_date";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
+    record TaskKey(LocalDate plannedEndDate, int id) {
 
-            while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        /** Extrai a chave de paginação de uma tarefa. */
+        public static TaskKey of(Task task) {
+            return new TaskKey(task.getPlannedEndDate(), task.getId());
         }
-        return tasks;
     }
 
     /**
-     * Busca tarefas que não estão concluídas e cujo prazo final está próximo (próximos 7 dias) ou já passou.
-     * @return Uma lista de tarefas filtradas e ordenadas por prazo.
+     * Retorna todas as tarefas, ordenadas pelo prazo final.
      */
-    public List<Task> getUpcomingAndOverdueTasks() {
-        List<Task> tasks = new ArrayList<>();
-        // Busca tarefas que não estão 'CONCLUIDA' e cujo prazo é hoje, no passado, ou nos próximos 7 dias.
-        String sql = "SELECT * FROM tasks WHERE status != 'CONCLUIDA' AND planned_end_date <= CURDATE() + INTERVAL 7 DAY ORDER BY planned_end_date ASC";
+    List<Task> getAllTasks();
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
+    /**
+     * Como {@link #getAllTasks()}, mas indica a falha da consulta em vez de devolver uma lista vazia.
+     * @return As tarefas, ou null em caso de erro.
+     */
+    List<Task> tryGetAllTasks();
 
-            while (rs.next()) {
-                tasks.add(mapRowToTask(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return tasks;
-    }
+    /**
+     * Retorna todas as tarefas da consulta, sem paginação (ex: as de um projeto).
+     */
+    List<Task> getTasks(TaskQuery query);
 
     /**
-     * Adiciona uma nova tarefa ao banco de dados.
-     * @param task O objeto Task a ser salvo.
-     * @return true se a inserção for bem-sucedida, false caso contrário.
+     * Retorna a página de tarefas da consulta que começa logo após {@code after} (ou a primeira,
+     * se null). Só para consultas na ordenação padrão ({@link TaskQuery#usesKeyset()}).
      */
-    public boolean addTask(Task task) {
-        String sql = "INSERT INTO tasks (title, description, project_id, responsible_id, status, planned_start_date, planned_end_date, actual_start_date, actual_end_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, task.getTitle());
-            pstmt.setString(2, task.getDescription());
-            pstmt.setInt(3, task.getProjectId());
-            pstmt.setInt(4, task.getResponsibleId());
-            pstmt.setString(5, task.getStatus().name());
-
-            // Converte LocalDate para java.sql.Date, tratando nulos
-            if (task.getPlannedStartDate() != null) {
-                pstmt.setDate(6, Date.valueOf(task.getPlannedStartDate()));
-            } else {
-                pstmt.setNull(6, java.sql.Types.DATE);
-            }
-            if (task.getPlannedEndDate() != null) {
-                pstmt.setDate(7, Date.valueOf(task.getPlannedEndDate()));
-            } else {
-                pstmt.setNull(7, java.sql.Types.DATE);
-            }
-            if (task.getActualStartDate() != null) {
-                pstmt.setDate(8, Date.valueOf(task.getActualStartDate()));
-            } else {
-                pstmt.setNull(8, java.sql.Types.DATE);
-            }
-            if (task.getActualEndDate() != null) {
-                pstmt.setDate(9, Date.valueOf(task.getActualEndDate()));
-            } else {
-                pstmt.setNull(9, java.sql.Types.DATE);
-            }
-
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    List<Task> getTasksAfter(TaskQuery query, TaskKey after, int limit);
 
     /**
-     * Atualiza uma tarefa existente no banco de dados.
-     * @param task O objeto Task com os dados atualizados.
-     * @return true se a atualização for bem-sucedida, false caso contrário.
+     * Retorna a página de tarefas da consulta que começa na posição {@code offset}.
      */
-    public boolean updateTask(Task task) {
-        String sql = "UPDATE tasks SET title = ?, description = ?, project_id = ?, responsible_id = ?, status = ?, " +
-                     "planned_start_date = ?, planned_end_date = ?, actual_start_date = ?, actual_end_date = ? " +
-                     "WHERE id = ?";
+    List<Task> getTasksAt(TaskQuery query, int offset, int limit);
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Conta as tarefas que atendem aos filtros da consulta.
+     */
+    int countTasks(TaskQuery query);
 
-            pstmt.setString(1, task.getTitle());
-            pstmt.setString(2, task.getDescription());
-            pstmt.setInt(3, task.getProjectId());
-            pstmt.setInt(4, task.getResponsibleId());
-            pstmt.setString(5, task.getStatus().name());
+    /**
+     * Retorna as tarefas não concluídas atrasadas ou que vencem nos próximos 7 dias.
+     */
+    List<Task> getUpcomingAndOverdueTasks();
 
-            pstmt.setDate(6, task.getPlannedStartDate() != null ? Date.valueOf(task.getPlannedStartDate()) : null);
-            pstmt.setDate(7, task.getPlannedEndDate() != null ? Date.valueOf(task.getPlannedEndDate()) : null);
-            pstmt.setDate(8, task.getActualStartDate() != null ? Date.valueOf(task.getActualStartDate()) : null);
-            pstmt.setDate(9, task.getActualEndDate() != null ? Date.valueOf(task.getActualEndDate()) : null);
-            pstmt.setInt(10, task.getId());
+    /**
+     * Conta as tarefas de cada status; status sem tarefas recebem zero.
+     */
+    Map<TaskStatus, Integer> countTasksByStatus();
 
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    /**
+     * Conta as tarefas de cada projeto por status.
+     * @return Um mapa ID do projeto → contagem por status. Projetos sem tarefas não aparecem.
+     */
+    Map<Integer, Map<TaskStatus, Integer>> countTasksByProjectAndStatus();
 
     /**
-     * Deleta uma tarefa do banco de dados pelo seu ID.
-     * @param taskId O ID da tarefa a ser deletada.
-     * @return true se a deleção for bem-sucedida, false caso contrário.
+     * Conta as tarefas não concluídas com prazo final já vencido, pelo atraso gravado
+     * ({@link Task#isOverdue()}).
      */
-    public boolean deleteTask(int taskId) {
-        String sql = "DELETE FROM tasks WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, taskId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+    int countOverdueTasks();
 
     /**
-     * Método auxiliar para mapear uma linha de um ResultSet para um objeto Task.
-     * @param rs O ResultSet posicionado na linha a ser mapeada.
-     * @return Um objeto Task preenchido.
-     * @throws SQLException Se ocorrer um erro ao acessar os dados do ResultSet.
+     * Busca uma tarefa pelo ID, direto no banco.
+     * @return A tarefa, ou null se ela não existir (ou em caso de erro).
      */
-    private Task mapRowToTask(ResultSet rs) throws SQLException {
-        Task task = new Task();
-        task.setId(rs.getInt("id"));
-        task.setTitle(rs.getString("title"));
-        task.setDescription(rs.getString("description"));
-        task.setProjectId(rs.getInt("project_id"));
-        task.setResponsibleId(rs.getInt("responsible_id"));
-        task.setStatus(TaskStatus.valueOf(rs.getString("status")));
+    Task getTaskById(int taskId);
 
-        Date plannedStartDate = rs.getDate("planned_start_date");
-        if (plannedStartDate != null) {
-            task.setPlannedStartDate(plannedStartDate.toLocalDate());
-        }
+    /**
+     * Busca várias tarefas pelo ID, direto no banco, em blocos de IDs por consulta em vez de uma
+     * consulta por tarefa.
+     * @return Um mapa ID → tarefa, em que os IDs que não existem não aparecem; null em caso de erro.
+     */
+    Map<Integer, Task> getTasksByIds(Collection<Integer> taskIds);
 
-        Date plannedEndDate = rs.getDate("planned_end_date");
-        if (plannedEndDate != null) {
-            task.setPlannedEndDate(plannedEndDate.toLocalDate());
-        }
+    /**
+     * Adiciona uma nova tarefa; em caso de sucesso, ela recebe o ID gerado.
+     * @return true se a inserção for bem-sucedida, false caso contrário.
+     */
+    boolean addTask(Task task);
 
-        return task;
-    }
-}
\ No newline at end of file
+    /**
+     * Atualiza uma tarefa, desde que a versão dela no banco ainda seja {@link Task#getVersion()}.
+     * Em caso de sucesso, a tarefa recebe a nova versão.
+     * @return O resultado da atualização; {@link UpdateResult#CONFLICT} se ela foi alterada desde a leitura.
+     */
+    UpdateResult updateTask(Task task);
+
+    /**
+     * Deleta uma tarefa pelo ID.
+     * @return true se a deleção for bem-sucedida, false caso contrário.
+     */
+    boolean deleteTask(int taskId);
+}
@@ -0,0 +1,38 @@
+package com.example.dao;
+
+import com.example.model.TaskDependency;
+
+import java.util.List;
+
+/**
+ * DAO para as dependências entre tarefas. A implementação usada pela aplicação é obtida em
+ * {@link DAOFactory}.
+ *
+ * O DAO não confere ciclos: quem grava deve consultar antes o cronograma do projeto
+ * ({@link com.example.service.ScheduleEngine#findCycle}).
+ */
+public interface TaskDependencyDAO {
+
+    /**
+     * Grava uma dependência.
+     * @return true se a dependência for gravada, false caso contrário (inclusive se ela já
+     *         existia ou se uma tarefa dependesse de si mesma).
+     */
+    boolean addDependency(int predecessorId, int successorId);
+
+    /**
+     * Remove uma dependência.
+     * @return true se a dependência existia e foi removida, false caso contrário.
+     */
+    boolean removeDependency(int predecessorId, int successorId);
+
+    /**
+     * Retorna as dependências cujas sucessoras são tarefas do projeto.
+     */
+    List<TaskDependency> getDependenciesByProject(int projectId);
+
+    /**
+     * Retorna os IDs das predecessoras de uma tarefa.
+     */
+    List<Integer> getPredecessorIds(int taskId);
+}
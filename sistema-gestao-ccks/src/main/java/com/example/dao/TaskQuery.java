@@ -0,0 +1,338 @@
+package com.example.dao;
+
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Consulta de tarefas com filtros e ordenação, executada pelo banco: a tela recebe só a página
+ * exibida, em vez de carregar todas as tarefas para filtrá-las e ordená-las em memória.
+ * Criada por {@link #builder()}; campos nulos (ou vazios) não filtram.
+ *
+ * - Filtros: projeto, responsável, status e faixas (inclusivas) de início e prazo planejados.
+ * - Ordenação por uma ou mais colunas ({@link Sort}), sempre com o ID como desempate final,
+ *   para que a paginação seja estável. Sem ordenação, vale a da lista: {@code planned_end_date, id}.
+ * - Na ordenação padrão, as páginas usam paginação por chave ({@link TaskDAO.TaskKey}); nas
+ *   demais, {@code LIMIT/OFFSET} (ver {@link #usesKeyset()}).
+ *
+ * O SQL é montado a partir de quais filtros e colunas estão presentes, nunca dos valores (que vão
+ * como parâmetros): a mesma combinação gera sempre o mesmo texto, e o PreparedStatement continua
+ * sendo reaproveitado pelo pool de conexões, como os de {@link NamedSql}.
+ *
+ * @param projectId Só as tarefas deste projeto.
+ * @param responsibleId Só as tarefas deste responsável.
+ * @param statuses Só as tarefas com um destes status (vazio: todos).
+ * @param plannedStartFrom Início planejado a partir desta data.
+ * @param plannedStartTo Início planejado até esta data.
+ * @param plannedEndFrom Prazo a partir desta data.
+ * @param plannedEndTo Prazo até esta data.
+ * @param sort As colunas de ordenação, da mais para a menos importante.
+ */
+public record TaskQuery(Integer projectId, Integer responsibleId, Set<TaskStatus> statuses,
+                        LocalDate plannedStartFrom, LocalDate plannedStartTo,
+                        LocalDate plannedEndFrom, LocalDate plannedEndTo,
+                        List<Sort> sort) {
+
+    /**
+     * Colunas pelas quais a lista de tarefas pode ser ordenada.
+     */
+    public enum SortColumn {
+        ID("t.id"),
+        TITLE("t.title"),
+        // Ordena pelo nome exibido, não pelo ID.
+        PROJECT("p.name"),
+        RESPONSIBLE("u.full_name"),
+        // A coluna é um ENUM: a ordem é a da declaração (PENDENTE, EM_EXECUCAO, CONCLUIDA), não a alfabética.
+        STATUS("t.status"),
+        PLANNED_END_DATE("t.planned_end_date");
+
+        private final String expression;
+
+        SortColumn(String expression) {
+            this.expression = expression;
+        }
+    }
+
+    /**
+     * Uma coluna de ordenação e o sentido.
+     */
+    public record Sort(SortColumn column, boolean ascending) {
+    }
+
+    /** Todas as tarefas, na ordem padrão. */
+    public static final TaskQuery ALL = builder().build();
+
+    public TaskQuery {
+        statuses = statuses == null || statuses.isEmpty() ? Set.of() : Set.copyOf(statuses);
+        sort = sort == null ? List.of() : List.copyOf(sort);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Monta uma {@link TaskQuery}. Cada método substitui o valor definido antes.
+     */
+    public static final class Builder {
+        private Integer projectId;
+        private Integer responsibleId;
+        private final Set<TaskStatus> statuses = EnumSet.noneOf(TaskStatus.class);
+        private LocalDate plannedStartFrom;
+        private LocalDate plannedStartTo;
+        private LocalDate plannedEndFrom;
+        private LocalDate plannedEndTo;
+        private final List<Sort> sort = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /** Só as tarefas do projeto (null: todos). */
+        public Builder project(Integer projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        /** Só as tarefas do responsável (null: todos). */
+        public Builder responsible(Integer responsibleId) {
+            this.responsibleId = responsibleId;
+            return this;
+        }
+
+        /** Só as tarefas com um dos status (nenhum: todos). */
+        public Builder statuses(TaskStatus... statuses) {
+            this.statuses.clear();
+            for (TaskStatus status : statuses) {
+                if (status != null) {
+                    this.statuses.add(status);
+                }
+            }
+            return this;
+        }
+
+        /** Início planejado entre as datas, inclusive; uma data nula deixa a faixa aberta. */
+        public Builder plannedStartBetween(LocalDate from, LocalDate to) {
+            this.plannedStartFrom = from;
+            this.plannedStartTo = to;
+            return this;
+        }
+
+        /** Prazo entre as datas, inclusive; uma data nula deixa a faixa aberta. */
+        public Builder plannedEndBetween(LocalDate from, LocalDate to) {
+            this.plannedEndFrom = from;
+            this.plannedEndTo = to;
+            return this;
+        }
+
+        /** Acrescenta uma coluna de ordenação, menos importante que as anteriores. */
+        public Builder sortBy(SortColumn column, boolean ascending) {
+            sort.add(new Sort(column, ascending));
+            return this;
+        }
+
+        public TaskQuery build() {
+            return new TaskQuery(projectId, responsibleId, statuses, plannedStartFrom, plannedStartTo,
+                    plannedEndFrom, plannedEndTo, sort);
+        }
+    }
+
+    /**
+     * Indica se as páginas podem usar paginação por chave: só na ordenação padrão
+     * ({@code planned_end_date, id}), a mesma de {@link TaskDAO.TaskKey}.
+     */
+    public boolean usesKeyset() {
+        return sort.isEmpty() || sort.equals(List.of(new Sort(SortColumn.PLANNED_END_DATE, true)));
+    }
+
+    /**
+     * Indica se a ordenação usa a coluna (ex: para saber se renomear um projeto muda a ordem).
+     */
+    public boolean sortsBy(SortColumn column) {
+        for (Sort s : sort) {
+            if (s.column() == column) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Confere, em memória, se uma tarefa atende aos filtros (ex: após ser alterada).
+     */
+    public boolean matches(Task task) {
+        return (projectId == null || task.getProjectId() == projectId)
+                && (responsibleId == null || task.getResponsibleId() == responsibleId)
+                && (statuses.isEmpty() || statuses.contains(task.getStatus()))
+                && inRange(task.getPlannedStartDate(), plannedStartFrom, plannedStartTo)
+                && inRange(task.getPlannedEndDate(), plannedEndFrom, plannedEndTo);
+    }
+
+    /**
+     * Indica se as duas versões de uma tarefa ficam na mesma posição desta ordenação. Projetos
+     * e responsáveis são comparados pelo ID: o nome deles não muda com a gravação da tarefa.
+     */
+    public boolean sameSortPosition(Task a, Task b) {
+        if (usesKeyset()) {
+            return TaskDAO.TaskKey.of(a).equals(TaskDAO.TaskKey.of(b));
+        }
+        for (Sort s : sort) {
+            boolean same = switch (s.column()) {
+                case ID -> a.getId() == b.getId();
+                case TITLE -> Objects.equals(a.getTitle(), b.getTitle());
+                case PROJECT -> a.getProjectId() == b.getProjectId();
+                case RESPONSIBLE -> a.getResponsibleId() == b.getResponsibleId();
+                case STATUS -> a.getStatus() == b.getStatus();
+                case PLANNED_END_DATE -> Objects.equals(a.getPlannedEndDate(), b.getPlannedEndDate());
+            };
+            if (!same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean inRange(LocalDate date, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return date != null && (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    // --- SQL (usado por JdbcTaskDAO; os planos são conferidos por QueryPlanTest) ---
+
+    /**
+     * {@code SELECT COUNT(*)} das tarefas que atendem aos filtros; os parâmetros são {@link #filterParameters()}.
+     */
+    String countSql() {
+        return "SELECT COUNT(*) FROM tasks t" + where(null);
+    }
+
+    /**
+     * A página que começa logo após {@code after} (ou a primeira, se null), na ordenação padrão.
+     * Parâmetros: {@link #filterParameters()}, {@link #keysetParameters} e o limite.
+     */
+    String pageAfterSql(TaskDAO.TaskKey after) {
+        if (!usesKeyset()) {
+            throw new IllegalStateException("A paginação por chave só vale para a ordenação padrão.");
+        }
+        String keyset = null;
+        if (after != null) {
+            keyset = after.plannedEndDate() == null
+                    ? "((t.planned_end_date IS NULL AND t.id > ?) OR t.planned_end_date IS NOT NULL)"
+                    : "(t.planned_end_date > ? OR (t.planned_end_date = ? AND t.id > ?))";
+        }
+        return "SELECT t.* FROM tasks t" + where(keyset) + orderBy() + " LIMIT ?";
+    }
+
+    /**
+     * A página que começa na posição {@code offset}. Parâmetros: {@link #filterParameters()},
+     * o limite e o offset.
+     */
+    String pageAtOffsetSql() {
+        return selectSql() + " LIMIT ? OFFSET ?";
+    }
+
+    /**
+     * Todas as tarefas da consulta, sem paginação. Parâmetros: {@link #filterParameters()}.
+     */
+    String selectSql() {
+        StringBuilder sql = new StringBuilder("SELECT t.* FROM tasks t");
+        // As junções só entram quando a ordenação usa o nome do projeto ou do responsável.
+        if (sortsBy(SortColumn.PROJECT)) {
+            sql.append(" LEFT JOIN projects p ON p.id = t.project_id");
+        }
+        if (sortsBy(SortColumn.RESPONSIBLE)) {
+            sql.append(" LEFT JOIN users u ON u.id = t.responsible_id");
+        }
+        return sql.append(where(null)).append(orderBy()).toString();
+    }
+
+    /**
+     * Os valores dos filtros, na ordem dos parâmetros do SQL.
+     */
+    List<Object> filterParameters() {
+        List<Object> parameters = new ArrayList<>();
+        if (projectId != null) {
+            parameters.add(projectId);
+        }
+        if (responsibleId != null) {
+            parameters.add(responsibleId);
+        }
+        for (TaskStatus status : TaskStatus.values()) {
+            if (statuses.contains(status)) {
+                parameters.add(status.name());
+            }
+        }
+        for (LocalDate date : new LocalDate[] {plannedStartFrom, plannedStartTo, plannedEndFrom, plannedEndTo}) {
+            if (date != null) {
+                parameters.add(Date.valueOf(date));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Os valores da condição de {@link #pageAfterSql}, na ordem dos parâmetros.
+     */
+    static List<Object> keysetParameters(TaskDAO.TaskKey after) {
+        if (after == null) {
+            return List.of();
+        }
+        if (after.plannedEndDate() == null) {
+            return List.of(after.id());
+        }
+        Date endDate = Date.valueOf(after.plannedEndDate());
+        return List.of(endDate, endDate, after.id());
+    }
+
+    private String where(String extraCondition) {
+        List<String> conditions = new ArrayList<>();
+        if (projectId != null) {
+            conditions.add("t.project_id = ?");
+        }
+        if (responsibleId != null) {
+            conditions.add("t.responsible_id = ?");
+        }
+        if (!statuses.isEmpty()) {
+            conditions.add("t.status IN (" + String.join(", ", Collections.nCopies(statuses.size(), "?")) + ")");
+        }
+        if (plannedStartFrom != null) {
+            conditions.add("t.planned_start_date >= ?");
+        }
+        if (plannedStartTo != null) {
+            conditions.add("t.planned_start_date <= ?");
+        }
+        if (plannedEndFrom != null) {
+            conditions.add("t.planned_end_date >= ?");
+        }
+        if (plannedEndTo != null) {
+            conditions.add("t.planned_end_date <= ?");
+        }
+        if (extraCondition != null) {
+            conditions.add(extraCondition);
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private String orderBy() {
+        if (usesKeyset()) {
+            return " ORDER BY t.planned_end_date, t.id";
+        }
+        List<String> columns = new ArrayList<>();
+        for (Sort s : sort) {
+            columns.add(s.column().expression + (s.ascending() ? "" : " DESC"));
+        }
+        if (!sortsBy(SortColumn.ID)) {
+            columns.add("t.id");
+        }
+        return " ORDER BY " + String.join(", ", columns);
+    }
+}
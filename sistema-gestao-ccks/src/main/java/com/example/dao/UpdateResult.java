@@ -0,0 +1,49 @@
+package com.example.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Resultado de uma atualização com controle de concorrência otimista.
+ *
+ * A atualização só é aplicada se a versão da linha no banco ainda for a que foi lida
+ * junto com o objeto; caso contrário outra pessoa gravou a mesma linha nesse intervalo
+ * e o resultado é {@link #CONFLICT}, sem sobrescrever a alteração dela.
+ */
+public enum UpdateResult {
+    /** A linha foi atualizada e o objeto recebeu a nova versão. */
+    UPDATED,
+    /** A linha foi alterada por outra gravação desde a leitura; nada foi gravado. */
+    CONFLICT,
+    /** A linha não existe mais (foi excluída desde a leitura). */
+    NOT_FOUND,
+    /** Erro de banco de dados; nada foi gravado. */
+    FAILED;
+
+    /**
+     * Converte o retorno booleano das inserções e exclusões, que não usam versão.
+     * @param success O retorno da operação.
+     * @return {@link #UPDATED} se a operação teve sucesso, {@link #FAILED} caso contrário.
+     */
+    public static UpdateResult of(boolean success) {
+        return success ? UPDATED : FAILED;
+    }
+
+    /**
+     * Classifica um UPDATE versionado que não alterou nenhuma linha: se a linha ainda existe,
+     * a versão mudou desde a leitura ({@link #CONFLICT}); senão, ela foi excluída ({@link #NOT_FOUND}).
+     * @param conn A conexão (e transação) em que o UPDATE foi executado.
+     * @param existsSql A consulta {@code SELECT 1 ... WHERE id = ?} da tabela.
+     * @param id O ID da linha.
+     */
+    static UpdateResult ofMissedUpdate(Connection conn, NamedSql existsSql, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(existsSql.sql())) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? CONFLICT : NOT_FOUND;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.model;
+
+import java.util.List;
+
+/**
+ * Retrato compacto dos dados exibidos no dashboard, calculado no banco de dados.
+ * Contém apenas contadores: o tamanho deste objeto depende do número de projetos e equipes,
+ * nunca do número de tarefas.
+ *
+ * @param inProgressProjects Quantidade de projetos com status EM_ANDAMENTO.
+ * @param pendingTasks Quantidade de tarefas com status PENDENTE.
+ * @param overdueTasks Quantidade de tarefas não concluídas com prazo vencido.
+ * @param completedTasks Quantidade de tarefas com status CONCLUIDA.
+ * @param tasksByProject Matriz projeto × status, ordenada pelo nome do projeto.
+ * @param teamMembers Quantidade de membros por equipe, ordenada pelo nome da equipe.
+ */
+public record DashboardSnapshot(int inProgressProjects, int pendingTasks, int overdueTasks, int completedTasks,
+                                List<ProjectTaskCounts> tasksByProject, List<TeamMemberCount> teamMembers) {
+
+    /**
+     * Linha da matriz projeto × status de tarefa.
+     * @param overdue Quantas das tarefas do projeto estão atrasadas (já contadas no status delas).
+     */
+    public record ProjectTaskCounts(int projectId, String projectName, int pending, int inProgress, int completed,
+                                    int overdue) {
+
+        /** Total de tarefas do projeto, somando todos os status. */
+        public int total() {
+            return pending + inProgress + completed;
+        }
+    }
+
+    /**
+     * Quantidade de membros de uma equipe.
+     */
+    public record TeamMemberCount(int teamId, String teamName, int members) {
+    }
+
+    /**
+     * Snapshot vazio, usado quando a consulta ao banco falha.
+     */
+    public static DashboardSnapshot empty() {
+        return new DashboardSnapshot(0, 0, 0, 0, List.of(), List.of());
+    }
+}
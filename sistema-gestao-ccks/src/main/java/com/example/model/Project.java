@@ -14,6 +14,10 @@ public class Project {
     private LocalDate plannedEndDate;
     private ProjectStatus status;
     private int managerId;
+    // Versão da linha no banco, para o controle de concorrência otimista das atualizações.
+    private int version;
+    // Percentual de tarefas concluídas, consolidado pelo StatusRollupJob (0 a 100).
+    private int completionPercent;
 
     // --- Getters e Setters ---
 
@@ -73,6 +77,40 @@ public class Project {
         this.managerId = managerId;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public int getCompletionPercent() {
+        return completionPercent;
+    }
+
+    public void setCompletionPercent(int completionPercent) {
+        this.completionPercent = completionPercent;
+    }
+
+    /**
+     * Cria uma cópia independente do projeto, para que um formulário possa alterá-la sem afetar
+     * o objeto compartilhado pelo cache dos DAOs.
+     */
+    public Project copy() {
+        Project copy = new Project();
+        copy.id = id;
+        copy.name = name;
+        copy.description = description;
+        copy.startDate = startDate;
+        copy.plannedEndDate = plannedEndDate;
+        copy.status = status;
+        copy.managerId = managerId;
+        copy.version = version;
+        copy.completionPercent = completionPercent;
+        return copy;
+    }
+
     /**
      * Retorna a representação em String do objeto, que por padrão será o nome do projeto.
      * Isso é crucial para que componentes de UI como o ComboBox exibam o nome do projeto
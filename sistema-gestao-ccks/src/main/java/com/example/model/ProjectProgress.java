@@ -0,0 +1,26 @@
+package com.example.model;
+
+import java.time.LocalDate;
+
+/**
+ * O andamento de um projeto no fim de um dia: quantas tarefas havia em cada status.
+ * Gravado uma vez por dia (ver {@link com.example.service.ProgressSnapshotJob}).
+ *
+ * @param date O dia.
+ * @param pending Tarefas PENDENTE.
+ * @param inProgress Tarefas EM_EXECUCAO.
+ * @param completed Tarefas CONCLUIDA.
+ * @param overdue Tarefas atrasadas (entre as pendentes e as em execução).
+ */
+public record ProjectProgress(LocalDate date, int pending, int inProgress, int completed, int overdue) {
+
+    /** As tarefas ainda não concluídas. */
+    public int remaining() {
+        return pending + inProgress;
+    }
+
+    /** Todas as tarefas do projeto no dia. */
+    public int total() {
+        return pending + inProgress + completed;
+    }
+}
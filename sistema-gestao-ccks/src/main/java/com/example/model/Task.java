@@ -13,6 +13,19 @@ public class Task {
     private LocalDate plannedEndDate;
     private LocalDate actualStartDate;
     private LocalDate actualEndDate;
+    // Versão da linha no banco, para o controle de concorrência otimista das atualizações.
+    private int version;
+    // Atraso gravado no banco (coluna overdue), mantido pelo StatusRollupJob.
+    private boolean overdue;
+
+    /**
+     * A regra de atraso: a tarefa não está concluída e o prazo planejado já passou. É aplicada
+     * ao gravar a tarefa e, a cada dia, pelo StatusRollupJob; as telas leem o valor gravado
+     * ({@link #isOverdue()}) em vez de comparar datas.
+     */
+    public static boolean isOverdue(TaskStatus status, LocalDate plannedEndDate, LocalDate today) {
+        return status != TaskStatus.CONCLUIDA && plannedEndDate != null && plannedEndDate.isBefore(today);
+    }
 
     // Getters e Setters
     public int getId() {
@@ -75,4 +88,16 @@ public class Task {
     public void setActualEndDate(LocalDate actualEndDate) {
         this.actualEndDate = actualEndDate;
     }
-}
\ No newline at end of file
+    public int getVersion() {
+        return version;
+    }
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    public boolean isOverdue() {
+        return overdue;
+    }
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.model;
+
+/**
+ * Dependência de término para início entre duas tarefas: a sucessora só começa depois que
+ * a predecessora termina.
+ *
+ * @param predecessorId A tarefa que precisa terminar antes.
+ * @param successorId A tarefa que depende dela.
+ */
+public record TaskDependency(int predecessorId, int successorId) {
+}
@@ -4,6 +4,8 @@ public class Team {
     private int id;
     private String name;
     private String description;
+    // Versão da linha no banco, para o controle de concorrência otimista das atualizações.
+    private int version;
 
     public int getId() {
         return id;
@@ -23,6 +25,24 @@ public class Team {
     public void setDescription(String description) {
         this.description = description;
     }
+    public int getVersion() {
+        return version;
+    }
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Cria uma cópia independente da equipe (ver {@link Project#copy()}).
+     */
+    public Team copy() {
+        Team copy = new Team();
+        copy.id = id;
+        copy.name = name;
+        copy.description = description;
+        copy.version = version;
+        return copy;
+    }
 
     @Override
     public String toString() {
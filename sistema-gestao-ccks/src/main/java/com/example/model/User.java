@@ -115,6 +115,13 @@ public class User {
         this.profile = profile;
     }
 
+    /**
+     * Cria uma cópia independente do usuário (ver {@link Project#copy()}).
+     */
+    public User copy() {
+        return new User(id, fullName, cpf, email, jobTitle, login, password, profile);
+    }
+
     /**
      * Retorna a representação em String do objeto, que por padrão será o nome completo.
      * Isso é útil para exibir o usuário em componentes de UI como ComboBox.
@@ -0,0 +1,261 @@
+package com.example.service;
+
+import com.example.dao.AllocationDAO.Assignment;
+import com.example.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Análise de alocação: a curva de carga ({@link LoadCurve}) de cada responsável e de cada equipe,
+ * e os períodos de sobrecarga, em que alguém tem mais tarefas simultâneas do que a capacidade.
+ *
+ * - A carga de um responsável é a quantidade de tarefas dele em andamento no dia. Uma tarefa
+ *   ocupa o responsável do início ao fim reais (ou planejados, na falta deles); uma tarefa não
+ *   concluída e já vencida continua ocupando-o até hoje.
+ * - A carga de uma equipe é a soma da carga dos membros (em todos os projetos), e a capacidade
+ *   dela é a capacidade individual vezes a quantidade de membros.
+ * - As curvas são montadas em paralelo (fork/join): os responsáveis, e depois as equipes, são
+ *   divididos entre as threads do pool. Cada curva custa O(k log k) para as k tarefas
+ *   envolvidas: O(n log n) no total.
+ *
+ * As curvas não dependem da capacidade: trocar a capacidade só muda a consulta de sobrecargas.
+ * Imutável; para refletir tarefas alteradas, analisa-se de novo, fora da thread do JavaFX.
+ */
+public final class AllocationAnalysis {
+
+    /** Capacidade individual padrão: tarefas simultâneas por pessoa. */
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("gestao.allocation.capacity", 3);
+
+    /**
+     * Um período de sobrecarga de um responsável ou de uma equipe.
+     * @param ownerId O ID do usuário ou da equipe.
+     * @param from O primeiro dia do período.
+     * @param to O último dia, inclusive.
+     * @param peakLoad A maior carga no período.
+     * @param capacity A capacidade que foi ultrapassada.
+     */
+    public record Overload(int ownerId, LocalDate from, LocalDate to, int peakLoad, int capacity) {
+    }
+
+    // Abaixo desta quantidade de curvas, uma tarefa do pool monta todas sem dividir o trabalho.
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private static final AllocationAnalysis EMPTY = new AllocationAnalysis(Map.of(), Map.of(), Map.of());
+
+    private final Map<Integer, LoadCurve> userCurves;
+    private final Map<Integer, LoadCurve> teamCurves;
+    private final Map<Integer, Integer> teamSizes;
+
+    private AllocationAnalysis(Map<Integer, LoadCurve> userCurves, Map<Integer, LoadCurve> teamCurves,
+                               Map<Integer, Integer> teamSizes) {
+        this.userCurves = userCurves;
+        this.teamCurves = teamCurves;
+        this.teamSizes = teamSizes;
+    }
+
+    /** Análise sem tarefas. */
+    public static AllocationAnalysis empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Analisa as tarefas.
+     * @param assignments As tarefas atribuídas, com o período de cada uma.
+     * @param membersByTeam Os membros de cada equipe (equipe → IDs dos usuários).
+     * @param today A data até a qual as tarefas vencidas e não concluídas continuam ocupando o responsável.
+     */
+    public static AllocationAnalysis analyze(Collection<Assignment> assignments,
+                                             Map<Integer, List<Integer>> membersByTeam, LocalDate today) {
+        long todayDay = today.toEpochDay();
+
+        // Agrupa os períodos por responsável em arrays contíguos: os do responsável de índice u
+        // ficam entre offsets[u] e offsets[u + 1].
+        Map<Integer, Integer> userIndex = new HashMap<>();
+        int[] owner = new int[assignments.size()];
+        int n = 0;
+        for (Assignment assignment : assignments) {
+            Integer index = userIndex.get(assignment.responsibleId());
+            if (index == null) {
+                index = userIndex.size();
+                userIndex.put(assignment.responsibleId(), index);
+            }
+            owner[n++] = index;
+        }
+        int userCount = userIndex.size();
+        int[] offsets = new int[userCount + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[owner[i] + 1]++;
+        }
+        for (int u = 0; u < userCount; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        int[] next = offsets.clone();
+        int i = 0;
+        for (Assignment assignment : assignments) {
+            long start = assignment.start().toEpochDay();
+            long end = Math.max(start, assignment.end().toEpochDay());
+            if (assignment.status() != TaskStatus.CONCLUIDA && end < todayDay) {
+                end = todayDay;
+            }
+            int position = next[owner[i++]]++;
+            starts[position] = start;
+            ends[position] = end;
+        }
+
+        int[] userIds = new int[userCount];
+        userIndex.forEach((userId, index) -> userIds[index] = userId);
+        LoadCurve[] byUser = sweepAll(userCount, u -> LoadCurve.sweep(
+                Arrays.copyOfRange(starts, offsets[u], offsets[u + 1]),
+                Arrays.copyOfRange(ends, offsets[u], offsets[u + 1])));
+        Map<Integer, LoadCurve> userCurves = new HashMap<>();
+        for (int u = 0; u < userCount; u++) {
+            userCurves.put(userIds[u], byUser[u]);
+        }
+
+        // Equipes: junta os períodos dos membros (um membro repetido conta uma vez).
+        int[] teamIds = new int[membersByTeam.size()];
+        List<int[]> teamMembers = new ArrayList<>();
+        Map<Integer, Integer> teamSizes = new HashMap<>();
+        int t = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : membersByTeam.entrySet()) {
+            Set<Integer> members = new LinkedHashSet<>(entry.getValue());
+            teamIds[t++] = entry.getKey();
+            teamSizes.put(entry.getKey(), members.size());
+            teamMembers.add(members.stream().filter(userIndex::containsKey).mapToInt(userIndex::get).toArray());
+        }
+        LoadCurve[] byTeam = sweepAll(teamIds.length, team -> {
+            int[] members = teamMembers.get(team);
+            int size = 0;
+            for (int u : members) {
+                size += offsets[u + 1] - offsets[u];
+            }
+            long[] teamStarts = new long[size];
+            long[] teamEnds = new long[size];
+            int position = 0;
+            for (int u : members) {
+                int count = offsets[u + 1] - offsets[u];
+                System.arraycopy(starts, offsets[u], teamStarts, position, count);
+                System.arraycopy(ends, offsets[u], teamEnds, position, count);
+                position += count;
+            }
+            return LoadCurve.sweep(teamStarts, teamEnds);
+        });
+        Map<Integer, LoadCurve> teamCurves = new HashMap<>();
+        for (t = 0; t < teamIds.length; t++) {
+            teamCurves.put(teamIds[t], byTeam[t]);
+        }
+        return new AllocationAnalysis(userCurves, teamCurves, teamSizes);
+    }
+
+    /**
+     * Monta as curvas 0..count-1 no pool comum do fork/join.
+     */
+    private static LoadCurve[] sweepAll(int count, IntFunction<LoadCurve> curveOf) {
+        LoadCurve[] curves = new LoadCurve[count];
+        ForkJoinPool.commonPool().invoke(new SweepTask(curves, curveOf, 0, count));
+        return curves;
+    }
+
+    /**
+     * Divide as curvas ao meio até o limite sequencial; as metades ociosas são roubadas pelas
+     * outras threads do pool, o que equilibra responsáveis com muitas e com poucas tarefas.
+     */
+    private static final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final LoadCurve[] curves;
+        private final IntFunction<LoadCurve> curveOf;
+        private final int from;
+        private final int to;
+
+        private SweepTask(LoadCurve[] curves, IntFunction<LoadCurve> curveOf, int from, int to) {
+            this.curves = curves;
+            this.curveOf = curveOf;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    curves[i] = curveOf.apply(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(curves, curveOf, from, middle), new SweepTask(curves, curveOf, middle, to));
+        }
+    }
+
+    /** A curva de carga do responsável (vazia, se ele não tiver tarefas). */
+    public LoadCurve userCurve(int userId) {
+        return userCurves.getOrDefault(userId, LoadCurve.empty());
+    }
+
+    /** A curva de carga da equipe (vazia, se os membros não tiverem tarefas). */
+    public LoadCurve teamCurve(int teamId) {
+        return teamCurves.getOrDefault(teamId, LoadCurve.empty());
+    }
+
+    /** A capacidade da equipe: a capacidade individual vezes a quantidade de membros. */
+    public int teamCapacity(int teamId, int capacity) {
+        return capacity * teamSizes.getOrDefault(teamId, 0);
+    }
+
+    /** Os responsáveis com alguma tarefa. */
+    public Set<Integer> userIds() {
+        return userCurves.keySet();
+    }
+
+    /** As equipes analisadas. */
+    public Set<Integer> teamIds() {
+        return teamCurves.keySet();
+    }
+
+    /**
+     * Os períodos em que cada responsável passa da capacidade, entre as datas (inclusive),
+     * do maior pico para o menor.
+     */
+    public List<Overload> userOverloads(int capacity, LocalDate from, LocalDate to) {
+        return overloads(userCurves, id -> capacity, from, to);
+    }
+
+    /**
+     * Os períodos em que cada equipe passa da capacidade dela, entre as datas (inclusive),
+     * do maior pico (em relação à capacidade) para o menor.
+     */
+    public List<Overload> teamOverloads(int capacity, LocalDate from, LocalDate to) {
+        return overloads(teamCurves, id -> teamCapacity(id, capacity), from, to);
+    }
+
+    private static List<Overload> overloads(Map<Integer, LoadCurve> curves, IntUnaryOperator capacityOf,
+                                            LocalDate from, LocalDate to) {
+        List<Overload> overloads = new ArrayList<>();
+        curves.forEach((id, curve) -> {
+            int capacity = capacityOf.applyAsInt(id);
+            for (LoadCurve.Period period : curve.periodsAbove(capacity, from.toEpochDay(), to.toEpochDay())) {
+                overloads.add(new Overload(id, LocalDate.ofEpochDay(period.from()), LocalDate.ofEpochDay(period.to()),
+                        period.peak(), capacity));
+            }
+        });
+        overloads.sort(Comparator.comparingDouble((Overload o) -> -(double) o.peakLoad() / Math.max(1, o.capacity()))
+                .thenComparing(Overload::from).thenComparingInt(Overload::ownerId));
+        return overloads;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.service;
+
+import com.example.dao.DAOFactory;
+import com.example.dao.UserDAO;
+import com.example.dao.UserDAO.Credentials;
+import com.example.model.User;
+import com.example.util.PasswordHasher;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço de autenticação. Concentra tudo o que envolve verificar senhas:
+ *
+ * - A verificação BCrypt (proposital e caro em CPU) roda em um executor próprio, com poucas
+ *   threads e fila limitada, e nunca na thread do JavaFX. Com a fila cheia, a tentativa é
+ *   recusada na hora ({@link Status#BUSY}) em vez de acumular trabalho.
+ * - O custo do BCrypt é calibrado para a máquina ({@link PasswordHasher#getDefault()}).
+ * - Após um login bem-sucedido, hashes gravados com custo menor que o atual são regravados
+ *   com o custo atual, de forma transparente para o usuário.
+ * - Falhas seguidas de um mesmo login bloqueiam novas tentativas por um tempo
+ *   ({@link LoginThrottle}); tentativas bloqueadas são recusadas antes de qualquer hash,
+ *   então um ataque de força bruta não consegue saturar a CPU.
+ */
+public class AuthenticationService {
+
+    /**
+     * Resultado de uma tentativa de login.
+     */
+    public enum Status {
+        SUCCESS,
+        INVALID_CREDENTIALS,
+        /** Muitas falhas recentes para este login. */
+        LOCKED,
+        /** O executor de autenticação está sobrecarregado. */
+        BUSY
+    }
+
+    /**
+     * @param status O resultado.
+     * @param user O usuário autenticado (apenas em SUCCESS).
+     * @param retryAfterSeconds Em LOCKED, quantos segundos faltam para poder tentar de novo.
+     */
+    public record AuthResult(Status status, User user, long retryAfterSeconds) {
+
+        static AuthResult of(Status status) {
+            return new AuthResult(status, null, 0);
+        }
+    }
+
+    private static final int MAX_FAILURES = Integer.getInteger("gestao.auth.maxFailures", 5);
+    private static final long LOCK_WINDOW_SECONDS = Long.getLong("gestao.auth.lockWindowSeconds", 300L);
+    private static final int MAX_TRACKED_LOGINS = Integer.getInteger("gestao.auth.maxTrackedLogins", 10_000);
+    private static final int QUEUE_CAPACITY = 32;
+
+    private static class InstanceHolder {
+        private static final AuthenticationService INSTANCE = new AuthenticationService(DAOFactory.getUserDAO());
+    }
+
+    private final UserDAO userDAO;
+    private final LoginThrottle throttle = new LoginThrottle(MAX_TRACKED_LOGINS, MAX_FAILURES, LOCK_WINDOW_SECONDS);
+    private final ThreadPoolExecutor executor;
+    // Hash de uma senha qualquer: logins inexistentes também pagam uma verificação, para que
+    // o tempo de resposta não revele quais logins existem.
+    private volatile String dummyHash;
+
+    AuthenticationService(UserDAO userDAO) {
+        this.userDAO = userDAO;
+        // O BCrypt é limitado por CPU: metade dos núcleos deixa a interface responsiva.
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "auth-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // Calibra o custo em segundo plano, antes do primeiro login.
+        executor.execute(() -> dummyHash = PasswordHasher.getDefault().hash("senha-inexistente"));
+    }
+
+    /**
+     * Retorna a instância compartilhada do serviço.
+     */
+    public static AuthenticationService getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Autentica um usuário em segundo plano.
+     * @param login O login informado.
+     * @param plainPassword A senha em texto plano informada.
+     * @return Um future com o resultado; nunca é completado na thread do chamador.
+     */
+    public CompletableFuture<AuthResult> authenticate(String login, String plainPassword) {
+        long lockedFor = throttle.secondsUntilAllowed(login);
+        if (lockedFor > 0) {
+            return CompletableFuture.completedFuture(new AuthResult(Status.LOCKED, null, lockedFor));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> verify(login, plainPassword), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(AuthResult.of(Status.BUSY));
+        }
+    }
+
+    private AuthResult verify(String login, String plainPassword) {
+        // Confere de novo: outras tentativas podem ter bloqueado o login enquanto esta esperava na fila.
+        long lockedFor = throttle.secondsUntilAllowed(login);
+        if (lockedFor > 0) {
+            return new AuthResult(Status.LOCKED, null, lockedFor);
+        }
+
+        PasswordHasher hasher = PasswordHasher.getDefault();
+        Credentials credentials = userDAO.findCredentialsByLogin(login);
+        if (credentials == null) {
+            hasher.verify(plainPassword, dummyHash());
+            throttle.recordFailure(login);
+            return AuthResult.of(Status.INVALID_CREDENTIALS);
+        }
+        if (!hasher.verify(plainPassword, credentials.passwordHash())) {
+            throttle.recordFailure(login);
+            return AuthResult.of(Status.INVALID_CREDENTIALS);
+        }
+
+        throttle.recordSuccess(login);
+        if (hasher.needsRehash(credentials.passwordHash())) {
+            // Já temos a senha em texto plano e ela foi validada: é a única hora em que dá para regravar.
+            userDAO.updatePasswordHash(credentials.user().getId(), credentials.passwordHash(),
+                    hasher.hash(plainPassword));
+        }
+        return new AuthResult(Status.SUCCESS, credentials.user(), 0);
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = PasswordHasher.getDefault().hash("senha-inexistente");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.service;
+
+import com.example.dao.BulkInsertDAO;
+import com.example.dao.BulkInsertDAO.ChunkResult;
+import com.example.dao.BulkInsertDAO.RowBinder;
+import com.example.dao.BulkInsertDAO.Table;
+import com.example.dao.DAOFactory;
+import com.example.dao.ProjectDAO;
+import com.example.dao.UserDAO;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import com.example.model.User.UserProfile;
+import com.example.util.PasswordHasher;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Importação em massa de usuários, projetos e tarefas a partir de arquivos CSV ou JSON.
+ *
+ * O arquivo é processado em blocos ("chunks"), sem ser carregado inteiro na memória:
+ * 1. Os registros são lidos em sequência até completar um bloco.
+ * 2. As linhas do bloco são validadas (e, para usuários, as senhas são criptografadas) em
+ *    paralelo, enquanto o bloco anterior é gravado.
+ * 3. As linhas válidas são gravadas em uma transação por bloco, com JDBC batch
+ *    ({@link BulkInsertDAO}).
+ *
+ * Linhas inválidas ou rejeitadas pelo banco são registradas no relatório com o número da
+ * linha e o motivo, sem interromper a importação. O andamento (linhas/s) é informado a um
+ * {@link ProgressListener} ao fim de cada bloco.
+ *
+ * Colunas aceitas (nomes das colunas do banco, sem diferenciar maiúsculas):
+ * - usuários: full_name, cpf, email, job_title, login, password (ou password_hash), profile;
+ * - projetos: name, description, start_date, planned_end_date, status, manager_id;
+ * - tarefas: title, description, project_id, responsible_id, status, planned_start_date,
+ *   planned_end_date, actual_start_date, actual_end_date.
+ * Datas no formato ISO (2024-12-31) ou dd/MM/yyyy.
+ */
+public class BulkImportService {
+
+    /** O tipo de registro importado. */
+    public enum EntityType {
+        USERS, PROJECTS, TASKS
+    }
+
+    /** O formato do arquivo. */
+    public enum Format {
+        CSV, JSON;
+
+        /** Deduz o formato pela extensão do arquivo (.json/.ndjson/.jsonl ou CSV). */
+        public static Format fromFileName(String fileName) {
+            String lower = fileName.toLowerCase();
+            return lower.endsWith(".json") || lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? JSON : CSV;
+        }
+    }
+
+    /**
+     * Uma linha que não foi importada.
+     * @param row O número do registro no arquivo (1 = primeiro registro, sem contar o cabeçalho).
+     * @param message O motivo.
+     */
+    public record RowError(long row, String message) {
+    }
+
+    /**
+     * Andamento da importação, informado ao fim de cada bloco.
+     */
+    public record Progress(long rowsRead, long rowsImported, long rowsFailed, double rowsPerSecond) {
+    }
+
+    /**
+     * Recebe o andamento da importação. É chamado na thread que executa a importação.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * Resultado final da importação.
+     * @param rowsRead Registros lidos do arquivo.
+     * @param rowsImported Registros gravados no banco.
+     * @param rowsFailed Registros rejeitados (validação ou banco).
+     * @param errors Os primeiros erros, limitados a {@link #MAX_REPORTED_ERRORS}.
+     * @param elapsedMillis Duração total.
+     */
+    public record ImportReport(long rowsRead, long rowsImported, long rowsFailed, List<RowError> errors,
+                               long elapsedMillis) {
+
+        public double rowsPerSecond() {
+            return elapsedMillis == 0 ? rowsRead : rowsRead * 1000.0 / elapsedMillis;
+        }
+    }
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
+    public static final int MAX_REPORTED_ERRORS = 10_000;
+
+    private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final BulkInsertDAO bulkInsertDAO = new BulkInsertDAO();
+    private final int batchSize;
+    private final int chunkSize;
+
+    public BulkImportService() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param batchSize Linhas por {@code executeBatch}.
+     * @param chunkSize Linhas por transação; deve ser maior ou igual a batchSize.
+     */
+    public BulkImportService(int batchSize, int chunkSize) {
+        if (batchSize < 1 || chunkSize < batchSize) {
+            throw new IllegalArgumentException("Tamanhos inválidos: batchSize=" + batchSize + ", chunkSize=" + chunkSize);
+        }
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Importa um arquivo. O formato é deduzido pela extensão.
+     */
+    public ImportReport importFile(Path file, EntityType type, ProgressListener listener) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(reader, Format.fromFileName(file.getFileName().toString()), type, listener);
+        }
+    }
+
+    /**
+     * Importa os registros lidos de um Reader.
+     * @param input A entrada; não é fechada por este método.
+     * @param format O formato da entrada.
+     * @param type O tipo de registro.
+     * @param listener Recebe o andamento (pode ser null).
+     * @return O relatório da importação.
+     * @throws IOException Se a entrada não puder ser lida ou estiver malformada; as linhas
+     *                     de blocos anteriores já terão sido gravadas.
+     */
+    public ImportReport importFrom(Reader input, Format format, EntityType type, ProgressListener listener)
+            throws IOException {
+        long start = System.nanoTime();
+        RecordReader reader = format == Format.JSON ? new JsonRecordReader(input) : new CsvRecordReader(input);
+        RowValidator validator = validatorFor(type);
+        Table table = switch (type) {
+            case USERS -> Table.USERS;
+            case PROJECTS -> Table.PROJECTS;
+            case TASKS -> Table.TASKS;
+        };
+
+        long rowsRead = 0;
+        long imported = 0;
+        long failed = 0;
+        List<RowError> errors = new ArrayList<>();
+
+        List<Map<String, String>> chunk = readChunk(reader);
+        long firstRow = 1;
+        CompletableFuture<List<ValidatedRow>> pending = chunk.isEmpty() ? null : validateAsync(chunk, firstRow, validator);
+        rowsRead += chunk.size();
+
+        while (pending != null) {
+            List<ValidatedRow> validated = pending.join();
+
+            // Lê e valida o próximo bloco enquanto este é gravado.
+            List<Map<String, String>> next = readChunk(reader);
+            long nextFirstRow = firstRow + chunk.size();
+            pending = next.isEmpty() ? null : validateAsync(next, nextFirstRow, validator);
+            rowsRead += next.size();
+
+            List<RowBinder> binders = new ArrayList<>(validated.size());
+            List<Long> rowNumbers = new ArrayList<>(validated.size());
+            for (ValidatedRow row : validated) {
+                if (row.error() != null) {
+                    failed++;
+                    addError(errors, new RowError(row.rowNumber(), row.error()));
+                } else {
+                    binders.add(row.binder());
+                    rowNumbers.add(row.rowNumber());
+                }
+            }
+
+            ChunkResult result = bulkInsertDAO.insertChunk(table, binders, batchSize);
+            imported += result.inserted();
+            failed += result.failures().size();
+            for (Map.Entry<Integer, String> failure : result.failures().entrySet()) {
+                addError(errors, new RowError(rowNumbers.get(failure.getKey()), failure.getValue()));
+            }
+
+            if (listener != null) {
+                double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-3);
+                listener.onProgress(new Progress(imported + failed, imported, failed, (imported + failed) / seconds));
+            }
+            chunk = next;
+            firstRow = nextFirstRow;
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new ImportReport(rowsRead, imported, failed, List.copyOf(errors), elapsedMillis);
+    }
+
+    private List<Map<String, String>> readChunk(RecordReader reader) throws IOException {
+        List<Map<String, String>> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+        Map<String, String> record;
+        while (chunk.size() < chunkSize && (record = reader.next()) != null) {
+            chunk.add(record);
+        }
+        return chunk;
+    }
+
+    private static void addError(List<RowError> errors, RowError error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    // --- Validação ---
+
+    /**
+     * Uma linha validada: ou tem o binder para o INSERT, ou a mensagem de erro.
+     */
+    private record ValidatedRow(long rowNumber, RowBinder binder, String error) {
+    }
+
+    /**
+     * Converte os campos de um registro em um binder para o INSERT.
+     * Lança IllegalArgumentException com a mensagem para o relatório se a linha for inválida.
+     */
+    @FunctionalInterface
+    private interface RowValidator {
+        RowBinder validate(Map<String, String> record);
+    }
+
+    private CompletableFuture<List<ValidatedRow>> validateAsync(List<Map<String, String>> chunk, long firstRow,
+                                                                RowValidator validator) {
+        // parallelStream usa o ForkJoinPool comum: a validação (e o BCrypt) usa todos os núcleos.
+        return CompletableFuture.supplyAsync(() -> IntStream.range(0, chunk.size())
+                .parallel()
+                .mapToObj(i -> {
+                    long rowNumber = firstRow + i;
+                    try {
+                        return new ValidatedRow(rowNumber, validator.validate(chunk.get(i)), null);
+                    } catch (IllegalArgumentException e) {
+                        return new ValidatedRow(rowNumber, null, e.getMessage());
+                    }
+                })
+                .collect(Collectors.toList()));
+    }
+
+    private RowValidator validatorFor(EntityType type) {
+        return switch (type) {
+            case USERS -> this::validateUser;
+            case PROJECTS -> projectValidator();
+            case TASKS -> taskValidator();
+        };
+    }
+
+    private RowBinder validateUser(Map<String, String> r) {
+        String fullName = required(r, "full_name");
+        String cpf = required(r, "cpf");
+        String email = required(r, "email");
+        String jobTitle = r.get("job_title");
+        String login = required(r, "login");
+        UserProfile profile = enumValue(UserProfile.class, required(r, "profile"), "profile");
+
+        String hash = r.get("password_hash");
+        if (hash == null) {
+            String password = required(r, "password");
+            hash = PasswordHasher.getDefault().hash(password);
+        } else if (!hash.startsWith("$2")) {
+            throw new IllegalArgumentException("password_hash não é um hash BCrypt.");
+        }
+        String passwordHash = hash;
+
+        return pstmt -> {
+            pstmt.setString(1, fullName);
+            pstmt.setString(2, cpf);
+            pstmt.setString(3, email);
+            pstmt.setString(4, jobTitle);
+            pstmt.setString(5, login);
+            pstmt.setString(6, passwordHash);
+            pstmt.setString(7, profile.name());
+        };
+    }
+
+    private RowValidator projectValidator() {
+        // As chaves estrangeiras são conferidas na validação, contra os IDs atuais, para que um
+        // gerente inexistente não derrube o bloco inteiro no banco.
+        Set<Integer> userIds = DAOFactory.getUserDAO().getAllUsers().stream().map(User::getId).collect(Collectors.toSet());
+        return r -> {
+            String name = required(r, "name");
+            String description = r.get("description");
+            LocalDate startDate = date(required(r, "start_date"), "start_date");
+            LocalDate plannedEndDate = date(required(r, "planned_end_date"), "planned_end_date");
+            if (plannedEndDate.isBefore(startDate)) {
+                throw new IllegalArgumentException("planned_end_date anterior a start_date.");
+            }
+            ProjectStatus status = enumValue(ProjectStatus.class, required(r, "status"), "status");
+            int managerId = foreignKey(required(r, "manager_id"), "manager_id", userIds);
+
+            return pstmt -> {
+                pstmt.setString(1, name);
+                pstmt.setString(2, description);
+                pstmt.setDate(3, Date.valueOf(startDate));
+                pstmt.setDate(4, Date.valueOf(plannedEndDate));
+                pstmt.setString(5, status.name());
+                pstmt.setInt(6, managerId);
+            };
+        };
+    }
+
+    private RowValidator taskValidator() {
+        Set<Integer> userIds = DAOFactory.getUserDAO().getAllUsers().stream().map(User::getId).collect(Collectors.toSet());
+        Set<Integer> projectIds = DAOFactory.getProjectDAO().getAllProjects().stream().map(Project::getId).collect(Collectors.toSet());
+        LocalDate today = LocalDate.now();
+        return r -> {
+            String title = required(r, "title");
+            String description = r.get("description");
+            int projectId = foreignKey(required(r, "project_id"), "project_id", projectIds);
+            String responsible = r.get("responsible_id");
+            Integer responsibleId = responsible == null ? null : foreignKey(responsible, "responsible_id", userIds);
+            TaskStatus status = enumValue(TaskStatus.class, required(r, "status"), "status");
+            LocalDate plannedStart = optionalDate(r, "planned_start_date");
+            LocalDate plannedEnd = optionalDate(r, "planned_end_date");
+            LocalDate actualStart = optionalDate(r, "actual_start_date");
+            LocalDate actualEnd = optionalDate(r, "actual_end_date");
+            if (plannedStart != null && plannedEnd != null && plannedEnd.isBefore(plannedStart)) {
+                throw new IllegalArgumentException("planned_end_date anterior a planned_start_date.");
+            }
+
+            return pstmt -> {
+                pstmt.setString(1, title);
+                pstmt.setString(2, description);
+                pstmt.setInt(3, projectId);
+                if (responsibleId != null) {
+                    pstmt.setInt(4, responsibleId);
+                } else {
+                    pstmt.setNull(4, Types.INTEGER);
+                }
+                pstmt.setString(5, status.name());
+                pstmt.setDate(6, plannedStart != null ? Date.valueOf(plannedStart) : null);
+                pstmt.setDate(7, plannedEnd != null ? Date.valueOf(plannedEnd) : null);
+                pstmt.setDate(8, actualStart != null ? Date.valueOf(actualStart) : null);
+                pstmt.setDate(9, actualEnd != null ? Date.valueOf(actualEnd) : null);
+                pstmt.setBoolean(10, Task.isOverdue(status, plannedEnd, today));
+            };
+        };
+    }
+
+    private static String required(Map<String, String> r, String column) {
+        String value = r.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: " + column + ".");
+        }
+        return value.trim();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value, String column) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor inválido para " + column + ": " + value + ".");
+        }
+    }
+
+    private static int foreignKey(String value, String column, Set<Integer> existingIds) {
+        int id;
+        try {
+            id = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + column + ": " + value + ".");
+        }
+        if (!existingIds.contains(id)) {
+            throw new IllegalArgumentException(column + " " + id + " não existe.");
+        }
+        return id;
+    }
+
+    private static LocalDate optionalDate(Map<String, String> r, String column) {
+        String value = r.get(column);
+        return value == null || value.isBlank() ? null : date(value, column);
+    }
+
+    private static LocalDate date(String value, String column) {
+        String trimmed = value.trim();
+        try {
+            return trimmed.indexOf('/') >= 0 ? LocalDate.parse(trimmed, BRAZILIAN_DATE) : LocalDate.parse(trimmed);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida em " + column + ": " + value + ".");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitor de CSV com cabeçalho. A primeira linha traz os nomes das colunas.
+ *
+ * Segue a RFC 4180: campos podem vir entre aspas (e então conter separadores, quebras de
+ * linha e aspas duplicadas {@code ""}). O separador é detectado no cabeçalho: ponto e vírgula
+ * (comum em planilhas em português) ou vírgula. Campos vazios são lidos como null.
+ */
+class CsvRecordReader implements RecordReader {
+
+    private final BufferedReader reader;
+    private final char separator;
+    private final List<String> header;
+    private boolean eof = false;
+
+    CsvRecordReader(Reader input) throws IOException {
+        this.reader = input instanceof BufferedReader br ? br : new BufferedReader(input, 64 * 1024);
+        this.reader.mark(64 * 1024);
+        String firstLine = reader.readLine();
+        if (firstLine == null) {
+            throw new IOException("Arquivo CSV vazio: o cabeçalho é obrigatório.");
+        }
+        this.reader.reset();
+        this.separator = firstLine.indexOf(';') >= 0 && firstLine.indexOf(',') < 0 ? ';' : ',';
+
+        List<String> columns = readFields();
+        this.header = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            // Remove o BOM que algumas planilhas gravam no início do arquivo.
+            String name = column == null ? "" : column.replace("\uFEFF", "").trim().toLowerCase();
+            header.add(name);
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+            // Ignora linhas em branco.
+        } while (fields.size() == 1 && fields.get(0) == null);
+
+        Map<String, String> record = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), i < fields.size() ? fields.get(i) : null);
+        }
+        return record;
+    }
+
+    /**
+     * Lê os campos de um registro, que pode ocupar várias linhas se houver aspas.
+     * @return Os campos, ou null no fim do arquivo.
+     */
+    private List<String> readFields() throws IOException {
+        if (eof) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            eof = true;
+            return null;
+        }
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Arquivo CSV terminou dentro de um campo entre aspas.");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == separator) {
+                fields.add(toValue(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == -1) {
+                fields.add(toValue(field, wasQuoted));
+                if (c == -1) {
+                    eof = true;
+                }
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private static String toValue(StringBuilder field, boolean wasQuoted) {
+        String value = wasQuoted ? field.toString() : field.toString().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.service;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Árvore de intervalos ("centered interval tree") imutável: responde quais intervalos
+ * {@code [início, fim]} (inclusive) se sobrepõem a uma janela {@code [de, até]} em
+ * O(log n + k), sendo k a quantidade de intervalos encontrados.
+ *
+ * - Cada nó tem um ponto central e guarda os intervalos que contêm esse ponto, em duas ordens:
+ *   por início crescente e por fim decrescente. Os que terminam antes do centro ficam à esquerda;
+ *   os que começam depois, à direita.
+ * - Para uma janela à esquerda do centro, só os intervalos do nó que começam até o fim da janela
+ *   se sobrepõem a ela (e a busca para no primeiro que não começa); à direita, o simétrico.
+ *   Uma janela que contém o centro contém todos os intervalos do nó.
+ * - O centro de cada nó é a mediana das extremidades dos intervalos dele, então a profundidade
+ *   é O(log n) e nenhum nó fica vazio.
+ *
+ * Os valores são números (ex: {@code LocalDate.toEpochDay()}). Para alterar os intervalos, monta-se
+ * um índice novo: a montagem leva O(n log n). Thread-safe (imutável).
+ */
+public final class IntervalIndex {
+
+    private static final class Node {
+        private final long center;
+        private final int[] byStart;
+        private final int[] byEnd;
+        private final Node left;
+        private final Node right;
+
+        private Node(long center, int[] byStart, int[] byEnd, Node left, Node right) {
+            this.center = center;
+            this.byStart = byStart;
+            this.byEnd = byEnd;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static final IntervalIndex EMPTY = new IntervalIndex(new int[0], new long[0], new long[0]);
+
+    private final int[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final Node root;
+
+    private IntervalIndex(int[] ids, long[] starts, long[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        // Ordena uma única vez; cada nó recebe as duas ordens já prontas (a partição as preserva).
+        int[] byStart = sortedPositions(starts);
+        int[] byEnd = sortedPositions(ends);
+        reverse(byEnd);
+        this.root = build(byStart, byEnd);
+    }
+
+    /**
+     * Monta o índice. Os três arrays têm o mesmo tamanho; o intervalo i é {@code [starts[i], ends[i]]}.
+     * @throws IllegalArgumentException Se os tamanhos forem diferentes ou algum intervalo terminar antes de começar.
+     */
+    public static IntervalIndex of(int[] ids, long[] starts, long[] ends) {
+        if (ids.length != starts.length || ids.length != ends.length) {
+            throw new IllegalArgumentException("Os arrays de IDs, inícios e fins devem ter o mesmo tamanho.");
+        }
+        for (int i = 0; i < ids.length; i++) {
+            if (ends[i] < starts[i]) {
+                throw new IllegalArgumentException("Intervalo " + ids[i] + " termina antes de começar.");
+            }
+        }
+        return ids.length == 0 ? EMPTY : new IntervalIndex(ids.clone(), starts.clone(), ends.clone());
+    }
+
+    /** Índice sem intervalos. */
+    public static IntervalIndex empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Entrega o ID de cada intervalo que se sobrepõe à janela {@code [from, to]}, inclusive,
+     * sem ordem definida e sem repetição.
+     */
+    public void forEachOverlapping(long from, long to, IntConsumer action) {
+        if (to < from) {
+            return;
+        }
+        visit(root, from, to, action);
+    }
+
+    /**
+     * Quantos intervalos se sobrepõem à janela {@code [from, to]}.
+     */
+    public int countOverlapping(long from, long to) {
+        int[] count = new int[1];
+        forEachOverlapping(from, to, id -> count[0]++);
+        return count[0];
+    }
+
+    private void visit(Node node, long from, long to, IntConsumer action) {
+        while (node != null) {
+            if (to < node.center) {
+                // Janela à esquerda: os intervalos do nó chegam ao centro, então basta começarem até 'to'.
+                for (int i : node.byStart) {
+                    if (starts[i] > to) {
+                        break;
+                    }
+                    action.accept(ids[i]);
+                }
+                node = node.left;
+            } else if (from > node.center) {
+                for (int i : node.byEnd) {
+                    if (ends[i] < from) {
+                        break;
+                    }
+                    action.accept(ids[i]);
+                }
+                node = node.right;
+            } else {
+                for (int i : node.byStart) {
+                    action.accept(ids[i]);
+                }
+                visit(node.left, from, to, action);
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Monta a subárvore dos intervalos recebidos nas duas ordens: por início crescente e por fim
+     * decrescente. O(m) por nó, O(n log n) no total.
+     */
+    private Node build(int[] byStart, int[] byEnd) {
+        int m = byStart.length;
+        if (m == 0) {
+            return null;
+        }
+        // A extremidade de posição m entre as 2m (inícios e fins intercalados em ordem crescente).
+        // É a extremidade de algum intervalo: pelo menos esse intervalo fica no nó.
+        int s = 0;
+        int e = m - 1;
+        long center = 0;
+        for (int k = 0; k <= m; k++) {
+            if (e < 0 || (s < m && starts[byStart[s]] <= ends[byEnd[e]])) {
+                center = starts[byStart[s++]];
+            } else {
+                center = ends[byEnd[e--]];
+            }
+        }
+
+        int[][] startParts = partition(byStart, center);
+        int[][] endParts = partition(byEnd, center);
+        return new Node(center, startParts[1], endParts[1],
+                build(startParts[0], endParts[0]), build(startParts[2], endParts[2]));
+    }
+
+    /**
+     * Separa os intervalos, mantendo a ordem, em: os que terminam antes do centro, os que o
+     * contêm e os que começam depois dele.
+     */
+    private int[][] partition(int[] items, long center) {
+        int leftCount = 0;
+        int rightCount = 0;
+        for (int i : items) {
+            if (ends[i] < center) {
+                leftCount++;
+            } else if (starts[i] > center) {
+                rightCount++;
+            }
+        }
+        int[][] parts = {new int[leftCount], new int[items.length - leftCount - rightCount], new int[rightCount]};
+        int[] next = new int[3];
+        for (int i : items) {
+            int part = ends[i] < center ? 0 : starts[i] > center ? 2 : 1;
+            parts[part][next[part]++] = i;
+        }
+        return parts;
+    }
+
+    /**
+     * As posições 0..n-1 ordenadas pelo valor, crescente (empate: a menor posição primeiro).
+     */
+    private static int[] sortedPositions(long[] values) {
+        int n = values.length;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        int[] positions = new int[n];
+        if (n > 0 && max - min >= 0 && max - min < Integer.MAX_VALUE) {
+            // Valor e posição em um único long: ordena primitivos, sem criar objetos.
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = ((values[i] - min) << 32) | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < n; i++) {
+                positions[i] = (int) keys[i];
+            }
+        } else {
+            Integer[] boxed = new Integer[n];
+            Arrays.setAll(boxed, i -> i);
+            Arrays.sort(boxed, (a, b) -> Long.compare(values[a], values[b]));
+            Arrays.setAll(positions, i -> boxed[i]);
+        }
+        return positions;
+    }
+
+    private static void reverse(int[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
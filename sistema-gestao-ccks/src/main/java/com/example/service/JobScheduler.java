@@ -0,0 +1,197 @@
+package com.example.service;
+
+import com.example.dao.ChangeEvent;
+import com.example.dao.ChangeFeed;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa os jobs de segundo plano da aplicação em uma única thread (daemon): cada job roda na
+ * inicialização, uma vez por dia no horário dele e sob demanda ({@link #runNow}).
+ *
+ * - Pedidos repetidos enquanto um job espera para rodar são agrupados em uma única execução; um
+ *   pedido feito durante a execução agenda outra, para incluir o que mudou depois da leitura.
+ * - O horário diário é recalculado a cada execução (não é um intervalo fixo de 24 horas), então
+ *   acompanha as mudanças de horário de verão.
+ * - Jobs registrados: {@link StatusRollupJob}, diariamente logo após a meia-noite (quando as
+ *   tarefas vencidas passam a atrasar); a reconsolidação só dos projetos com tarefas alteradas
+ *   ({@link StatusRollupJob#runChangedProjects()}), alguns segundos após as alterações de tarefas
+ *   gravadas por esta instância (as de outras instâncias são reconsolidadas por elas); e
+ *   {@link ProgressSnapshotJob}, diariamente perto do fim do dia, para gravar o andamento do dia
+ *   no histórico dos projetos.
+ *
+ * Configuração via propriedades de sistema: {@code gestao.jobs.enabled} (padrão true),
+ * {@code gestao.jobs.rollupAt} (horário diário, padrão 00:00:05),
+ * {@code gestao.jobs.rollupDelayMillis} (espera após uma alteração de tarefa, padrão 5000) e
+ * {@code gestao.jobs.snapshotAt} (horário do histórico, padrão 23:55:00).
+ */
+public final class JobScheduler {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("gestao.jobs.enabled", "true"));
+    private static final LocalTime ROLLUP_AT = LocalTime.parse(System.getProperty("gestao.jobs.rollupAt", "00:00:05"));
+    private static final long ROLLUP_DELAY_MILLIS = Long.getLong("gestao.jobs.rollupDelayMillis", 5000L);
+    private static final LocalTime SNAPSHOT_AT = LocalTime.parse(System.getProperty("gestao.jobs.snapshotAt", "23:55:00"));
+
+    /**
+     * Um job registrado, com as execuções agendadas. Protegido pelo lock do JobScheduler.
+     */
+    private static final class Job {
+        private final String name;
+        private final Runnable body;
+        // null nos jobs só sob demanda.
+        private final LocalTime dailyAt;
+        private ScheduledFuture<?> onDemand;
+
+        private Job(String name, Runnable body, LocalTime dailyAt) {
+            this.name = name;
+            this.body = body;
+            this.dailyAt = dailyAt;
+        }
+    }
+
+    // Protegido pelo lock da classe.
+    private static JobScheduler instance;
+
+    private final ScheduledExecutorService executor;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private final StatusRollupJob rollup = new StatusRollupJob();
+    private final ChangeFeed.Listener taskListener = this::onChanges;
+    private volatile Thread jobThread;
+
+    private JobScheduler() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-scheduler");
+            thread.setDaemon(true);
+            jobThread = thread;
+            return thread;
+        });
+    }
+
+    /**
+     * Registra os jobs e os executa pela primeira vez. Deve ser chamado depois da migração do
+     * esquema e antes de as telas abrirem.
+     */
+    public static synchronized void start() {
+        if (instance != null || !ENABLED) {
+            return;
+        }
+        instance = new JobScheduler();
+        instance.register(StatusRollupJob.NAME, instance.rollup, ROLLUP_AT);
+        instance.registerOnDemand(StatusRollupJob.CHANGED_PROJECTS_NAME, instance.rollup::runChangedProjects);
+        // Registrado depois: na inicialização, grava o histórico com os atrasos já revistos.
+        instance.register(ProgressSnapshotJob.NAME, new ProgressSnapshotJob(), SNAPSHOT_AT);
+        ChangeFeed.subscribeLocal(instance.taskListener);
+    }
+
+    /**
+     * Interrompe os jobs. Deve ser chamado antes de fechar o pool de conexões.
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            ChangeFeed.unsubscribe(instance.taskListener);
+            instance.executor.shutdownNow();
+            instance = null;
+        }
+    }
+
+    /**
+     * Pede a execução do job o quanto antes (ex: o usuário pediu a atualização dos indicadores).
+     * @return false se o job não existe ou se o agendador não está rodando.
+     */
+    public static synchronized boolean runNow(String jobName) {
+        if (instance == null || !instance.jobs.containsKey(jobName)) {
+            return false;
+        }
+        instance.request(instance.jobs.get(jobName), 0);
+        return true;
+    }
+
+    private synchronized void register(String name, Runnable body, LocalTime dailyAt) {
+        Job job = new Job(name, body, dailyAt);
+        jobs.put(name, job);
+        request(job, 0);
+        scheduleDaily(job);
+    }
+
+    private synchronized void registerOnDemand(String name, Runnable body) {
+        jobs.put(name, new Job(name, body, null));
+    }
+
+    /**
+     * Agenda a execução sob demanda, a menos que já haja uma agendada para antes.
+     */
+    private synchronized void request(Job job, long delayMillis) {
+        if (job.onDemand != null) {
+            if (job.onDemand.getDelay(TimeUnit.MILLISECONDS) <= delayMillis) {
+                return;
+            }
+            job.onDemand.cancel(false);
+        }
+        job.onDemand = executor.schedule(() -> {
+            synchronized (this) {
+                job.onDemand = null;
+            }
+            runSafely(job);
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void scheduleDaily(Job job) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(job.dailyAt);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        executor.schedule(() -> {
+            runSafely(job);
+            scheduleDaily(job);
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static void runSafely(Job job) {
+        try {
+            job.body.run();
+        } catch (RuntimeException e) {
+            // Um job com erro tenta de novo na próxima execução; os demais seguem agendados.
+            System.err.println("Falha no job " + job.name + ": " + e);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Alterações de tarefas mudam o percentual concluído e o status dos projetos delas, que são
+     * reconsolidados sem ler os demais projetos; uma recarga de tarefas (ex: importação em massa)
+     * pede a consolidação completa. As alterações gravadas pelos próprios jobs (nesta thread) não
+     * pedem uma nova execução.
+     */
+    private void onChanges(List<ChangeEvent> events) {
+        if (Thread.currentThread() == jobThread) {
+            return;
+        }
+        Set<Integer> projectIds = new HashSet<>();
+        for (ChangeEvent event : events) {
+            if (event.entity() != ChangeEvent.Entity.TASK) {
+                continue;
+            }
+            if (event.kind() == ChangeEvent.Kind.RELOAD) {
+                request(jobs.get(StatusRollupJob.NAME), ROLLUP_DELAY_MILLIS);
+            } else if (event.projectId() != 0) {
+                projectIds.add(event.projectId());
+            }
+        }
+        if (!projectIds.isEmpty()) {
+            rollup.projectsChanged(projectIds);
+            request(jobs.get(StatusRollupJob.CHANGED_PROJECTS_NAME), ROLLUP_DELAY_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leitor de JSON para importação. Aceita dois formatos:
+ * - um array de objetos: {@code [{"title": "A", ...}, {"title": "B", ...}]};
+ * - objetos em sequência, um por linha (NDJSON / JSON Lines).
+ *
+ * Os objetos são lidos um de cada vez, sem montar o documento inteiro na memória. Cada objeto
+ * deve ser "plano": valores string, número, booleano ou null. Números e booleanos são
+ * devolvidos como texto; objetos e arrays aninhados são rejeitados.
+ */
+class JsonRecordReader implements RecordReader {
+
+    private final PushbackReader reader;
+    private boolean started = false;
+    private boolean insideArray = false;
+    private boolean finished = false;
+
+    JsonRecordReader(Reader input) {
+        this.reader = new PushbackReader(new BufferedReader(input, 64 * 1024), 1);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                insideArray = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    return finish();
+                }
+            }
+        } else if (insideArray) {
+            // Entre os objetos de um array: vírgula ou fim do array.
+            if (c == ']') {
+                return finish();
+            }
+            if (c != ',') {
+                throw error("',' ou ']' esperado");
+            }
+            c = skipWhitespace();
+        }
+        if (c == -1) {
+            if (insideArray) {
+                throw error("fim inesperado do arquivo dentro do array");
+            }
+            return finish();
+        }
+        if (c != '{') {
+            throw error("'{' esperado");
+        }
+        return readObject();
+    }
+
+    private Map<String, String> finish() {
+        finished = true;
+        return null;
+    }
+
+    /**
+     * Lê um objeto plano; a chave de abertura já foi consumida.
+     */
+    private Map<String, String> readObject() throws IOException {
+        Map<String, String> record = new HashMap<>();
+        int c = skipWhitespace();
+        if (c == '}') {
+            return record;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("nome de campo entre aspas esperado");
+            }
+            String name = readString().trim().toLowerCase();
+            if (skipWhitespace() != ':') {
+                throw error("':' esperado após o campo \"" + name + "\"");
+            }
+            record.put(name, readValue(name));
+
+            c = skipWhitespace();
+            if (c == '}') {
+                return record;
+            }
+            if (c != ',') {
+                throw error("',' ou '}' esperado");
+            }
+            c = skipWhitespace();
+        }
+    }
+
+    private String readValue(String name) throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            String value = readString();
+            return value.isEmpty() ? null : value;
+        }
+        if (c == '{' || c == '[') {
+            throw error("o campo \"" + name + "\" tem um valor aninhado, que não é suportado");
+        }
+        // Literal: número, true, false ou null.
+        StringBuilder literal = new StringBuilder();
+        while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            literal.append((char) c);
+            c = reader.read();
+        }
+        if (c != -1) {
+            reader.unread(c);
+        }
+        String value = literal.toString();
+        if (value.isEmpty()) {
+            throw error("valor esperado para o campo \"" + name + "\"");
+        }
+        return value.equals("null") ? null : value;
+    }
+
+    /**
+     * Lê uma string JSON; as aspas de abertura já foram consumidas.
+     */
+    private String readString() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                throw error("fim inesperado do arquivo dentro de uma string");
+            }
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c == '\\') {
+                int escaped = reader.read();
+                switch (escaped) {
+                    case '"', '\\', '/' -> sb.append((char) escaped);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            int h = reader.read();
+                            if (h == -1) {
+                                throw error("escape \\u incompleto");
+                            }
+                            hex[i] = (char) h;
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("escape \\u inválido");
+                        }
+                    }
+                    default -> throw error("escape inválido em string");
+                }
+            } else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && (Character.isWhitespace(c) || c == '\uFEFF'));
+        return c;
+    }
+
+    private IOException error(String message) {
+        return new IOException("JSON inválido: " + message + ".");
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.service;
+
+import com.example.dao.DashboardDAO;
+import com.example.dao.ProjectDAO;
+import com.example.model.DashboardSnapshot;
+import com.example.model.DashboardSnapshot.ProjectTaskCounts;
+import com.example.model.DashboardSnapshot.TeamMemberCount;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém os indicadores do dashboard (projetos em andamento, tarefas pendentes, atrasadas e
+ * concluídas, e a matriz projeto × status) como contadores por projeto, atualizados a cada
+ * projeto alterado em vez de recontados sobre todas as tarefas.
+ *
+ * - {@link #load} parte do snapshot agregado no banco ({@link DashboardDAO#tryGetSnapshot()}):
+ *   uma linha por projeto, nunca uma por tarefa.
+ * - Depois de alterações de tarefas, o dashboard reconta só os projetos afetados
+ *   ({@link DashboardDAO#getProjectTaskCounts}) e os troca aqui com {@link #putProjectCounts};
+ *   os totais são ajustados pela diferença entre a contagem antiga e a nova do projeto, em O(1).
+ * - {@link #putProject} e {@link #removeProject} acompanham o nome e o status dos projetos.
+ * - {@link #snapshot} monta o {@link DashboardSnapshot} em tempo proporcional ao número de
+ *   projetos, independente do número de tarefas.
+ *
+ * Não é thread-safe: deve ser usado sempre na mesma thread (o dashboard usa a thread do JavaFX).
+ */
+public final class KpiEngine {
+
+    /**
+     * Linha da matriz projeto × status, com os dados do projeto exibidos no dashboard.
+     */
+    private static final class ProjectRow {
+        private ProjectTaskCounts counts;
+        private String name;
+        private ProjectStatus status;
+        private int version = -1;
+    }
+
+    private final Map<Integer, ProjectRow> projects = new HashMap<>();
+    private int inProgressProjects;
+    private int pendingTasks;
+    private int completedTasks;
+    private int overdueTasks;
+
+    /**
+     * Carrega os indicadores a partir do banco. Chamado fora da thread do JavaFX.
+     * @param dashboardDAO Fornece as contagens agregadas das tarefas.
+     * @param projectDAO Fornece os projetos.
+     * @return O motor carregado.
+     * @throws IllegalStateException Se as contagens ou os projetos não puderem ser lidos.
+     */
+    public static KpiEngine load(DashboardDAO dashboardDAO, ProjectDAO projectDAO) {
+        DashboardSnapshot seed = dashboardDAO.tryGetSnapshot();
+        List<Project> allProjects = projectDAO.tryGetAllProjects();
+        if (seed == null || allProjects == null) {
+            throw new IllegalStateException("Não foi possível carregar os indicadores.");
+        }
+        KpiEngine engine = new KpiEngine();
+        for (Project project : allProjects) {
+            engine.putProject(project);
+        }
+        for (ProjectTaskCounts counts : seed.tasksByProject()) {
+            engine.putProjectCounts(counts);
+        }
+        return engine;
+    }
+
+    /**
+     * Troca as contagens de tarefas de um projeto pelas recontadas no banco.
+     */
+    public void putProjectCounts(ProjectTaskCounts counts) {
+        ProjectRow row = projects.computeIfAbsent(counts.projectId(), id -> new ProjectRow());
+        count(row.counts, -1);
+        row.counts = counts;
+        count(counts, 1);
+        // Projeto que ainda não chegou por putProject (ex: o evento dele vem no próximo lote).
+        if (row.name == null) {
+            row.name = counts.projectName();
+        }
+    }
+
+    /**
+     * Inclui ou atualiza um projeto (nome e status).
+     * @return false se o projeto já estava registrado com uma versão mais nova.
+     */
+    public boolean putProject(Project project) {
+        ProjectRow row = projects.computeIfAbsent(project.getId(), id -> new ProjectRow());
+        if (row.version > project.getVersion()) {
+            return false;
+        }
+        if (row.status == ProjectStatus.EM_ANDAMENTO) {
+            inProgressProjects--;
+        }
+        row.name = project.getName();
+        row.status = project.getStatus();
+        row.version = project.getVersion();
+        if (row.status == ProjectStatus.EM_ANDAMENTO) {
+            inProgressProjects++;
+        }
+        return true;
+    }
+
+    /**
+     * Remove um projeto excluído e, como no banco (ON DELETE CASCADE), as tarefas dele.
+     */
+    public void removeProject(int projectId) {
+        ProjectRow row = projects.remove(projectId);
+        if (row == null) {
+            return;
+        }
+        if (row.status == ProjectStatus.EM_ANDAMENTO) {
+            inProgressProjects--;
+        }
+        count(row.counts, -1);
+    }
+
+    /**
+     * Monta o retrato atual dos indicadores. O custo depende do número de projetos e equipes.
+     * @param teamMembers A quantidade de membros por equipe, que não é mantida aqui.
+     */
+    public DashboardSnapshot snapshot(List<TeamMemberCount> teamMembers) {
+        List<ProjectTaskCounts> tasksByProject = new ArrayList<>(projects.size());
+        for (Map.Entry<Integer, ProjectRow> entry : projects.entrySet()) {
+            ProjectRow row = entry.getValue();
+            ProjectTaskCounts counts = row.counts;
+            tasksByProject.add(counts == null
+                    ? new ProjectTaskCounts(entry.getKey(), row.name, 0, 0, 0, 0)
+                    : new ProjectTaskCounts(entry.getKey(), row.name, counts.pending(), counts.inProgress(),
+                            counts.completed(), counts.overdue()));
+        }
+        tasksByProject.sort(Comparator.comparing(ProjectTaskCounts::projectName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparingInt(ProjectTaskCounts::projectId));
+
+        return new DashboardSnapshot(inProgressProjects, pendingTasks, overdueTasks, completedTasks,
+                tasksByProject, teamMembers);
+    }
+
+    /**
+     * Soma (delta = 1) ou subtrai (delta = -1) as contagens de um projeto dos totais.
+     */
+    private void count(ProjectTaskCounts counts, int delta) {
+        if (counts == null) {
+            return;
+        }
+        pendingTasks += delta * counts.pending();
+        completedTasks += delta * counts.completed();
+        overdueTasks += delta * counts.overdue();
+    }
+}
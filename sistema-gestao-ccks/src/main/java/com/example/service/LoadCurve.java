@@ -0,0 +1,151 @@
+package com.example.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Curva de carga: quantas tarefas estão em andamento ao mesmo tempo, dia a dia. É uma função em
+ * degraus guardada só nos dias em que o valor muda, então o tamanho depende da quantidade de
+ * tarefas, não da extensão do período.
+ *
+ * Montada por uma varredura ("sweep line") sobre os inícios e fins dos intervalos, em O(n log n).
+ * Imutável.
+ */
+public final class LoadCurve {
+
+    /**
+     * Um período contínuo acima de um limite.
+     * @param from O primeiro dia (LocalDate.toEpochDay()).
+     * @param to O último dia, inclusive.
+     * @param peak A maior carga no período.
+     */
+    public record Period(long from, long to, int peak) {
+    }
+
+    private static final LoadCurve EMPTY = new LoadCurve(new long[0], new int[0], 0);
+
+    // A carga vale loads[i] de days[i] até days[i + 1] - 1. Antes do primeiro dia é zero, e o
+    // último degrau é sempre zero (todas as tarefas terminaram).
+    private final long[] days;
+    private final int[] loads;
+    private final int peak;
+
+    private LoadCurve(long[] days, int[] loads, int peak) {
+        this.days = days;
+        this.loads = loads;
+        this.peak = peak;
+    }
+
+    /** Curva sem carga. */
+    public static LoadCurve empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Monta a curva dos intervalos {@code [starts[i], ends[i]]} (em dias, inclusive).
+     * Os arrays são ordenados no lugar: devem ser cópias de uso exclusivo.
+     */
+    static LoadCurve sweep(long[] starts, long[] ends) {
+        int n = starts.length;
+        if (n == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+        long[] days = new long[2 * n];
+        int[] loads = new int[2 * n];
+        int points = 0;
+        int load = 0;
+        int peak = 0;
+        int i = 0;
+        int j = 0;
+        // O j-ésimo fim nunca vem antes do j-ésimo início, então os fins acabam por último.
+        while (j < n) {
+            // Uma tarefa sai da carga no dia seguinte ao seu fim.
+            long day = i < n ? Math.min(starts[i], ends[j] + 1) : ends[j] + 1;
+            while (i < n && starts[i] == day) {
+                load++;
+                i++;
+            }
+            while (j < n && ends[j] + 1 == day) {
+                load--;
+                j++;
+            }
+            // Uma tarefa que termina na véspera do início de outra não muda a carga.
+            if (points > 0 && loads[points - 1] == load) {
+                continue;
+            }
+            days[points] = day;
+            loads[points] = load;
+            points++;
+            peak = Math.max(peak, load);
+        }
+        return new LoadCurve(Arrays.copyOf(days, points), Arrays.copyOf(loads, points), peak);
+    }
+
+    /** A carga no dia. */
+    public int loadAt(long day) {
+        int index = floorIndex(day);
+        return index < 0 ? 0 : loads[index];
+    }
+
+    /** A maior carga entre os dias, inclusive. */
+    public int peakBetween(long from, long to) {
+        int index = floorIndex(from);
+        int max = index < 0 ? 0 : loads[index];
+        for (int p = index + 1; p < days.length && days[p] <= to; p++) {
+            max = Math.max(max, loads[p]);
+        }
+        return max;
+    }
+
+    /** A maior carga da curva inteira. */
+    public int peak() {
+        return peak;
+    }
+
+    /**
+     * Os períodos contínuos em que a carga passa do limite (zero ou mais), em ordem cronológica.
+     */
+    public List<Period> periodsAbove(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("O limite não pode ser negativo.");
+        }
+        List<Period> periods = new ArrayList<>();
+        if (peak <= limit) {
+            return periods;
+        }
+        for (int p = 0; p < days.length; p++) {
+            if (loads[p] <= limit) {
+                continue;
+            }
+            long from = days[p];
+            int max = loads[p];
+            while (loads[p + 1] > limit) {
+                max = Math.max(max, loads[++p]);
+            }
+            periods.add(new Period(from, days[p + 1] - 1, max));
+        }
+        return periods;
+    }
+
+    /**
+     * Os períodos acima do limite que têm algum dia entre {@code from} e {@code to}, inclusive.
+     */
+    public List<Period> periodsAbove(int limit, long from, long to) {
+        List<Period> periods = new ArrayList<>();
+        for (Period period : periodsAbove(limit)) {
+            if (period.to() >= from && period.from() <= to) {
+                periods.add(period);
+            }
+        }
+        return periods;
+    }
+
+    /** O índice do último degrau que começa até o dia, ou -1. */
+    private int floorIndex(long day) {
+        int index = Arrays.binarySearch(days, day);
+        return index >= 0 ? index : -index - 2;
+    }
+}
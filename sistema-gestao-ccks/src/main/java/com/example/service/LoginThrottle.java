@@ -0,0 +1,127 @@
+package com.example.service;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita as tentativas de login com falha por usuário, sem travas no caminho comum.
+ *
+ * Cada login (normalizado) tem o seu próprio contador, um {@link AtomicLong} que guarda em um
+ * único long o início da janela (em segundos, bits altos) e a quantidade de falhas nela (24 bits
+ * baixos). As atualizações são feitas com compare-and-set, então tentativas concorrentes nunca
+ * bloqueiam threads. Como o contador é só daquele login, falhas em outros logins não bloqueiam
+ * ninguém, e o sucesso de um login não zera o contador de outro.
+ *
+ * A quantidade de logins acompanhados é limitada a {@code maxEntries}. Ao atingir o limite, as
+ * janelas já expiradas são descartadas e, se ainda faltar espaço, os logins que não estão
+ * bloqueados; logins bloqueados só saem quando a janela expira. Se mesmo assim não houver
+ * espaço, o login novo não é acompanhado até a próxima limpeza.
+ */
+public class LoginThrottle {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final int maxFailures;
+    private final long windowSeconds;
+
+    /**
+     * @param maxEntries A quantidade máxima de logins acompanhados ao mesmo tempo.
+     * @param maxFailures Falhas permitidas dentro da janela antes do bloqueio.
+     * @param windowSeconds A duração da janela; o bloqueio termina quando ela expira.
+     */
+    public LoginThrottle(int maxEntries, int maxFailures, long windowSeconds) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxFailures = maxFailures;
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     * Retorna por quantos segundos o login ainda está bloqueado.
+     * @return 0 se o login puder tentar agora.
+     */
+    public long secondsUntilAllowed(String login) {
+        AtomicLong counter = counters.get(keyOf(login));
+        if (counter == null) {
+            return 0;
+        }
+        long now = nowSeconds();
+        long packed = counter.get();
+        long windowEnd = (packed >>> COUNT_BITS) + windowSeconds;
+        if ((packed & COUNT_MASK) >= maxFailures && now < windowEnd) {
+            return windowEnd - now;
+        }
+        return 0;
+    }
+
+    /**
+     * Registra uma tentativa com falha. Se a janela anterior já expirou, começa uma nova.
+     */
+    public void recordFailure(String login) {
+        String key = keyOf(login);
+        long now = nowSeconds();
+        AtomicLong counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxEntries && !makeRoom(now)) {
+                return;
+            }
+            counter = counters.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        while (true) {
+            long packed = counter.get();
+            long windowStart = packed >>> COUNT_BITS;
+            long failures = packed & COUNT_MASK;
+            long updated;
+            if (packed == 0 || now >= windowStart + windowSeconds) {
+                updated = (now << COUNT_BITS) | 1;
+            } else {
+                updated = (windowStart << COUNT_BITS) | Math.min(failures + 1, COUNT_MASK);
+            }
+            if (counter.compareAndSet(packed, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Zera o contador do login após um login bem-sucedido.
+     */
+    public void recordSuccess(String login) {
+        counters.remove(keyOf(login));
+    }
+
+    /**
+     * Quantos logins estão sendo acompanhados.
+     */
+    int size() {
+        return counters.size();
+    }
+
+    /**
+     * Libera espaço no mapa: descarta as janelas expiradas e, se ainda estiver cheio, os logins
+     * que não estão bloqueados.
+     * @return true se houver espaço para um login novo.
+     */
+    private synchronized boolean makeRoom(long now) {
+        if (counters.size() < maxEntries) {
+            return true;
+        }
+        counters.values().removeIf(counter -> now >= (counter.get() >>> COUNT_BITS) + windowSeconds);
+        if (counters.size() >= maxEntries) {
+            counters.values().removeIf(counter -> (counter.get() & COUNT_MASK) < maxFailures);
+        }
+        return counters.size() < maxEntries;
+    }
+
+    private static String keyOf(String login) {
+        // Logins não diferenciam maiúsculas no MySQL (collation padrão): normaliza antes de comparar.
+        return login == null ? "" : login.toLowerCase(Locale.ROOT);
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
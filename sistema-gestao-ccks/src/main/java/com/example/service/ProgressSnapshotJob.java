@@ -0,0 +1,35 @@
+package com.example.service;
+
+import com.example.dao.DAOFactory;
+import com.example.dao.ProjectDAO;
+
+import java.time.LocalDate;
+
+/**
+ * Grava o andamento do dia de cada projeto no histórico (project_progress_daily), executado pelo
+ * {@link JobScheduler} na inicialização e uma vez por dia, perto da meia-noite.
+ *
+ * Cada execução regrava a linha do dia, então o histórico guarda o último andamento visto em cada
+ * dia; dias anteriores não mudam. Os gráficos de burn-down e velocidade leem só esse histórico
+ * ({@link ProjectDAO#getProgressHistory}), sem reler as tarefas.
+ */
+public final class ProgressSnapshotJob implements Runnable {
+
+    /** Nome do job no {@link JobScheduler}. */
+    public static final String NAME = "progressSnapshot";
+
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+
+    @Override
+    public void run() {
+        runOnce(LocalDate.now());
+    }
+
+    /**
+     * Grava o andamento de todos os projetos no dia informado.
+     * @return A quantidade de projetos gravados, ou -1 se a gravação falhou.
+     */
+    public int runOnce(LocalDate date) {
+        return projectDAO.recordProgressSnapshot(date);
+    }
+}
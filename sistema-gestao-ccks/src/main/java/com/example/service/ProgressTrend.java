@@ -0,0 +1,117 @@
+package com.example.service;
+
+import com.example.model.ProjectProgress;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cálculos sobre o histórico diário de andamento de um projeto ({@link ProjectProgress}), para os
+ * gráficos de burn-down e velocidade. Todos esperam o histórico em ordem de data, como vem de
+ * {@link com.example.dao.ProjectDAO#getProgressHistory}, e rodam em tempo linear.
+ */
+public final class ProgressTrend {
+
+    /**
+     * As tarefas concluídas em um período (semana ou mês).
+     *
+     * @param start O primeiro dia do período.
+     * @param completed O saldo de tarefas concluídas no período (negativo se houve reaberturas).
+     */
+    public record Velocity(LocalDate start, int completed) {
+    }
+
+    private ProgressTrend() {
+    }
+
+    /**
+     * Reduz o histórico a no máximo {@code maxPoints} dias, para o gráfico não desenhar um ponto
+     * por dia de anos de histórico. Mantém o primeiro e o último dia, e um dia a cada intervalo
+     * fixo contado a partir do último.
+     */
+    public static List<ProjectProgress> downsample(List<ProjectProgress> history, int maxPoints) {
+        int size = history.size();
+        if (size <= maxPoints || maxPoints < 2) {
+            return history;
+        }
+        int step = (size - 2) / (maxPoints - 1) + 1;
+        List<ProjectProgress> points = new ArrayList<>(maxPoints + 1);
+        points.add(history.get(0));
+        for (int i = (size - 1) % step; i < size; i += step) {
+            if (i > 0) {
+                points.add(history.get(i));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * O saldo de tarefas concluídas em cada período com registro: a diferença entre o último dia
+     * do período e o último dia do período anterior (no primeiro, o primeiro dia do histórico).
+     * Períodos sem nenhum dia registrado não aparecem; o que foi concluído neles conta no seguinte.
+     * @param monthly true para períodos de um mês, false para semanas (de segunda a domingo).
+     */
+    public static List<Velocity> velocity(List<ProjectProgress> history, boolean monthly) {
+        List<Velocity> periods = new ArrayList<>();
+        if (history.isEmpty()) {
+            return periods;
+        }
+        int previous = history.get(0).completed();
+        LocalDate start = periodStart(history.get(0).date(), monthly);
+        int last = previous;
+        for (ProjectProgress day : history) {
+            LocalDate dayStart = periodStart(day.date(), monthly);
+            if (!dayStart.equals(start)) {
+                periods.add(new Velocity(start, last - previous));
+                previous = last;
+                start = dayStart;
+            }
+            last = day.completed();
+        }
+        periods.add(new Velocity(start, last - previous));
+        return periods;
+    }
+
+    /**
+     * Projeta o término do projeto pelo ritmo de conclusão dos últimos {@code windowDays} dias.
+     * @param windowDays O tamanho da janela, em dias (pelo menos 1).
+     * @return A data prevista; o último dia do histórico se não resta nada; ou null se não há
+     *         histórico suficiente ou nada foi concluído na janela.
+     * @throws IllegalArgumentException Se windowDays for menor que 1.
+     */
+    public static LocalDate forecastFinish(List<ProjectProgress> history, int windowDays) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("Janela inválida: windowDays=" + windowDays);
+        }
+        if (history.isEmpty()) {
+            return null;
+        }
+        ProjectProgress last = history.get(history.size() - 1);
+        if (last.remaining() == 0) {
+            return last.date();
+        }
+        LocalDate windowStart = last.date().minusDays(windowDays);
+        ProjectProgress first = null;
+        for (ProjectProgress day : history) {
+            if (!day.date().isBefore(windowStart)) {
+                first = day;
+                break;
+            }
+        }
+        long days = ChronoUnit.DAYS.between(first.date(), last.date());
+        int completed = last.completed() - first.completed();
+        if (days == 0 || completed <= 0) {
+            return null;
+        }
+        long daysLeft = (long) Math.ceil((double) last.remaining() * days / completed);
+        return last.date().plusDays(daysLeft);
+    }
+
+    private static LocalDate periodStart(LocalDate date, boolean monthly) {
+        return monthly ? date.withDayOfMonth(1) : date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Leitura sequencial ("streaming") de registros de um arquivo de importação: um registro
+ * por vez, sem carregar o arquivo inteiro na memória.
+ */
+interface RecordReader extends Closeable {
+
+    /**
+     * Lê o próximo registro.
+     * @return Os campos do registro (nome da coluna → valor, null para valores ausentes),
+     *         ou null no fim da entrada.
+     * @throws IOException Em erro de leitura ou de formato do arquivo.
+     */
+    Map<String, String> next() throws IOException;
+}
@@ -0,0 +1,790 @@
+package com.example.service;
+
+import com.example.model.Task;
+import com.example.model.TaskDependency;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cronograma de um projeto pelo método do caminho crítico (CPM), sobre as dependências de
+ * término para início entre as tarefas ({@link TaskDependency}).
+ *
+ * - Início mais cedo: a tarefa começa no início planejado (ou no início do projeto, se não tiver
+ *   um) e nunca antes do dia seguinte ao término mais cedo das predecessoras. A duração é a do
+ *   período planejado (um dia, se ele estiver incompleto).
+ * - Término mais tarde: o término do projeto (o maior término mais cedo) ou a véspera do início
+ *   mais tarde das sucessoras. A folga é a diferença entre os inícios mais tarde e mais cedo;
+ *   as tarefas sem folga formam o caminho crítico.
+ * - A ordem topológica é mantida de forma incremental (algoritmo de Pearce e Kelly): uma nova
+ *   dependência só reordena as tarefas entre as duas pontas, e a mesma busca detecta ciclos.
+ * - Uma alteração (datas de uma tarefa, dependência nova ou removida) recalcula só as tarefas
+ *   afetadas, na ordem topológica: para frente a partir da tarefa alterada e para trás a partir
+ *   das predecessoras. Só uma mudança do término do projeto refaz a passagem para trás inteira.
+ *
+ * Os dias são guardados como {@code int} (LocalDate.toEpochDay()) em arrays indexados pela
+ * posição interna da tarefa, sem objetos por tarefa. Não é thread-safe: as alterações e as
+ * consultas devem ser feitas por uma thread de cada vez.
+ */
+public final class ScheduleEngine {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int[] NO_EDGES = new int[0];
+
+    private final int projectStart;
+    private final Map<Integer, Integer> nodeOf = new HashMap<>();
+    private final List<TaskDependency> rejected = new ArrayList<>();
+
+    // Por nó (posição interna da tarefa). Os nós de tarefas removidas ficam inativos.
+    private int nodeCount;
+    private int activeCount;
+    private int[] taskIds;
+    private boolean[] active;
+    private int[] duration;
+    private int[] notBefore;
+    private int[] earliestStart;
+    private int[] latestFinish;
+    private int[][] successors;
+    private int[] successorCount;
+    private int[][] predecessors;
+    private int[] predecessorCount;
+
+    // Ordem topológica: a posição de cada nó e o nó de cada posição.
+    private int[] order;
+    private int[] nodeAt;
+
+    private int finish = NO_DATE;
+
+    // Marcas das buscas: um nó está marcado se mark[nó] == stamp.
+    private int[] mark;
+    private int stamp;
+
+    /**
+     * Cronograma vazio.
+     * @param projectStart O início das tarefas sem início planejado.
+     */
+    public ScheduleEngine(LocalDate projectStart) {
+        this(projectStart, 16);
+    }
+
+    private ScheduleEngine(LocalDate projectStart, int capacity) {
+        this.projectStart = Math.toIntExact(projectStart.toEpochDay());
+        capacity = Math.max(capacity, 16);
+        taskIds = new int[capacity];
+        active = new boolean[capacity];
+        duration = new int[capacity];
+        notBefore = new int[capacity];
+        earliestStart = new int[capacity];
+        latestFinish = new int[capacity];
+        successors = new int[capacity][];
+        successorCount = new int[capacity];
+        predecessors = new int[capacity][];
+        predecessorCount = new int[capacity];
+        order = new int[capacity];
+        nodeAt = new int[capacity];
+        mark = new int[capacity];
+    }
+
+    /**
+     * Monta o cronograma de uma vez, em O(n + m): a ordem topológica inicial vem do algoritmo
+     * de Kahn, e só as dependências entre tarefas que ficaram presas em ciclos passam pela
+     * inserção incremental. As que fechariam um ciclo são ignoradas ({@link #rejectedDependencies()}).
+     * @param projectStart O início das tarefas sem início planejado.
+     * @param tasks As tarefas do projeto.
+     * @param dependencies As dependências; as que citam tarefas fora de {@code tasks} são ignoradas.
+     */
+    public static ScheduleEngine build(LocalDate projectStart, Collection<Task> tasks,
+                                       Collection<TaskDependency> dependencies) {
+        ScheduleEngine engine = new ScheduleEngine(projectStart, tasks.size());
+        for (Task task : tasks) {
+            engine.setDates(engine.nodeFor(task.getId()), task.getPlannedStartDate(), task.getPlannedEndDate());
+        }
+        int n = engine.nodeCount;
+        // As arestas em pares (u, v) num long, ordenadas para descartar as repetidas.
+        long[] edges = new long[dependencies.size()];
+        int edgeCount = 0;
+        for (TaskDependency dependency : dependencies) {
+            Integer u = engine.nodeOf.get(dependency.predecessorId());
+            Integer v = engine.nodeOf.get(dependency.successorId());
+            if (u != null && v != null && !u.equals(v)) {
+                edges[edgeCount++] = ((long) u << 32) | v;
+            }
+        }
+        Arrays.sort(edges, 0, edgeCount);
+        int[] inDegree = new int[n];
+        for (int i = 0; i < edgeCount; i++) {
+            if (i == 0 || edges[i] != edges[i - 1]) {
+                int v = (int) edges[i];
+                engine.link((int) (edges[i] >>> 32), v);
+                inDegree[v]++;
+            }
+        }
+
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = 0; i < engine.successorCount[u]; i++) {
+                int v = engine.successors[u][i];
+                if (--inDegree[v] == 0) {
+                    queue[tail++] = v;
+                }
+            }
+        }
+        // Os nós que sobraram estão em ciclos ou depois deles. Sem as dependências entre eles
+        // (só as vindas dos nós já ordenados chegam a eles), entram no fim da ordem; depois as
+        // dependências voltam uma a uma, e as que fechariam um ciclo são rejeitadas.
+        List<int[]> deferred = new ArrayList<>();
+        if (tail < n) {
+            boolean[] ordered = new boolean[n];
+            for (int i = 0; i < tail; i++) {
+                ordered[queue[i]] = true;
+            }
+            for (int u = 0; u < n; u++) {
+                if (ordered[u]) {
+                    continue;
+                }
+                queue[tail++] = u;
+                for (int i = engine.successorCount[u] - 1; i >= 0; i--) {
+                    int v = engine.successors[u][i];
+                    deferred.add(new int[] {u, v});
+                    engine.unlink(u, v);
+                }
+            }
+        }
+        for (int position = 0; position < n; position++) {
+            engine.order[queue[position]] = position;
+            engine.nodeAt[position] = queue[position];
+        }
+        for (int[] edge : deferred) {
+            if (!engine.insertEdge(edge[0], edge[1])) {
+                engine.rejected.add(new TaskDependency(engine.taskIds[edge[0]], engine.taskIds[edge[1]]));
+            }
+        }
+
+        engine.forwardAll();
+        engine.backwardAll();
+        return engine;
+    }
+
+    // --- Alterações ---
+
+    /**
+     * Inclui uma tarefa ou atualiza as datas dela, e recalcula as tarefas afetadas.
+     */
+    public void putTask(int taskId, LocalDate plannedStart, LocalDate plannedEnd) {
+        Integer existing = nodeOf.get(taskId);
+        int v = existing != null ? existing : nodeFor(taskId);
+        int oldDuration = existing != null ? duration[v] : -1;
+        setDates(v, plannedStart, plannedEnd);
+
+        NodeHeap forward = new NodeHeap(true);
+        NodeHeap backward = new NodeHeap(false);
+        forward.add(v);
+        if (duration[v] != oldDuration) {
+            // O término mais cedo muda as sucessoras; o início mais tarde muda as predecessoras.
+            forward.addSuccessors(v);
+            backward.add(v);
+        }
+        propagate(forward, backward);
+    }
+
+    /**
+     * Remove uma tarefa e as dependências dela, e recalcula as tarefas afetadas.
+     */
+    public void removeTask(int taskId) {
+        Integer node = nodeOf.remove(taskId);
+        if (node == null) {
+            return;
+        }
+        int v = node;
+        NodeHeap forward = new NodeHeap(true);
+        NodeHeap backward = new NodeHeap(false);
+        while (successorCount[v] > 0) {
+            int s = successors[v][successorCount[v] - 1];
+            unlink(v, s);
+            forward.add(s);
+        }
+        while (predecessorCount[v] > 0) {
+            int p = predecessors[v][predecessorCount[v] - 1];
+            unlink(p, v);
+            backward.add(p);
+        }
+        active[v] = false;
+        activeCount--;
+        propagate(forward, backward);
+    }
+
+    /**
+     * Inclui uma dependência e recalcula as tarefas afetadas.
+     * @return true se a dependência foi incluída; false se ela fecharia um ciclo (ver
+     *         {@link #findCycle}), se já existia, se uma das tarefas não está no cronograma ou se forem a mesma.
+     */
+    public boolean addDependency(int predecessorId, int successorId) {
+        Integer u = nodeOf.get(predecessorId);
+        Integer v = nodeOf.get(successorId);
+        if (u == null || v == null || u.equals(v) || indexOf(successors[u], successorCount[u], v) >= 0) {
+            return false;
+        }
+        if (!insertEdge(u, v)) {
+            return false;
+        }
+        NodeHeap forward = new NodeHeap(true);
+        NodeHeap backward = new NodeHeap(false);
+        forward.add(v);
+        backward.add(u);
+        propagate(forward, backward);
+        return true;
+    }
+
+    /**
+     * Remove uma dependência e recalcula as tarefas afetadas.
+     * @return true se a dependência existia.
+     */
+    public boolean removeDependency(int predecessorId, int successorId) {
+        Integer u = nodeOf.get(predecessorId);
+        Integer v = nodeOf.get(successorId);
+        if (u == null || v == null || indexOf(successors[u], successorCount[u], v) < 0) {
+            return false;
+        }
+        unlink(u, v);
+        NodeHeap forward = new NodeHeap(true);
+        NodeHeap backward = new NodeHeap(false);
+        forward.add(v);
+        backward.add(u);
+        propagate(forward, backward);
+        return true;
+    }
+
+    /**
+     * Substitui as predecessoras de uma tarefa (ex: após relê-las do banco).
+     * @return true se todas foram incluídas; false se alguma foi ignorada (ciclo ou tarefa desconhecida).
+     */
+    public boolean setPredecessors(int successorId, Collection<Integer> predecessorIds) {
+        Integer node = nodeOf.get(successorId);
+        if (node == null) {
+            return false;
+        }
+        int v = node;
+        Set<Integer> wanted = new HashSet<>(predecessorIds);
+        for (int i = predecessorCount[v] - 1; i >= 0; i--) {
+            int p = predecessors[v][i];
+            if (!wanted.remove(taskIds[p])) {
+                removeDependency(taskIds[p], successorId);
+            }
+        }
+        boolean all = true;
+        for (int predecessorId : wanted) {
+            all &= addDependency(predecessorId, successorId);
+        }
+        return all;
+    }
+
+    // --- Consultas ---
+
+    /**
+     * O caminho de dependências que fecharia um ciclo com a dependência {@code predecessor → successor}:
+     * as tarefas de {@code successorId} até {@code predecessorId}, ou uma lista vazia se ela não fecha ciclo.
+     */
+    public List<Integer> findCycle(int predecessorId, int successorId) {
+        Integer u = nodeOf.get(predecessorId);
+        Integer v = nodeOf.get(successorId);
+        if (u == null || v == null) {
+            return List.of();
+        }
+        if (u.equals(v)) {
+            return List.of(predecessorId);
+        }
+        if (order[u] < order[v]) {
+            // A sucessora vem depois na ordem topológica: não há caminho dela até a predecessora.
+            return List.of();
+        }
+        // Busca em profundidade a partir da sucessora, só entre as posições até a da predecessora.
+        int[] parent = new int[nodeCount];
+        int[] stack = new int[nodeCount];
+        int top = 0;
+        stamp++;
+        mark[v] = stamp;
+        parent[v] = -1;
+        stack[top++] = v;
+        while (top > 0) {
+            int w = stack[--top];
+            if (w == u) {
+                List<Integer> path = new ArrayList<>();
+                for (int x = u; x != -1; x = parent[x]) {
+                    path.add(0, taskIds[x]);
+                }
+                return path;
+            }
+            for (int i = 0; i < successorCount[w]; i++) {
+                int s = successors[w][i];
+                if (mark[s] != stamp && order[s] <= order[u]) {
+                    mark[s] = stamp;
+                    parent[s] = w;
+                    stack[top++] = s;
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /** Indica se a tarefa está no cronograma. */
+    public boolean contains(int taskId) {
+        return nodeOf.containsKey(taskId);
+    }
+
+    /** Quantidade de tarefas no cronograma. */
+    public int size() {
+        return activeCount;
+    }
+
+    /** O início mais cedo da tarefa, ou null se ela não estiver no cronograma. */
+    public LocalDate earliestStart(int taskId) {
+        Integer v = nodeOf.get(taskId);
+        return v == null ? null : LocalDate.ofEpochDay(earliestStart[v]);
+    }
+
+    /** O término mais cedo da tarefa, ou null se ela não estiver no cronograma. */
+    public LocalDate earliestFinish(int taskId) {
+        Integer v = nodeOf.get(taskId);
+        return v == null ? null : LocalDate.ofEpochDay(earliestStart[v] + duration[v] - 1);
+    }
+
+    /** O início mais tarde da tarefa sem atrasar o projeto, ou null se ela não estiver no cronograma. */
+    public LocalDate latestStart(int taskId) {
+        Integer v = nodeOf.get(taskId);
+        return v == null ? null : LocalDate.ofEpochDay(latestFinish[v] - duration[v] + 1);
+    }
+
+    /** O término mais tarde da tarefa sem atrasar o projeto, ou null se ela não estiver no cronograma. */
+    public LocalDate latestFinish(int taskId) {
+        Integer v = nodeOf.get(taskId);
+        return v == null ? null : LocalDate.ofEpochDay(latestFinish[v]);
+    }
+
+    /** Os dias de folga da tarefa (0 no caminho crítico), ou -1 se ela não estiver no cronograma. */
+    public int slack(int taskId) {
+        Integer v = nodeOf.get(taskId);
+        return v == null ? -1 : slackOf(v);
+    }
+
+    /** Indica se a tarefa está no caminho crítico (não tem folga). */
+    public boolean isCritical(int taskId) {
+        Integer v = nodeOf.get(taskId);
+        return v != null && slackOf(v) == 0;
+    }
+
+    /** O término do projeto pelo cronograma, ou null se não houver tarefas. */
+    public LocalDate finish() {
+        return activeCount == 0 ? null : LocalDate.ofEpochDay(finish);
+    }
+
+    /** As tarefas sem folga. */
+    public Set<Integer> criticalTaskIds() {
+        Set<Integer> critical = new HashSet<>();
+        for (int v = 0; v < nodeCount; v++) {
+            if (active[v] && slackOf(v) == 0) {
+                critical.add(taskIds[v]);
+            }
+        }
+        return critical;
+    }
+
+    /**
+     * Uma sequência de tarefas críticas, do início do projeto até o término dele: cada uma começa
+     * logo após a anterior terminar.
+     */
+    public List<Integer> criticalPath() {
+        int last = -1;
+        for (int v = 0; v < nodeCount; v++) {
+            if (active[v] && earliestStart[v] + duration[v] - 1 == finish && (last < 0 || order[v] < order[last])) {
+                last = v;
+            }
+        }
+        List<Integer> path = new ArrayList<>();
+        for (int v = last; v >= 0; ) {
+            path.add(0, taskIds[v]);
+            int next = -1;
+            for (int i = 0; i < predecessorCount[v]; i++) {
+                int p = predecessors[v][i];
+                if (earliestStart[p] + duration[p] == earliestStart[v] && slackOf(p) == 0) {
+                    next = p;
+                    break;
+                }
+            }
+            v = next;
+        }
+        return path;
+    }
+
+    /** As tarefas na ordem topológica atual: toda predecessora vem antes das sucessoras. */
+    public List<Integer> topologicalOrder() {
+        List<Integer> ids = new ArrayList<>(activeCount);
+        for (int position = 0; position < nodeCount; position++) {
+            int v = nodeAt[position];
+            if (active[v]) {
+                ids.add(taskIds[v]);
+            }
+        }
+        return ids;
+    }
+
+    /** As dependências ignoradas pelo {@link #build} porque fechariam um ciclo. */
+    public List<TaskDependency> rejectedDependencies() {
+        return List.copyOf(rejected);
+    }
+
+    // --- Estrutura interna ---
+
+    private int slackOf(int v) {
+        return latestFinish[v] - (earliestStart[v] + duration[v] - 1);
+    }
+
+    /** O nó da tarefa; uma tarefa nova ganha um nó no fim da ordem topológica (ela não tem dependências). */
+    private int nodeFor(int taskId) {
+        Integer existing = nodeOf.get(taskId);
+        if (existing != null) {
+            return existing;
+        }
+        if (nodeCount == taskIds.length) {
+            grow();
+        }
+        int v = nodeCount++;
+        nodeOf.put(taskId, v);
+        taskIds[v] = taskId;
+        active[v] = true;
+        successors[v] = NO_EDGES;
+        predecessors[v] = NO_EDGES;
+        order[v] = v;
+        nodeAt[v] = v;
+        earliestStart[v] = projectStart;
+        latestFinish[v] = projectStart;
+        activeCount++;
+        return v;
+    }
+
+    private void setDates(int v, LocalDate plannedStart, LocalDate plannedEnd) {
+        if (plannedStart != null && plannedEnd != null && !plannedEnd.isBefore(plannedStart)) {
+            notBefore[v] = Math.toIntExact(plannedStart.toEpochDay());
+            duration[v] = Math.toIntExact(plannedEnd.toEpochDay() - plannedStart.toEpochDay() + 1);
+        } else {
+            // Período incompleto: um marco de um dia na data que existir.
+            LocalDate date = plannedStart != null ? plannedStart : plannedEnd;
+            notBefore[v] = date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE;
+            duration[v] = 1;
+        }
+    }
+
+    private void grow() {
+        int capacity = taskIds.length * 2;
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        active = Arrays.copyOf(active, capacity);
+        duration = Arrays.copyOf(duration, capacity);
+        notBefore = Arrays.copyOf(notBefore, capacity);
+        earliestStart = Arrays.copyOf(earliestStart, capacity);
+        latestFinish = Arrays.copyOf(latestFinish, capacity);
+        successors = Arrays.copyOf(successors, capacity);
+        successorCount = Arrays.copyOf(successorCount, capacity);
+        predecessors = Arrays.copyOf(predecessors, capacity);
+        predecessorCount = Arrays.copyOf(predecessorCount, capacity);
+        order = Arrays.copyOf(order, capacity);
+        nodeAt = Arrays.copyOf(nodeAt, capacity);
+        mark = Arrays.copyOf(mark, capacity);
+    }
+
+    private void link(int u, int v) {
+        successors[u] = append(successors[u], successorCount[u]++, v);
+        predecessors[v] = append(predecessors[v], predecessorCount[v]++, u);
+    }
+
+    /** Remove a aresta trocando-a pela última de cada lista (a ordem das listas não importa). */
+    private void unlink(int u, int v) {
+        int i = indexOf(successors[u], successorCount[u], v);
+        successors[u][i] = successors[u][--successorCount[u]];
+        int j = indexOf(predecessors[v], predecessorCount[v], u);
+        predecessors[v][j] = predecessors[v][--predecessorCount[v]];
+    }
+
+    private static int[] append(int[] edges, int count, int node) {
+        if (count == edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(4, count * 2));
+        }
+        edges[count] = node;
+        return edges;
+    }
+
+    private static int indexOf(int[] edges, int count, int node) {
+        for (int i = 0; i < count; i++) {
+            if (edges[i] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inclui a aresta u → v mantendo a ordem topológica (Pearce e Kelly). Se u já vem antes de v,
+     * nada muda. Senão, as tarefas alcançáveis a partir de v até a posição de u (deltaF) e as que
+     * alcançam u a partir da posição de v (deltaB) trocam de lugar entre si: as de deltaB passam
+     * a vir antes, nas mesmas posições. Se v alcança u, a aresta fecharia um ciclo.
+     * @return false (sem alterar nada) se a aresta fecharia um ciclo.
+     */
+    private boolean insertEdge(int u, int v) {
+        if (order[u] > order[v]) {
+            int lower = order[v];
+            int upper = order[u];
+            stamp++;
+            int[] forward = collect(v, upper, true, u);
+            if (forward == null) {
+                return false;
+            }
+            int[] backward = collect(u, lower, false, -1);
+            sortByOrder(forward);
+            sortByOrder(backward);
+            int[] positions = new int[forward.length + backward.length];
+            for (int i = 0; i < backward.length; i++) {
+                positions[i] = order[backward[i]];
+            }
+            for (int i = 0; i < forward.length; i++) {
+                positions[backward.length + i] = order[forward[i]];
+            }
+            Arrays.sort(positions);
+            for (int i = 0; i < positions.length; i++) {
+                int node = i < backward.length ? backward[i] : forward[i - backward.length];
+                order[node] = positions[i];
+                nodeAt[positions[i]] = node;
+            }
+        }
+        link(u, v);
+        return true;
+    }
+
+    /**
+     * Os nós alcançáveis a partir de {@code start} (para frente, pelas sucessoras, só até a
+     * posição {@code bound}; ou para trás, pelas predecessoras, só a partir dela).
+     * @return Os nós encontrados, ou null se a busca chegou a {@code target}.
+     */
+    private int[] collect(int start, int bound, boolean forward, int target) {
+        int[] found = new int[16];
+        int count = 0;
+        int[] stack = new int[16];
+        int top = 0;
+        mark[start] = stamp;
+        stack[top++] = start;
+        while (top > 0) {
+            int w = stack[--top];
+            found = append(found, count++, w);
+            int[] edges = forward ? successors[w] : predecessors[w];
+            int edgeCount = forward ? successorCount[w] : predecessorCount[w];
+            for (int i = 0; i < edgeCount; i++) {
+                int x = edges[i];
+                if (x == target) {
+                    return null;
+                }
+                if (mark[x] != stamp && (forward ? order[x] <= bound : order[x] >= bound)) {
+                    mark[x] = stamp;
+                    stack = append(stack, top++, x);
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private void sortByOrder(int[] nodes) {
+        long[] keys = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            keys[i] = ((long) order[nodes[i]] << 32) | nodes[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = (int) keys[i];
+        }
+    }
+
+    // --- Cálculo ---
+
+    private int computeEarliestStart(int v) {
+        int start = notBefore[v] != NO_DATE ? notBefore[v] : projectStart;
+        for (int i = 0; i < predecessorCount[v]; i++) {
+            int p = predecessors[v][i];
+            start = Math.max(start, earliestStart[p] + duration[p]);
+        }
+        return start;
+    }
+
+    private int computeLatestFinish(int v) {
+        int latest = finish;
+        for (int i = 0; i < successorCount[v]; i++) {
+            int s = successors[v][i];
+            latest = Math.min(latest, latestFinish[s] - duration[s]);
+        }
+        return latest;
+    }
+
+    private void forwardAll() {
+        for (int position = 0; position < nodeCount; position++) {
+            int v = nodeAt[position];
+            if (active[v]) {
+                earliestStart[v] = computeEarliestStart(v);
+            }
+        }
+        finish = computeFinish();
+    }
+
+    private void backwardAll() {
+        for (int position = nodeCount - 1; position >= 0; position--) {
+            int v = nodeAt[position];
+            if (active[v]) {
+                latestFinish[v] = computeLatestFinish(v);
+            }
+        }
+    }
+
+    private int computeFinish() {
+        int max = NO_DATE;
+        for (int v = 0; v < nodeCount; v++) {
+            if (active[v]) {
+                max = Math.max(max, earliestStart[v] + duration[v] - 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Recalcula os inícios mais cedo a partir de {@code forward}, em ordem topológica, e os
+     * términos mais tarde a partir de {@code backward}, na ordem inversa; cada nó só repassa a
+     * alteração aos vizinhos se o próprio valor mudou.
+     */
+    private void propagate(NodeHeap forward, NodeHeap backward) {
+        while (!forward.isEmpty()) {
+            int v = forward.poll();
+            if (!active[v]) {
+                continue;
+            }
+            int start = computeEarliestStart(v);
+            if (start != earliestStart[v]) {
+                earliestStart[v] = start;
+                forward.addSuccessors(v);
+            }
+        }
+        int newFinish = computeFinish();
+        if (newFinish != finish) {
+            finish = newFinish;
+            backwardAll();
+            return;
+        }
+        while (!backward.isEmpty()) {
+            int v = backward.poll();
+            if (!active[v]) {
+                continue;
+            }
+            int latest = computeLatestFinish(v);
+            // O início mais tarde (latest - duração + 1) é o que as predecessoras enxergam.
+            boolean changed = latest != latestFinish[v] || backward.isSeed(v);
+            latestFinish[v] = latest;
+            if (changed) {
+                backward.addPredecessors(v);
+            }
+        }
+    }
+
+    /**
+     * Fila de nós pela posição na ordem topológica (crescente para a propagação para frente,
+     * decrescente para trás), sem repetições. Os nós incluídos por {@link #add} são "sementes":
+     * na passagem para trás, repassam a alteração mesmo que o término mais tarde não mude
+     * (a duração deles, ou as sucessoras, mudaram).
+     */
+    private final class NodeHeap {
+        private final boolean ascending;
+        private int[] heap = new int[16];
+        private int size;
+        private final Set<Integer> queued = new HashSet<>();
+        private final Set<Integer> seeds = new HashSet<>();
+
+        private NodeHeap(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        void add(int v) {
+            seeds.add(v);
+            push(v);
+        }
+
+        boolean isSeed(int v) {
+            return seeds.contains(v);
+        }
+
+        void addSuccessors(int v) {
+            for (int i = 0; i < successorCount[v]; i++) {
+                push(successors[v][i]);
+            }
+        }
+
+        void addPredecessors(int v) {
+            for (int i = 0; i < predecessorCount[v]; i++) {
+                push(predecessors[v][i]);
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void push(int v) {
+            if (!queued.add(v)) {
+                return;
+            }
+            heap = append(heap, size, v);
+            int i = size++;
+            while (i > 0 && before(heap[i], heap[(i - 1) / 2])) {
+                swap(i, (i - 1) / 2);
+                i = (i - 1) / 2;
+            }
+        }
+
+        int poll() {
+            int top = heap[0];
+            heap[0] = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!before(heap[child], heap[i])) {
+                    break;
+                }
+                swap(i, child);
+                i = child;
+            }
+            queued.remove(top);
+            return top;
+        }
+
+        private boolean before(int a, int b) {
+            return ascending ? order[a] < order[b] : order[a] > order[b];
+        }
+
+        private void swap(int i, int j) {
+            int tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.service;
+
+import com.example.dao.ChangeEvent;
+import com.example.dao.ChangeFeed;
+import com.example.dao.DAOFactory;
+import com.example.model.Project;
+import com.example.model.Task;
+import com.example.model.User;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Busca textual sobre tarefas (título e descrição), projetos (nome e descrição) e usuários
+ * (nome, login e e-mail), com um {@link TextIndex} em memória para cada tipo.
+ *
+ * - Cada índice é carregado por inteiro na primeira busca daquele tipo (fora da thread do JavaFX).
+ * - Depois disso, ele acompanha as gravações pelo {@link ChangeFeed}: os eventos só são anotados
+ *   na thread que gravou, e os registros alterados são relidos pelo ID na próxima busca. Assim a
+ *   gravação não fica mais lenta e nenhuma alteração anterior à busca fica de fora.
+ * - Uma importação em massa (RELOAD) faz o índice ser recarregado na próxima busca.
+ * - Se a carga falhar, a busca não encontra nada e o índice é carregado de novo na seguinte.
+ * - Tarefas excluídas junto com o projeto (ON DELETE CASCADE) não geram eventos e podem
+ *   continuar no índice: quem exibe os resultados relê os registros e descarta os que não existem.
+ *
+ * {@link #start()} deve ser chamado na inicialização, antes de as telas se inscreverem no
+ * ChangeFeed, para que o índice receba cada alteração antes delas.
+ */
+public final class SearchService implements ChangeFeed.Listener {
+
+    /**
+     * O índice de um tipo de registro, com as alterações ainda não aplicadas.
+     */
+    private static final class EntityIndex<T> {
+        private final TextIndex index;
+        // Retorna null se a consulta falhar.
+        private final Supplier<List<T>> loadAll;
+        private final IntFunction<T> loadById;
+        private final Consumer<T> indexer;
+        // Registro → tipo da última alteração ainda não aplicada. 'pending', 'loaded' e 'loading'
+        // são protegidos pelo lock de 'pending', que nunca fica preso durante consultas ao banco.
+        private final Map<Integer, ChangeEvent.Kind> pending = new LinkedHashMap<>();
+        private boolean loaded;
+        // Carga completa em andamento: as alterações já são anotadas, mas o índice só passa a
+        // carregado se a consulta der certo.
+        private boolean loading;
+        // Uma atualização do índice por vez.
+        private final Object catchUpLock = new Object();
+
+        private EntityIndex(TextIndex index, Supplier<List<T>> loadAll, IntFunction<T> loadById,
+                            Consumer<T> indexer) {
+            this.index = index;
+            this.loadAll = loadAll;
+            this.loadById = loadById;
+            this.indexer = indexer;
+        }
+    }
+
+    private static final SearchService INSTANCE = new SearchService();
+
+    private final Map<ChangeEvent.Entity, EntityIndex<?>> indexes = new EnumMap<>(ChangeEvent.Entity.class);
+
+    private SearchService() {
+        TextIndex tasks = new TextIndex(3f, 1f);
+        indexes.put(ChangeEvent.Entity.TASK, new EntityIndex<>(tasks,
+                () -> DAOFactory.getTaskDAO().tryGetAllTasks(),
+                id -> DAOFactory.getTaskDAO().getTaskById(id),
+                (Task task) -> tasks.put(task.getId(), task.getTitle(), task.getDescription())));
+
+        TextIndex projects = new TextIndex(3f, 1f);
+        indexes.put(ChangeEvent.Entity.PROJECT, new EntityIndex<>(projects,
+                () -> DAOFactory.getProjectDAO().tryGetAllProjects(),
+                id -> DAOFactory.getProjectDAO().getProjectById(id),
+                (Project project) -> projects.put(project.getId(), project.getName(), project.getDescription())));
+
+        TextIndex users = new TextIndex(3f, 2f, 2f);
+        indexes.put(ChangeEvent.Entity.USER, new EntityIndex<>(users,
+                () -> DAOFactory.getUserDAO().tryGetAllUsers(),
+                id -> DAOFactory.getUserDAO().getUserById(id),
+                (User user) -> users.put(user.getId(), user.getFullName(), user.getLogin(), user.getEmail())));
+    }
+
+    public static SearchService get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Passa a acompanhar as alterações gravadas. Os índices só são carregados na primeira busca.
+     */
+    public static void start() {
+        ChangeFeed.subscribe(INSTANCE);
+    }
+
+    public static void stop() {
+        ChangeFeed.unsubscribe(INSTANCE);
+    }
+
+    /**
+     * Busca registros de um tipo. Chamado fora da thread do JavaFX: a primeira busca de cada
+     * tipo carrega o índice, e as seguintes releem os registros alterados desde a anterior.
+     * @param entity TASK, PROJECT ou USER.
+     * @param query O texto digitado.
+     * @param limit A quantidade máxima de resultados.
+     * @return Os IDs encontrados, do mais para o menos relevante.
+     */
+    public List<Integer> search(ChangeEvent.Entity entity, String query, int limit) {
+        EntityIndex<?> entityIndex = indexes.get(entity);
+        if (entityIndex == null) {
+            throw new IllegalArgumentException("Busca não disponível para " + entity);
+        }
+        catchUp(entityIndex);
+        List<Integer> ids = new ArrayList<>();
+        for (TextIndex.Hit hit : entityIndex.index.search(query, limit)) {
+            ids.add(hit.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Anota as alterações; elas são aplicadas na próxima busca (ver {@link #catchUp}).
+     */
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            EntityIndex<?> entityIndex = indexes.get(event.entity());
+            if (entityIndex == null) {
+                continue;
+            }
+            synchronized (entityIndex.pending) {
+                if (!entityIndex.loaded && !entityIndex.loading) {
+                    continue; // Será carregado por inteiro, já com esta alteração.
+                }
+                if (event.kind() == ChangeEvent.Kind.RELOAD) {
+                    // Também invalida uma carga em andamento, que pode ter lido os dados antes da importação.
+                    entityIndex.loaded = false;
+                    entityIndex.loading = false;
+                    entityIndex.pending.clear();
+                } else {
+                    entityIndex.pending.put(event.entityId(), event.kind());
+                }
+            }
+        }
+    }
+
+    /**
+     * Carrega o índice (na primeira vez ou após um RELOAD) ou aplica as alterações anotadas.
+     * Alterações gravadas durante a carga ficam anotadas para a busca seguinte.
+     */
+    private static <T> void catchUp(EntityIndex<T> entityIndex) {
+        synchronized (entityIndex.catchUpLock) {
+            boolean reload;
+            Map<Integer, ChangeEvent.Kind> changes;
+            synchronized (entityIndex.pending) {
+                reload = !entityIndex.loaded;
+                changes = new LinkedHashMap<>(entityIndex.pending);
+                entityIndex.pending.clear();
+            }
+            if (reload) {
+                reload(entityIndex);
+                return;
+            }
+            for (Map.Entry<Integer, ChangeEvent.Kind> change : changes.entrySet()) {
+                T item = change.getValue() == ChangeEvent.Kind.DELETE ? null : entityIndex.loadById.apply(change.getKey());
+                if (item == null) {
+                    entityIndex.index.remove(change.getKey());
+                } else {
+                    entityIndex.indexer.accept(item);
+                }
+            }
+        }
+    }
+
+    /**
+     * Carrega o índice por inteiro. As alterações gravadas durante a consulta ficam anotadas para
+     * a busca seguinte; se a consulta falhar (ou uma importação em massa chegar durante ela), o
+     * índice continua não carregado e as anotações são descartadas, já que a próxima carga as inclui.
+     */
+    private static <T> void reload(EntityIndex<T> entityIndex) {
+        synchronized (entityIndex.pending) {
+            entityIndex.loading = true;
+        }
+        entityIndex.index.clear();
+        List<T> items = entityIndex.loadAll.get();
+        if (items != null) {
+            for (T item : items) {
+                entityIndex.indexer.accept(item);
+            }
+        }
+        synchronized (entityIndex.pending) {
+            entityIndex.loaded = items != null && entityIndex.loading;
+            entityIndex.loading = false;
+            if (!entityIndex.loaded) {
+                entityIndex.pending.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.service;
+
+import com.example.dao.RollupDAO;
+import com.example.dao.RollupDAO.OverdueChange;
+import com.example.dao.RollupDAO.ProjectTotals;
+import com.example.dao.RollupDAO.RollupResult;
+import com.example.dao.RollupDAO.StatusChange;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consolidação dos valores derivados das tarefas, executada pelo {@link JobScheduler}:
+ *
+ * - O atraso de cada tarefa ({@link Task#isOverdue(TaskStatus, LocalDate, LocalDate)}). As gravações
+ *   de tarefas já gravam o atraso; aqui ele é revisto para as tarefas cujo prazo passou sem alteração.
+ * - O percentual de tarefas concluídas de cada projeto.
+ * - O status do projeto a partir das tarefas ({@link #rollUp}).
+ *
+ * A execução completa ({@link #run()}, uma vez por dia, na inicialização e sob demanda) lê os
+ * projetos com as tarefas agregadas por status e só as tarefas com o atraso desatualizado; nunca
+ * uma linha por tarefa. Depois de alterações de tarefas, {@link #runChangedProjects()} reconsolida
+ * só os projetos indicados em {@link #projectsChanged} (o atraso já foi gravado pela alteração).
+ *
+ * Grava apenas o que mudou, tudo em uma transação ({@link RollupDAO}). As telas leem os valores
+ * gravados, em vez de comparar datas.
+ */
+public final class StatusRollupJob implements Runnable {
+
+    /** Nome do job no {@link JobScheduler}. */
+    public static final String NAME = "statusRollup";
+    /** Nome da execução que reconsolida só os projetos alterados ({@link #runChangedProjects()}). */
+    public static final String CHANGED_PROJECTS_NAME = "statusRollup.changedProjects";
+
+    private static final int BATCH_SIZE = Integer.getInteger("gestao.jobs.rollupBatchSize", 1000);
+    private static final boolean DEBUG = Boolean.getBoolean("gestao.debug");
+
+    private final RollupDAO rollupDAO = new RollupDAO();
+    // Projetos com tarefas alteradas desde a última reconsolidação parcial.
+    private final Set<Integer> changedProjects = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void run() {
+        report(runOnce(LocalDate.now()));
+    }
+
+    /**
+     * Marca projetos cujas tarefas mudaram, para a próxima {@link #runChangedProjects()}.
+     */
+    public void projectsChanged(Collection<Integer> projectIds) {
+        changedProjects.addAll(projectIds);
+    }
+
+    /**
+     * Reconsolida o percentual e o status dos projetos marcados. Se a leitura ou a gravação
+     * falhar, os projetos continuam marcados para a próxima execução.
+     */
+    public void runChangedProjects() {
+        List<Integer> projectIds = new ArrayList<>(changedProjects);
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        changedProjects.removeAll(projectIds);
+        RollupResult result = runForProjects(projectIds);
+        if (result == null) {
+            changedProjects.addAll(projectIds);
+        }
+        report(result);
+    }
+
+    /**
+     * Calcula e grava os valores consolidados de todos os projetos e tarefas.
+     * @param today A data usada para o atraso.
+     * @return O que foi gravado, ou null se a leitura ou a gravação falhou.
+     */
+    public RollupResult runOnce(LocalDate today) {
+        List<OverdueChange> overdueChanges = rollupDAO.findOverdueChanges(today);
+        List<ProjectTotals> projects = rollupDAO.getProjectTotals();
+        if (overdueChanges == null || projects == null) {
+            return null;
+        }
+        return apply(today, overdueChanges, projects);
+    }
+
+    /**
+     * Calcula e grava o percentual e o status só dos projetos informados.
+     * @return O que foi gravado, ou null se a leitura ou a gravação falhou.
+     */
+    public RollupResult runForProjects(Collection<Integer> projectIds) {
+        List<ProjectTotals> projects = rollupDAO.getProjectTotals(projectIds);
+        if (projects == null) {
+            return null;
+        }
+        return apply(LocalDate.now(), List.of(), projects);
+    }
+
+    private RollupResult apply(LocalDate today, List<OverdueChange> overdueChanges, List<ProjectTotals> projects) {
+        Map<Integer, Integer> completionByProject = new LinkedHashMap<>();
+        List<StatusChange> statusChanges = new ArrayList<>();
+        for (ProjectTotals project : projects) {
+            int total = project.totalTasks();
+            int completed = project.tasks(TaskStatus.CONCLUIDA);
+            int completion = total == 0 ? 0 : completed * 100 / total;
+            if (completion != project.completionPercent()) {
+                completionByProject.put(project.projectId(), completion);
+            }
+            ProjectStatus status = rollUp(project.status(), total, project.tasks(TaskStatus.EM_EXECUCAO), completed);
+            if (status != project.status()) {
+                statusChanges.add(new StatusChange(project.projectId(), project.version(), status));
+            }
+        }
+        return rollupDAO.applyRollup(today, overdueChanges, completionByProject, statusChanges, BATCH_SIZE);
+    }
+
+    private static void report(RollupResult result) {
+        // O resumo só vai para o console com -Dgestao.debug=true.
+        if (DEBUG && result != null && result.overdueTasks() + result.completedProjects() + result.statusChanges() > 0) {
+            System.out.println("Consolidação: " + result.overdueTasks() + " tarefas com atraso revisto, "
+                    + result.completedProjects() + " percentuais de projeto e "
+                    + result.statusChanges() + " status de projeto atualizados.");
+        }
+    }
+
+    /**
+     * O status do projeto a partir das tarefas:
+     * - Com todas as tarefas concluídas, o projeto fica CONCLUIDO.
+     * - Um projeto CONCLUIDO com tarefas abertas (reabertas ou novas) volta a EM_ANDAMENTO.
+     * - Um projeto PLANEJADO com alguma tarefa iniciada ou concluída passa a EM_ANDAMENTO.
+     * Projetos CANCELADO e projetos sem tarefas não mudam.
+     * @param current O status atual.
+     * @param total A quantidade de tarefas do projeto.
+     * @param inProgress As tarefas EM_EXECUCAO.
+     * @param completed As tarefas CONCLUIDA.
+     */
+    static ProjectStatus rollUp(ProjectStatus current, int total, int inProgress, int completed) {
+        if (current == ProjectStatus.CANCELADO || total == 0) {
+            return current;
+        }
+        if (completed == total) {
+            return ProjectStatus.CONCLUIDO;
+        }
+        if (current == ProjectStatus.CONCLUIDO || (current == ProjectStatus.PLANEJADO && inProgress + completed > 0)) {
+            return ProjectStatus.EM_ANDAMENTO;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.service;
+
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Tarefas dispostas em uma linha do tempo, com um {@link IntervalIndex} sobre as datas de cada
+ * uma para responder "quais tarefas estão ativas entre a e b" (no geral ou de um responsável)
+ * em O(log n + k), sem percorrer o histórico inteiro.
+ *
+ * - O período de uma tarefa vai da menor à maior das datas planejadas e reais; uma tarefa
+ *   iniciada e ainda não concluída vai, no mínimo, até hoje. Tarefas sem nenhuma data ficam de fora.
+ * - Cada tarefa recebe uma faixa ("lane"): tarefas que não se sobrepõem dividem a mesma faixa,
+ *   então a quantidade de faixas é a maior quantidade de tarefas simultâneas, não o total.
+ *
+ * Imutável: para refletir tarefas alteradas, monta-se uma nova com {@link #build}, fora da
+ * thread do JavaFX.
+ */
+public final class TaskTimeline {
+
+    /**
+     * Uma tarefa posicionada na linha do tempo.
+     * @param task A tarefa.
+     * @param lane A faixa (linha) em que ela é desenhada, a partir de 0.
+     * @param start O primeiro dia do período (LocalDate.toEpochDay()).
+     * @param end O último dia do período, inclusive.
+     */
+    public record Bar(Task task, int lane, long start, long end) {
+    }
+
+    private static final TaskTimeline EMPTY = new TaskTimeline(Map.of(), IntervalIndex.empty(), Map.of(), 0);
+
+    private final Map<Integer, Bar> bars;
+    private final IntervalIndex index;
+    private final Map<Integer, IntervalIndex> byResponsible;
+    private final int laneCount;
+
+    private TaskTimeline(Map<Integer, Bar> bars, IntervalIndex index, Map<Integer, IntervalIndex> byResponsible,
+                         int laneCount) {
+        this.bars = bars;
+        this.index = index;
+        this.byResponsible = byResponsible;
+        this.laneCount = laneCount;
+    }
+
+    /** Linha do tempo sem tarefas. */
+    public static TaskTimeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Monta a linha do tempo.
+     * @param tasks As tarefas (as que não têm datas são ignoradas).
+     * @param today A data até a qual vão as tarefas em execução sem data de término real.
+     */
+    public static TaskTimeline build(Collection<Task> tasks, LocalDate today) {
+        List<Bar> unplaced = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            long[] period = period(task, today.toEpochDay());
+            if (period != null) {
+                unplaced.add(new Bar(task, -1, period[0], period[1]));
+            }
+        }
+        if (unplaced.isEmpty()) {
+            return EMPTY;
+        }
+        unplaced.sort(Comparator.comparingLong(Bar::start).thenComparingInt(bar -> bar.task().getId()));
+
+        // Distribui as tarefas nas faixas: cada uma vai para a menor faixa já livre no seu início.
+        Map<Integer, Bar> bars = new HashMap<>();
+        PriorityQueue<Integer> freeLanes = new PriorityQueue<>();
+        PriorityQueue<Bar> busyLanes = new PriorityQueue<>(Comparator.comparingLong(Bar::end));
+        int laneCount = 0;
+        for (Bar bar : unplaced) {
+            while (!busyLanes.isEmpty() && busyLanes.peek().end() < bar.start()) {
+                freeLanes.add(busyLanes.poll().lane());
+            }
+            Integer lane = freeLanes.poll();
+            Bar placed = new Bar(bar.task(), lane != null ? lane : laneCount++, bar.start(), bar.end());
+            busyLanes.add(placed);
+            bars.put(placed.task().getId(), placed);
+        }
+
+        Map<Integer, List<Bar>> barsByResponsible = new HashMap<>();
+        for (Bar bar : bars.values()) {
+            barsByResponsible.computeIfAbsent(bar.task().getResponsibleId(), id -> new ArrayList<>()).add(bar);
+        }
+        Map<Integer, IntervalIndex> byResponsible = new HashMap<>();
+        for (Map.Entry<Integer, List<Bar>> entry : barsByResponsible.entrySet()) {
+            byResponsible.put(entry.getKey(), index(entry.getValue()));
+        }
+        return new TaskTimeline(bars, index(bars.values()), byResponsible, laneCount);
+    }
+
+    /**
+     * O período de uma tarefa, {@code [início, fim]} em dias, ou null se ela não tiver datas.
+     */
+    static long[] period(Task task, long today) {
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (LocalDate date : new LocalDate[] {task.getPlannedStartDate(), task.getPlannedEndDate(),
+                task.getActualStartDate(), task.getActualEndDate()}) {
+            if (date != null) {
+                start = Math.min(start, date.toEpochDay());
+                end = Math.max(end, date.toEpochDay());
+            }
+        }
+        if (start == Long.MAX_VALUE) {
+            return null;
+        }
+        if (task.getActualStartDate() != null && task.getActualEndDate() == null
+                && task.getStatus() != TaskStatus.CONCLUIDA) {
+            end = Math.max(end, today);
+        }
+        return new long[] {start, end};
+    }
+
+    private static IntervalIndex index(Collection<Bar> bars) {
+        int[] ids = new int[bars.size()];
+        long[] starts = new long[bars.size()];
+        long[] ends = new long[bars.size()];
+        int i = 0;
+        for (Bar bar : bars) {
+            ids[i] = bar.task().getId();
+            starts[i] = bar.start();
+            ends[i] = bar.end();
+            i++;
+        }
+        return IntervalIndex.of(ids, starts, ends);
+    }
+
+    /**
+     * Entrega cada tarefa ativa em algum dia da janela {@code [from, to]} (em dias, inclusive),
+     * sem ordem definida. Não cria listas: usado a cada redesenho da tela.
+     */
+    public void forEachActive(long from, long to, Consumer<Bar> action) {
+        index.forEachOverlapping(from, to, id -> action.accept(bars.get(id)));
+    }
+
+    /**
+     * Como {@link #forEachActive}, só com as tarefas do responsável.
+     */
+    public void forEachActiveFor(int responsibleId, long from, long to, Consumer<Bar> action) {
+        IntervalIndex responsibleIndex = byResponsible.get(responsibleId);
+        if (responsibleIndex != null) {
+            responsibleIndex.forEachOverlapping(from, to, id -> action.accept(bars.get(id)));
+        }
+    }
+
+    /**
+     * As tarefas ativas em algum dia entre as datas (inclusive), por ordem de início.
+     */
+    public List<Bar> activeBetween(LocalDate from, LocalDate to) {
+        List<Bar> active = new ArrayList<>();
+        forEachActive(from.toEpochDay(), to.toEpochDay(), active::add);
+        active.sort(Comparator.comparingLong(Bar::start).thenComparingInt(bar -> bar.task().getId()));
+        return active;
+    }
+
+    /**
+     * As tarefas do responsável ativas em algum dia entre as datas (inclusive), por ordem de início:
+     * as que se sobrepõem a esse período na agenda do responsável.
+     */
+    public List<Bar> activeFor(int responsibleId, LocalDate from, LocalDate to) {
+        List<Bar> active = new ArrayList<>();
+        forEachActiveFor(responsibleId, from.toEpochDay(), to.toEpochDay(), active::add);
+        active.sort(Comparator.comparingLong(Bar::start).thenComparingInt(bar -> bar.task().getId()));
+        return active;
+    }
+
+    /**
+     * A posição de uma tarefa, ou null se ela não estiver na linha do tempo.
+     */
+    public Bar bar(int taskId) {
+        return bars.get(taskId);
+    }
+
+    /** Quantidade de tarefas na linha do tempo. */
+    public int size() {
+        return bars.size();
+    }
+
+    /** Quantidade de faixas (linhas) usadas. */
+    public int laneCount() {
+        return laneCount;
+    }
+
+    /** As tarefas da linha do tempo, sem ordem definida. */
+    public Collection<Task> tasks() {
+        List<Task> tasks = new ArrayList<>(bars.size());
+        for (Bar bar : bars.values()) {
+            tasks.add(bar.task());
+        }
+        return tasks;
+    }
+}
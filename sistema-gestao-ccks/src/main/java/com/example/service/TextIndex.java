@@ -0,0 +1,415 @@
+package com.example.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória para busca textual: termo → documentos que o contêm, com peso.
+ *
+ * - Os textos são divididos em termos sem acento e em minúsculas ("Ação" e "acao" são o mesmo
+ *   termo), ignorando palavras muito comuns em português ("de", "para", ...).
+ * - Cada termo da busca casa com os termos que começam com ele ("impl" acha "implantação");
+ *   termos de uma letra só casam com a palavra exata, para não expandir para meio dicionário.
+ * - Um documento precisa conter todos os termos da busca. A pontuação soma o peso dos campos
+ *   onde cada termo aparece (ex: o título vale mais que a descrição), e a palavra exata vale
+ *   mais que o prefixo.
+ *
+ * A busca parte do termo com menos documentos e confere os demais só nos candidatos dele: no
+ * índice direto (documento → termos) ou, se o termo tiver poucos documentos a mais que os
+ * candidatos, cruzando com a lista dele. O custo depende do termo mais raro, não do tamanho do
+ * índice. As listas de documentos e as pontuações ficam em arrays de primitivos: com um milhão
+ * de documentos, a busca percorre memória contígua em vez de milhares de objetos espalhados.
+ *
+ * Thread-safe: buscas simultâneas compartilham uma trava de leitura; alterações usam a de escrita.
+ */
+public final class TextIndex {
+
+    /**
+     * Um documento encontrado e sua pontuação.
+     */
+    public record Hit(int id, float score) {
+    }
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "um", "uma", "para", "por", "com", "ao", "aos");
+    // Bônus da palavra exata sobre o prefixo.
+    private static final float EXACT_MATCH_BOOST = 2f;
+    // Termos de busca mais curtos que isto só casam com a palavra exata.
+    private static final int MIN_PREFIX_LENGTH = 2;
+    // Um termo com até esta proporção de documentos por candidato é cruzado pela lista dele;
+    // acima disso, os candidatos são conferidos um a um no índice direto.
+    private static final int INTERSECT_RATIO = 16;
+
+    /**
+     * Os documentos que contêm um termo, em ordem de ID, com o peso do termo em cada um.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private float[] weights = new float[2];
+        private int size;
+
+        void put(int id, float weight) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                weights[i] = weight;
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            // Os IDs novos costumam ser os maiores: quase sempre não há nada a deslocar.
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            System.arraycopy(weights, i, weights, i + 1, size - i);
+            ids[i] = id;
+            weights[i] = weight;
+            size++;
+        }
+
+        void remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                System.arraycopy(weights, i + 1, weights, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Pontuação por documento durante uma busca: tabela de hash aberta de ID → pontuação,
+     * sem um objeto por documento. Pontuação 0 = documento ausente.
+     */
+    private static final class Scores {
+        private int[] ids;
+        private float[] scores;
+        private boolean[] used;
+        private int size;
+
+        Scores(long expected) {
+            int capacity = 16;
+            while (capacity < expected * 2 && capacity < (1 << 30)) {
+                capacity <<= 1;
+            }
+            ids = new int[capacity];
+            scores = new float[capacity];
+            used = new boolean[capacity];
+        }
+
+        void add(int id, float score) {
+            if ((size + 1) * 2 > ids.length) {
+                grow();
+            }
+            int slot = slot(id);
+            if (used[slot]) {
+                scores[slot] += score;
+            } else {
+                used[slot] = true;
+                ids[slot] = id;
+                scores[slot] = score;
+                size++;
+            }
+        }
+
+        float get(int id) {
+            int slot = slot(id);
+            return used[slot] ? scores[slot] : 0f;
+        }
+
+        private int slot(int id) {
+            int mask = ids.length - 1;
+            int h = id * 0x9E3779B9;
+            int slot = (h ^ (h >>> 16)) & mask;
+            while (used[slot] && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldIds = ids;
+            float[] oldScores = scores;
+            boolean[] oldUsed = used;
+            ids = new int[oldIds.length * 2];
+            scores = new float[oldIds.length * 2];
+            used = new boolean[oldIds.length * 2];
+            size = 0;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldUsed[i]) {
+                    add(oldIds[i], oldScores[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Os termos distintos de um documento e o peso de cada um. As strings são as mesmas
+     * chaves de {@link #postings}.
+     */
+    private record Document(String[] terms, float[] weights) {
+    }
+
+    private final float[] fieldWeights;
+    // Termo → documentos que o contêm. TreeMap para as buscas por prefixo.
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    // Documento → termos distintos dele (para remover e para conferir os termos da busca).
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param fieldWeights O peso de cada campo, na ordem em que os campos são passados a {@link #put}.
+     */
+    public TextIndex(float... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Inclui ou substitui um documento.
+     * @param id O ID do documento.
+     * @param fields O texto de cada campo (nulos são ignorados), na ordem dos pesos.
+     */
+    public void put(int id, String... fields) {
+        if (fields.length != fieldWeights.length) {
+            throw new IllegalArgumentException("Esperados " + fieldWeights.length + " campos, recebidos " + fields.length);
+        }
+        Map<String, Float> weights = new LinkedHashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            float weight = fieldWeights[i];
+            for (String term : tokenize(fields[i])) {
+                weights.merge(term, weight, Float::sum);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            String[] terms = new String[weights.size()];
+            float[] termWeights = new float[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                Map.Entry<String, Postings> existing = postings.ceilingEntry(entry.getKey());
+                if (existing != null && existing.getKey().equals(entry.getKey())) {
+                    // Reaproveita a string já guardada no índice.
+                    terms[i] = existing.getKey();
+                    existing.getValue().put(id, entry.getValue());
+                } else {
+                    Postings docs = new Postings();
+                    docs.put(id, entry.getValue());
+                    postings.put(entry.getKey(), docs);
+                    terms[i] = entry.getKey();
+                }
+                termWeights[i++] = entry.getValue();
+            }
+            documents.put(id, new Document(terms, termWeights));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um documento (nada acontece se ele não estiver no índice).
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todos os documentos.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quantidade de documentos no índice.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos que contêm todos os termos da consulta.
+     * @param query O texto digitado.
+     * @param limit A quantidade máxima de resultados.
+     * @return Os documentos encontrados, do mais para o menos relevante (empate: menor ID primeiro).
+     *         Vazio se a consulta não tiver termos.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Começa pelo termo com menos documentos: os demais só são conferidos nos candidatos dele.
+            Map<String, Long> matches = new HashMap<>();
+            for (String term : terms) {
+                matches.put(term, estimateMatches(term));
+            }
+            terms.sort(Comparator.comparingLong(matches::get));
+            Scores first = expand(terms.get(0), matches.get(terms.get(0)));
+            int[] ids = new int[first.size];
+            float[] scores = new float[first.size];
+            int count = 0;
+            for (int slot = 0; slot < first.ids.length; slot++) {
+                if (first.used[slot]) {
+                    ids[count] = first.ids[slot];
+                    scores[count++] = first.scores[slot];
+                }
+            }
+
+            for (String term : terms.subList(1, terms.size())) {
+                if (count == 0) {
+                    break;
+                }
+                long termMatches = matches.get(term);
+                Scores termScores = termMatches <= (long) count * INTERSECT_RATIO ? expand(term, termMatches) : null;
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    float termScore = termScores != null ? termScores.get(ids[i]) : scoreInDocument(term, ids[i]);
+                    if (termScore > 0) {
+                        ids[kept] = ids[i];
+                        scores[kept++] = scores[i] + termScore;
+                    }
+                }
+                count = kept;
+            }
+            return topHits(ids, scores, count, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Divide um texto em termos de busca: sem acentos, em minúsculas, sem pontuação e sem as
+     * palavras mais comuns do português.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(folded)) {
+            if (!term.isEmpty() && !STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private void removeLocked(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Postings docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private NavigableMap<String, Postings> matchingTerms(String term) {
+        if (term.length() < MIN_PREFIX_LENGTH) {
+            return postings.subMap(term, true, term, true);
+        }
+        return postings.subMap(term, true, term + Character.MAX_VALUE, false);
+    }
+
+    private long estimateMatches(String term) {
+        long total = 0;
+        for (Postings docs : matchingTerms(term).values()) {
+            total += docs.size;
+        }
+        return total;
+    }
+
+    /**
+     * Todos os documentos que contêm o termo (ou uma palavra que comece com ele), com a pontuação.
+     */
+    private Scores expand(String term, long expectedMatches) {
+        Scores scores = new Scores(expectedMatches);
+        for (Map.Entry<String, Postings> entry : matchingTerms(term).entrySet()) {
+            float boost = entry.getKey().equals(term) ? EXACT_MATCH_BOOST : 1f;
+            Postings docs = entry.getValue();
+            for (int i = 0; i < docs.size; i++) {
+                scores.add(docs.ids[i], docs.weights[i] * boost);
+            }
+        }
+        return scores;
+    }
+
+    private float scoreInDocument(String term, int id) {
+        Document document = documents.get(id);
+        String[] terms = document.terms();
+        float score = 0;
+        for (int i = 0; i < terms.length; i++) {
+            boolean exact = terms[i].equals(term);
+            if (exact || (term.length() >= MIN_PREFIX_LENGTH && terms[i].startsWith(term))) {
+                score += document.weights()[i] * (exact ? EXACT_MATCH_BOOST : 1f);
+            }
+        }
+        return score;
+    }
+
+    private static List<Hit> topHits(int[] ids, float[] scores, int count, int limit) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed().thenComparingInt(Hit::id);
+        // Fila com os 'limit' melhores; o pior fica no topo para ser descartado.
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (int i = 0; i < count; i++) {
+            Hit worst = best.size() < limit ? null : best.peek();
+            if (worst != null && (scores[i] < worst.score() || (scores[i] == worst.score() && ids[i] > worst.id()))) {
+                continue; // Não entra entre os melhores: evita criar o Hit.
+            }
+            best.add(new Hit(ids[i], scores[i]));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        Hit[] hits = best.toArray(new Hit[0]);
+        Arrays.sort(hits, ranking);
+        return List.of(hits);
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.ui;
+
+import com.example.dao.AllocationDAO;
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
+import com.example.dao.ProjectDAO;
+import com.example.dao.QueryFanOut;
+import com.example.dao.TeamDAO;
+import com.example.dao.UserDAO;
+import com.example.model.Project;
+import com.example.model.Team;
+import com.example.model.User;
+import com.example.service.AllocationAnalysis;
+import com.example.service.LoadCurve;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory;
+import javafx.scene.layout.StackPane;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador do mapa de calor de alocação (AllocationHeatmap.fxml): a carga semanal de cada
+ * pessoa ou equipe em relação à capacidade, para encontrar quem está sobrecarregado.
+ *
+ * A análise ({@link AllocationAnalysis}) é feita em segundo plano sobre todas as tarefas
+ * atribuídas; trocar a capacidade, a visão ou o filtro só remonta as linhas, sem reler o banco.
+ */
+public class AllocationHeatmapController implements AsyncController {
+
+    private static final String PEOPLE = "Pessoas";
+    private static final String TEAMS = "Equipes";
+    // A leitura de todas as tarefas atribuídas pode passar do tempo limite das telas comuns.
+    private static final Duration QUERY_TIMEOUT = Duration.ofSeconds(60);
+    // As linhas são ordenadas e filtradas pela sobrecarga neste horizonte, a partir da semana atual.
+    private static final int HORIZON_WEEKS = 52;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @FXML private ComboBox<String> viewComboBox;
+    @FXML private ComboBox<Project> projectComboBox;
+    @FXML private Spinner<Integer> capacitySpinner;
+    @FXML private CheckBox overloadedOnlyCheckBox;
+    @FXML private StackPane heatmapPane;
+    @FXML private Label statusLabel;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    private final AllocationDAO allocationDAO = new AllocationDAO();
+    private final UserDAO userDAO = DAOFactory.getUserDAO();
+    private final TeamDAO teamDAO = DAOFactory.getTeamDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final AllocationHeatmapView heatmapView = new AllocationHeatmapView();
+
+    /**
+     * O resultado de uma carga: a análise e os dados para montar as linhas.
+     */
+    private record HeatmapData(AllocationAnalysis analysis, List<User> users, List<Team> teams,
+                               Map<Integer, List<Integer>> membersByTeam,
+                               Map<Integer, List<Integer>> teamsByProject) {
+    }
+
+    private HeatmapData data;
+    private ChangeSubscription changes;
+
+    private final UiTaskGroup loads = new UiTaskGroup();
+
+    @FXML
+    public void initialize() {
+        loadingIndicator.visibleProperty().bind(loads.busyProperty());
+        heatmapPane.getChildren().add(heatmapView);
+        heatmapView.setOnCellClicked(this::showCell);
+
+        viewComboBox.getItems().setAll(PEOPLE, TEAMS);
+        viewComboBox.setValue(PEOPLE);
+        capacitySpinner.setValueFactory(
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 99, AllocationAnalysis.DEFAULT_CAPACITY));
+
+        viewComboBox.valueProperty().addListener((obs, oldValue, newValue) -> showRows());
+        projectComboBox.valueProperty().addListener((obs, oldValue, newValue) -> showRows());
+        capacitySpinner.valueProperty().addListener((obs, oldValue, newValue) -> showRows());
+        overloadedOnlyCheckBox.selectedProperty().addListener((obs, oldValue, newValue) -> showRows());
+
+        loads.submit("projects", projectDAO::getAllProjects, projects -> projectComboBox.getItems().setAll(projects));
+        loadAnalysis();
+        changes = ChangeSubscription.open(this::applyChanges);
+    }
+
+    /**
+     * Relê as tarefas e as equipes e refaz a análise. As consultas rodam ao mesmo tempo; a análise
+     * roda quando todas chegam, ainda fora da thread do JavaFX.
+     */
+    private void loadAnalysis() {
+        LocalDate today = LocalDate.now();
+        QueryFanOut fanOut = new QueryFanOut("allocation", QUERY_TIMEOUT);
+        CompletableFuture<List<AllocationDAO.Assignment>> assignments =
+                fanOut.fork("assignments", allocationDAO::getAssignments);
+        CompletableFuture<Map<Integer, List<Integer>>> members = fanOut.fork("members", teamDAO::getMemberIdsByTeam);
+        CompletableFuture<Map<Integer, List<Integer>>> projectTeams =
+                fanOut.fork("projectTeams", allocationDAO::getTeamIdsByProject);
+        CompletableFuture<List<User>> users = fanOut.fork("users", userDAO::getAllUsers);
+        CompletableFuture<List<Team>> teams = fanOut.fork("teams", teamDAO::getAllTeams);
+
+        loads.track("analysis", fanOut.join(() -> {
+            if (assignments.join() == null) {
+                throw new IllegalStateException("Falha ao ler as tarefas atribuídas.");
+            }
+            AllocationAnalysis analysis = AllocationAnalysis.analyze(assignments.join(), members.join(), today);
+            return new HeatmapData(analysis, users.join(), teams.join(), members.join(), projectTeams.join());
+        }), loaded -> {
+            data = loaded;
+            showRows();
+        }, error -> {
+            error.printStackTrace();
+            statusLabel.setText("Erro ao carregar a alocação.");
+        });
+    }
+
+    private void applyChanges(ChangeSubscription.Batch batch) {
+        if (batch.touches(ChangeEvent.Entity.PROJECT)) {
+            loads.submit("projects", projectDAO::getAllProjects, projects -> {
+                Project selected = projectComboBox.getValue();
+                projectComboBox.getItems().setAll(projects);
+                projectComboBox.setValue(selected == null ? null : projects.stream()
+                        .filter(p -> p.getId() == selected.getId()).findFirst().orElse(null));
+            });
+        }
+        if (batch.touches(ChangeEvent.Entity.TASK) || batch.touches(ChangeEvent.Entity.TEAM)
+                || batch.touches(ChangeEvent.Entity.PROJECT) || batch.touches(ChangeEvent.Entity.USER)) {
+            loadAnalysis();
+        }
+    }
+
+    /**
+     * Monta as linhas do mapa a partir da análise atual, com a visão, o filtro e a capacidade escolhidos.
+     * As mais sobrecarregadas no horizonte vêm primeiro.
+     */
+    private void showRows() {
+        if (data == null) {
+            return;
+        }
+        int capacity = capacitySpinner.getValue();
+        Project project = projectComboBox.getValue();
+        Set<Integer> projectTeamIds = project == null ? null
+                : new HashSet<>(data.teamsByProject().getOrDefault(project.getId(), List.of()));
+        boolean people = !TEAMS.equals(viewComboBox.getValue());
+
+        List<AllocationHeatmapView.Row> rows = new ArrayList<>();
+        if (people) {
+            Set<Integer> allowed = null;
+            if (projectTeamIds != null) {
+                allowed = new HashSet<>();
+                for (int teamId : projectTeamIds) {
+                    allowed.addAll(data.membersByTeam().getOrDefault(teamId, List.of()));
+                }
+            }
+            for (User user : data.users()) {
+                if (allowed == null || allowed.contains(user.getId())) {
+                    rows.add(new AllocationHeatmapView.Row(user.getId(), user.getFullName(),
+                            data.analysis().userCurve(user.getId()), capacity));
+                }
+            }
+        } else {
+            for (Team team : data.teams()) {
+                if (projectTeamIds == null || projectTeamIds.contains(team.getId())) {
+                    rows.add(new AllocationHeatmapView.Row(team.getId(), team.getName(),
+                            data.analysis().teamCurve(team.getId()), data.analysis().teamCapacity(team.getId(), capacity)));
+                }
+            }
+        }
+
+        long from = LocalDate.now().toEpochDay();
+        long to = LocalDate.now().plusWeeks(HORIZON_WEEKS).toEpochDay();
+        Comparator<AllocationHeatmapView.Row> byLoad = Comparator.comparingDouble(
+                row -> -(double) row.curve().peakBetween(from, to) / Math.max(1, row.capacity()));
+        rows.sort(byLoad.thenComparing(AllocationHeatmapView.Row::label, Comparator.nullsLast(String::compareToIgnoreCase)));
+        int total = rows.size();
+        long overloaded = rows.stream().filter(row -> row.curve().peakBetween(from, to) > row.capacity()).count();
+        if (overloadedOnlyCheckBox.isSelected()) {
+            rows.removeIf(row -> row.curve().peakBetween(from, to) <= row.capacity());
+        }
+        heatmapView.setRows(rows);
+
+        if (projectTeamIds != null && projectTeamIds.isEmpty()) {
+            statusLabel.setText("Nenhuma equipe alocada ao projeto '" + project.getName() + "'.");
+        } else {
+            statusLabel.setText(overloaded + " de " + total + (people ? " pessoas" : " equipes")
+                    + " acima da capacidade nas próximas " + HORIZON_WEEKS + " semanas. "
+                    + "Clique em uma célula para ver os períodos de sobrecarga.");
+        }
+    }
+
+    private void showCell(AllocationHeatmapView.Row row, LocalDate monday) {
+        long from = monday.toEpochDay();
+        long to = from + 6;
+        StringBuilder text = new StringBuilder(row.label())
+                .append(" | Semana de ").append(DATE_FORMAT.format(monday))
+                .append(": até ").append(row.curve().peakBetween(from, to))
+                .append(" tarefas simultâneas (capacidade ").append(row.capacity()).append(")");
+        for (LoadCurve.Period period : row.curve().periodsAbove(row.capacity(), from, to)) {
+            text.append(" | Sobrecarga de ").append(DATE_FORMAT.format(LocalDate.ofEpochDay(period.from())))
+                    .append(" a ").append(DATE_FORMAT.format(LocalDate.ofEpochDay(period.to())))
+                    .append(", pico de ").append(period.peak());
+        }
+        statusLabel.setText(text.toString());
+    }
+
+    @FXML
+    void handleTodayAction(ActionEvent event) {
+        heatmapView.showDate(LocalDate.now());
+    }
+
+    @FXML
+    void handleClearProjectAction(ActionEvent event) {
+        projectComboBox.setValue(null);
+    }
+
+    @Override
+    public void cancelPendingTasks() {
+        changes.close();
+        loads.cancelAll();
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.ui;
+
+import com.example.service.LoadCurve;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa de calor da alocação em um Canvas: uma linha por pessoa (ou equipe) e uma coluna por
+ * semana; a cor de cada célula é o pico de tarefas simultâneas na semana em relação à capacidade.
+ *
+ * - Verde: dentro da capacidade (mais escuro, mais perto do limite); laranja a vermelho: acima dela.
+ * - Arrastar move as semanas e as linhas; a roda do mouse rola as linhas.
+ * - Cada redesenho consulta as curvas só das linhas e semanas visíveis.
+ *
+ * Deve ser usada na thread do JavaFX.
+ */
+final class AllocationHeatmapView extends Region {
+
+    /**
+     * Uma linha do mapa.
+     * @param id O ID do usuário ou da equipe.
+     * @param label O nome exibido.
+     * @param curve A curva de carga.
+     * @param capacity A capacidade (tarefas simultâneas) da linha.
+     */
+    record Row(int id, String label, LoadCurve curve, int capacity) {
+    }
+
+    private static final double HEADER_HEIGHT = 36;
+    private static final double LABEL_WIDTH = 200;
+    private static final double ROW_HEIGHT = 20;
+    private static final double CELL_WIDTH = 34;
+    // Movimento mínimo (em pixels) para um clique virar um arraste.
+    private static final double DRAG_THRESHOLD = 3;
+
+    private static final Color GRID = Color.web("#e0e0e0");
+    private static final Color HEADER_BACKGROUND = Color.web("#f4f4f4");
+    private static final Color TODAY = Color.web("#e74c3c");
+    private static final Color IDLE = Color.WHITE;
+    private static final Color LIGHT_LOAD = Color.web("#d5f5e3");
+    private static final Color FULL_LOAD = Color.web("#27ae60");
+    private static final Color OVERLOAD = Color.web("#f39c12");
+    private static final Color SEVERE_OVERLOAD = Color.web("#c0392b");
+    private static final DateTimeFormatter WEEK_FORMAT = DateTimeFormatter.ofPattern("dd/MM");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MM/yyyy");
+
+    // As semanas começam na segunda-feira; o dia 0 da época (01/01/1970) foi uma quinta-feira.
+    private static final long FIRST_MONDAY = LocalDate.ofEpochDay(0).with(DayOfWeek.MONDAY).toEpochDay();
+
+    private final Canvas canvas = new Canvas();
+
+    private List<Row> rows = List.of();
+    private long today = LocalDate.now().toEpochDay();
+
+    // Janela visível: a semana na borda esquerda (fracionária, contada em semanas desde a época) e a rolagem vertical.
+    private double firstWeek = weekOf(today) - 4;
+    private double scrollY = 0;
+
+    private double pressX;
+    private double pressY;
+    private double lastX;
+    private double lastY;
+    private boolean dragging;
+    private BiConsumer<Row, LocalDate> onCellClicked = (row, week) -> { };
+
+    AllocationHeatmapView() {
+        getChildren().add(canvas);
+        setMinSize(300, 120);
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::handlePressed);
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::handleDragged);
+        canvas.addEventHandler(MouseEvent.MOUSE_RELEASED, this::handleReleased);
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+    }
+
+    /**
+     * Troca as linhas exibidas, mantendo a janela visível.
+     */
+    void setRows(List<Row> rows) {
+        this.rows = rows;
+        this.today = LocalDate.now().toEpochDay();
+        clampScroll();
+        draw();
+    }
+
+    /**
+     * Mostra a semana da data perto da borda esquerda.
+     */
+    void showDate(LocalDate date) {
+        firstWeek = weekOf(date.toEpochDay()) - 4;
+        draw();
+    }
+
+    /**
+     * Chamado com a linha e a segunda-feira da semana clicada (um clique sem arrastar sobre uma célula).
+     */
+    void setOnCellClicked(BiConsumer<Row, LocalDate> onCellClicked) {
+        this.onCellClicked = onCellClicked;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            clampScroll();
+            draw();
+        }
+    }
+
+    private void handlePressed(MouseEvent event) {
+        pressX = lastX = event.getX();
+        pressY = lastY = event.getY();
+        dragging = false;
+    }
+
+    private void handleDragged(MouseEvent event) {
+        if (!dragging && Math.hypot(event.getX() - pressX, event.getY() - pressY) < DRAG_THRESHOLD) {
+            return;
+        }
+        dragging = true;
+        firstWeek -= (event.getX() - lastX) / CELL_WIDTH;
+        scrollY -= event.getY() - lastY;
+        lastX = event.getX();
+        lastY = event.getY();
+        clampScroll();
+        draw();
+    }
+
+    private void handleReleased(MouseEvent event) {
+        if (dragging || event.getButton() != MouseButton.PRIMARY
+                || event.getY() < HEADER_HEIGHT || event.getX() < LABEL_WIDTH) {
+            return;
+        }
+        int row = (int) Math.floor((event.getY() - HEADER_HEIGHT + scrollY) / ROW_HEIGHT);
+        long week = (long) Math.floor(firstWeek + (event.getX() - LABEL_WIDTH) / CELL_WIDTH);
+        if (row < rows.size()) {
+            onCellClicked.accept(rows.get(row), LocalDate.ofEpochDay(mondayOf(week)));
+        }
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        if (event.getDeltaY() == 0) {
+            return;
+        }
+        scrollY -= event.getDeltaY();
+        clampScroll();
+        draw();
+        event.consume();
+    }
+
+    private void clampScroll() {
+        double contentHeight = rows.size() * ROW_HEIGHT;
+        double visibleHeight = Math.max(0, getHeight() - HEADER_HEIGHT);
+        scrollY = Math.max(0, Math.min(scrollY, Math.max(0, contentHeight - visibleHeight)));
+    }
+
+    private static long weekOf(long day) {
+        return Math.floorDiv(day - FIRST_MONDAY, 7);
+    }
+
+    /** A segunda-feira que abre a semana. */
+    private static long mondayOf(long week) {
+        return FIRST_MONDAY + week * 7;
+    }
+
+    private double xOf(double week) {
+        return LABEL_WIDTH + (week - firstWeek) * CELL_WIDTH;
+    }
+
+    private void draw() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+        if (width <= LABEL_WIDTH || height <= HEADER_HEIGHT) {
+            return;
+        }
+
+        long fromWeek = (long) Math.floor(firstWeek);
+        long toWeek = (long) Math.ceil(firstWeek + (width - LABEL_WIDTH) / CELL_WIDTH);
+        int firstRow = (int) Math.floor(scrollY / ROW_HEIGHT);
+        int lastRow = Math.min(rows.size() - 1, (int) Math.floor((scrollY + height - HEADER_HEIGHT) / ROW_HEIGHT));
+
+        gc.setTextBaseline(VPos.CENTER);
+        gc.save();
+        gc.beginPath();
+        gc.rect(LABEL_WIDTH, HEADER_HEIGHT, width - LABEL_WIDTH, height - HEADER_HEIGHT);
+        gc.clip();
+        gc.setTextAlign(TextAlignment.CENTER);
+        for (int r = firstRow; r <= lastRow; r++) {
+            Row row = rows.get(r);
+            double y = HEADER_HEIGHT + r * ROW_HEIGHT - scrollY;
+            for (long week = fromWeek; week <= toWeek; week++) {
+                long start = mondayOf(week);
+                int peak = row.curve().peakBetween(start, start + 6);
+                double x = xOf(week);
+                gc.setFill(cellColor(peak, row.capacity()));
+                gc.fillRect(x, y, CELL_WIDTH, ROW_HEIGHT);
+                if (peak > 0) {
+                    gc.setFill(peak > row.capacity() ? Color.WHITE : Color.BLACK);
+                    gc.fillText(String.valueOf(peak), x + CELL_WIDTH / 2, y + ROW_HEIGHT / 2);
+                }
+            }
+        }
+        gc.setStroke(GRID);
+        gc.setLineWidth(1);
+        for (long week = fromWeek; week <= toWeek; week++) {
+            gc.strokeLine(xOf(week), HEADER_HEIGHT, xOf(week), height);
+        }
+        double todayX = xOf(weekOf(today) + (today - mondayOf(weekOf(today)) + 0.5) / 7);
+        gc.setStroke(TODAY);
+        gc.setLineWidth(1.5);
+        gc.strokeLine(todayX, HEADER_HEIGHT, todayX, height);
+        gc.restore();
+
+        drawHeader(gc, fromWeek, toWeek, width);
+        drawLabels(gc, firstRow, lastRow, height);
+    }
+
+    /**
+     * Desenha o cabeçalho: o mês na primeira linha e o dia de início de cada semana na segunda.
+     */
+    private void drawHeader(GraphicsContext gc, long fromWeek, long toWeek, double width) {
+        gc.setFill(HEADER_BACKGROUND);
+        gc.fillRect(0, 0, width, HEADER_HEIGHT);
+        gc.save();
+        gc.beginPath();
+        gc.rect(LABEL_WIDTH, 0, width - LABEL_WIDTH, HEADER_HEIGHT);
+        gc.clip();
+        gc.setFill(Color.BLACK);
+        gc.setStroke(GRID);
+        gc.setLineWidth(1);
+        gc.setTextAlign(TextAlignment.LEFT);
+        int lastMonth = -1;
+        for (long week = fromWeek; week <= toWeek; week++) {
+            LocalDate monday = LocalDate.ofEpochDay(mondayOf(week));
+            double x = xOf(week);
+            gc.strokeLine(x, HEADER_HEIGHT / 2, x, HEADER_HEIGHT);
+            gc.fillText(WEEK_FORMAT.format(monday), x + 2, HEADER_HEIGHT * 3 / 4);
+            if (monday.getMonthValue() != lastMonth) {
+                gc.fillText(MONTH_FORMAT.format(monday), Math.max(x, LABEL_WIDTH) + 2, HEADER_HEIGHT / 4);
+                lastMonth = monday.getMonthValue();
+            }
+        }
+        gc.restore();
+        gc.setStroke(GRID);
+        gc.strokeLine(0, HEADER_HEIGHT, width, HEADER_HEIGHT);
+    }
+
+    private void drawLabels(GraphicsContext gc, int firstRow, int lastRow, double height) {
+        gc.save();
+        gc.beginPath();
+        gc.rect(0, HEADER_HEIGHT, LABEL_WIDTH, height - HEADER_HEIGHT);
+        gc.clip();
+        gc.setFill(HEADER_BACKGROUND);
+        gc.fillRect(0, HEADER_HEIGHT, LABEL_WIDTH, height - HEADER_HEIGHT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        for (int r = firstRow; r <= lastRow; r++) {
+            Row row = rows.get(r);
+            double y = HEADER_HEIGHT + r * ROW_HEIGHT - scrollY;
+            gc.setFill(Color.BLACK);
+            gc.fillText(row.label() + " (" + row.capacity() + ")", 6, y + ROW_HEIGHT / 2, LABEL_WIDTH - 12);
+            gc.setStroke(GRID);
+            gc.strokeLine(0, y + ROW_HEIGHT, LABEL_WIDTH, y + ROW_HEIGHT);
+        }
+        gc.restore();
+        gc.setStroke(GRID);
+        gc.strokeLine(LABEL_WIDTH, 0, LABEL_WIDTH, height);
+    }
+
+    /**
+     * A cor da célula: branco sem carga, verde até a capacidade e de laranja a vermelho acima
+     * dela (vermelho pleno a partir do dobro da capacidade).
+     */
+    private static Color cellColor(int peak, int capacity) {
+        if (peak == 0) {
+            return IDLE;
+        }
+        if (capacity <= 0) {
+            return SEVERE_OVERLOAD;
+        }
+        double ratio = (double) peak / capacity;
+        if (ratio <= 1) {
+            return LIGHT_LOAD.interpolate(FULL_LOAD, ratio);
+        }
+        return OVERLOAD.interpolate(SEVERE_OVERLOAD, Math.min(1, ratio - 1));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ui;
+
+/**
+ * Controlador de tela que carrega dados em segundo plano.
+ * A janela que abre a tela chama {@link #cancelPendingTasks()} quando ela é fechada, para que
+ * consultas ainda em andamento não atualizem uma tela que já não existe.
+ */
+public interface AsyncController {
+
+    /**
+     * Cancela as chamadas assíncronas ainda pendentes desta tela.
+     */
+    void cancelPendingTasks();
+}
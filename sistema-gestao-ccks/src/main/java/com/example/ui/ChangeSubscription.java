@@ -0,0 +1,121 @@
+package com.example.ui;
+
+import com.example.dao.ChangeEvent;
+import com.example.dao.ChangeFeed;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Assinatura do {@link ChangeFeed} para uma tela.
+ *
+ * As alterações chegam em threads de segundo plano; esta classe as acumula e as entrega em
+ * lotes na thread do JavaFX, de modo que uma rajada de gravações vira uma única atualização
+ * da tela. A tela deve chamar {@link #close()} ao ser fechada.
+ */
+public class ChangeSubscription implements ChangeFeed.Listener {
+
+    /**
+     * Alterações acumuladas desde a última entrega.
+     */
+    public record Batch(List<ChangeEvent> events) {
+
+        /** Indica se algum registro do tipo foi alterado. */
+        public boolean touches(ChangeEvent.Entity entity) {
+            return events.stream().anyMatch(event -> event.entity() == entity);
+        }
+
+        /** Indica se a lista inteira do tipo deve ser recarregada. */
+        public boolean reloads(ChangeEvent.Entity entity) {
+            return events.stream().anyMatch(event -> event.entity() == entity && event.kind() == ChangeEvent.Kind.RELOAD);
+        }
+
+        /** Indica se houve alteração do tipo e da espécie informados (ex: exclusão de projeto). */
+        public boolean has(ChangeEvent.Entity entity, ChangeEvent.Kind kind) {
+            return events.stream().anyMatch(event -> event.entity() == entity && event.kind() == kind);
+        }
+
+        /** Os IDs dos registros do tipo alterados individualmente, na ordem das alterações. */
+        public Set<Integer> ids(ChangeEvent.Entity entity) {
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (ChangeEvent event : events) {
+                if (event.entity() == entity && event.kind() != ChangeEvent.Kind.RELOAD) {
+                    ids.add(event.entityId());
+                }
+            }
+            return ids;
+        }
+
+        /**
+         * Os projetos cujas contagens de tarefas mudaram (ver {@link ChangeEvent#projectId()}),
+         * inclusive o projeto de onde saiu uma tarefa movida ou excluída.
+         */
+        public Set<Integer> taskProjectIds() {
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (ChangeEvent event : events) {
+                if (event.entity() == ChangeEvent.Entity.TASK && event.projectId() != 0) {
+                    ids.add(event.projectId());
+                }
+            }
+            return ids;
+        }
+    }
+
+    private final Consumer<Batch> onChanges;
+
+    // Protegidos por this: as alterações podem chegar de várias threads ao mesmo tempo.
+    private final List<ChangeEvent> pending = new ArrayList<>();
+    private boolean deliveryScheduled = false;
+
+    private volatile boolean closed = false;
+
+    private ChangeSubscription(Consumer<Batch> onChanges) {
+        this.onChanges = onChanges;
+    }
+
+    /**
+     * Assina o canal de alterações.
+     * @param onChanges Recebe cada lote de alterações na thread do JavaFX.
+     */
+    public static ChangeSubscription open(Consumer<Batch> onChanges) {
+        ChangeSubscription subscription = new ChangeSubscription(onChanges);
+        ChangeFeed.subscribe(subscription);
+        return subscription;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEvent> events) {
+        synchronized (this) {
+            pending.addAll(events);
+            if (deliveryScheduled) {
+                return;
+            }
+            deliveryScheduled = true;
+        }
+        Platform.runLater(this::deliver);
+    }
+
+    private void deliver() {
+        List<ChangeEvent> events;
+        synchronized (this) {
+            events = List.copyOf(pending);
+            pending.clear();
+            deliveryScheduled = false;
+        }
+        if (!closed && !events.isEmpty()) {
+            onChanges.accept(new Batch(events));
+        }
+    }
+
+    /**
+     * Cancela a assinatura. Lotes ainda não entregues são descartados.
+     */
+    public void close() {
+        closed = true;
+        ChangeFeed.unsubscribe(this);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.ui;
+
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.css.PseudoClass;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Uma linha da tabela de tarefas do dashboard, com tudo o que as células exibem já calculado:
+ * textos, situação do prazo, fração e cor da barra de progresso.
+ *
+ * Os valores são calculados por {@link #update} quando a linha entra na tabela e quando a data
+ * ou os nomes mudam, e não a cada renderização: ao rolar a tabela, as células só copiam valores
+ * prontos, sem criar objetos. As cores vêm de pseudo-classes CSS (dashboard.css).
+ *
+ * Deve ser usada na thread do JavaFX, exceto o construtor.
+ */
+final class DashboardTaskRow {
+
+    /**
+     * Situação do prazo de uma tarefa, exibida na coluna "Situação Prazo".
+     */
+    enum Deadline {
+        /** Tarefa concluída ou sem prazo: nada é exibido. */
+        NONE("", null),
+        ON_TIME("No prazo", PseudoClass.getPseudoClass("on-time")),
+        OVERDUE("Atraso", PseudoClass.getPseudoClass("overdue"));
+
+        final String text;
+        final PseudoClass pseudoClass;
+
+        Deadline(String text, PseudoClass pseudoClass) {
+            this.text = text;
+            this.pseudoClass = pseudoClass;
+        }
+    }
+
+    /**
+     * Cor da barra de progresso. O status da tarefa tem prioridade; para as pendentes, a cor
+     * depende do atraso gravado e da data.
+     */
+    enum Progress {
+        /** Sem datas planejadas: a barra não é exibida. */
+        NONE(null),
+        DONE(PseudoClass.getPseudoClass("done")),
+        RUNNING(PseudoClass.getPseudoClass("running")),
+        LATE(PseudoClass.getPseudoClass("late")),
+        NOT_STARTED(PseudoClass.getPseudoClass("not-started")),
+        PENDING(PseudoClass.getPseudoClass("pending"));
+
+        final PseudoClass pseudoClass;
+
+        Progress(PseudoClass pseudoClass) {
+            this.pseudoClass = pseudoClass;
+        }
+    }
+
+    private final Task task;
+    // Valor de todas as colunas: a própria linha, criada uma vez por linha.
+    private final ReadOnlyObjectWrapper<DashboardTaskRow> value = new ReadOnlyObjectWrapper<>(this);
+    private final String dueDateText;
+    private final String statusText;
+
+    private String projectName = "";
+    private String responsibleName = "";
+    private Deadline deadline = Deadline.NONE;
+    private Progress progress = Progress.NONE;
+    private double progressFraction;
+
+    DashboardTaskRow(Task task) {
+        this.task = task;
+        this.dueDateText = task.getPlannedEndDate() != null ? task.getPlannedEndDate().toString() : "";
+        this.statusText = task.getStatus() != null ? task.getStatus().toString() : "";
+    }
+
+    /**
+     * Recalcula os valores que dependem da data atual e dos nomes de projetos e usuários.
+     * O atraso não é recalculado aqui: vem da tarefa ({@link Task#isOverdue()}), como gravado.
+     */
+    void update(LocalDate today, Map<Integer, String> projectNames, Map<Integer, String> userNames) {
+        projectName = projectNames.getOrDefault(task.getProjectId(), "Projeto não encontrado");
+        responsibleName = userNames.getOrDefault(task.getResponsibleId(), "Não atribuído");
+
+        LocalDate dueDate = task.getPlannedEndDate();
+        // A situação do prazo só se aplica a tarefas não concluídas que possuem um prazo definido
+        if (task.getStatus() != TaskStatus.CONCLUIDA && dueDate != null) {
+            deadline = task.isOverdue() ? Deadline.OVERDUE : Deadline.ON_TIME;
+        } else {
+            deadline = Deadline.NONE;
+        }
+
+        updateProgress(today);
+    }
+
+    private void updateProgress(LocalDate today) {
+        LocalDate startDate = task.getPlannedStartDate();
+        LocalDate endDate = task.getPlannedEndDate();
+        // Só exibe a barra se as datas planejadas existirem
+        if (startDate == null || endDate == null) {
+            progress = Progress.NONE;
+            progressFraction = 0.0;
+            return;
+        }
+        if (task.getStatus() == TaskStatus.CONCLUIDA) {
+            progress = Progress.DONE;
+            progressFraction = 1.0;
+        } else if (task.getStatus() == TaskStatus.EM_EXECUCAO) {
+            // Em execução: o progresso é calculado com base no tempo decorrido.
+            progress = Progress.RUNNING;
+            progressFraction = elapsedFraction(startDate, endDate, today);
+        } else if (task.isOverdue()) {
+            progress = Progress.LATE;
+            progressFraction = 1.0;
+        } else if (today.isBefore(startDate)) {
+            progress = Progress.NOT_STARTED;
+            progressFraction = 0.0;
+        } else {
+            progress = Progress.PENDING;
+            progressFraction = elapsedFraction(startDate, endDate, today);
+        }
+    }
+
+    private static double elapsedFraction(LocalDate startDate, LocalDate endDate, LocalDate today) {
+        long totalDuration = endDate.toEpochDay() - startDate.toEpochDay();
+        if (totalDuration <= 0) {
+            return 0.5; // Tarefa de um dia ou menos
+        }
+        double fraction = (double) (today.toEpochDay() - startDate.toEpochDay()) / totalDuration;
+        return Math.max(0, Math.min(fraction, 1.0));
+    }
+
+    Task task() {
+        return task;
+    }
+
+    ReadOnlyObjectProperty<DashboardTaskRow> valueProperty() {
+        return value.getReadOnlyProperty();
+    }
+
+    String title() {
+        return task.getTitle();
+    }
+
+    String projectName() {
+        return projectName;
+    }
+
+    String responsibleName() {
+        return responsibleName;
+    }
+
+    String dueDateText() {
+        return dueDateText;
+    }
+
+    String statusText() {
+        return statusText;
+    }
+
+    Deadline deadline() {
+        return deadline;
+    }
+
+    Progress progress() {
+        return progress;
+    }
+
+    double progressFraction() {
+        return progressFraction;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.ui;
+
+import com.example.dao.ChangeEvent;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Mantém a lista de uma tela (ex: a tabela de usuários) em sincronia com o banco a partir das
+ * alterações do {@link ChangeSubscription}: cada registro alterado é relido pelo ID e inserido,
+ * substituído ou removido na lista, em vez de a lista inteira ser recarregada.
+ *
+ * - A lista é recarregada inteira só na abertura da tela, em um {@link ChangeEvent.Kind#RELOAD}
+ *   ou quando um lote traz mais de {@link #MAX_ROW_UPDATES} registros.
+ * - O registro em edição (o selecionado na tabela) não é substituído, para não apagar o que o
+ *   usuário está digitando; ele é relido quando a seleção muda. Se foi alterado por outra
+ *   pessoa, a gravação do formulário recebe o conflito de versão.
+ * - Inserções entram na posição dada pela ordenação da lista.
+ *
+ * Todos os métodos devem ser chamados na thread do JavaFX.
+ *
+ * @param <T> O tipo dos itens.
+ */
+class LiveList<T> {
+
+    /** Acima desta quantidade de registros alterados em um lote, é mais barato recarregar tudo. */
+    static final int MAX_ROW_UPDATES = 50;
+
+    private final ObservableList<T> items;
+    private final ChangeEvent.Entity entity;
+    private final ToIntFunction<T> idOf;
+    private final IntFunction<T> loadById;
+    private final Supplier<List<T>> loadAll;
+    private final Comparator<T> order;
+    private final UiTaskGroup loads;
+    private final ObservableValue<T> editing;
+
+    // Registros alterados enquanto estavam em edição; relidos quando a seleção muda.
+    private final Set<Integer> deferredIds = new LinkedHashSet<>();
+
+    /**
+     * @param items A lista exibida pela tela.
+     * @param entity O tipo de registro da lista.
+     * @param idOf Extrai o ID de um item.
+     * @param loadById Relê um registro pelo ID (null se ele não existir mais). Chamado fora da thread do JavaFX.
+     * @param loadAll Carrega a lista inteira. Chamado fora da thread do JavaFX.
+     * @param order A ordenação da lista, usada para posicionar os registros novos.
+     * @param loads O grupo de consultas da tela.
+     * @param editing O item em edição (em geral, o item selecionado na tabela).
+     */
+    LiveList(ObservableList<T> items, ChangeEvent.Entity entity, ToIntFunction<T> idOf, IntFunction<T> loadById,
+             Supplier<List<T>> loadAll, Comparator<T> order, UiTaskGroup loads, ObservableValue<T> editing) {
+        this.items = items;
+        this.entity = entity;
+        this.idOf = idOf;
+        this.loadById = loadById;
+        this.loadAll = loadAll;
+        this.order = order;
+        this.loads = loads;
+        this.editing = editing;
+
+        editing.addListener((obs, oldItem, newItem) -> {
+            if (!deferredIds.isEmpty()) {
+                Set<Integer> ids = new LinkedHashSet<>(deferredIds);
+                deferredIds.clear();
+                refreshRows(ids);
+            }
+        });
+    }
+
+    /**
+     * Recarrega a lista inteira em segundo plano.
+     */
+    void reload() {
+        deferredIds.clear();
+        loads.submit("live-list-" + entity, loadAll, items::setAll);
+    }
+
+    /**
+     * Aplica as alterações do lote que dizem respeito a esta lista.
+     */
+    void apply(ChangeSubscription.Batch batch) {
+        if (batch.reloads(entity)) {
+            reload();
+            return;
+        }
+        Set<Integer> ids = batch.ids(entity);
+        if (ids.size() > MAX_ROW_UPDATES) {
+            reload();
+        } else if (!ids.isEmpty()) {
+            refreshRows(ids);
+        }
+    }
+
+    /**
+     * Relê os registros em segundo plano e aplica o estado atual de cada um à lista
+     * (ex: após um conflito de versão na gravação).
+     */
+    void refreshRows(Set<Integer> ids) {
+        List<Integer> idList = new ArrayList<>(ids);
+        loads.submit(null, () -> {
+            // HashMap aceita o null dos registros que não existem mais.
+            Map<Integer, T> rows = new HashMap<>();
+            for (Integer id : idList) {
+                rows.put(id, loadById.apply(id));
+            }
+            return rows;
+        }, rows -> rows.forEach(this::applyRow));
+    }
+
+    private void applyRow(int id, T fresh) {
+        T current = editing.getValue();
+        if (fresh != null && current != null && idOf.applyAsInt(current) == id) {
+            deferredIds.add(id);
+            return;
+        }
+        int index = indexOf(id);
+        if (fresh == null) {
+            if (index >= 0) {
+                items.remove(index);
+            }
+            return;
+        }
+        if (index >= 0 && staysInPlace(index, fresh)) {
+            items.set(index, fresh);
+            return;
+        }
+        if (index >= 0) {
+            items.remove(index);
+        }
+        items.add(insertionPoint(fresh), fresh);
+    }
+
+    private int indexOf(int id) {
+        for (int i = 0; i < items.size(); i++) {
+            if (idOf.applyAsInt(items.get(i)) == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean staysInPlace(int index, T fresh) {
+        return (index == 0 || order.compare(items.get(index - 1), fresh) <= 0)
+                && (index == items.size() - 1 || order.compare(fresh, items.get(index + 1)) <= 0);
+    }
+
+    private int insertionPoint(T fresh) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(items.get(mid), fresh) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
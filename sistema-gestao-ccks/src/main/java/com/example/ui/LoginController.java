@@ -1,7 +1,8 @@
 package com.example.ui;
 
-import com.example.dao.UserDAO;
 import com.example.model.User;
+import com.example.service.AuthenticationService;
+import com.example.service.AuthenticationService.AuthResult;
 
 import java.io.IOException;
 import javafx.event.ActionEvent;
@@ -36,8 +37,15 @@ public class LoginController {
     @FXML
     private Label statusLabel; // Usado para exibir mensagens de erro ou status.
 
-    // Instância do DAO para acessar os dados dos usuários.
-    private UserDAO userDAO = new UserDAO();
+    // Serviço que verifica as credenciais fora da thread do JavaFX.
+    private final AuthenticationService authService = AuthenticationService.getInstance();
+    private final UiTaskGroup loads = new UiTaskGroup();
+
+    @FXML
+    public void initialize() {
+        // Impede cliques repetidos enquanto a verificação da senha está em andamento.
+        loginButton.disableProperty().bind(loads.busyProperty());
+    }
 
     /**
      * Método acionado quando o botão de login é clicado.
@@ -51,34 +59,54 @@ public class LoginController {
         String login = loginField.getText();
         String password = passwordField.getText();
 
-        // Chama o método de autenticação do DAO, que verifica as credenciais de forma segura.
-        User user = userDAO.authenticate(login, password);
+        // A verificação BCrypt é cara de propósito: roda no executor do serviço e o resultado
+        // volta para a thread do JavaFX.
+        statusLabel.setText("");
+        Stage currentStage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+        loads.track(null, authService.authenticate(login, password),
+                result -> handleAuthResult(result, currentStage),
+                error -> {
+                    error.printStackTrace();
+                    statusLabel.setText("Erro ao verificar as credenciais.");
+                });
+    }
 
-        // Verifica se o DAO retornou um objeto User (o que significa login bem-sucedido).
-        if (user != null) {
-            // Login bem-sucedido, navega para a tela principal (dashboard).
-            try {
-                // Carrega o FXML da tela principal.
-                Parent mainView = FXMLLoader.load(getClass().getResource("/com/example/ui/MainDashboard.fxml"));
-                Scene mainScene = new Scene(mainView);
+    /**
+     * Trata o resultado da autenticação. Executado na thread do JavaFX.
+     */
+    private void handleAuthResult(AuthResult result, Stage currentStage) {
+        switch (result.status()) {
+            case SUCCESS -> openMainDashboard(result.user(), currentStage);
+            case LOCKED -> statusLabel.setText("Muitas tentativas. Tente novamente em "
+                    + result.retryAfterSeconds() + " s.");
+            case BUSY -> statusLabel.setText("Sistema ocupado. Tente novamente.");
+            default -> statusLabel.setText("Login ou senha inválidos.");
+        }
+    }
+
+    /**
+     * Substitui a tela de login pelo painel principal.
+     * @param user O usuário autenticado.
+     * @param currentStage A janela do login, reaproveitada para o painel.
+     */
+    private void openMainDashboard(User user, Stage currentStage) {
+        // Login bem-sucedido, navega para a tela principal (dashboard).
+        try {
+            // Carrega o FXML da tela principal.
+            Parent mainView = FXMLLoader.load(getClass().getResource("/com/example/ui/MainDashboard.fxml"));
+            Scene mainScene = new Scene(mainView);
 
-                // Obtém a janela (Stage) atual a partir do evento do botão.
-                // Isso permite que a mesma janela seja reutilizada, em vez de abrir uma nova.
-                Stage currentStage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-                
-                // Substitui a cena de login pela cena do painel principal.
-                currentStage.setScene(mainScene);
-                currentStage.setTitle("Painel Principal - " + user.getProfile()); // Atualiza o título da janela.
-                currentStage.centerOnScreen(); // Centraliza a janela na tela.
+            // A janela (Stage) atual foi obtida a partir do evento do botão.
+            // Isso permite que a mesma janela seja reutilizada, em vez de abrir uma nova.
+            // Substitui a cena de login pela cena do painel principal.
+            currentStage.setScene(mainScene);
+            currentStage.setTitle("Painel Principal - " + user.getProfile()); // Atualiza o título da janela.
+            currentStage.centerOnScreen(); // Centraliza a janela na tela.
 
-            } catch (IOException e) {
-                // Se o arquivo FXML do dashboard não puder ser carregado, exibe um erro.
-                e.printStackTrace();
-                statusLabel.setText("Erro ao carregar a tela principal.");
-            }
-        } else {
-            // Se o DAO retornou null, as credenciais estão incorretas.
-            statusLabel.setText("Login ou senha inválidos.");
+        } catch (IOException e) {
+            // Se o arquivo FXML do dashboard não puder ser carregado, exibe um erro.
+            e.printStackTrace();
+            statusLabel.setText("Erro ao carregar a tela principal.");
         }
     }
 }
\ No newline at end of file
@@ -1,27 +1,43 @@
 package com.example.ui;
 
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
+import com.example.dao.DashboardDAO;
 import com.example.dao.ProjectDAO;
-import com.example.dao.TeamDAO;
+import com.example.dao.QueryFanOut;
 import com.example.dao.TaskDAO;
+import com.example.model.DashboardSnapshot;
+import com.example.model.DashboardSnapshot.ProjectTaskCounts;
+import com.example.model.DashboardSnapshot.TeamMemberCount;
 import com.example.model.Project;
-import com.example.model.ProjectStatus;
 import com.example.model.User;
-import com.example.model.Team;
 import com.example.model.Task;
 import com.example.model.TaskStatus;
+import com.example.service.JobScheduler;
+import com.example.service.KpiEngine;
+import com.example.service.StatusRollupJob;
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.layout.VBox;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.PieChart;
@@ -35,11 +51,11 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.chart.StackedBarChart;
 import javafx.scene.Scene;
 import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 import com.example.dao.UserDAO;
 import javafx.scene.paint.Color;
 import javafx.stage.Modality;
@@ -65,28 +81,28 @@ public class MainDashboardController {
     private Label totalTeamsLabel;
 
     @FXML
-    private TableView<Task> tasksTableView;
+    private TableView<DashboardTaskRow> tasksTableView;
 
     @FXML
-    private TableColumn<Task, String> taskTitleColumn;
+    private TableColumn<DashboardTaskRow, DashboardTaskRow> taskTitleColumn;
 
     @FXML
-    private TableColumn<Task, String> taskProjectColumn;
+    private TableColumn<DashboardTaskRow, DashboardTaskRow> taskProjectColumn;
 
     @FXML
-    private TableColumn<Task, LocalDate> taskDueDateColumn;
+    private TableColumn<DashboardTaskRow, DashboardTaskRow> taskDueDateColumn;
 
     @FXML
-    private TableColumn<Task, String> taskDeadlineStatusColumn;
+    private TableColumn<DashboardTaskRow, DashboardTaskRow> taskDeadlineStatusColumn;
 
     @FXML
-    private TableColumn<Task, TaskStatus> taskStatusColumn;
+    private TableColumn<DashboardTaskRow, DashboardTaskRow> taskStatusColumn;
 
     @FXML
-    private TableColumn<Task, String> taskResponsibleColumn;
+    private TableColumn<DashboardTaskRow, DashboardTaskRow> taskResponsibleColumn;
 
     @FXML
-    private TableColumn<Task, Void> taskProgressColumn;
+    private TableColumn<DashboardTaskRow, DashboardTaskRow> taskProgressColumn;
 
     @FXML
     private StackedBarChart<String, Number> tasksByProjectChart;
@@ -100,11 +116,65 @@ public class MainDashboardController {
     @FXML
     private PieChart teamsPieChart;
 
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
     // --- DAOs para acesso a dados ---
-    private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
-    private final TeamDAO teamDAO = new TeamDAO();
-    private final UserDAO userDAO = new UserDAO();
+    private final DashboardDAO dashboardDAO = new DashboardDAO();
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final UserDAO userDAO = DAOFactory.getUserDAO();
+
+    // Cargas do dashboard em segundo plano; a thread do JavaFX nunca espera pelo banco.
+    private final UiTaskGroup loads = new UiTaskGroup();
+
+    // Tempo limite de cada consulta do dashboard.
+    private static final Duration QUERY_TIMEOUT = Duration.ofSeconds(10);
+
+    // Tarefas com prazo nos próximos dias (mesmo limite de TaskDAO.getUpcomingAndOverdueTasks).
+    private static final int UPCOMING_DAYS = 7;
+
+    // Nomes exibidos nas colunas de projeto e responsável da tabela.
+    private Map<Integer, String> projectNames = Map.of();
+    private Map<Integer, String> userNames = Map.of();
+
+    // Mantém a tabela de tarefas em dia com as alterações gravadas, sem recarregá-la inteira.
+    private LiveList<DashboardTaskRow> upcomingTasks;
+    // Data usada nas linhas da tabela (progresso dos prazos); avança com rollOverDay.
+    private LocalDate rowsDate = LocalDate.now();
+    private ChangeSubscription changes;
+
+    // Indicadores mantidos a cada tarefa ou projeto alterado (null até a primeira carga terminar).
+    // Usado só na thread do JavaFX.
+    private KpiEngine kpis;
+    private List<TeamMemberCount> teamMembers = List.of();
+
+    // Projetos alterados (staleProjects) e projetos com tarefas alteradas (staleCounts) ainda não
+    // relidos. Enquanto uma carga completa dos indicadores está a caminho (kpisLoading), eles só se
+    // acumulam: a carga pode ter lido o banco antes dessas alterações, então são relidos depois dela.
+    private final Set<Integer> staleProjects = new LinkedHashSet<>();
+    private final Set<Integer> staleCounts = new LinkedHashSet<>();
+    private boolean kpisLoading;
+    // Identifica a carga completa mais recente; as anteriores que chegarem depois são ignoradas.
+    private int kpiLoadGeneration;
+
+    // Confere a mudança de data a cada minuto: à meia-noite, a janela de prazos da tabela avança.
+    // (As tarefas que passam a atrasar chegam pelo ChangeFeed, marcadas pelo StatusRollupJob.)
+    private final Timeline dayRollover = new Timeline(
+            new KeyFrame(javafx.util.Duration.minutes(1), event -> rollOverDay()));
+
+    /**
+     * Tudo o que o dashboard exibe, carregado de uma vez fora da thread do JavaFX.
+     */
+    private record DashboardData(KpiEngine kpis, List<TeamMemberCount> teamMembers, List<User> allUsers,
+                                 List<DashboardTaskRow> upcomingTasks) {
+    }
+
+    /**
+     * Contagens recontadas e estado atual dos projetos alterados (null para os excluídos).
+     */
+    private record KpiChanges(Map<Integer, ProjectTaskCounts> counts, Map<Integer, Project> projects) {
+    }
 
     /**
      * Método de inicialização do controlador.
@@ -113,6 +183,8 @@ public class MainDashboardController {
      */
     @FXML
     public void initialize() {
+        loadingIndicator.visibleProperty().bind(loads.busyProperty());
+
         // Configurações visuais para limpar o gráfico de barras
         tasksByProjectChart.setAnimated(false);
         tasksByProjectChart.setVerticalGridLinesVisible(false);
@@ -126,17 +198,209 @@ public class MainDashboardController {
                 plotContent.setStyle("-fx-padding: 20px 5px 5px 5px;");
             }
         });
+
+        setupTaskTable();
+
+        // A tabela só exibe tarefas não concluídas com prazo até UPCOMING_DAYS dias à frente;
+        // uma tarefa relida que saiu desse filtro é removida da tabela.
+        upcomingTasks = new LiveList<>(tasksTableView.getItems(), ChangeEvent.Entity.TASK,
+                row -> row.task().getId(),
+                id -> {
+                    Task task = taskDAO.getTaskById(id);
+                    return isUpcoming(task) ? new DashboardTaskRow(task) : null;
+                },
+                MainDashboardController::loadUpcomingRows,
+                Comparator.comparing(row -> row.task().getPlannedEndDate()),
+                loads, new SimpleObjectProperty<>()); // O dashboard não edita tarefas.
         loadDashboardData();
+        // O dashboard fica aberto durante toda a execução, então a inscrição nunca é encerrada.
+        changes = ChangeSubscription.open(this::applyChanges);
+        dayRollover.setCycleCount(Timeline.INDEFINITE);
+        dayRollover.play();
+    }
+
+    /**
+     * Aplica as alterações gravadas (nas janelas de gerenciamento ou por outros usuários):
+     * - Tarefas alteradas são relidas uma a uma e entram, mudam de lugar ou saem da tabela.
+     * - Os indicadores e gráficos são ajustados pelo {@link KpiEngine}, recontando só os projetos
+     *   das tarefas alteradas e relendo os projetos alterados.
+     * - Alterações de equipes (e de usuários, que podem sair das equipes) recontam só os membros.
+     * - Alterações de usuários recarregam os nomes dos responsáveis.
+     */
+    private void applyChanges(ChangeSubscription.Batch batch) {
+        upcomingTasks.apply(batch);
+        // Excluir um projeto exclui as tarefas dele (ON DELETE CASCADE), sem eventos por tarefa.
+        if (batch.has(ChangeEvent.Entity.PROJECT, ChangeEvent.Kind.DELETE) || batch.reloads(ChangeEvent.Entity.PROJECT)) {
+            upcomingTasks.reload();
+        }
+        if (batch.touches(ChangeEvent.Entity.TASK) || batch.touches(ChangeEvent.Entity.PROJECT)) {
+            applyKpiChanges(batch);
+        }
+        if (batch.touches(ChangeEvent.Entity.TEAM) || batch.touches(ChangeEvent.Entity.USER)) {
+            loads.submit("teams", dashboardDAO::getTeamMemberCounts, counts -> {
+                teamMembers = counts;
+                showKpis();
+            });
+        }
+        if (batch.touches(ChangeEvent.Entity.USER)) {
+            loads.submit("users", userDAO::getAllUsers, allUsers -> {
+                setNames(projectNames, allUsers.stream().collect(Collectors.toMap(User::getId, User::getFullName)));
+            });
+        }
+    }
+
+    /**
+     * Reconta as tarefas dos projetos afetados pelo lote e relê os projetos alterados, aplicando-os
+     * ao {@link KpiEngine}. Importações em massa (RELOAD) e lotes grandes recarregam os indicadores
+     * inteiros (a partir das contagens agregadas no banco).
+     */
+    private void applyKpiChanges(ChangeSubscription.Batch batch) {
+        if (batch.reloads(ChangeEvent.Entity.TASK) || batch.reloads(ChangeEvent.Entity.PROJECT)) {
+            reloadKpis();
+            return;
+        }
+        Set<Integer> projectIds = batch.ids(ChangeEvent.Entity.PROJECT);
+        staleProjects.addAll(projectIds);
+        staleCounts.addAll(projectIds);
+        staleCounts.addAll(batch.taskProjectIds());
+        if (kpis == null && !kpisLoading) {
+            // A primeira carga falhou: tenta de novo.
+            loadDashboardData();
+        } else if (staleCounts.size() > LiveList.MAX_ROW_UPDATES) {
+            reloadKpis();
+        } else {
+            refreshStaleProjects();
+        }
+    }
+
+    /**
+     * Reconta e relê os projetos pendentes. Cada pedido substitui o anterior ainda em andamento
+     * (mesma chave) e inclui todos os projetos dele, que só saem dos pendentes quando aplicados.
+     */
+    private void refreshStaleProjects() {
+        if (kpis == null || kpisLoading || staleCounts.isEmpty()) {
+            return;
+        }
+        KpiEngine engine = kpis;
+        List<Integer> countIds = List.copyOf(staleCounts);
+        List<Integer> projectIds = List.copyOf(staleProjects);
+        loads.submit("kpiProjects", () -> {
+            Map<Integer, ProjectTaskCounts> counts = dashboardDAO.getProjectTaskCounts(countIds);
+            if (counts == null) {
+                return null;
+            }
+            // HashMap aceita o null dos projetos que não existem mais.
+            Map<Integer, Project> projects = new HashMap<>();
+            for (Integer id : projectIds) {
+                projects.put(id, projectDAO.getProjectById(id));
+            }
+            return new KpiChanges(counts, projects);
+        }, changed -> {
+            if (kpis != engine) {
+                // Uma carga completa chegou no meio do caminho: relê o que ainda estiver pendente.
+                refreshStaleProjects();
+                return;
+            }
+            if (changed == null) {
+                // As contagens não puderam ser lidas: só a carga completa acerta os indicadores.
+                reloadKpis();
+                return;
+            }
+            staleCounts.removeAll(countIds);
+            staleProjects.removeAll(projectIds);
+            changed.projects().forEach((id, project) -> {
+                if (project == null) {
+                    kpis.removeProject(id);
+                } else {
+                    kpis.putProject(project);
+                }
+            });
+            for (Integer id : countIds) {
+                ProjectTaskCounts counts = changed.counts().get(id);
+                if (counts == null) {
+                    kpis.removeProject(id);
+                } else {
+                    kpis.putProjectCounts(counts);
+                }
+            }
+            showKpis();
+        });
+    }
+
+    private void reloadKpis() {
+        int generation = startKpiLoad();
+        loads.submit("kpis", () -> KpiEngine.load(dashboardDAO, projectDAO),
+                engine -> finishKpiLoad(generation, engine),
+                error -> {
+                    error.printStackTrace();
+                    finishKpiLoad(generation, null);
+                });
+    }
+
+    /**
+     * Marca o início de uma carga completa dos indicadores. O que estava pendente será lido por ela.
+     * @return O número da carga, para {@link #finishKpiLoad}.
+     */
+    private int startKpiLoad() {
+        kpisLoading = true;
+        staleProjects.clear();
+        staleCounts.clear();
+        return ++kpiLoadGeneration;
+    }
+
+    /**
+     * Aplica uma carga completa (engine null se ela falhou) e relê o que mudou enquanto ela rodava.
+     */
+    private void finishKpiLoad(int generation, KpiEngine engine) {
+        if (generation != kpiLoadGeneration) {
+            // Uma carga mais recente está a caminho.
+            return;
+        }
+        kpisLoading = false;
+        if (engine != null) {
+            kpis = engine;
+        }
+        showKpis();
+        refreshStaleProjects();
+    }
+
+    /**
+     * Acionado a cada minuto: na virada do dia, recarrega a tabela de prazos, cuja janela de dias
+     * avançou. O atraso das tarefas não é recalculado aqui: o StatusRollupJob o grava e publica.
+     */
+    private void rollOverDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(rowsDate)) {
+            rowsDate = today;
+            upcomingTasks.reload();
+        }
+    }
+
+    private void showKpis() {
+        if (kpis != null) {
+            showSnapshot(kpis.snapshot(teamMembers));
+        }
+    }
+
+    private static List<DashboardTaskRow> loadUpcomingRows() {
+        return DAOFactory.getTaskDAO().getUpcomingAndOverdueTasks().stream().map(DashboardTaskRow::new).toList();
+    }
+
+    private static boolean isUpcoming(Task task) {
+        return task != null && task.getStatus() != TaskStatus.CONCLUIDA && task.getPlannedEndDate() != null
+                && !task.getPlannedEndDate().isAfter(LocalDate.now().plusDays(UPCOMING_DAYS));
     }
 
     /**
      * Método acionado pelo botão "Atualizar Dashboard".
-     * Recarrega todos os dados do dashboard para refletir quaisquer alterações
-     * feitas no banco de dados.
+     * Recarrega todos os dados do dashboard (inclusive os indicadores, recontados a partir do
+     * banco) para refletir quaisquer alterações feitas no banco de dados, e pede a consolidação
+     * do atraso e dos status; o que ela alterar chega depois pelo ChangeFeed.
      * @param event O evento de ação gerado pelo clique no botão.
      */
     @FXML
     void handleRefreshAction(ActionEvent event) {
+        JobScheduler.runNow(StatusRollupJob.NAME);
         loadDashboardData();
     }
 
@@ -171,6 +435,21 @@ public class MainDashboardController {
         openModalWindow("/com/example/ui/TaskManagement.fxml", "Gerenciamento de Tarefas");
     }
 
+    @FXML
+    void handleTimelineAction(ActionEvent event) {
+        openModalWindow("/com/example/ui/Timeline.fxml", "Linha do Tempo");
+    }
+
+    @FXML
+    void handleAllocationHeatmapAction(ActionEvent event) {
+        openModalWindow("/com/example/ui/AllocationHeatmap.fxml", "Mapa de Alocação");
+    }
+
+    @FXML
+    void handleProgressHistoryAction(ActionEvent event) {
+        openModalWindow("/com/example/ui/ProgressHistory.fxml", "Evolução dos Projetos");
+    }
+
     /**
      * Método auxiliar para abrir uma nova janela modal.
      * Refatora a lógica repetitiva de carregar FXML e criar um novo Stage.
@@ -195,216 +474,224 @@ public class MainDashboardController {
             // O método showAndWait() bloqueia a execução até que a janela modal seja fechada.
             stage.showAndWait();
 
-            // Após o fechamento da janela modal, os dados do dashboard são recarregados automaticamente.
-            loadDashboardData();
+            // Consultas da janela que ainda estejam em andamento não têm mais onde ser exibidas.
+            if (loader.getController() instanceof AsyncController asyncController) {
+                asyncController.cancelPendingTasks();
+            }
+
+            // O dashboard já foi atualizado pelo ChangeFeed durante o uso da janela.
         } catch (IOException e) {
          e.printStackTrace();
         }
     }
 
     /**
-     * Carrega os dados dos DAOs e popula os componentes do dashboard.
+     * Carrega os dados dos DAOs em segundo plano e, quando chegarem, popula os componentes do dashboard.
+     * Se uma carga anterior ainda estiver em andamento, ela é cancelada e só a mais recente é exibida.
      */
     private void loadDashboardData() {
-        // Carrega todos os projetos e tarefas para os cálculos
-        List<Team> allTeams = teamDAO.getAllTeams();
-        List<Project> allProjects = projectDAO.getAllProjects();
-        List<Task> allTasks = taskDAO.getAllTasks();
-        List<User> allUsers = userDAO.getAllUsers();
-
-        // --- Popula os cartões de resumo ---
-        long inProgressProjects = allProjects.stream()
-                .filter(p -> p.getStatus() == ProjectStatus.EM_ANDAMENTO)
-                .count();
-        inProgressProjectsLabel.setText(String.valueOf(inProgressProjects));
-
-        long pendingTasks = allTasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.PENDENTE)
-                .count();
-        pendingTasksLabel.setText(String.valueOf(pendingTasks));
-
-        long overdueTasks = allTasks.stream()
-                .filter(t -> t.getStatus() != TaskStatus.CONCLUIDA && t.getPlannedEndDate() != null && t.getPlannedEndDate().isBefore(LocalDate.now()))
-                .count();
-        overdueTasksLabel.setText(String.valueOf(overdueTasks));
-        
-        long completedTasks = allTasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.CONCLUIDA)
-                .count();
-        // O fx:id "totalTeamsLabel" foi reutilizado para exibir as tarefas concluídas.
-        totalTeamsLabel.setText(String.valueOf(completedTasks));
-
-        // --- Popula a Tabela de Tarefas ---
-        // Cria um mapa de ID do Projeto para Nome do Projeto para consulta rápida
-        Map<Integer, String> projectNames = allProjects.stream()
-                .collect(Collectors.toMap(Project::getId, Project::getName));
+        // Os indicadores e gráficos vêm do KpiEngine, carregado aqui das contagens agregadas no banco
+        // e depois mantido recontando só os projetos alterados (applyChanges).
+        // As consultas são independentes e rodam ao mesmo tempo, cada uma com sua conexão;
+        // se uma falhar (ou estourar o tempo limite), as outras são canceladas.
+        QueryFanOut fanOut = new QueryFanOut("dashboard", QUERY_TIMEOUT);
+        CompletableFuture<KpiEngine> engine = fanOut.fork("kpis", () -> KpiEngine.load(dashboardDAO, projectDAO));
+        CompletableFuture<List<TeamMemberCount>> teams = fanOut.fork("teams", dashboardDAO::getTeamMemberCounts);
+        CompletableFuture<List<User>> users = fanOut.fork("users", userDAO::getAllUsers);
+        CompletableFuture<List<DashboardTaskRow>> upcoming = fanOut.fork("upcomingTasks",
+                MainDashboardController::loadUpcomingRows);
+
+        int generation = startKpiLoad();
+        loads.track("dashboard",
+                fanOut.join(() -> new DashboardData(engine.join(), teams.join(), users.join(), upcoming.join())),
+                data -> showDashboardData(data, generation),
+                error -> {
+                    // Mantém os dados exibidos anteriormente; o erro fica registrado no console.
+                    System.err.println("Falha ao carregar o dashboard: " + error);
+                    error.printStackTrace();
+                    finishKpiLoad(generation, null);
+                });
+    }
 
+    /**
+     * Popula os componentes do dashboard. Executado na thread do JavaFX.
+     * @param data Os dados carregados por {@link #loadDashboardData()}.
+     * @param generation O número da carga dos indicadores (ver {@link #startKpiLoad()}).
+     */
+    private void showDashboardData(DashboardData data, int generation) {
+        teamMembers = data.teamMembers();
         // Cria um mapa de ID do Usuário para Nome do Usuário para consulta rápida
-        Map<Integer, String> userNames = allUsers.stream()
+        userNames = data.allUsers().stream()
                 .collect(Collectors.toMap(User::getId, User::getFullName));
+        finishKpiLoad(generation, data.kpis());
 
-        // Configura as colunas da tabela
-        taskTitleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
-        taskDueDateColumn.setCellValueFactory(new PropertyValueFactory<>("plannedEndDate"));
-        taskStatusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
-
-        // Centraliza o conteúdo das colunas da tabela de tarefas
-        taskTitleColumn.setStyle("-fx-alignment: CENTER;");
-        taskProjectColumn.setStyle("-fx-alignment: CENTER;");
-        taskResponsibleColumn.setStyle("-fx-alignment: CENTER;");
-        taskDueDateColumn.setStyle("-fx-alignment: CENTER;");
-        taskDeadlineStatusColumn.setStyle("-fx-alignment: CENTER;");
-        taskStatusColumn.setStyle("-fx-alignment: CENTER;");
-
-        // Para o nome do projeto, usamos uma CellValueFactory customizada para buscar o nome a partir do ID
-        taskProjectColumn.setCellValueFactory(cellData -> {
-            Task task = cellData.getValue();
-            String projectName = projectNames.getOrDefault(task.getProjectId(), "Projeto não encontrado");
-            return new SimpleStringProperty(projectName);
-        });
-
-        // Para o nome do responsável, usamos uma CellValueFactory customizada para buscar o nome a partir do ID
-        taskResponsibleColumn.setCellValueFactory(cellData -> {
-            Task task = cellData.getValue();
-            String responsibleName = userNames.getOrDefault(task.getResponsibleId(), "Não atribuído");
-            return new SimpleStringProperty(responsibleName);
-        });
-
-        // Coluna customizada para exibir a situação do prazo (Atraso/No prazo)
-        taskDeadlineStatusColumn.setCellFactory(column -> new TableCell<Task, String>() {
-            @Override
-            protected void updateItem(String item, boolean empty) {
-                super.updateItem(item, empty);
+        // Exibe as tarefas com prazo próximo ou atrasadas na tabela
+        tasksTableView.getItems().setAll(data.upcomingTasks());
+    }
 
-                // Limpa a célula se estiver vazia ou se não houver tarefa na linha
-                if (empty || getTableRow() == null || getTableRow().getItem() == null) {
-                    setText(null);
-                    setStyle("");
-                } else {
-                    Task task = getTableRow().getItem();
-                    LocalDate dueDate = task.getPlannedEndDate();
-
-                    // A lógica só se aplica a tarefas não concluídas que possuem um prazo definido
-                    if (task.getStatus() != TaskStatus.CONCLUIDA && dueDate != null) {
-                        if (dueDate.isBefore(LocalDate.now())) {
-                            setText("Atraso");
-                            setTextFill(javafx.scene.paint.Color.RED);
-                        } else {
-                            setText("No prazo");
-                            setTextFill(javafx.scene.paint.Color.DARKGREEN);
-                        }
-                    } else {
-                        setText(""); // Não exibe nada para tarefas concluídas ou sem prazo
-                    }
+    /**
+     * Configura a tabela de tarefas uma única vez. Cada coluna recebe a própria linha
+     * ({@link DashboardTaskRow}) e as células exibem os valores já calculados nela.
+     */
+    private void setupTaskTable() {
+        for (TableColumn<DashboardTaskRow, DashboardTaskRow> column : List.of(taskTitleColumn, taskProjectColumn,
+                taskResponsibleColumn, taskDueDateColumn, taskDeadlineStatusColumn, taskStatusColumn, taskProgressColumn)) {
+            column.setCellValueFactory(cellData -> cellData.getValue().valueProperty());
+        }
+        taskTitleColumn.setCellFactory(column -> new RowTextCell(DashboardTaskRow::title));
+        taskProjectColumn.setCellFactory(column -> new RowTextCell(DashboardTaskRow::projectName));
+        taskResponsibleColumn.setCellFactory(column -> new RowTextCell(DashboardTaskRow::responsibleName));
+        taskDueDateColumn.setCellFactory(column -> new RowTextCell(DashboardTaskRow::dueDateText));
+        taskStatusColumn.setCellFactory(column -> new RowTextCell(DashboardTaskRow::statusText));
+        taskDeadlineStatusColumn.setCellFactory(column -> new DeadlineCell());
+        taskProgressColumn.setCellFactory(column -> new ProgressCell());
+
+        // Calcula os valores de cada linha quando ela entra na tabela (carga inicial ou alteração).
+        tasksTableView.getItems().addListener((ListChangeListener<DashboardTaskRow>) change -> {
+            while (change.next()) {
+                for (DashboardTaskRow row : change.getAddedSubList()) {
+                    row.update(rowsDate, projectNames, userNames);
                 }
             }
         });
+    }
+
+    /**
+     * Troca os nomes exibidos e recalcula as linhas, se algum nome mudou.
+     */
+    private void setNames(Map<Integer, String> newProjectNames, Map<Integer, String> newUserNames) {
+        if (newProjectNames.equals(projectNames) && newUserNames.equals(userNames)) {
+            return;
+        }
+        projectNames = newProjectNames;
+        userNames = newUserNames;
+        for (DashboardTaskRow row : tasksTableView.getItems()) {
+            row.update(rowsDate, projectNames, userNames);
+        }
+        tasksTableView.refresh();
+    }
 
-        // Configura a coluna de progresso para exibir uma barra colorida
-        taskProgressColumn.setCellFactory(param -> new TableCell<Task, Void>() {
-            private final ProgressBar progressBar = new ProgressBar();
-            private final VBox container = new VBox(progressBar);
+    /**
+     * Célula de texto que copia um valor já calculado da linha.
+     */
+    private static class RowTextCell extends TableCell<DashboardTaskRow, DashboardTaskRow> {
+        private final Function<DashboardTaskRow, String> text;
+
+        RowTextCell(Function<DashboardTaskRow, String> text) {
+            this.text = text;
+        }
+
+        @Override
+        protected void updateItem(DashboardTaskRow row, boolean empty) {
+            super.updateItem(row, empty);
+            setText(empty || row == null ? null : text.apply(row));
+        }
+    }
+
+    /**
+     * Coluna "Situação Prazo": o texto e a cor (pseudo-classes :overdue e :on-time) vêm da linha.
+     */
+    private static class DeadlineCell extends RowTextCell {
+        private DashboardTaskRow.Deadline shown = DashboardTaskRow.Deadline.NONE;
+
+        DeadlineCell() {
+            super(row -> row.deadline().text);
+        }
+
+        @Override
+        protected void updateItem(DashboardTaskRow row, boolean empty) {
+            super.updateItem(row, empty);
+            show(empty || row == null ? DashboardTaskRow.Deadline.NONE : row.deadline());
+        }
 
-            {
-                // Centraliza a barra de progresso na célula
-                container.setAlignment(Pos.CENTER);
-                progressBar.setMaxWidth(Double.MAX_VALUE);
+        private void show(DashboardTaskRow.Deadline deadline) {
+            if (deadline == shown) {
+                return;
+            }
+            if (shown.pseudoClass != null) {
+                pseudoClassStateChanged(shown.pseudoClass, false);
             }
+            if (deadline.pseudoClass != null) {
+                pseudoClassStateChanged(deadline.pseudoClass, true);
+            }
+            shown = deadline;
+        }
+    }
 
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
+    /**
+     * Coluna "Progresso": uma barra cuja fração e cor (pseudo-classes de
+     * {@link DashboardTaskRow.Progress}) vêm da linha. A barra é criada uma vez por célula.
+     */
+    private static class ProgressCell extends TableCell<DashboardTaskRow, DashboardTaskRow> {
+        private final ProgressBar progressBar = new ProgressBar();
+        private final VBox container = new VBox(progressBar);
+        private DashboardTaskRow.Progress shown = DashboardTaskRow.Progress.NONE;
+
+        ProgressCell() {
+            // Centraliza a barra de progresso na célula
+            container.setAlignment(Pos.CENTER);
+            progressBar.setMaxWidth(Double.MAX_VALUE);
+        }
 
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    Task task = getTableView().getItems().get(getIndex());
-                    // Só exibe a barra se a tarefa e suas datas planejadas existirem
-                    if (task != null && task.getPlannedStartDate() != null && task.getPlannedEndDate() != null) {
-                        LocalDate now = LocalDate.now();
-                        LocalDate startDate = task.getPlannedStartDate();
-                        LocalDate endDate = task.getPlannedEndDate();
-
-                        double progress = 0.0;
-                        String style = "";
-
-                        // A lógica de cores agora prioriza o STATUS da tarefa.
-                        if (task.getStatus() == TaskStatus.CONCLUIDA) {
-                            progress = 1.0;
-                            style = "-fx-accent: #27ae60;"; // Verde para concluído
-                        } else if (task.getStatus() == TaskStatus.EM_EXECUCAO) {
-                            // Se está em execução, a cor é verde, e o progresso é calculado com base no tempo.
-                            long totalDuration = endDate.toEpochDay() - startDate.toEpochDay();
-                            long elapsedDuration = now.toEpochDay() - startDate.toEpochDay();
-
-                            if (totalDuration > 0) {
-                                progress = (double) elapsedDuration / totalDuration;
-                            } else { // Tarefa de um dia ou menos
-                                progress = 0.5;
-                            }
-                            progress = Math.max(0, Math.min(progress, 1.0));
-                            style = "-fx-accent: #2ecc71;"; // Verde para futuro
-                        } else if (task.getStatus() == TaskStatus.PENDENTE) {
-                            // Para tarefas pendentes, a cor depende da data.
-                            if (now.isAfter(endDate)) {
-                                progress = 1.0;
-                                style = "-fx-accent: #e74c3c;"; // Vermelho para atrasado
-                            } else if (now.isBefore(startDate)) {
-                                progress = 0.0;
-                                style = "-fx-accent: #bdc3c7;"; // Cinza para futuro/pendente
-                            } else { // Pendente e no prazo
-                                long totalDuration = endDate.toEpochDay() - startDate.toEpochDay();
-                                long elapsedDuration = now.toEpochDay() - startDate.toEpochDay();
-                                if (totalDuration > 0) {
-                                    progress = (double) elapsedDuration / totalDuration;
-                                } else {
-                                    progress = 0.5;
-                                }
-                                progress = Math.max(0, Math.min(progress, 1.0));
-                                style = "-fx-accent: #f1c40f;"; // Amarelo para pendente
-                            }
-                        }
-
-                        progressBar.setProgress(progress);
-                        progressBar.setStyle(style);
-                        setGraphic(container);
-                    } else {
-                        setGraphic(null); // Não mostra a barra se as datas não estiverem definidas
-                    }
+        @Override
+        protected void updateItem(DashboardTaskRow row, boolean empty) {
+            super.updateItem(row, empty);
+            // Não mostra a barra se as datas não estiverem definidas
+            if (empty || row == null || row.progress() == DashboardTaskRow.Progress.NONE) {
+                setGraphic(null);
+                return;
+            }
+            if (row.progress() != shown) {
+                if (shown.pseudoClass != null) {
+                    progressBar.pseudoClassStateChanged(shown.pseudoClass, false);
                 }
+                progressBar.pseudoClassStateChanged(row.progress().pseudoClass, true);
+                shown = row.progress();
             }
-        });
+            progressBar.setProgress(row.progressFraction());
+            setGraphic(container);
+        }
+    }
 
-        // Carrega as tarefas com prazo próximo ou atrasadas e as exibe na tabela
-        List<Task> upcomingTasks = taskDAO.getUpcomingAndOverdueTasks();
-        tasksTableView.getItems().setAll(upcomingTasks);
+    /**
+     * Popula os cartões de resumo, os nomes dos projetos e os gráficos. Executado na thread do JavaFX.
+     * @param snapshot Os indicadores agregados no banco.
+     */
+    private void showSnapshot(DashboardSnapshot snapshot) {
+        // --- Popula os cartões de resumo ---
+        inProgressProjectsLabel.setText(String.valueOf(snapshot.inProgressProjects()));
+        pendingTasksLabel.setText(String.valueOf(snapshot.pendingTasks()));
+        overdueTasksLabel.setText(String.valueOf(snapshot.overdueTasks()));
+        // O fx:id "totalTeamsLabel" foi reutilizado para exibir as tarefas concluídas.
+        totalTeamsLabel.setText(String.valueOf(snapshot.completedTasks()));
+
+        // Cria um mapa de ID do Projeto para Nome do Projeto para consulta rápida
+        // A matriz do snapshot já traz todos os projetos, inclusive os sem tarefas.
+        setNames(snapshot.tasksByProject().stream()
+                .collect(Collectors.toMap(ProjectTaskCounts::projectId, ProjectTaskCounts::projectName)), userNames);
 
         // --- Popula o Gráfico de Pizza de Equipes ---
-        loadTeamsPieChartData(allTeams);
+        loadTeamsPieChartData(snapshot.teamMembers());
         // --- Popula o Gráfico de Barras de Tarefas por Projeto ---
-        loadTasksByProjectChartData(allProjects, allTasks);
+        loadTasksByProjectChartData(snapshot.tasksByProject());
     }
 
     /**
      * Carrega os dados das equipes e popula o gráfico de pizza.
-     * @param allTeams A lista de equipes já carregada.
+     * @param teamMembers A contagem de membros de cada equipe, já agregada no banco.
      */
-    private void loadTeamsPieChartData(List<Team> allTeams) {
-        if (allTeams.isEmpty()) {
+    private void loadTeamsPieChartData(List<TeamMemberCount> teamMembers) {
+        if (teamMembers.isEmpty()) {
             teamsPieChart.setTitle("Nenhuma equipe cadastrada");
             teamsPieChart.setData(FXCollections.observableArrayList());
             return;
         }
 
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
-        for (Team team : allTeams) {
-            // Para cada equipe, busca o número de membros.
-            // Nota: Isso gera uma consulta ao banco para cada equipe.
-            // Para um grande número de equipes, otimizar com uma única query seria ideal.
-            int memberCount = teamDAO.getTeamMembers(team.getId()).size();
+        for (TeamMemberCount team : teamMembers) {
             // Formata o rótulo para incluir o nome da equipe e a contagem de membros.
-            String label = String.format("%s (%d)", team.getName(), memberCount);
-            pieChartData.add(new PieChart.Data(label, memberCount));
+            String label = String.format("%s (%d)", team.teamName(), team.members());
+            pieChartData.add(new PieChart.Data(label, team.members()));
         }
 
         teamsPieChart.setData(pieChartData);
@@ -414,10 +701,9 @@ public class MainDashboardController {
 
     /**
      * Carrega os dados de tarefas por projeto e popula o gráfico de barras.
-     * @param allProjects A lista de todos os projetos.
-     * @param allTasks A lista de todas as tarefas.
+     * @param tasksByProject A matriz projeto × status, já agregada no banco.
      */
-    private void loadTasksByProjectChartData(List<Project> allProjects, List<Task> allTasks) {
+    private void loadTasksByProjectChartData(List<ProjectTaskCounts> tasksByProject) {
         // Define as séries para cada status de tarefa
         XYChart.Series<String, Number> pendingSeries = new XYChart.Series<>();
         pendingSeries.setName("Pendente");
@@ -428,38 +714,29 @@ public class MainDashboardController {
         XYChart.Series<String, Number> completedSeries = new XYChart.Series<>();
         completedSeries.setName("Concluída");
 
-        // Agrupa as tarefas por projeto e, em seguida, por status, contando cada grupo.
-        Map<Integer, Map<TaskStatus, Long>> tasksByProjectAndStatus = allTasks.stream()
-                .collect(Collectors.groupingBy(
-                    Task::getProjectId,
-                    Collectors.groupingBy(Task::getStatus, Collectors.counting())
-                ));
-
         long maxTasksInSingleProject = 0;
 
         // Itera sobre todos os projetos para popular as séries
-        for (Project project : allProjects) {
-            Map<TaskStatus, Long> statusCounts = tasksByProjectAndStatus.getOrDefault(project.getId(), Collections.emptyMap());
-
-            long pendingCount = statusCounts.getOrDefault(TaskStatus.PENDENTE, 0L);
-            long inProgressCount = statusCounts.getOrDefault(TaskStatus.EM_EXECUCAO, 0L);
-            long completedCount = statusCounts.getOrDefault(TaskStatus.CONCLUIDA, 0L);
+        for (ProjectTaskCounts project : tasksByProject) {
+            long pendingCount = project.pending();
+            long inProgressCount = project.inProgress();
+            long completedCount = project.completed();
 
             // Calcula o total de tarefas do projeto para ajustar a escala do eixo Y
-            long totalForProject = pendingCount + inProgressCount + completedCount;
+            long totalForProject = project.total();
             if (totalForProject > maxTasksInSingleProject) {
                 maxTasksInSingleProject = totalForProject;
             }
 
-            XYChart.Data<String, Number> pendingData = new XYChart.Data<>(project.getName(), pendingCount);
+            XYChart.Data<String, Number> pendingData = new XYChart.Data<>(project.projectName(), pendingCount);
             pendingData.setNode(createLabelNodeForBar(pendingCount));
             pendingSeries.getData().add(pendingData);
 
-            XYChart.Data<String, Number> inProgressData = new XYChart.Data<>(project.getName(), inProgressCount);
+            XYChart.Data<String, Number> inProgressData = new XYChart.Data<>(project.projectName(), inProgressCount);
             inProgressData.setNode(createLabelNodeForBar(inProgressCount));
             inProgressSeries.getData().add(inProgressData);
 
-            XYChart.Data<String, Number> completedData = new XYChart.Data<>(project.getName(), completedCount);
+            XYChart.Data<String, Number> completedData = new XYChart.Data<>(project.projectName(), completedCount);
             completedData.setNode(createTotalLabelNode(completedCount, totalForProject));
             completedSeries.getData().add(completedData);
         }
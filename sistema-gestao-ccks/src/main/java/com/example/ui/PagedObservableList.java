@@ -0,0 +1,214 @@
+package com.example.ui;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Lista observável "preguiçosa" para a TableView: em vez de manter todos os registros na
+ * memória, carrega do banco apenas as páginas que a tabela pede ao rolar.
+ *
+ * - As páginas ficam em um cache limitado (LRU); as menos usadas são descartadas.
+ * - Ao carregar uma página, a próxima é buscada também (prefetch), de modo que a rolagem
+ *   contínua raramente espera pelo banco.
+ * - Páginas consecutivas usam paginação por chave ("keyset"): a página seguinte começa logo
+ *   após a chave do último item da anterior. Saltos para páginas cuja chave inicial ainda não
+ *   é conhecida usam a posição (offset).
+ * - Nada é carregado na thread do JavaFX: a contagem e as páginas vêm do {@link UiTaskGroup}
+ *   da tela. Enquanto uma página não chega, suas linhas aparecem vazias ({@code get} retorna
+ *   null) e a tabela é avisada para redesenhá-las quando os dados chegam.
+ *
+ * A lista é somente leitura; {@link #refresh()} descarta o cache e recarrega a contagem, e
+ * {@link #replace} troca um item alterado sem recarregar nada.
+ * Todos os métodos devem ser chamados na thread do JavaFX.
+ *
+ * @param <T> O tipo dos itens (ex: Task).
+ * @param <K> O tipo da chave de paginação (ex: TaskDAO.TaskKey).
+ */
+public class PagedObservableList<T, K> extends ObservableListBase<T> {
+
+    /**
+     * Fonte de dados das páginas. Os métodos são chamados fora da thread do JavaFX.
+     */
+    public interface PageLoader<T, K> {
+
+        /** Retorna a quantidade total de itens. */
+        int count();
+
+        /**
+         * Carrega uma página.
+         * @param afterKey A chave do último item da página anterior, ou null se desconhecida
+         *                 (ou se for a primeira página).
+         * @param offset A posição do primeiro item da página, usada quando afterKey é null.
+         * @param limit O tamanho da página.
+         */
+        List<T> loadPage(K afterKey, int offset, int limit);
+
+        /** Extrai a chave de paginação de um item. */
+        K keyOf(T item);
+    }
+
+    private final PageLoader<T, K> loader;
+    private final UiTaskGroup tasks;
+    private final int pageSize;
+    private final int maxCachedPages;
+
+    private final LinkedHashMap<Integer, List<T>> pages;
+    private final Map<Integer, K> pageStartKeys = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private int generation = 0;
+
+    private int size = 0;
+
+    /**
+     * Cria a lista, inicialmente vazia, e agenda a carga da contagem de itens.
+     * @param loader A fonte de dados das páginas.
+     * @param tasks O grupo de tarefas da tela, usado para as cargas em segundo plano.
+     * @param pageSize A quantidade de itens por página.
+     * @param maxCachedPages A quantidade máxima de páginas mantidas em memória.
+     */
+    public PagedObservableList(PageLoader<T, K> loader, UiTaskGroup tasks, int pageSize, int maxCachedPages) {
+        this.loader = loader;
+        this.tasks = tasks;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > PagedObservableList.this.maxCachedPages;
+            }
+        };
+        refresh();
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora da lista de tamanho " + size);
+        }
+        int pageIndex = index / pageSize;
+        List<T> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        // Com a página atual em cache, a chave inicial da próxima já é conhecida (keyset).
+        requestPage(pageIndex + 1);
+
+        int offsetInPage = index % pageSize;
+        // Se registros foram excluídos por outro usuário desde a contagem, a página pode vir menor.
+        return offsetInPage < page.size() ? page.get(offsetInPage) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Descarta as páginas em cache e recarrega a contagem em segundo plano; quando ela chega,
+     * a tabela é avisada para redesenhar. Deve ser chamado após inserções ou exclusões.
+     */
+    public void refresh() {
+        int currentGeneration = ++generation;
+        pages.clear();
+        pageStartKeys.clear();
+        loading.clear();
+        tasks.submit("paged-list-count", loader::count, count -> applyCount(count, currentGeneration));
+    }
+
+    /**
+     * Troca a versão anterior de um item, já carregada, pela atual, sem ir ao banco.
+     * Só é possível se o item estiver em uma página em cache e a chave de ordenação dele não
+     * tiver mudado (ele continua na mesma posição).
+     * @param matches Reconhece a versão anterior do item.
+     * @param current A versão atual do item.
+     * @return true se o item foi trocado; false se a lista precisa de um {@link #refresh()}
+     *         (o item mudou de posição ou não está nas páginas em cache, onde pode ter entrado).
+     */
+    public boolean replace(Predicate<T> matches, T current) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            List<T> page = entry.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                T previous = page.get(i);
+                if (previous == null || !matches.test(previous)) {
+                    continue;
+                }
+                if (!loader.keyOf(previous).equals(loader.keyOf(current))) {
+                    return false;
+                }
+                page.set(i, current);
+                beginChange();
+                nextSet(entry.getKey() * pageSize + i, previous);
+                endChange();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void applyCount(int newSize, int loadedGeneration) {
+        if (loadedGeneration != generation) {
+            return;
+        }
+        int oldSize = size;
+        size = newSize;
+
+        beginChange();
+        nextRemove(0, Collections.nCopies(oldSize, null));
+        nextAdd(0, size);
+        endChange();
+    }
+
+    /**
+     * Agenda o carregamento da página, se ela ainda não estiver em cache nem a caminho.
+     */
+    private void requestPage(int pageIndex) {
+        if ((long) pageIndex * pageSize >= size || pages.containsKey(pageIndex) || !loading.add(pageIndex)) {
+            return;
+        }
+        K startKey = pageStartKeys.get(pageIndex);
+        int currentGeneration = generation;
+        tasks.submit(null,
+                // A primeira página sempre começa do início; nas demais, sem chave conhecida, usa o offset.
+                () -> loader.loadPage(startKey, pageIndex * pageSize, pageSize),
+                page -> store(pageIndex, page, currentGeneration),
+                error -> {
+                    error.printStackTrace();
+                    if (currentGeneration == generation) {
+                        loading.remove(pageIndex);
+                    }
+                });
+    }
+
+    private void store(int pageIndex, List<T> page, int loadedGeneration) {
+        // Uma página carregada antes de um refresh() pode estar desatualizada: é descartada.
+        if (loadedGeneration != generation) {
+            return;
+        }
+        loading.remove(pageIndex);
+        pages.put(pageIndex, new ArrayList<>(page));
+        if (page.size() == pageSize) {
+            pageStartKeys.put(pageIndex + 1, loader.keyOf(page.get(page.size() - 1)));
+        }
+
+        // Avisa a tabela que as linhas da página, antes vazias, agora têm dados.
+        int from = pageIndex * pageSize;
+        int to = Math.min(from + pageSize, size);
+        if (from < to) {
+            beginChange();
+            for (int i = from; i < to; i++) {
+                nextUpdate(i);
+            }
+            endChange();
+        }
+    }
+}
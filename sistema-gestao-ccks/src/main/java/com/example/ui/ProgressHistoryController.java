@@ -0,0 +1,191 @@
+package com.example.ui;
+
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
+import com.example.dao.ProjectDAO;
+import com.example.model.Project;
+import com.example.model.ProjectProgress;
+import com.example.service.ProgressTrend;
+import javafx.fxml.FXML;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.util.StringConverter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Controlador da evolução dos projetos (ProgressHistory.fxml): o burn-down e a velocidade de um
+ * projeto ao longo do tempo.
+ *
+ * Os gráficos vêm só do histórico diário gravado pelo {@link com.example.service.ProgressSnapshotJob}:
+ * cada troca de projeto ou de período é uma única leitura por faixa de datas
+ * ({@link ProjectDAO#getProgressHistory}), sem reler as tarefas, mesmo para anos de histórico.
+ */
+public class ProgressHistoryController implements AsyncController {
+
+    private static final String LAST_QUARTER = "Últimos 3 meses";
+    private static final String LAST_YEAR = "Último ano";
+    private static final String ALL = "Todo o histórico";
+    // Pontos desenhados no burn-down; históricos maiores são reduzidos (ProgressTrend.downsample).
+    private static final int MAX_POINTS = 400;
+    // Acima deste período, a velocidade é mensal em vez de semanal.
+    private static final int WEEKLY_MAX_DAYS = 180;
+    // Janela usada para projetar o término pelo ritmo recente.
+    private static final int FORECAST_WINDOW_DAYS = 28;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter WEEK_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yy");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MM/yyyy");
+
+    @FXML private ComboBox<Project> projectComboBox;
+    @FXML private ComboBox<String> rangeComboBox;
+    @FXML private LineChart<Number, Number> burnDownChart;
+    @FXML private NumberAxis dateAxis;
+    @FXML private BarChart<String, Number> velocityChart;
+    @FXML private Label statusLabel;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+
+    private ChangeSubscription changes;
+
+    private final UiTaskGroup loads = new UiTaskGroup();
+
+    @FXML
+    public void initialize() {
+        loadingIndicator.visibleProperty().bind(loads.busyProperty());
+        burnDownChart.setAnimated(false);
+        burnDownChart.setCreateSymbols(false);
+        velocityChart.setAnimated(false);
+        velocityChart.setLegendVisible(false);
+        // O eixo das datas é numérico (dia desde 1970), para os dias sem registro ficarem proporcionais.
+        dateAxis.setForceZeroInRange(false);
+        dateAxis.setTickLabelFormatter(new StringConverter<>() {
+            @Override
+            public String toString(Number epochDay) {
+                return WEEK_FORMAT.format(LocalDate.ofEpochDay(epochDay.longValue()));
+            }
+
+            @Override
+            public Number fromString(String text) {
+                return LocalDate.parse(text, WEEK_FORMAT).toEpochDay();
+            }
+        });
+
+        rangeComboBox.getItems().setAll(LAST_QUARTER, LAST_YEAR, ALL);
+        rangeComboBox.setValue(LAST_YEAR);
+        projectComboBox.valueProperty().addListener((obs, oldValue, newValue) -> loadHistory());
+        rangeComboBox.valueProperty().addListener((obs, oldValue, newValue) -> loadHistory());
+
+        statusLabel.setText("Escolha um projeto.");
+        loads.submit("projects", projectDAO::getAllProjects, projects -> projectComboBox.getItems().setAll(projects));
+        changes = ChangeSubscription.open(this::applyChanges);
+    }
+
+    private void applyChanges(ChangeSubscription.Batch batch) {
+        if (batch.touches(ChangeEvent.Entity.PROJECT)) {
+            loads.submit("projects", projectDAO::getAllProjects, projects -> {
+                Project selected = projectComboBox.getValue();
+                projectComboBox.getItems().setAll(projects);
+                projectComboBox.setValue(selected == null ? null : projects.stream()
+                        .filter(p -> p.getId() == selected.getId()).findFirst().orElse(null));
+            });
+        }
+    }
+
+    /**
+     * Lê o histórico do projeto escolhido no período escolhido e redesenha os gráficos.
+     */
+    private void loadHistory() {
+        Project project = projectComboBox.getValue();
+        if (project == null) {
+            burnDownChart.getData().clear();
+            velocityChart.getData().clear();
+            statusLabel.setText("Escolha um projeto.");
+            return;
+        }
+        LocalDate to = LocalDate.now();
+        LocalDate from = switch (rangeComboBox.getValue()) {
+            case LAST_QUARTER -> to.minusMonths(3);
+            case LAST_YEAR -> to.minusYears(1);
+            default -> LocalDate.EPOCH;
+        };
+        loads.submit("history", () -> projectDAO.getProgressHistory(project.getId(), from, to),
+                history -> showHistory(project, history));
+    }
+
+    private void showHistory(Project project, List<ProjectProgress> history) {
+        burnDownChart.getData().clear();
+        velocityChart.getData().clear();
+        if (history.isEmpty()) {
+            statusLabel.setText("Sem histórico para o projeto '" + project.getName()
+                    + "' no período. O andamento é gravado uma vez por dia.");
+            return;
+        }
+
+        XYChart.Series<Number, Number> remaining = new XYChart.Series<>();
+        remaining.setName("Restantes");
+        XYChart.Series<Number, Number> completed = new XYChart.Series<>();
+        completed.setName("Concluídas");
+        XYChart.Series<Number, Number> overdue = new XYChart.Series<>();
+        overdue.setName("Atrasadas");
+        for (ProjectProgress day : ProgressTrend.downsample(history, MAX_POINTS)) {
+            long x = day.date().toEpochDay();
+            remaining.getData().add(new XYChart.Data<>(x, day.remaining()));
+            completed.getData().add(new XYChart.Data<>(x, day.completed()));
+            overdue.getData().add(new XYChart.Data<>(x, day.overdue()));
+        }
+        burnDownChart.getData().add(remaining);
+        burnDownChart.getData().add(completed);
+        burnDownChart.getData().add(overdue);
+
+        // Linha ideal: do que restava no primeiro dia até zero no fim previsto do projeto.
+        ProjectProgress first = history.get(0);
+        if (project.getPlannedEndDate().isAfter(first.date())) {
+            XYChart.Series<Number, Number> ideal = new XYChart.Series<>();
+            ideal.setName("Ideal");
+            ideal.getData().add(new XYChart.Data<>(first.date().toEpochDay(), first.remaining()));
+            ideal.getData().add(new XYChart.Data<>(project.getPlannedEndDate().toEpochDay(), 0));
+            burnDownChart.getData().add(ideal);
+        }
+
+        ProjectProgress last = history.get(history.size() - 1);
+        boolean monthly = ChronoUnit.DAYS.between(first.date(), last.date()) > WEEKLY_MAX_DAYS;
+        XYChart.Series<String, Number> velocity = new XYChart.Series<>();
+        for (ProgressTrend.Velocity period : ProgressTrend.velocity(history, monthly)) {
+            String label = (monthly ? MONTH_FORMAT : WEEK_FORMAT).format(period.start());
+            velocity.getData().add(new XYChart.Data<>(label, period.completed()));
+        }
+        velocityChart.setTitle(monthly ? "Tarefas concluídas por mês" : "Tarefas concluídas por semana");
+        velocityChart.getData().add(velocity);
+
+        StringBuilder text = new StringBuilder()
+                .append(history.size()).append(" dias registrados, de ").append(DATE_FORMAT.format(first.date()))
+                .append(" a ").append(DATE_FORMAT.format(last.date()))
+                .append(". Restam ").append(last.remaining()).append(" de ").append(last.total()).append(" tarefas");
+        LocalDate forecast = ProgressTrend.forecastFinish(history, FORECAST_WINDOW_DAYS);
+        if (last.remaining() == 0) {
+            text.append(".");
+        } else if (forecast != null) {
+            text.append("; no ritmo dos últimos ").append(FORECAST_WINDOW_DAYS).append(" dias, o término fica em ")
+                    .append(DATE_FORMAT.format(forecast)).append(" (previsto: ")
+                    .append(DATE_FORMAT.format(project.getPlannedEndDate())).append(").");
+        } else {
+            text.append("; nenhuma tarefa concluída nos últimos ").append(FORECAST_WINDOW_DAYS).append(" dias.");
+        }
+        statusLabel.setText(text.toString());
+    }
+
+    @Override
+    public void cancelPendingTasks() {
+        changes.close();
+        loads.cancelAll();
+    }
+}
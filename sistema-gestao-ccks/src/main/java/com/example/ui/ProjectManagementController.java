@@ -1,6 +1,9 @@
 package com.example.ui;
 
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
 import com.example.dao.ProjectDAO;
+import com.example.dao.UpdateResult;
 import com.example.dao.UserDAO;
 import com.example.model.Project;
 import com.example.model.ProjectStatus;
@@ -8,6 +11,8 @@ import com.example.model.User;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -15,23 +20,27 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Controlador para a tela de Gerenciamento de Projetos (ProjectManagement.fxml).
  */
-public class ProjectManagementController {
+public class ProjectManagementController implements AsyncController {
 
     // --- Componentes da Tabela ---
+    @FXML private TextField searchField;
     @FXML private TableView<Project> projectsTableView;
     @FXML private TableColumn<Project, Integer> idColumn;
     @FXML private TableColumn<Project, String> nameColumn;
     @FXML private TableColumn<Project, String> managerColumn;
     @FXML private TableColumn<Project, ProjectStatus> statusColumn;
     @FXML private TableColumn<Project, LocalDate> endDateColumn;
+    @FXML private TableColumn<Project, String> completionColumn;
 
     // --- Componentes do Formulário ---
     @FXML private TextField nameField;
@@ -46,23 +55,42 @@ public class ProjectManagementController {
     @FXML private Button saveButton;
     @FXML private Button deleteButton;
     @FXML private Label statusLabel;
+    @FXML private ProgressIndicator loadingIndicator;
 
     // --- DAOs e Listas ---
-    private final ProjectDAO projectDAO = new ProjectDAO();
-    private final UserDAO userDAO = new UserDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final UserDAO userDAO = DAOFactory.getUserDAO();
     private ObservableList<Project> projectList = FXCollections.observableArrayList();
-    private Map<Integer, User> userMap;
+    private Map<Integer, User> userMap = new HashMap<>();
     private Project selectedProject = null;
 
+    // Mantém projectList em dia com as alterações gravadas (nesta tela, em outras ou por outros usuários).
+    private LiveList<Project> liveProjects;
+    private ChangeSubscription changes;
+
+    // A tabela exibe projectList inteira ou, com o campo de busca preenchido, só os projetos encontrados.
+    private final FilteredList<Project> filteredProjects = new FilteredList<>(projectList);
+    private final SortedList<Project> shownProjects = new SortedList<>(filteredProjects);
+    private SearchFilter<Project> search;
+
+    // Consultas (canceladas ao fechar a janela) e gravações (que sempre vão até o fim).
+    private final UiTaskGroup loads = new UiTaskGroup();
+    private final UiTaskGroup writes = new UiTaskGroup();
+
     @FXML
     public void initialize() {
         setupTableColumns();
+        projectsTableView.setItems(shownProjects);
+        search = new SearchFilter<>(searchField, ChangeEvent.Entity.PROJECT, Project::getId,
+                filteredProjects, shownProjects, loads);
+
+        loadingIndicator.visibleProperty().bind(loads.busyProperty().or(writes.busyProperty()));
+        saveButton.disableProperty().bind(writes.busyProperty());
+        deleteButton.disableProperty().bind(writes.busyProperty());
 
         statusComboBox.getItems().setAll(ProjectStatus.values());
 
-        List<User> allUsers = userDAO.getAllUsers();
-        userMap = allUsers.stream().collect(Collectors.toMap(User::getId, user -> user));
-        managerComboBox.getItems().setAll(userDAO.getManagerUsers()); // Apenas gerentes no combo
+        loadUsers();
 
         projectsTableView.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldSelection, newSelection) -> {
@@ -70,7 +98,40 @@ public class ProjectManagementController {
                     populateForm(newSelection);
                 });
 
-        loadProjects();
+        // Carrega os projetos; depois disso, só os projetos alterados são relidos.
+        liveProjects = new LiveList<>(projectList, ChangeEvent.Entity.PROJECT, Project::getId,
+                projectDAO::getProjectById, projectDAO::getAllProjects,
+                Comparator.comparing(Project::getName, String.CASE_INSENSITIVE_ORDER),
+                loads, projectsTableView.getSelectionModel().selectedItemProperty());
+        liveProjects.reload();
+        changes = ChangeSubscription.open(this::applyChanges);
+    }
+
+    /**
+     * Carrega os usuários (para o nome do gerente na tabela) e os gerentes do combo.
+     */
+    private void loadUsers() {
+        loads.submit("users", userDAO::getAllUsers, allUsers -> {
+            userMap = allUsers.stream().collect(Collectors.toMap(User::getId, user -> user));
+            projectsTableView.refresh();
+        });
+        loads.submit("managers", userDAO::getManagerUsers,
+                managers -> managerComboBox.getItems().setAll(managers)); // Apenas gerentes no combo
+    }
+
+    /**
+     * Aplica as alterações gravadas: projetos alterados são relidos um a um; alterações de
+     * usuários recarregam só os nomes e o combo de gerentes.
+     */
+    private void applyChanges(ChangeSubscription.Batch batch) {
+        liveProjects.apply(batch);
+        // Um projeto alterado pode passar a atender (ou deixar de atender) a busca.
+        if (search.isActive() && batch.touches(ChangeEvent.Entity.PROJECT)) {
+            search.refresh();
+        }
+        if (batch.touches(ChangeEvent.Entity.USER)) {
+            loadUsers();
+        }
     }
 
     private void setupTableColumns() {
@@ -86,11 +147,9 @@ public class ProjectManagementController {
             String managerName = (manager != null) ? manager.getFullName() : "N/A";
             return new SimpleStringProperty(managerName);
         });
-    }
-
-    private void loadProjects() {
-        projectList.setAll(projectDAO.getAllProjects());
-        projectsTableView.setItems(projectList);
+        // Percentual consolidado pelo StatusRollupJob, lido pronto do projeto.
+        completionColumn.setCellValueFactory(cellData ->
+                new SimpleStringProperty(cellData.getValue().getCompletionPercent() + "%"));
     }
 
     private void populateForm(Project project) {
@@ -127,32 +186,36 @@ public class ProjectManagementController {
             return;
         }
 
-        boolean success;
-        String successMessage;
-        String errorMessage;
-
-        if (selectedProject == null) { // Modo de Criação
-            Project newProject = new Project();
-            readForm(newProject);
-            success = projectDAO.addProject(newProject);
-            successMessage = "Projeto cadastrado com sucesso!";
-            errorMessage = "Erro ao cadastrar o projeto.";
-        } else { // Modo de Edição
-            readForm(selectedProject);
-            success = projectDAO.updateProject(selectedProject);
-            successMessage = "Projeto atualizado com sucesso!";
-            errorMessage = "Erro ao atualizar o projeto.";
-        }
+        boolean creating = selectedProject == null;
+        Project project = creating ? new Project() : selectedProject;
+        readForm(project);
+        String successMessage = creating ? "Projeto cadastrado com sucesso!" : "Projeto atualizado com sucesso!";
+        String errorMessage = creating ? "Erro ao cadastrar o projeto." : "Erro ao atualizar o projeto.";
 
-        if (success) {
-            statusLabel.setTextFill(Color.GREEN);
-            statusLabel.setText(successMessage);
-            loadProjects();
-            handleNewProjectAction(null);
-        } else {
-            statusLabel.setTextFill(Color.RED);
-            statusLabel.setText(errorMessage);
-        }
+        writes.submit(null, () -> creating ? UpdateResult.of(projectDAO.addProject(project)) : projectDAO.updateProject(project), result -> {
+            switch (result) {
+                case UPDATED -> {
+                    statusLabel.setTextFill(Color.GREEN);
+                    statusLabel.setText(successMessage);
+                    // A tabela é atualizada pelo ChangeFeed, que avisa desta gravação.
+                    handleNewProjectAction(null);
+                }
+                // Outra pessoa gravou (ou excluiu) o projeto desde que ele foi carregado: nada foi
+                // sobrescrito. Relê o projeto para que a alteração seja refeita sobre os dados atuais.
+                case CONFLICT, NOT_FOUND -> {
+                    handleNewProjectAction(null);
+                    liveProjects.refreshRows(Set.of(project.getId()));
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText(result == UpdateResult.CONFLICT
+                            ? "O projeto foi alterado por outro usuário. Os dados foram recarregados; refaça a alteração."
+                            : "O projeto foi excluído por outro usuário.");
+                }
+                case FAILED -> {
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText(errorMessage);
+                }
+            }
+        }, error -> showDatabaseError(error, errorMessage));
     }
 
     @FXML
@@ -170,19 +233,36 @@ public class ProjectManagementController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            boolean success = projectDAO.deleteProject(selectedProject.getId());
-            if (success) {
-                statusLabel.setTextFill(Color.GREEN);
-                statusLabel.setText("Projeto excluído com sucesso!");
-                loadProjects();
-                clearFormFields();
-            } else {
-                statusLabel.setTextFill(Color.RED);
-                statusLabel.setText("Erro ao excluir o projeto.");
-            }
+            int projectId = selectedProject.getId();
+            writes.submit(null, () -> projectDAO.deleteProject(projectId), success -> {
+                if (success) {
+                    statusLabel.setTextFill(Color.GREEN);
+                    statusLabel.setText("Projeto excluído com sucesso!");
+                    clearFormFields();
+                } else {
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText("Erro ao excluir o projeto.");
+                }
+            }, error -> showDatabaseError(error, "Erro ao excluir o projeto."));
         }
     }
 
+    /**
+     * Cancela as consultas pendentes ao fechar a janela. Gravações em andamento não são
+     * canceladas, para não perder alterações já confirmadas pelo usuário.
+     */
+    @Override
+    public void cancelPendingTasks() {
+        changes.close();
+        loads.cancelAll();
+    }
+
+    private void showDatabaseError(Throwable error, String message) {
+        error.printStackTrace();
+        statusLabel.setTextFill(Color.RED);
+        statusLabel.setText(message);
+    }
+
     private void readForm(Project project) {
         project.setName(nameField.getText().trim());
         project.setDescription(descriptionArea.getText());
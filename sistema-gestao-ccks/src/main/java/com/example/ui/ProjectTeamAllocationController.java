@@ -1,28 +1,129 @@
 package com.example.ui;
 
+import com.example.dao.AllocationDAO;
+import com.example.dao.DAOFactory;
 import com.example.dao.ProjectDAO;
 import com.example.dao.TeamDAO;
+import com.example.dao.UserDAO;
 import com.example.model.Project;
 import com.example.model.Team;
+import com.example.model.User;
+import com.example.service.AllocationAnalysis;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.paint.Color;
 
-public class ProjectTeamAllocationController {
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ProjectTeamAllocationController implements AsyncController {
 
     @FXML private ComboBox<Project> projectComboBox;
     @FXML private ComboBox<Team> teamComboBox;
+    @FXML private Button allocateButton;
     @FXML private Label statusLabel;
+    @FXML private Label loadLabel;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final TeamDAO teamDAO = DAOFactory.getTeamDAO();
+    private final UserDAO userDAO = DAOFactory.getUserDAO();
+    private final AllocationDAO allocationDAO = new AllocationDAO();
+
+    // Sem data de término planejada, a carga da equipe é conferida neste horizonte a partir de hoje.
+    private static final int OPEN_PROJECT_HORIZON_WEEKS = 26;
+
+    /**
+     * Os membros da equipe que já passam da capacidade no período do projeto.
+     * @param overloadedNames Os nomes dos membros sobrecarregados, do maior pico para o menor.
+     * @param memberCount A quantidade de membros da equipe.
+     */
+    private record LoadCheck(List<String> overloadedNames, int memberCount) {
+    }
 
-    private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TeamDAO teamDAO = new TeamDAO();
+    // Consultas (canceladas ao fechar a janela) e gravações (que sempre vão até o fim).
+    private final UiTaskGroup loads = new UiTaskGroup();
+    private final UiTaskGroup writes = new UiTaskGroup();
 
     @FXML
     public void initialize() {
-        projectComboBox.getItems().setAll(projectDAO.getAllProjects());
-        teamComboBox.getItems().setAll(teamDAO.getAllTeams());
+        loadingIndicator.visibleProperty().bind(loads.busyProperty().or(writes.busyProperty()));
+        allocateButton.disableProperty().bind(writes.busyProperty());
+
+        loads.submit("projects", projectDAO::getAllProjects, projects -> projectComboBox.getItems().setAll(projects));
+        loads.submit("teams", teamDAO::getAllTeams, teams -> teamComboBox.getItems().setAll(teams));
+
+        projectComboBox.valueProperty().addListener((obs, oldValue, newValue) -> checkTeamLoad());
+        teamComboBox.valueProperty().addListener((obs, oldValue, newValue) -> checkTeamLoad());
+    }
+
+    /**
+     * Confere, em segundo plano, se os membros da equipe escolhida já estão sobrecarregados no
+     * período do projeto escolhido (de hoje, ou do início do projeto, até o término planejado),
+     * para avisar antes da alocação. A alocação continua permitida.
+     */
+    private void checkTeamLoad() {
+        Project project = projectComboBox.getValue();
+        Team team = teamComboBox.getValue();
+        loadLabel.setText("");
+        if (project == null || team == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate from = project.getStartDate() != null && project.getStartDate().isAfter(today)
+                ? project.getStartDate() : today;
+        LocalDate to = project.getPlannedEndDate() != null
+                ? project.getPlannedEndDate() : today.plusWeeks(OPEN_PROJECT_HORIZON_WEEKS);
+        if (to.isBefore(from)) {
+            return;
+        }
+        int teamId = team.getId();
+
+        loads.submit("teamLoad", () -> {
+            List<AllocationDAO.Assignment> assignments = allocationDAO.getTeamAssignments(teamId);
+            List<Integer> members = teamDAO.getMemberIdsByTeam().getOrDefault(teamId, List.of());
+            if (assignments == null) {
+                throw new IllegalStateException("Falha ao ler as tarefas da equipe.");
+            }
+            AllocationAnalysis analysis = AllocationAnalysis.analyze(assignments, Map.of(teamId, members), today);
+            Set<Integer> overloadedIds = new LinkedHashSet<>();
+            for (AllocationAnalysis.Overload overload
+                    : analysis.userOverloads(AllocationAnalysis.DEFAULT_CAPACITY, from, to)) {
+                overloadedIds.add(overload.ownerId());
+            }
+            List<String> names = new ArrayList<>();
+            if (!overloadedIds.isEmpty()) {
+                Map<Integer, String> namesById = new HashMap<>();
+                for (User user : userDAO.getAllUsers()) {
+                    namesById.put(user.getId(), user.getFullName());
+                }
+                overloadedIds.forEach(id -> names.add(namesById.getOrDefault(id, "#" + id)));
+            }
+            return new LoadCheck(names, new LinkedHashSet<>(members).size());
+        }, check -> {
+            if (check.overloadedNames().isEmpty()) {
+                loadLabel.setTextFill(Color.GREEN);
+                loadLabel.setText("Nenhum membro da equipe passa de " + AllocationAnalysis.DEFAULT_CAPACITY
+                        + " tarefas simultâneas no período do projeto.");
+            } else {
+                loadLabel.setTextFill(Color.ORANGE);
+                loadLabel.setText("Atenção: " + check.overloadedNames().size() + " de " + check.memberCount()
+                        + " membros já passam de " + AllocationAnalysis.DEFAULT_CAPACITY
+                        + " tarefas simultâneas no período do projeto: " + String.join(", ", check.overloadedNames()) + ".");
+            }
+        }, error -> {
+            error.printStackTrace();
+            loadLabel.setText("");
+        });
     }
 
     @FXML
@@ -36,14 +137,23 @@ public class ProjectTeamAllocationController {
             return;
         }
 
-        boolean success = projectDAO.addTeamToProject(selectedProject.getId(), selectedTeam.getId());
+        writes.submit(null, () -> projectDAO.addTeamToProject(selectedProject.getId(), selectedTeam.getId()), success -> {
+            if (success) {
+                statusLabel.setTextFill(Color.GREEN);
+                statusLabel.setText("Equipe '" + selectedTeam.getName() + "' alocada ao projeto '" + selectedProject.getName() + "' com sucesso!");
+            } else {
+                statusLabel.setTextFill(Color.ORANGE);
+                statusLabel.setText("Alocação falhou ou já existe.");
+            }
+        }, error -> {
+            error.printStackTrace();
+            statusLabel.setTextFill(Color.RED);
+            statusLabel.setText("Erro ao alocar a equipe.");
+        });
+    }
 
-        if (success) {
-            statusLabel.setTextFill(Color.GREEN);
-            statusLabel.setText("Equipe '" + selectedTeam.getName() + "' alocada ao projeto '" + selectedProject.getName() + "' com sucesso!");
-        } else {
-            statusLabel.setTextFill(Color.ORANGE);
-            statusLabel.setText("Alocação falhou ou já existe.");
-        }
+    @Override
+    public void cancelPendingTasks() {
+        loads.cancelAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.example.ui;
+
+import com.example.dao.ChangeEvent;
+import com.example.service.SearchService;
+import com.example.service.TextIndex;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TextField;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Liga um campo de busca a uma lista exibida em uma tabela: a cada tecla, a busca roda no
+ * {@link SearchService} (fora da thread do JavaFX) e a tabela passa a mostrar só os registros
+ * encontrados, do mais para o menos relevante. Com o campo vazio, a lista volta a ser exibida
+ * inteira, na ordem original.
+ *
+ * A lista de origem continua sendo mantida normalmente (ex: por um {@link LiveList}); o filtro
+ * só escolhe o que aparece.
+ *
+ * Todos os métodos devem ser chamados na thread do JavaFX.
+ *
+ * @param <T> O tipo dos itens.
+ */
+class SearchFilter<T> {
+
+    /** Quantidade máxima de resultados exibidos. */
+    static final int MAX_RESULTS = 500;
+
+    private final TextField field;
+    private final ChangeEvent.Entity entity;
+    private final ToIntFunction<T> idOf;
+    private final FilteredList<T> filtered;
+    private final SortedList<T> sorted;
+    private final UiTaskGroup loads;
+
+    /**
+     * @param field O campo de busca.
+     * @param entity O tipo de registro buscado.
+     * @param idOf Extrai o ID de um item.
+     * @param filtered A lista filtrada (sobre a lista de origem).
+     * @param sorted A lista exibida na tabela (sobre a lista filtrada).
+     * @param loads O grupo de consultas da tela.
+     */
+    SearchFilter(TextField field, ChangeEvent.Entity entity, ToIntFunction<T> idOf,
+                 FilteredList<T> filtered, SortedList<T> sorted, UiTaskGroup loads) {
+        this.field = field;
+        this.entity = entity;
+        this.idOf = idOf;
+        this.filtered = filtered;
+        this.sorted = sorted;
+        this.loads = loads;
+
+        field.textProperty().addListener((obs, oldText, newText) -> refresh());
+    }
+
+    /**
+     * Indica se há uma busca em andamento (o campo tem termos de busca).
+     */
+    boolean isActive() {
+        return !TextIndex.tokenize(field.getText()).isEmpty();
+    }
+
+    /**
+     * Refaz a busca com o texto atual do campo (ex: depois de registros serem alterados).
+     */
+    void refresh() {
+        String query = field.getText();
+        if (!isActive()) {
+            filtered.setPredicate(null);
+            sorted.setComparator(null);
+            return;
+        }
+        loads.submit("search-" + entity, () -> SearchService.get().search(entity, query, MAX_RESULTS), ids -> {
+            // O texto pode ter mudado (ou sido apagado) enquanto a busca rodava.
+            if (!query.equals(field.getText())) {
+                return;
+            }
+            Map<Integer, Integer> rank = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                rank.put(ids.get(i), i);
+            }
+            filtered.setPredicate(item -> rank.containsKey(idOf.applyAsInt(item)));
+            sorted.setComparator(Comparator.comparingInt(item -> rank.get(idOf.applyAsInt(item))));
+        });
+    }
+}
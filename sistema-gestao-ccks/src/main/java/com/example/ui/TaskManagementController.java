@@ -1,12 +1,18 @@
 package com.example.ui;
 
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
 import com.example.dao.ProjectDAO;
 import com.example.dao.TaskDAO;
+import com.example.dao.TaskQuery;
+import com.example.dao.UpdateResult;
 import com.example.dao.UserDAO;
 import com.example.model.Project;
 import com.example.model.Task;
 import com.example.model.TaskStatus;
 import com.example.model.User;
+import com.example.service.SearchService;
+import com.example.service.TextIndex;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -17,14 +23,19 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-public class TaskManagementController {
+public class TaskManagementController implements AsyncController {
 
     // --- Componentes da Tabela ---
+    @FXML private TextField searchField;
     @FXML private TableView<Task> tasksTableView;
     @FXML private TableColumn<Task, Integer> idColumn;
     @FXML private TableColumn<Task, String> titleColumn;
@@ -33,6 +44,13 @@ public class TaskManagementController {
     @FXML private TableColumn<Task, TaskStatus> statusTaskColumn;
     @FXML private TableColumn<Task, LocalDate> endDateColumn;
 
+    // --- Filtros da Tabela ---
+    @FXML private ComboBox<Project> projectFilterComboBox;
+    @FXML private ComboBox<User> responsibleFilterComboBox;
+    @FXML private ComboBox<TaskStatus> statusFilterComboBox;
+    @FXML private DatePicker endFromFilterPicker;
+    @FXML private DatePicker endToFilterPicker;
+
     // --- Componentes do Formulário ---
     @FXML private TextField titleField;
     @FXML private TextArea descriptionArea;
@@ -47,37 +65,205 @@ public class TaskManagementController {
     @FXML private Button saveButton;
     @FXML private Button deleteButton;
     @FXML private Label statusLabel;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    // Tamanho de cada página de tarefas e quantas páginas ficam em memória.
+    private static final int TASK_PAGE_SIZE = 200;
+    private static final int TASK_PAGE_CACHE_SIZE = 10;
 
     // --- DAOs e Listas ---
-    private final TaskDAO taskDAO = new TaskDAO();
-    private final ProjectDAO projectDAO = new ProjectDAO();
-    private final UserDAO userDAO = new UserDAO();
-    private ObservableList<Task> taskList = FXCollections.observableArrayList();
-    private Map<Integer, Project> projectMap;
-    private Map<Integer, User> userMap;
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final UserDAO userDAO = DAOFactory.getUserDAO();
+    private PagedObservableList<Task, TaskDAO.TaskKey> taskList;
+    // Filtros e ordenação da tabela, aplicados pelo banco. Lido pelas cargas em segundo plano.
+    private volatile TaskQuery taskQuery = TaskQuery.ALL;
+    private final Map<TableColumn<Task, ?>, TaskQuery.SortColumn> sortColumns = new HashMap<>();
+    private Map<Integer, Project> projectMap = new HashMap<>();
+    private Map<Integer, User> userMap = new HashMap<>();
     private Task selectedTask = null;
 
+    // Tarefas alteradas enquanto estavam em edição no formulário; relidas quando a seleção muda.
+    private final Set<Integer> deferredTaskIds = new LinkedHashSet<>();
+    private ChangeSubscription changes;
+
+    // Resultado da busca, exibido no lugar da lista paginada enquanto o campo de busca tiver termos.
+    private final ObservableList<Task> searchResults = FXCollections.observableArrayList();
+
+    // Consultas (canceladas ao fechar a janela) e gravações (que sempre vão até o fim).
+    private final UiTaskGroup loads = new UiTaskGroup();
+    private final UiTaskGroup writes = new UiTaskGroup();
+
     @FXML
     public void initialize() {
         setupTableColumns();
 
-        List<Project> allProjects = projectDAO.getAllProjects();
-        projectMap = allProjects.stream().collect(Collectors.toMap(Project::getId, p -> p));
-        projectComboBox.getItems().setAll(allProjects);
+        loadingIndicator.visibleProperty().bind(loads.busyProperty().or(writes.busyProperty()));
+        saveButton.disableProperty().bind(writes.busyProperty());
+        deleteButton.disableProperty().bind(writes.busyProperty());
 
-        List<User> allUsers = userDAO.getAllUsers();
-        userMap = allUsers.stream().collect(Collectors.toMap(User::getId, u -> u));
-        responsibleComboBox.getItems().setAll(allUsers);
+        loadProjects();
+        loadUsers();
 
         statusComboBox.getItems().setAll(TaskStatus.values());
+        setupFilters();
 
         tasksTableView.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldSelection, newSelection) -> {
                     selectedTask = newSelection;
                     populateForm(newSelection);
+                    if (!deferredTaskIds.isEmpty()) {
+                        Set<Integer> ids = new LinkedHashSet<>(deferredTaskIds);
+                        deferredTaskIds.clear();
+                        refreshTasks(ids);
+                    }
                 });
 
         loadTasks();
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchTasks());
+        changes = ChangeSubscription.open(this::applyChanges);
+    }
+
+    private boolean isSearching() {
+        return !TextIndex.tokenize(searchField.getText()).isEmpty();
+    }
+
+    /**
+     * Busca as tarefas pelo título e descrição e as exibe em ordem de relevância. Com o campo
+     * vazio, a tabela volta a exibir a lista paginada.
+     */
+    private void searchTasks() {
+        String query = searchField.getText();
+        if (!isSearching()) {
+            if (taskList != null && tasksTableView.getItems() != taskList) {
+                tasksTableView.setItems(taskList);
+            }
+            return;
+        }
+        TaskQuery filters = taskQuery;
+        loads.submit("search", () -> {
+            List<Integer> ids = SearchService.get().search(ChangeEvent.Entity.TASK, query, SearchFilter.MAX_RESULTS);
+            Map<Integer, Task> found = taskDAO.getTasksByIds(ids);
+            if (found == null) {
+                return null;
+            }
+            List<Task> tasks = new ArrayList<>();
+            for (int id : ids) {
+                // Descarta as tarefas que não existem mais (ex: excluídas junto com o projeto)
+                // e as que não atendem aos filtros da tabela.
+                Task task = found.get(id);
+                if (task != null && filters.matches(task)) {
+                    tasks.add(task);
+                }
+            }
+            return tasks;
+        }, tasks -> {
+            // O texto pode ter mudado (ou sido apagado) enquanto a busca rodava; em caso de erro
+            // na leitura, os resultados anteriores continuam na tela.
+            if (tasks == null || !query.equals(searchField.getText())) {
+                return;
+            }
+            searchResults.setAll(tasks);
+            // Sem coluna de ordenação, fica a ordem de relevância.
+            if (tasksTableView.getComparator() != null) {
+                FXCollections.sort(searchResults, tasksTableView.getComparator());
+            }
+            if (tasksTableView.getItems() != searchResults) {
+                tasksTableView.setItems(searchResults);
+            }
+        });
+    }
+
+    private void loadProjects() {
+        loads.submit("projects", projectDAO::getAllProjects, allProjects -> {
+            projectMap = allProjects.stream().collect(Collectors.toMap(Project::getId, p -> p));
+            projectComboBox.getItems().setAll(allProjects);
+            projectFilterComboBox.getItems().setAll(allProjects);
+            tasksTableView.refresh();
+        });
+    }
+
+    private void loadUsers() {
+        loads.submit("users", userDAO::getAllUsers, allUsers -> {
+            userMap = allUsers.stream().collect(Collectors.toMap(User::getId, u -> u));
+            responsibleComboBox.getItems().setAll(allUsers);
+            responsibleFilterComboBox.getItems().setAll(allUsers);
+            tasksTableView.refresh();
+        });
+    }
+
+    /**
+     * Aplica as alterações gravadas à tela.
+     * - Tarefas alteradas são relidas pelo ID e trocadas na página em que estão.
+     * - Inclusões e exclusões mudam a posição das demais linhas: a tabela recarrega a contagem
+     *   e as páginas visíveis (nunca a lista inteira, que é paginada).
+     * - Alterações de projetos e usuários recarregam só os combos e os nomes exibidos; a
+     *   exclusão de um projeto também exclui as tarefas dele. Com a tabela ordenada pelo nome
+     *   do projeto ou do responsável, uma alteração no nome muda a ordem das linhas.
+     */
+    private void applyChanges(ChangeSubscription.Batch batch) {
+        if (batch.touches(ChangeEvent.Entity.PROJECT)) {
+            loadProjects();
+        }
+        // A busca é refeita (as tarefas alteradas podem passar a atender ou deixar de atender a ela);
+        // a lista paginada continua sendo mantida abaixo, para quando a busca for apagada.
+        if (isSearching() && (batch.touches(ChangeEvent.Entity.TASK) || batch.touches(ChangeEvent.Entity.PROJECT))) {
+            searchTasks();
+        }
+        if (batch.touches(ChangeEvent.Entity.USER)) {
+            loadUsers();
+        }
+        if (taskList == null) {
+            return;
+        }
+        if (batch.reloads(ChangeEvent.Entity.TASK)
+                || batch.has(ChangeEvent.Entity.TASK, ChangeEvent.Kind.INSERT)
+                || batch.has(ChangeEvent.Entity.TASK, ChangeEvent.Kind.DELETE)
+                || batch.has(ChangeEvent.Entity.PROJECT, ChangeEvent.Kind.DELETE)
+                || batch.reloads(ChangeEvent.Entity.PROJECT)
+                || (batch.touches(ChangeEvent.Entity.PROJECT) && taskQuery.sortsBy(TaskQuery.SortColumn.PROJECT))
+                || (batch.touches(ChangeEvent.Entity.USER) && taskQuery.sortsBy(TaskQuery.SortColumn.RESPONSIBLE))
+                || batch.ids(ChangeEvent.Entity.TASK).size() > LiveList.MAX_ROW_UPDATES) {
+            deferredTaskIds.clear();
+            taskList.refresh();
+            return;
+        }
+        Set<Integer> ids = batch.ids(ChangeEvent.Entity.TASK);
+        if (!ids.isEmpty()) {
+            refreshTasks(ids);
+        }
+    }
+
+    /**
+     * Relê as tarefas em segundo plano e as troca na tabela. A tarefa em edição no formulário
+     * fica como está até a seleção mudar; se foi alterada por outra pessoa, a gravação do
+     * formulário recebe o conflito de versão. Uma tarefa que deixou de atender aos filtros, ou
+     * mudou de posição na ordenação da tabela, recarrega a contagem e as páginas.
+     */
+    private void refreshTasks(Set<Integer> ids) {
+        List<Integer> idList = List.copyOf(ids);
+        loads.submit(null, () -> taskDAO.getTasksByIds(idList), tasks -> {
+            if (tasks == null) {
+                // Não foi possível reler as tarefas: recarrega as páginas visíveis.
+                taskList.refresh();
+                return;
+            }
+            boolean needsRefresh = false;
+            for (int id : idList) {
+                Task current = tasks.get(id);
+                if (current == null) {
+                    needsRefresh = true;
+                } else if (selectedTask != null && selectedTask.getId() == id) {
+                    deferredTaskIds.add(id);
+                } else if (!taskQuery.matches(current)
+                        || !taskList.replace(task -> task.getId() == id && taskQuery.sameSortPosition(task, current), current)) {
+                    needsRefresh = true;
+                }
+            }
+            if (needsRefresh) {
+                taskList.refresh();
+            }
+        });
     }
 
     private void setupTableColumns() {
@@ -86,22 +272,136 @@ public class TaskManagementController {
         statusTaskColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
         endDateColumn.setCellValueFactory(new PropertyValueFactory<>("plannedEndDate"));
 
+        // A tabela é paginada sob demanda: clicar no cabeçalho refaz a consulta com a nova
+        // ordenação, em vez de ordenar em memória (o que exigiria carregar todas as tarefas).
+        // Só o resultado da busca, que já está todo em memória, é ordenado aqui.
+        sortColumns.put(idColumn, TaskQuery.SortColumn.ID);
+        sortColumns.put(titleColumn, TaskQuery.SortColumn.TITLE);
+        sortColumns.put(projectColumn, TaskQuery.SortColumn.PROJECT);
+        sortColumns.put(responsibleColumn, TaskQuery.SortColumn.RESPONSIBLE);
+        sortColumns.put(statusTaskColumn, TaskQuery.SortColumn.STATUS);
+        sortColumns.put(endDateColumn, TaskQuery.SortColumn.PLANNED_END_DATE);
+        tasksTableView.setSortPolicy(table -> {
+            applyQuery();
+            if (table.getItems() == searchResults) {
+                if (table.getComparator() != null) {
+                    FXCollections.sort(searchResults, table.getComparator());
+                } else {
+                    searchTasks(); // Volta à ordem de relevância.
+                }
+            }
+            return true;
+        });
+
+        // As linhas de páginas ainda não carregadas chegam sem tarefa (null).
         projectColumn.setCellValueFactory(cellData -> {
             Task task = cellData.getValue();
+            if (task == null) {
+                return new SimpleStringProperty("");
+            }
             Project project = projectMap.get(task.getProjectId());
             return new SimpleStringProperty(project != null ? project.getName() : "N/A");
         });
 
         responsibleColumn.setCellValueFactory(cellData -> {
             Task task = cellData.getValue();
+            if (task == null) {
+                return new SimpleStringProperty("");
+            }
             User user = userMap.get(task.getResponsibleId());
             return new SimpleStringProperty(user != null ? user.getFullName() : "N/A");
         });
     }
 
+    private void setupFilters() {
+        statusFilterComboBox.getItems().setAll(TaskStatus.values());
+        projectFilterComboBox.valueProperty().addListener((obs, oldValue, newValue) -> applyFilters());
+        responsibleFilterComboBox.valueProperty().addListener((obs, oldValue, newValue) -> applyFilters());
+        statusFilterComboBox.valueProperty().addListener((obs, oldValue, newValue) -> applyFilters());
+        endFromFilterPicker.valueProperty().addListener((obs, oldValue, newValue) -> applyFilters());
+        endToFilterPicker.valueProperty().addListener((obs, oldValue, newValue) -> applyFilters());
+    }
+
+    @FXML
+    void handleClearFiltersAction(ActionEvent event) {
+        projectFilterComboBox.setValue(null);
+        responsibleFilterComboBox.setValue(null);
+        statusFilterComboBox.setValue(null);
+        endFromFilterPicker.setValue(null);
+        endToFilterPicker.setValue(null);
+    }
+
+    /**
+     * Monta a consulta com os filtros e as colunas de ordenação escolhidos na tela.
+     */
+    private TaskQuery buildQuery() {
+        Project project = projectFilterComboBox.getValue();
+        User responsible = responsibleFilterComboBox.getValue();
+        TaskQuery.Builder builder = TaskQuery.builder()
+                .project(project != null ? project.getId() : null)
+                .responsible(responsible != null ? responsible.getId() : null)
+                .statuses(statusFilterComboBox.getValue())
+                .plannedEndBetween(endFromFilterPicker.getValue(), endToFilterPicker.getValue());
+        for (TableColumn<Task, ?> column : tasksTableView.getSortOrder()) {
+            builder.sortBy(sortColumns.get(column), column.getSortType() == TableColumn.SortType.ASCENDING);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Aplica à lista paginada os filtros e a ordenação da tela, se mudaram: a contagem e as
+     * páginas visíveis são recarregadas do banco.
+     */
+    private void applyQuery() {
+        TaskQuery query = buildQuery();
+        if (query.equals(taskQuery)) {
+            return;
+        }
+        taskQuery = query;
+        if (taskList != null) {
+            taskList.refresh();
+        }
+    }
+
+    private void applyFilters() {
+        applyQuery();
+        if (isSearching()) {
+            searchTasks();
+        }
+    }
+
+    /**
+     * Carrega (ou recarrega) as tarefas da tabela. As tarefas são buscadas em páginas,
+     * conforme o usuário rola a tabela, em vez de todas de uma vez, já filtradas e ordenadas
+     * pelo banco conforme {@link #taskQuery}.
+     */
     private void loadTasks() {
-        taskList.setAll(taskDAO.getAllTasks());
-        tasksTableView.setItems(taskList);
+        if (taskList == null) {
+            taskList = new PagedObservableList<>(new PagedObservableList.PageLoader<>() {
+                @Override
+                public int count() {
+                    return taskDAO.countTasks(taskQuery);
+                }
+
+                @Override
+                public List<Task> loadPage(TaskDAO.TaskKey afterKey, int offset, int limit) {
+                    TaskQuery query = taskQuery;
+                    // A paginação por chave só vale na ordenação padrão; nas demais, usa o offset.
+                    if (!query.usesKeyset() || (afterKey == null && offset > 0)) {
+                        return taskDAO.getTasksAt(query, offset, limit);
+                    }
+                    return taskDAO.getTasksAfter(query, afterKey, limit);
+                }
+
+                @Override
+                public TaskDAO.TaskKey keyOf(Task task) {
+                    return TaskDAO.TaskKey.of(task);
+                }
+            }, loads, TASK_PAGE_SIZE, TASK_PAGE_CACHE_SIZE);
+            tasksTableView.setItems(taskList);
+        } else {
+            taskList.refresh();
+        }
     }
 
     private void populateForm(Task task) {
@@ -132,32 +432,39 @@ public class TaskManagementController {
             return;
         }
 
-        boolean success;
-        String successMessage;
-        String errorMessage;
-
-        if (selectedTask == null) { // Modo de Criação
-            Task newTask = new Task();
-            readForm(newTask);
-            success = taskDAO.addTask(newTask);
-            successMessage = "Tarefa cadastrada com sucesso!";
-            errorMessage = "Erro ao cadastrar a tarefa.";
-        } else { // Modo de Edição
-            readForm(selectedTask);
-            success = taskDAO.updateTask(selectedTask);
-            successMessage = "Tarefa atualizada com sucesso!";
-            errorMessage = "Erro ao atualizar a tarefa.";
-        }
-
-        if (success) {
-            statusLabel.setTextFill(Color.GREEN);
-            statusLabel.setText(successMessage);
-            loadTasks();
-            handleNewTaskAction(null);
-        } else {
-            statusLabel.setTextFill(Color.RED);
-            statusLabel.setText(errorMessage);
-        }
+        boolean creating = selectedTask == null;
+        Task task = creating ? new Task() : selectedTask;
+        readForm(task);
+        String successMessage = creating ? "Tarefa cadastrada com sucesso!" : "Tarefa atualizada com sucesso!";
+        String errorMessage = creating ? "Erro ao cadastrar a tarefa." : "Erro ao atualizar a tarefa.";
+
+        writes.submit(null, () -> creating ? UpdateResult.of(taskDAO.addTask(task)) : taskDAO.updateTask(task), result -> {
+            switch (result) {
+                case UPDATED -> {
+                    statusLabel.setTextFill(Color.GREEN);
+                    statusLabel.setText(successMessage);
+                    // A tabela é atualizada pelo ChangeFeed, que avisa desta gravação.
+                    handleNewTaskAction(null);
+                }
+                // Outra pessoa gravou (ou excluiu) a tarefa desde que ela foi carregada: nada foi
+                // sobrescrito. Relê a tarefa para que a alteração seja refeita sobre os dados atuais.
+                case CONFLICT, NOT_FOUND -> {
+                    handleNewTaskAction(null);
+                    refreshTasks(Set.of(task.getId()));
+                    if (isSearching()) {
+                        searchTasks();
+                    }
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText(result == UpdateResult.CONFLICT
+                            ? "A tarefa foi alterada por outro usuário. Os dados foram recarregados; refaça a alteração."
+                            : "A tarefa foi excluída por outro usuário.");
+                }
+                case FAILED -> {
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText(errorMessage);
+                }
+            }
+        }, error -> showDatabaseError(error, errorMessage));
     }
 
     @FXML
@@ -175,19 +482,36 @@ public class TaskManagementController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            boolean success = taskDAO.deleteTask(selectedTask.getId());
-            if (success) {
-                statusLabel.setTextFill(Color.GREEN);
-                statusLabel.setText("Tarefa excluída com sucesso!");
-                loadTasks();
-                clearForm();
-            } else {
-                statusLabel.setTextFill(Color.RED);
-                statusLabel.setText("Erro ao excluir a tarefa.");
-            }
+            int taskId = selectedTask.getId();
+            writes.submit(null, () -> taskDAO.deleteTask(taskId), success -> {
+                if (success) {
+                    statusLabel.setTextFill(Color.GREEN);
+                    statusLabel.setText("Tarefa excluída com sucesso!");
+                    clearForm();
+                } else {
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText("Erro ao excluir a tarefa.");
+                }
+            }, error -> showDatabaseError(error, "Erro ao excluir a tarefa."));
         }
     }
 
+    /**
+     * Cancela as consultas pendentes ao fechar a janela. Gravações em andamento não são
+     * canceladas, para não perder alterações já confirmadas pelo usuário.
+     */
+    @Override
+    public void cancelPendingTasks() {
+        changes.close();
+        loads.cancelAll();
+    }
+
+    private void showDatabaseError(Throwable error, String message) {
+        error.printStackTrace();
+        statusLabel.setTextFill(Color.RED);
+        statusLabel.setText(message);
+    }
+
     private void readForm(Task task) {
         task.setTitle(titleField.getText());
         task.setDescription(descriptionArea.getText());
@@ -1,6 +1,9 @@
 package com.example.ui;
 
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
 import com.example.dao.TeamDAO;
+import com.example.dao.UpdateResult;
 import com.example.dao.UserDAO;
 import com.example.model.Team;
 import com.example.model.User;
@@ -12,11 +15,14 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-public class TeamManagementController {
+public class TeamManagementController implements AsyncController {
 
     // --- Componentes da Tabela de Equipes ---
     @FXML private TableView<Team> teamsTableView;
@@ -34,17 +40,36 @@ public class TeamManagementController {
     @FXML private Button saveButton;
     @FXML private Button deleteButton;
     @FXML private Label statusLabel;
+    @FXML private ProgressIndicator loadingIndicator;
 
     // --- DAOs e Listas ---
-    private final UserDAO userDAO = new UserDAO();
-    private final TeamDAO teamDAO = new TeamDAO();
+    private final UserDAO userDAO = DAOFactory.getUserDAO();
+    private final TeamDAO teamDAO = DAOFactory.getTeamDAO();
     private final ObservableList<Team> teamList = FXCollections.observableArrayList();
     private final ObservableList<User> availableUsers = FXCollections.observableArrayList();
     private final ObservableList<User> teamMembers = FXCollections.observableArrayList();
     private Team selectedTeam = null;
 
+    // Mantém teamList em dia com as alterações gravadas (nesta tela, em outras ou por outros usuários).
+    private LiveList<Team> liveTeams;
+    private ChangeSubscription changes;
+
+    // Consultas (canceladas ao fechar a janela) e gravações (que sempre vão até o fim).
+    private final UiTaskGroup loads = new UiTaskGroup();
+    private final UiTaskGroup writes = new UiTaskGroup();
+
+    /**
+     * Usuários e participações em equipes, carregados juntos em segundo plano.
+     */
+    private record MemberLists(List<User> allUsers, Map<Integer, List<Integer>> memberIdsByTeam) {
+    }
+
     @FXML
     public void initialize() {
+        loadingIndicator.visibleProperty().bind(loads.busyProperty().or(writes.busyProperty()));
+        saveButton.disableProperty().bind(writes.busyProperty());
+        deleteButton.disableProperty().bind(writes.busyProperty());
+
         // Configuração da tabela de equipes
         teamIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         teamNameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
@@ -63,13 +88,25 @@ public class TeamManagementController {
                     populateForm(newSelection);
                 });
 
-        // Carregamento inicial
-        loadTeams();
+        // Carregamento inicial; depois disso, só as equipes alteradas são relidas.
+        liveTeams = new LiveList<>(teamList, ChangeEvent.Entity.TEAM, Team::getId, teamDAO::getTeamById,
+                teamDAO::getAllTeams, Comparator.comparing(Team::getName, String.CASE_INSENSITIVE_ORDER),
+                loads, teamsTableView.getSelectionModel().selectedItemProperty());
+        liveTeams.reload();
+        changes = ChangeSubscription.open(this::applyChanges);
         handleNewTeamAction(null); // Garante que o formulário comece limpo
     }
 
-    private void loadTeams() {
-        teamList.setAll(teamDAO.getAllTeams());
+    /**
+     * Aplica as alterações gravadas: equipes alteradas são relidas uma a uma. Alterações de
+     * usuários só repopulam a lista de disponíveis quando nenhuma equipe está em edição, para
+     * não desfazer a montagem de membros em andamento.
+     */
+    private void applyChanges(ChangeSubscription.Batch batch) {
+        liveTeams.apply(batch);
+        if (batch.touches(ChangeEvent.Entity.USER) && selectedTeam == null && teamMembers.isEmpty()) {
+            loads.submit("members", userDAO::getAllUsers, availableUsers::setAll);
+        }
     }
 
     private void populateForm(Team team) {
@@ -77,15 +114,20 @@ public class TeamManagementController {
             teamNameField.setText(team.getName());
             teamDescriptionArea.setText(team.getDescription());
 
-            // Carrega os membros da equipe e os usuários disponíveis
-            List<User> allUsers = userDAO.getAllUsers();
-            List<User> members = teamDAO.getTeamMembers(team.getId());
-            teamMembers.setAll(members);
-
-            // Usuários disponíveis são todos menos os que já são membros
-            allUsers.removeAll(members);
-            availableUsers.setAll(allUsers);
-
+            // Carrega os membros da equipe e os usuários disponíveis. As duas listas vêm do cache
+            // dos DAOs, então trocar de equipe não vai ao banco. A chave "members" faz com que só
+            // a seleção mais recente preencha as listas.
+            int teamId = team.getId();
+            loads.submit("members",
+                    () -> new MemberLists(userDAO.getAllUsers(), teamDAO.getMemberIdsByTeam()),
+                    lists -> {
+                        // Separa os usuários entre membros e disponíveis (User não define equals).
+                        Set<Integer> memberIds = Set.copyOf(lists.memberIdsByTeam().getOrDefault(teamId, List.of()));
+                        Map<Boolean, List<User>> partition = lists.allUsers().stream()
+                                .collect(Collectors.partitioningBy(user -> memberIds.contains(user.getId())));
+                        teamMembers.setAll(partition.get(true));
+                        availableUsers.setAll(partition.get(false));
+                    });
         } else {
             clearForm();
         }
@@ -136,34 +178,39 @@ public class TeamManagementController {
         List<Integer> memberIds = teamMembers.stream()
                                              .map(User::getId)
                                              .collect(Collectors.toList());
-        boolean success;
-        String successMessage;
-        String errorMessage;
-
-        if (selectedTeam == null) { // Modo de Criação
-            Team newTeam = new Team();
-            newTeam.setName(teamNameField.getText());
-            newTeam.setDescription(teamDescriptionArea.getText());
-            success = teamDAO.addTeam(newTeam, memberIds);
-            successMessage = "Equipe cadastrada com sucesso!";
-            errorMessage = "Erro ao cadastrar a equipe.";
-        } else { // Modo de Edição
-            selectedTeam.setName(teamNameField.getText());
-            selectedTeam.setDescription(teamDescriptionArea.getText());
-            success = teamDAO.updateTeam(selectedTeam, memberIds);
-            successMessage = "Equipe atualizada com sucesso!";
-            errorMessage = "Erro ao atualizar a equipe.";
-        }
+        boolean creating = selectedTeam == null;
+        Team team = creating ? new Team() : selectedTeam;
+        team.setName(teamNameField.getText());
+        team.setDescription(teamDescriptionArea.getText());
+        String successMessage = creating ? "Equipe cadastrada com sucesso!" : "Equipe atualizada com sucesso!";
+        String errorMessage = creating ? "Erro ao cadastrar a equipe." : "Erro ao atualizar a equipe.";
 
-        if (success) {
-            statusLabel.setTextFill(Color.GREEN);
-            statusLabel.setText(successMessage);
-            loadTeams();
-            handleNewTeamAction(null);
-        } else {
-            statusLabel.setTextFill(Color.RED);
-            statusLabel.setText(errorMessage);
-        }
+        writes.submit(null,
+                () -> creating ? UpdateResult.of(teamDAO.addTeam(team, memberIds)) : teamDAO.updateTeam(team, memberIds),
+                result -> {
+                    switch (result) {
+                        case UPDATED -> {
+                            statusLabel.setTextFill(Color.GREEN);
+                            statusLabel.setText(successMessage);
+                            // A tabela é atualizada pelo ChangeFeed, que avisa desta gravação.
+                            handleNewTeamAction(null);
+                        }
+                        // Outra pessoa gravou (ou excluiu) a equipe desde que ela foi carregada: nada foi
+                        // sobrescrito. Relê a equipe para que a alteração seja refeita sobre os dados atuais.
+                        case CONFLICT, NOT_FOUND -> {
+                            handleNewTeamAction(null);
+                            liveTeams.refreshRows(Set.of(team.getId()));
+                            statusLabel.setTextFill(Color.RED);
+                            statusLabel.setText(result == UpdateResult.CONFLICT
+                                    ? "A equipe foi alterada por outro usuário. Os dados foram recarregados; refaça a alteração."
+                                    : "A equipe foi excluída por outro usuário.");
+                        }
+                        case FAILED -> {
+                            statusLabel.setTextFill(Color.RED);
+                            statusLabel.setText(errorMessage);
+                        }
+                    }
+                }, error -> showDatabaseError(error, errorMessage));
     }
 
     @FXML
@@ -181,24 +228,43 @@ public class TeamManagementController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            boolean success = teamDAO.deleteTeam(selectedTeam.getId());
-            if (success) {
-                statusLabel.setTextFill(Color.GREEN);
-                statusLabel.setText("Equipe excluída com sucesso!");
-                loadTeams();
-                handleNewTeamAction(null);
-            } else {
-                statusLabel.setTextFill(Color.RED);
-                statusLabel.setText("Erro ao excluir. A equipe pode estar alocada em um projeto.");
-            }
+            int teamId = selectedTeam.getId();
+            writes.submit(null, () -> teamDAO.deleteTeam(teamId), success -> {
+                if (success) {
+                    statusLabel.setTextFill(Color.GREEN);
+                    statusLabel.setText("Equipe excluída com sucesso!");
+                    handleNewTeamAction(null);
+                } else {
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText("Erro ao excluir. A equipe pode estar alocada em um projeto.");
+                }
+            }, error -> showDatabaseError(error, "Erro ao excluir a equipe."));
         }
     }
 
+    /**
+     * Cancela as consultas pendentes ao fechar a janela. Gravações em andamento não são
+     * canceladas, para não perder alterações já confirmadas pelo usuário.
+     */
+    @Override
+    public void cancelPendingTasks() {
+        changes.close();
+        loads.cancelAll();
+    }
+
+    private void showDatabaseError(Throwable error, String message) {
+        error.printStackTrace();
+        statusLabel.setTextFill(Color.RED);
+        statusLabel.setText(message);
+    }
+
     private void clearForm() {
         teamNameField.clear();
         teamDescriptionArea.clear();
         teamMembers.clear();
-        availableUsers.setAll(userDAO.getAllUsers()); // Repopula com todos os usuários
+        availableUsers.clear();
+        // Repopula com todos os usuários; substitui uma carga de membros ainda pendente.
+        loads.submit("members", userDAO::getAllUsers, availableUsers::setAll);
         statusLabel.setText("");
     }
 }
\ No newline at end of file
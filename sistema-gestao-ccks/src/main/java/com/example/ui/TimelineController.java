@@ -0,0 +1,368 @@
+package com.example.ui;
+
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
+import com.example.dao.ProjectDAO;
+import com.example.dao.TaskDAO;
+import com.example.dao.TaskDependencyDAO;
+import com.example.dao.TaskQuery;
+import com.example.dao.UserDAO;
+import com.example.model.Project;
+import com.example.model.Task;
+import com.example.model.User;
+import com.example.service.ScheduleEngine;
+import com.example.service.TaskTimeline;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.StackPane;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Controlador da linha do tempo (Timeline.fxml): as tarefas de um projeto em um gráfico de Gantt,
+ * com as datas planejadas e reais, navegável por anos de histórico.
+ *
+ * As tarefas do projeto são carregadas uma vez e indexadas por período ({@link TaskTimeline});
+ * o desenho ({@link TimelineView}) consulta o índice só pela janela visível. Tarefas alteradas
+ * são relidas pelo ID e o índice é remontado em segundo plano, sem reler o projeto inteiro.
+ *
+ * O cronograma do projeto ({@link ScheduleEngine}) é montado junto, com as dependências entre as
+ * tarefas: o caminho crítico aparece em destaque e o término calculado é comparado ao planejado.
+ * Tarefas alteradas só recalculam as tarefas afetadas por elas. O cronograma é alterado em
+ * segundo plano e consultado na thread do JavaFX, sempre sincronizado nele.
+ */
+public class TimelineController implements AsyncController {
+
+    @FXML private ComboBox<Project> projectComboBox;
+    @FXML private ComboBox<User> responsibleComboBox;
+    @FXML private StackPane timelinePane;
+    @FXML private Label statusLabel;
+    @FXML private ProgressIndicator loadingIndicator;
+
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+    private final TaskDependencyDAO taskDependencyDAO = DAOFactory.getTaskDependencyDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final UserDAO userDAO = DAOFactory.getUserDAO();
+    private final TimelineView timelineView = new TimelineView();
+    private Map<Integer, User> userMap = new HashMap<>();
+
+    /**
+     * O resultado de uma remontagem: a linha do tempo, o cronograma e o que foi lido dele.
+     */
+    private record TimelineData(TaskTimeline timeline, ScheduleEngine schedule, Set<Integer> criticalTaskIds,
+                                LocalDate finish) {
+    }
+
+    private TaskTimeline timeline = TaskTimeline.empty();
+    private ScheduleEngine schedule;
+    // A última tarefa clicada e a marcada como predecessora, para editar as dependências.
+    private Task selectedTask;
+    private Task markedPredecessor;
+    // Alterações ainda não aplicadas à linha do tempo. Só são limpas quando a remontagem que as
+    // aplicou termina: se ela for substituída por outra (mesma chave), a seguinte as inclui.
+    private final Set<Integer> pendingTaskIds = new LinkedHashSet<>();
+    private boolean fullReloadPending = true;
+    private ChangeSubscription changes;
+
+    private final UiTaskGroup loads = new UiTaskGroup();
+
+    @FXML
+    public void initialize() {
+        loadingIndicator.visibleProperty().bind(loads.busyProperty());
+        timelinePane.getChildren().add(timelineView);
+        timelineView.setOnTaskClicked(this::showTask);
+
+        projectComboBox.valueProperty().addListener((obs, oldProject, newProject) -> {
+            if (newProject != null && (oldProject == null || oldProject.getId() != newProject.getId())) {
+                fullReloadPending = true;
+                pendingTaskIds.clear();
+                selectedTask = null;
+                markedPredecessor = null;
+                rebuild();
+            }
+        });
+        responsibleComboBox.valueProperty().addListener((obs, oldUser, newUser) ->
+                timelineView.setResponsibleId(newUser != null ? newUser.getId() : null));
+
+        loadProjects();
+        loadUsers();
+        changes = ChangeSubscription.open(this::applyChanges);
+    }
+
+    private void loadProjects() {
+        loads.submit("projects", projectDAO::getAllProjects, allProjects -> {
+            Project selected = projectComboBox.getValue();
+            projectComboBox.getItems().setAll(allProjects);
+            // Mantém o projeto exibido, com os dados atuais; se ele foi excluído, passa ao primeiro.
+            Project current = selected == null ? null : allProjects.stream()
+                    .filter(p -> p.getId() == selected.getId()).findFirst().orElse(null);
+            projectComboBox.setValue(current != null || allProjects.isEmpty() ? current : allProjects.get(0));
+        });
+    }
+
+    private void loadUsers() {
+        loads.submit("users", userDAO::getAllUsers, allUsers -> {
+            userMap = new HashMap<>();
+            for (User user : allUsers) {
+                userMap.put(user.getId(), user);
+            }
+            responsibleComboBox.getItems().setAll(allUsers);
+        });
+    }
+
+    /**
+     * Aplica as alterações gravadas: tarefas alteradas são relidas pelo ID; uma importação em
+     * massa, ou muitas alterações de uma vez, recarregam o projeto.
+     */
+    private void applyChanges(ChangeSubscription.Batch batch) {
+        if (batch.touches(ChangeEvent.Entity.PROJECT)) {
+            loadProjects();
+        }
+        if (batch.touches(ChangeEvent.Entity.USER)) {
+            loadUsers();
+        }
+        if (!batch.touches(ChangeEvent.Entity.TASK)) {
+            return;
+        }
+        Set<Integer> ids = batch.ids(ChangeEvent.Entity.TASK);
+        if (batch.reloads(ChangeEvent.Entity.TASK) || pendingTaskIds.size() + ids.size() > LiveList.MAX_ROW_UPDATES) {
+            fullReloadPending = true;
+            pendingTaskIds.clear();
+        } else if (!fullReloadPending) {
+            pendingTaskIds.addAll(ids);
+        }
+        rebuild();
+    }
+
+    /**
+     * Remonta a linha do tempo em segundo plano: relê o projeto inteiro (na troca de projeto ou
+     * após um RELOAD) ou só as tarefas pendentes, sobre as tarefas atuais. No segundo caso o
+     * cronograma é atualizado no lugar, com as datas e as predecessoras relidas de cada tarefa.
+     */
+    private void rebuild() {
+        Project project = projectComboBox.getValue();
+        if (project == null) {
+            return;
+        }
+        int projectId = project.getId();
+        boolean full = fullReloadPending;
+        List<Integer> ids = List.copyOf(pendingTaskIds);
+        TaskTimeline current = timeline;
+        ScheduleEngine currentSchedule = schedule;
+        LocalDate today = LocalDate.now();
+
+        loads.submit("timeline", () -> {
+            if (full) {
+                List<Task> tasks = taskDAO.getTasks(TaskQuery.builder().project(projectId).build());
+                ScheduleEngine built = ScheduleEngine.build(scheduleStart(project, tasks, today), tasks,
+                        taskDependencyDAO.getDependenciesByProject(projectId));
+                return snapshot(TaskTimeline.build(tasks, today), built);
+            }
+            Map<Integer, Task> tasks = new HashMap<>();
+            for (Task task : current.tasks()) {
+                tasks.put(task.getId(), task);
+            }
+            Map<Integer, List<Integer>> predecessors = new HashMap<>();
+            for (int id : ids) {
+                // Excluída, ou movida para outro projeto: sai da linha do tempo.
+                Task task = taskDAO.getTaskById(id);
+                if (task == null || task.getProjectId() != projectId) {
+                    tasks.remove(id);
+                } else {
+                    tasks.put(id, task);
+                    predecessors.put(id, taskDependencyDAO.getPredecessorIds(id));
+                }
+            }
+            synchronized (currentSchedule) {
+                for (int id : ids) {
+                    Task task = tasks.get(id);
+                    if (task == null) {
+                        currentSchedule.removeTask(id);
+                    } else {
+                        // Uma predecessora de outro projeto, ou que fecharia um ciclo, é ignorada.
+                        currentSchedule.putTask(id, task.getPlannedStartDate(), task.getPlannedEndDate());
+                        currentSchedule.setPredecessors(id, predecessors.get(id));
+                    }
+                }
+            }
+            return snapshot(TaskTimeline.build(tasks.values(), today), currentSchedule);
+        }, built -> {
+            if (full) {
+                fullReloadPending = false;
+            }
+            ids.forEach(pendingTaskIds::remove);
+            timeline = built.timeline();
+            schedule = built.schedule();
+            timelineView.setTimeline(built.timeline());
+            timelineView.setCriticalTaskIds(built.criticalTaskIds());
+            statusLabel.setText(built.timeline().size() + " tarefas com datas em " + built.timeline().laneCount()
+                    + " linhas. " + scheduleSummary(project, built)
+                    + "Arraste para navegar; use a roda do mouse para aproximar ou afastar.");
+        }, error -> {
+            error.printStackTrace();
+            statusLabel.setText("Erro ao carregar as tarefas do projeto.");
+        });
+    }
+
+    /**
+     * O início das tarefas sem início planejado: o início do projeto, ou o primeiro início
+     * planejado entre as tarefas, ou hoje.
+     */
+    private static LocalDate scheduleStart(Project project, List<Task> tasks, LocalDate today) {
+        if (project.getStartDate() != null) {
+            return project.getStartDate();
+        }
+        return tasks.stream().map(Task::getPlannedStartDate).filter(date -> date != null)
+                .min(LocalDate::compareTo).orElse(today);
+    }
+
+    private static TimelineData snapshot(TaskTimeline timeline, ScheduleEngine schedule) {
+        synchronized (schedule) {
+            return new TimelineData(timeline, schedule, schedule.criticalTaskIds(), schedule.finish());
+        }
+    }
+
+    private static String scheduleSummary(Project project, TimelineData data) {
+        if (data.finish() == null) {
+            return "";
+        }
+        String text = "Término pelo cronograma: " + data.finish() + " (" + data.criticalTaskIds().size()
+                + " tarefas críticas, contornadas em vermelho)";
+        LocalDate planned = project.getPlannedEndDate();
+        if (planned == null) {
+            return text + ". ";
+        }
+        if (data.finish().isAfter(planned)) {
+            return text + ", " + ChronoUnit.DAYS.between(planned, data.finish())
+                    + " dias após o término planejado (" + planned + "). ";
+        }
+        return text + ", dentro do término planejado (" + planned + "). ";
+    }
+
+    private void showTask(Task task) {
+        selectedTask = task;
+        User responsible = userMap.get(task.getResponsibleId());
+        statusLabel.setText(task.getTitle() + " (" + task.getStatus() + ")"
+                + " | Responsável: " + (responsible != null ? responsible.getFullName() : "Não atribuído")
+                + " | Planejado: " + formatRange(task.getPlannedStartDate(), task.getPlannedEndDate())
+                + " | Real: " + formatRange(task.getActualStartDate(), task.getActualEndDate())
+                + scheduleDetails(task.getId()));
+    }
+
+    private String scheduleDetails(int taskId) {
+        if (schedule == null) {
+            return "";
+        }
+        synchronized (schedule) {
+            if (!schedule.contains(taskId)) {
+                return "";
+            }
+            int slack = schedule.slack(taskId);
+            return " | Cronograma: " + formatRange(schedule.earliestStart(taskId), schedule.earliestFinish(taskId))
+                    + (slack == 0 ? ", crítica" : ", folga de " + slack + " dias");
+        }
+    }
+
+    private String titleOf(int taskId) {
+        for (Task task : timeline.tasks()) {
+            if (task.getId() == taskId) {
+                return "'" + task.getTitle() + "'";
+            }
+        }
+        return "#" + taskId;
+    }
+
+    private static String formatRange(LocalDate start, LocalDate end) {
+        if (start == null && end == null) {
+            return "-";
+        }
+        return (start != null ? start : "?") + " a " + (end != null ? end : "...");
+    }
+
+    @FXML
+    void handleTodayAction(ActionEvent event) {
+        timelineView.showDate(LocalDate.now());
+    }
+
+    @FXML
+    void handleClearResponsibleAction(ActionEvent event) {
+        responsibleComboBox.setValue(null);
+    }
+
+    @FXML
+    void handleMarkPredecessorAction(ActionEvent event) {
+        if (selectedTask == null) {
+            statusLabel.setText("Clique em uma tarefa para marcá-la como predecessora.");
+            return;
+        }
+        markedPredecessor = selectedTask;
+        statusLabel.setText("'" + markedPredecessor.getTitle() + "' marcada como predecessora. "
+                + "Clique na tarefa que depende dela e use 'Depende da marcada'.");
+    }
+
+    /**
+     * Grava a dependência da tarefa clicada em relação à marcada, se ela não fechar um ciclo.
+     */
+    @FXML
+    void handleAddDependencyAction(ActionEvent event) {
+        if (!checkDependencySelection()) {
+            return;
+        }
+        int predecessorId = markedPredecessor.getId();
+        int successorId = selectedTask.getId();
+        List<Integer> cycle;
+        synchronized (schedule) {
+            cycle = schedule.findCycle(predecessorId, successorId);
+        }
+        if (!cycle.isEmpty()) {
+            statusLabel.setText("A dependência fecharia um ciclo: " + cycle.stream().map(this::titleOf)
+                    .collect(Collectors.joining(" → ")) + " → " + titleOf(successorId) + ".");
+            return;
+        }
+        String successor = selectedTask.getTitle();
+        loads.submit("dependency", () -> taskDependencyDAO.addDependency(predecessorId, successorId), added ->
+                statusLabel.setText(added ? "'" + successor + "' agora depende de " + titleOf(predecessorId) + "."
+                        : "A dependência já existe ou não pôde ser gravada."));
+    }
+
+    @FXML
+    void handleRemoveDependencyAction(ActionEvent event) {
+        if (!checkDependencySelection()) {
+            return;
+        }
+        int predecessorId = markedPredecessor.getId();
+        int successorId = selectedTask.getId();
+        String successor = selectedTask.getTitle();
+        loads.submit("dependency", () -> taskDependencyDAO.removeDependency(predecessorId, successorId), removed ->
+                statusLabel.setText(removed ? "'" + successor + "' não depende mais de " + titleOf(predecessorId) + "."
+                        : "'" + successor + "' não dependia de " + titleOf(predecessorId) + "."));
+    }
+
+    private boolean checkDependencySelection() {
+        if (schedule == null || markedPredecessor == null || selectedTask == null) {
+            statusLabel.setText("Marque a predecessora e depois clique na tarefa que depende dela.");
+            return false;
+        }
+        if (markedPredecessor.getId() == selectedTask.getId()) {
+            statusLabel.setText("Uma tarefa não pode depender de si mesma.");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void cancelPendingTasks() {
+        changes.close();
+        loads.cancelAll();
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.ui;
+
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.service.TaskTimeline;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Desenho de uma {@link TaskTimeline} (gráfico de Gantt) em um Canvas, com rolagem e zoom.
+ *
+ * - Arrastar move a janela no tempo e entre as faixas; a roda do mouse aproxima ou afasta,
+ *   mantendo fixo o dia sob o cursor. O zoom vai de dias a décadas.
+ * - Cada redesenho consulta o índice de intervalos só pela janela visível e desenha só as tarefas
+ *   das faixas visíveis: o custo depende do que está na tela, não do tamanho do histórico.
+ * - Cada tarefa é uma barra com o período planejado; o período real (início até o término, ou
+ *   até hoje se ainda não terminou) aparece como uma faixa mais escura na metade de baixo.
+ * - As tarefas do caminho crítico são contornadas em vermelho.
+ *
+ * Deve ser usada na thread do JavaFX.
+ */
+final class TimelineView extends Region {
+
+    private static final double HEADER_HEIGHT = 36;
+    private static final double ROW_HEIGHT = 22;
+    private static final double BAR_HEIGHT = 16;
+    private static final double MIN_PIXELS_PER_DAY = 0.02;
+    private static final double MAX_PIXELS_PER_DAY = 60;
+    // Movimento mínimo (em pixels) para um clique virar um arraste.
+    private static final double DRAG_THRESHOLD = 3;
+
+    private static final Color GRID = Color.web("#e0e0e0");
+    private static final Color HEADER_BACKGROUND = Color.web("#f4f4f4");
+    private static final Color TODAY = Color.web("#e74c3c");
+    private static final Color PLANNED_DONE = Color.web("#a9dfbf");
+    private static final Color PLANNED_RUNNING = Color.web("#abebc6");
+    private static final Color PLANNED_LATE = Color.web("#f5b7b1");
+    private static final Color PLANNED_PENDING = Color.web("#f9e79f");
+    private static final Color ACTUAL = Color.web("#2c3e50");
+    private static final Color OUTLINE = Color.web("#7f8c8d");
+    private static final Color CRITICAL = Color.web("#c0392b");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MM/yyyy");
+
+    private final Canvas canvas = new Canvas();
+
+    private TaskTimeline timeline = TaskTimeline.empty();
+    // Só as tarefas deste responsável (null: todas).
+    private Integer responsibleId;
+    private Set<Integer> criticalTaskIds = Set.of();
+    private long today = LocalDate.now().toEpochDay();
+
+    // Janela visível: o dia na borda esquerda (fracionário), a escala e a rolagem vertical.
+    private double firstDay = today - 30;
+    private double pixelsPerDay = 8;
+    private double scrollY = 0;
+
+    private double pressX;
+    private double pressY;
+    private double lastX;
+    private double lastY;
+    private boolean dragging;
+    private Consumer<Task> onTaskClicked = task -> { };
+
+    TimelineView() {
+        getChildren().add(canvas);
+        setMinSize(200, 120);
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::handlePressed);
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::handleDragged);
+        canvas.addEventHandler(MouseEvent.MOUSE_RELEASED, this::handleReleased);
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+    }
+
+    /**
+     * Troca as tarefas exibidas, mantendo a janela visível.
+     */
+    void setTimeline(TaskTimeline timeline) {
+        this.timeline = timeline;
+        this.today = LocalDate.now().toEpochDay();
+        clampScroll();
+        draw();
+    }
+
+    /**
+     * Exibe só as tarefas do responsável (null: todas).
+     */
+    void setResponsibleId(Integer responsibleId) {
+        this.responsibleId = responsibleId;
+        draw();
+    }
+
+    /**
+     * Destaca as tarefas do caminho crítico.
+     */
+    void setCriticalTaskIds(Set<Integer> criticalTaskIds) {
+        this.criticalTaskIds = criticalTaskIds;
+        draw();
+    }
+
+    /**
+     * Centraliza a janela na data, sem mudar o zoom.
+     */
+    void showDate(LocalDate date) {
+        firstDay = date.toEpochDay() - getWidth() / pixelsPerDay / 2;
+        draw();
+    }
+
+    /**
+     * Chamado com a tarefa clicada (um clique sem arrastar sobre uma barra).
+     */
+    void setOnTaskClicked(Consumer<Task> onTaskClicked) {
+        this.onTaskClicked = onTaskClicked;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            clampScroll();
+            draw();
+        }
+    }
+
+    private void handlePressed(MouseEvent event) {
+        pressX = lastX = event.getX();
+        pressY = lastY = event.getY();
+        dragging = false;
+    }
+
+    private void handleDragged(MouseEvent event) {
+        if (!dragging && Math.hypot(event.getX() - pressX, event.getY() - pressY) < DRAG_THRESHOLD) {
+            return;
+        }
+        dragging = true;
+        firstDay -= (event.getX() - lastX) / pixelsPerDay;
+        scrollY -= event.getY() - lastY;
+        lastX = event.getX();
+        lastY = event.getY();
+        clampScroll();
+        draw();
+    }
+
+    private void handleReleased(MouseEvent event) {
+        if (dragging || event.getButton() != MouseButton.PRIMARY || event.getY() < HEADER_HEIGHT) {
+            return;
+        }
+        long day = (long) Math.floor(firstDay + event.getX() / pixelsPerDay);
+        int lane = (int) Math.floor((event.getY() - HEADER_HEIGHT + scrollY) / ROW_HEIGHT);
+        Task[] clicked = new Task[1];
+        forEachVisible(day, day, bar -> {
+            if (bar.lane() == lane) {
+                clicked[0] = bar.task();
+            }
+        });
+        if (clicked[0] != null) {
+            onTaskClicked.accept(clicked[0]);
+        }
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        if (event.getDeltaY() == 0) {
+            return;
+        }
+        double dayAtCursor = firstDay + event.getX() / pixelsPerDay;
+        double factor = Math.pow(1.2, event.getDeltaY() / 40);
+        pixelsPerDay = Math.max(MIN_PIXELS_PER_DAY, Math.min(MAX_PIXELS_PER_DAY, pixelsPerDay * factor));
+        firstDay = dayAtCursor - event.getX() / pixelsPerDay;
+        draw();
+        event.consume();
+    }
+
+    private void clampScroll() {
+        double contentHeight = timeline.laneCount() * ROW_HEIGHT;
+        double visibleHeight = Math.max(0, getHeight() - HEADER_HEIGHT);
+        scrollY = Math.max(0, Math.min(scrollY, Math.max(0, contentHeight - visibleHeight)));
+    }
+
+    private void forEachVisible(long fromDay, long toDay, Consumer<TaskTimeline.Bar> action) {
+        if (responsibleId == null) {
+            timeline.forEachActive(fromDay, toDay, action);
+        } else {
+            timeline.forEachActiveFor(responsibleId, fromDay, toDay, action);
+        }
+    }
+
+    private double xOf(double day) {
+        return (day - firstDay) * pixelsPerDay;
+    }
+
+    private void draw() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+
+        long fromDay = (long) Math.floor(firstDay);
+        long toDay = (long) Math.ceil(firstDay + width / pixelsPerDay);
+        int firstLane = (int) Math.floor(scrollY / ROW_HEIGHT);
+        int lastLane = (int) Math.floor((scrollY + height - HEADER_HEIGHT) / ROW_HEIGHT);
+
+        drawGrid(gc, fromDay, toDay, width, height);
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(0, HEADER_HEIGHT, width, height - HEADER_HEIGHT);
+        gc.clip();
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+        forEachVisible(fromDay, toDay, bar -> {
+            if (bar.lane() >= firstLane && bar.lane() <= lastLane) {
+                drawBar(gc, bar);
+            }
+        });
+        double todayX = xOf(today + 0.5);
+        gc.setStroke(TODAY);
+        gc.setLineWidth(1.5);
+        gc.strokeLine(todayX, HEADER_HEIGHT, todayX, height);
+        gc.restore();
+    }
+
+    /**
+     * Desenha o cabeçalho de datas e as linhas verticais. A unidade (dia, mês ou ano) depende do zoom.
+     */
+    private void drawGrid(GraphicsContext gc, long fromDay, long toDay, double width, double height) {
+        gc.setFill(HEADER_BACKGROUND);
+        gc.fillRect(0, 0, width, HEADER_HEIGHT);
+        gc.setStroke(GRID);
+        gc.setLineWidth(1);
+        gc.setFill(Color.BLACK);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+
+        LocalDate date = LocalDate.ofEpochDay(fromDay);
+        LocalDate end = LocalDate.ofEpochDay(toDay);
+        if (pixelsPerDay >= 18) {
+            // Dias, com o mês na primeira linha.
+            for (; !date.isAfter(end); date = date.plusDays(1)) {
+                double x = xOf(date.toEpochDay());
+                gc.strokeLine(x, HEADER_HEIGHT / 2, x, height);
+                gc.fillText(String.valueOf(date.getDayOfMonth()), x + 3, HEADER_HEIGHT * 3 / 4);
+                if (date.getDayOfMonth() == 1 || date.toEpochDay() == fromDay) {
+                    gc.fillText(MONTH_FORMAT.format(date), Math.max(x, 0) + 3, HEADER_HEIGHT / 4);
+                }
+            }
+        } else if (pixelsPerDay >= 1.5) {
+            // Meses.
+            for (date = date.withDayOfMonth(1); !date.isAfter(end); date = date.plusMonths(1)) {
+                double x = xOf(date.toEpochDay());
+                gc.strokeLine(x, 0, x, height);
+                if (date.lengthOfMonth() * pixelsPerDay >= 60) {
+                    gc.fillText(MONTH_FORMAT.format(date), x + 3, HEADER_HEIGHT / 2);
+                }
+            }
+        } else {
+            // Anos (ou décadas, quando os anos ficam estreitos demais para o rótulo).
+            int step = 365 * pixelsPerDay >= 40 ? 1 : 10;
+            int year = date.getYear() - Math.floorMod(date.getYear(), step);
+            for (; year <= end.getYear(); year += step) {
+                double x = xOf(LocalDate.of(year, 1, 1).toEpochDay());
+                gc.strokeLine(x, 0, x, height);
+                gc.fillText(String.valueOf(year), x + 3, HEADER_HEIGHT / 2);
+            }
+        }
+        gc.strokeLine(0, HEADER_HEIGHT, width, HEADER_HEIGHT);
+    }
+
+    private void drawBar(GraphicsContext gc, TaskTimeline.Bar bar) {
+        Task task = bar.task();
+        double y = HEADER_HEIGHT + bar.lane() * ROW_HEIGHT - scrollY + (ROW_HEIGHT - BAR_HEIGHT) / 2;
+        double x = xOf(bar.start());
+        double w = Math.max(2, (bar.end() - bar.start() + 1) * pixelsPerDay);
+
+        // Período planejado (ou, se incompleto, o período inteiro).
+        LocalDate plannedStart = task.getPlannedStartDate();
+        LocalDate plannedEnd = task.getPlannedEndDate();
+        double plannedX = x;
+        double plannedW = w;
+        if (plannedStart != null && plannedEnd != null && !plannedEnd.isBefore(plannedStart)) {
+            plannedX = xOf(plannedStart.toEpochDay());
+            plannedW = Math.max(2, (plannedEnd.toEpochDay() - plannedStart.toEpochDay() + 1) * pixelsPerDay);
+        }
+        gc.setFill(plannedColor(task));
+        gc.fillRect(plannedX, y, plannedW, BAR_HEIGHT);
+        boolean critical = criticalTaskIds.contains(task.getId());
+        gc.setStroke(critical ? CRITICAL : OUTLINE);
+        gc.setLineWidth(critical ? 2 : 1);
+        gc.strokeRect(x, y, w, BAR_HEIGHT);
+
+        // Período real.
+        if (task.getActualStartDate() != null) {
+            long actualEnd = task.getActualEndDate() != null ? task.getActualEndDate().toEpochDay() : bar.end();
+            double actualX = xOf(task.getActualStartDate().toEpochDay());
+            double actualW = Math.max(2, (actualEnd - task.getActualStartDate().toEpochDay() + 1) * pixelsPerDay);
+            gc.setFill(ACTUAL);
+            gc.fillRect(actualX, y + BAR_HEIGHT * 0.6, actualW, BAR_HEIGHT * 0.4);
+        }
+
+        // O título só cabe em barras largas; é cortado na borda da barra (ou da tela).
+        double textX = Math.max(x, 0) + 3;
+        double textW = x + w - textX - 3;
+        if (textW > 30 && task.getTitle() != null) {
+            gc.save();
+            gc.beginPath();
+            gc.rect(textX, y, textW, BAR_HEIGHT);
+            gc.clip();
+            gc.setFill(Color.BLACK);
+            gc.fillText(task.getTitle(), textX, y + BAR_HEIGHT * 0.3);
+            gc.restore();
+        }
+    }
+
+    private Color plannedColor(Task task) {
+        if (task.getStatus() == TaskStatus.CONCLUIDA) {
+            return PLANNED_DONE;
+        }
+        if (task.isOverdue()) {
+            return PLANNED_LATE;
+        }
+        return task.getStatus() == TaskStatus.EM_EXECUCAO ? PLANNED_RUNNING : PLANNED_PENDING;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.ui;
+
+import com.example.dao.AsyncDAO;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Grupo de chamadas assíncronas de uma tela. Envia o trabalho ao {@link AsyncDAO} e entrega
+ * o resultado na thread do JavaFX, via {@code Platform.runLater}.
+ *
+ * - {@link #busyProperty()} fica true enquanto houver chamadas em andamento, para ligar
+ *   indicadores de carregamento e desabilitar botões.
+ * - Chamadas com a mesma chave se substituem: o resultado da anterior é descartado e só a mais
+ *   recente atualiza a tela (ex: o usuário troca a seleção antes da consulta anterior terminar).
+ *   Uma consulta que já está no banco não é interrompida (ver {@link AsyncDAO}).
+ * - {@link #cancelAll()} descarta tudo o que estiver pendente, ao fechar a janela.
+ *
+ * Todos os métodos devem ser chamados na thread do JavaFX.
+ */
+public class UiTaskGroup {
+
+    private final Set<CompletableFuture<?>> inFlight = new HashSet<>();
+    private final Map<String, CompletableFuture<?>> latestByKey = new HashMap<>();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(this, "busy", false);
+
+    /**
+     * Executa a chamada em segundo plano e entrega o resultado na thread do JavaFX.
+     * Falhas são apenas registradas no console.
+     * @param key Chave para substituir chamadas anteriores equivalentes, ou null.
+     * @param work A chamada ao DAO.
+     * @param onSuccess Recebe o resultado na thread do JavaFX.
+     * @return O future da chamada.
+     */
+    public <T> CompletableFuture<T> submit(String key, Supplier<T> work, Consumer<T> onSuccess) {
+        return submit(key, work, onSuccess, Throwable::printStackTrace);
+    }
+
+    /**
+     * Executa a chamada em segundo plano e entrega o resultado (ou a falha) na thread do JavaFX.
+     * Se a chamada for cancelada, nenhum dos callbacks é executado.
+     * @param key Chave para substituir chamadas anteriores equivalentes, ou null.
+     * @param work A chamada ao DAO.
+     * @param onSuccess Recebe o resultado na thread do JavaFX.
+     * @param onError Recebe a exceção lançada pela chamada, na thread do JavaFX.
+     * @return O future da chamada.
+     */
+    public <T> CompletableFuture<T> submit(String key, Supplier<T> work, Consumer<T> onSuccess,
+                                           Consumer<Throwable> onError) {
+        return track(key, AsyncDAO.supply(work), onSuccess, onError);
+    }
+
+    /**
+     * Acompanha um future já criado (ex: uma composição de várias chamadas), com as mesmas
+     * regras de {@link #submit(String, Supplier, Consumer, Consumer)}.
+     */
+    public <T> CompletableFuture<T> track(String key, CompletableFuture<T> future, Consumer<T> onSuccess,
+                                          Consumer<Throwable> onError) {
+        if (key != null) {
+            CompletableFuture<?> previous = latestByKey.put(key, future);
+            if (previous != null) {
+                inFlight.remove(previous);
+                previous.cancel(false);
+            }
+        }
+        inFlight.add(future);
+        updateBusy();
+
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            // Se o future não estiver mais no grupo, foi cancelado ou substituído: ignora o resultado.
+            if (!inFlight.remove(future)) {
+                return;
+            }
+            if (key != null) {
+                latestByKey.remove(key, future);
+            }
+            updateBusy();
+            if (error != null) {
+                onError.accept(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Cancela todas as chamadas pendentes. Seus resultados nunca chegam à tela.
+     */
+    public void cancelAll() {
+        for (CompletableFuture<?> future : inFlight) {
+            future.cancel(false);
+        }
+        inFlight.clear();
+        latestByKey.clear();
+        updateBusy();
+    }
+
+    /**
+     * Indica se há chamadas em andamento.
+     */
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    public boolean isBusy() {
+        return busy.get();
+    }
+
+    private void updateBusy() {
+        busy.set(!inFlight.isEmpty());
+    }
+}
@@ -1,26 +1,32 @@
 package com.example.ui;
 
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
 import com.example.dao.UserDAO;
 import com.example.model.User;
 import com.example.model.User.UserProfile;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color;
 
+import java.util.Comparator;
 import java.util.Optional;
 
 /**
  * Controlador para a tela de Gerenciamento de Usuários (UserManagement.fxml).
  * Lida com a lógica de cadastro, edição e exclusão de usuários.
  */
-public class UserManagementController {
+public class UserManagementController implements AsyncController {
 
     // --- Injeção dos componentes da interface ---
+    @FXML private TextField searchField;
     @FXML private TableView<User> usersTableView;
     @FXML private TableColumn<User, Integer> idColumn;
     @FXML private TableColumn<User, String> fullNameColumn;
@@ -40,16 +46,37 @@ public class UserManagementController {
     @FXML private Button saveButton;
     @FXML private Button deleteButton;
     @FXML private Label statusLabel;
+    @FXML private ProgressIndicator loadingIndicator;
 
-    private UserDAO userDAO = new UserDAO();
+    private UserDAO userDAO = DAOFactory.getUserDAO();
     private ObservableList<User> userList = FXCollections.observableArrayList();
     private User selectedUser = null;
 
+    // Mantém userList em dia com as alterações gravadas (nesta tela, em outras ou por outros usuários).
+    private LiveList<User> liveUsers;
+    private ChangeSubscription changes;
+
+    // A tabela exibe userList inteira ou, com o campo de busca preenchido, só os usuários encontrados.
+    private final FilteredList<User> filteredUsers = new FilteredList<>(userList);
+    private final SortedList<User> shownUsers = new SortedList<>(filteredUsers);
+    private SearchFilter<User> search;
+
+    // Consultas (canceladas ao fechar a janela) e gravações (que sempre vão até o fim).
+    private final UiTaskGroup loads = new UiTaskGroup();
+    private final UiTaskGroup writes = new UiTaskGroup();
+
     /**
      * Método de inicialização do controlador.
      */
     @FXML
     public void initialize() {
+        loadingIndicator.visibleProperty().bind(loads.busyProperty().or(writes.busyProperty()));
+        saveButton.disableProperty().bind(writes.busyProperty());
+        deleteButton.disableProperty().bind(writes.busyProperty());
+        usersTableView.setItems(shownUsers);
+        search = new SearchFilter<>(searchField, ChangeEvent.Entity.USER, User::getId,
+                filteredUsers, shownUsers, loads);
+
         // Configura as colunas da tabela
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         fullNameColumn.setCellValueFactory(new PropertyValueFactory<>("fullName"));
@@ -67,17 +94,18 @@ public class UserManagementController {
                     populateForm(newValue);
                 });
 
-        // Carrega os dados iniciais
-        loadUsers();
-    }
-
-    /**
-     * Carrega ou recarrega a lista de usuários do banco de dados e a exibe na tabela.
-     */
-    private void loadUsers() {
-        userList.setAll(userDAO.getAllUsers());
-        usersTableView.setItems(userList);
-        usersTableView.refresh();
+        // Carrega os dados iniciais; depois disso, só os usuários alterados são relidos.
+        liveUsers = new LiveList<>(userList, ChangeEvent.Entity.USER, User::getId, userDAO::getUserById,
+                userDAO::getAllUsers, Comparator.comparing(User::getFullName, String.CASE_INSENSITIVE_ORDER),
+                loads, usersTableView.getSelectionModel().selectedItemProperty());
+        liveUsers.reload();
+        changes = ChangeSubscription.open(batch -> {
+            liveUsers.apply(batch);
+            // Um usuário alterado pode passar a atender (ou deixar de atender) a busca.
+            if (search.isActive() && batch.touches(ChangeEvent.Entity.USER)) {
+                search.refresh();
+            }
+        });
     }
 
     /**
@@ -120,32 +148,24 @@ public class UserManagementController {
             return;
         }
 
-        boolean success;
-        String successMessage;
-        String errorMessage;
-
-        if (selectedUser == null) { // Modo de Criação
-            User newUser = new User();
-            readForm(newUser);
-            success = userDAO.addUser(newUser);
-            successMessage = "Usuário cadastrado com sucesso!";
-            errorMessage = "Erro ao cadastrar. Login ou CPF podem já existir.";
-        } else { // Modo de Edição
-            readForm(selectedUser);
-            success = userDAO.updateUser(selectedUser);
-            successMessage = "Usuário atualizado com sucesso!";
-            errorMessage = "Erro ao atualizar o usuário.";
-        }
+        boolean creating = selectedUser == null;
+        User user = creating ? new User() : selectedUser;
+        readForm(user);
+        String successMessage = creating ? "Usuário cadastrado com sucesso!" : "Usuário atualizado com sucesso!";
+        String errorMessage = creating ? "Erro ao cadastrar. Login ou CPF podem já existir." : "Erro ao atualizar o usuário.";
 
-        if (success) {
-            statusLabel.setTextFill(Color.GREEN);
-            statusLabel.setText(successMessage);
-            loadUsers();
-            handleNewUserAction(null); // Limpa o formulário e a seleção
-        } else {
-            statusLabel.setTextFill(Color.RED);
-            statusLabel.setText(errorMessage);
-        }
+        // O hash BCrypt da senha é calculado dentro do DAO, fora da thread do JavaFX.
+        writes.submit(null, () -> creating ? userDAO.addUser(user) : userDAO.updateUser(user), success -> {
+            if (success) {
+                statusLabel.setTextFill(Color.GREEN);
+                statusLabel.setText(successMessage);
+                // A tabela é atualizada pelo ChangeFeed, que avisa desta gravação.
+                handleNewUserAction(null); // Limpa o formulário e a seleção
+            } else {
+                statusLabel.setTextFill(Color.RED);
+                statusLabel.setText(errorMessage);
+            }
+        }, error -> showDatabaseError(error, errorMessage));
     }
 
     /**
@@ -167,19 +187,39 @@ public class UserManagementController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            boolean success = userDAO.deleteUser(selectedUser.getId());
-            if (success) {
-                statusLabel.setTextFill(Color.GREEN);
-                statusLabel.setText("Usuário excluído com sucesso!");
-                loadUsers();
-                clearFormFields();
-            } else {
-                statusLabel.setTextFill(Color.RED);
-                statusLabel.setText("Erro ao excluir. O usuário pode estar associado a projetos ou tarefas.");
-            }
+            int userId = selectedUser.getId();
+            writes.submit(null, () -> userDAO.deleteUser(userId), success -> {
+                if (success) {
+                    statusLabel.setTextFill(Color.GREEN);
+                    statusLabel.setText("Usuário excluído com sucesso!");
+                    clearFormFields();
+                } else {
+                    statusLabel.setTextFill(Color.RED);
+                    statusLabel.setText("Erro ao excluir. O usuário pode estar associado a projetos ou tarefas.");
+                }
+            }, error -> showDatabaseError(error, "Erro ao excluir o usuário."));
         }
     }
 
+    /**
+     * Cancela as consultas pendentes ao fechar a janela. Gravações em andamento não são
+     * canceladas, para não perder alterações já confirmadas pelo usuário.
+     */
+    @Override
+    public void cancelPendingTasks() {
+        changes.close();
+        loads.cancelAll();
+    }
+
+    /**
+     * Exibe uma falha inesperada de uma chamada em segundo plano.
+     */
+    private void showDatabaseError(Throwable error, String message) {
+        error.printStackTrace();
+        statusLabel.setTextFill(Color.RED);
+        statusLabel.setText(message);
+    }
+
     /**
      * Lê os dados do formulário e os popula em um objeto User.
      * @param user O objeto User a ser preenchido.
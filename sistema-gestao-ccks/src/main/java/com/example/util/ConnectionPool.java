@@ -0,0 +1,632 @@
+package com.example.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de conexões JDBC limitado, usado internamente pelo {@link DatabaseConnection}.
+ * Mantém as conexões físicas abertas entre as chamadas dos DAOs, evitando refazer o
+ * handshake TCP + autenticação do MySQL a cada operação.
+ *
+ * As conexões entregues aos DAOs são "proxies": chamar {@code close()} nelas devolve a
+ * conexão física ao pool em vez de fechá-la, então o padrão try-with-resources dos DAOs
+ * continua funcionando sem alterações.
+ *
+ * Cada conexão física também mantém um cache LRU dos PreparedStatements que já preparou,
+ * indexado pelo texto SQL. Quando um DAO prepara de novo o mesmo SQL na mesma conexão, recebe
+ * o comando já preparado (sem nova análise no driver nem, com comandos preparados no
+ * servidor, um novo PREPARE); fechar o comando o devolve ao cache. Quando a conexão física é
+ * descartada, os comandos do cache dela são fechados junto.
+ */
+public class ConnectionPool {
+
+    /**
+     * Estatísticas instantâneas do pool, úteis para depuração e monitoramento.
+     */
+    public record PoolStats(int active, int idle, int total, long borrowCount, long waitCount,
+                            long totalWaitMillis, long maxWaitMillis, long leaksDetected,
+                            long statementCacheHits, long statementCacheMisses) {
+
+        /** Tempo médio (ms) que um DAO esperou por uma conexão livre. */
+        public double averageWaitMillis() {
+            return borrowCount == 0 ? 0.0 : (double) totalWaitMillis / borrowCount;
+        }
+
+        /** Fração dos PreparedStatements reaproveitados do cache (0 a 1). */
+        public double statementCacheHitRate() {
+            long total = statementCacheHits + statementCacheMisses;
+            return total == 0 ? 0.0 : (double) statementCacheHits / total;
+        }
+    }
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final long borrowTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final long validationIntervalMillis;
+    private final int statementCacheSize;
+
+    // Conexões livres. A mais recente fica no início (LIFO), o que mantém as conexões
+    // "quentes" em uso e deixa as ociosas no fim da fila para serem despejadas.
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private volatile boolean closed = false;
+
+    /**
+     * Cria o pool e agenda a tarefa de manutenção (despejo de ociosas e detecção de vazamentos).
+     * @param url A URL JDBC.
+     * @param user O usuário do banco.
+     * @param password A senha do banco.
+     * @param minSize Quantidade mínima de conexões mantidas abertas.
+     * @param maxSize Quantidade máxima de conexões abertas ao mesmo tempo.
+     * @param maxIdleMillis Tempo máximo que uma conexão acima do mínimo pode ficar ociosa.
+     * @param borrowTimeoutMillis Tempo máximo de espera por uma conexão livre.
+     * @param leakThresholdMillis Tempo a partir do qual uma conexão emprestada é considerada vazada.
+     * @param statementCacheSize Quantidade máxima de PreparedStatements em cache por conexão (0 desliga o cache).
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long maxIdleMillis, long borrowTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Tamanhos de pool inválidos: min=" + minSize + ", max=" + maxSize);
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Tamanho de cache de comandos inválido: " + statementCacheSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxIdleMillis = maxIdleMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        // Conexões usadas há pouco tempo não são revalidadas, poupando um round-trip por empréstimo.
+        this.validationIntervalMillis = 1_000;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(maxIdleMillis, leakThresholdMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Empresta uma conexão do pool, criando uma nova se não houver nenhuma livre e o limite
+     * máximo ainda não tiver sido atingido.
+     * @return Uma conexão pronta para uso. Deve ser fechada para ser devolvida ao pool.
+     * @throws SQLException Se o pool estiver fechado, se o tempo de espera esgotar ou se não
+     *                      for possível abrir uma conexão física.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("O pool de conexões já foi encerrado.");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        if (permits.tryAcquire()) {
+            acquired = true;
+        } else {
+            // Todas as conexões estão em uso: aguarda até alguma ser devolvida.
+            waitCount.incrementAndGet();
+            try {
+                acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrompido enquanto aguardava uma conexão do pool.", e);
+            }
+        }
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!acquired) {
+            throw new SQLException("Tempo esgotado (" + borrowTimeoutMillis + " ms) aguardando uma conexão livre. " + stats());
+        }
+        recordWait(waited);
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(openPhysical());
+            }
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowSite = leakThresholdMillis > 0 ? new Throwable("Conexão emprestada aqui") : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Retorna um retrato das estatísticas atuais do pool.
+     */
+    public PoolStats stats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        int active = borrowed.size();
+        return new PoolStats(active, idleCount, active + idleCount, borrowCount.get(), waitCount.get(),
+                totalWaitMillis.get(), maxWaitMillis.get(), leaksDetected.get(),
+                statementCacheHits.get(), statementCacheMisses.get());
+    }
+
+    /**
+     * Encerra o pool: fecha todas as conexões livres e impede novos empréstimos.
+     * Conexões ainda emprestadas são fechadas quando forem devolvidas.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            for (PooledConnection pooled : idle) {
+                pooled.discard();
+            }
+            idle.clear();
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    /**
+     * Retira conexões livres até encontrar uma válida. Conexões quebradas
+     * (ex: derrubadas pelo servidor por inatividade) são descartadas.
+     */
+    private PooledConnection takeValidIdle() {
+        while (true) {
+            PooledConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+            if (isUsable(candidate)) {
+                return candidate;
+            }
+            candidate.discard();
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < validationIntervalMillis) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordWait(long waited) {
+        borrowCount.incrementAndGet();
+        totalWaitMillis.addAndGet(waited);
+        maxWaitMillis.accumulateAndGet(waited, Math::max);
+    }
+
+    /**
+     * Devolve a conexão física ao pool, restaurando o estado padrão para o próximo DAO.
+     */
+    private void release(PooledConnection pooled) {
+        if (!borrowed.remove(pooled)) {
+            return;
+        }
+        boolean reusable = !closed;
+        try {
+            // Comandos que o DAO esqueceu de fechar voltam ao cache agora.
+            pooled.recycleAllStatements();
+            if (reusable) {
+                if (!pooled.physical.getAutoCommit()) {
+                    // Uma transação deixada aberta não pode "vazar" para o próximo uso da conexão.
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.physical.clearWarnings();
+            }
+        } catch (SQLException e) {
+            reusable = false;
+        }
+
+        if (reusable) {
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            pooled.borrowSite = null;
+            synchronized (idle) {
+                idle.addFirst(pooled);
+            }
+        } else {
+            pooled.discard();
+        }
+        permits.release();
+    }
+
+    /**
+     * Tarefa periódica: despeja conexões ociosas acima do mínimo, reabastece o mínimo
+     * e reporta conexões emprestadas há mais tempo que o limite de vazamento.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() + borrowed.size() > minSize) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastReturnedAt > maxIdleMillis) {
+                    it.remove();
+                    pooled.discard();
+                }
+            }
+        }
+
+        while (!closed && totalSize() < minSize && permits.tryAcquire()) {
+            try {
+                PooledConnection pooled = new PooledConnection(openPhysical());
+                pooled.lastReturnedAt = now;
+                synchronized (idle) {
+                    idle.addLast(pooled);
+                }
+            } catch (SQLException e) {
+                // O banco pode estar indisponível; tentaremos de novo na próxima execução.
+                break;
+            } finally {
+                permits.release();
+            }
+        }
+
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pooled : borrowed) {
+                if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                    pooled.leakReported = true;
+                    leaksDetected.incrementAndGet();
+                    System.err.println("Possível vazamento de conexão: emprestada há "
+                            + (now - pooled.borrowedAt) + " ms e ainda não devolvida.");
+                    if (pooled.borrowSite != null) {
+                        pooled.borrowSite.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    private int totalSize() {
+        synchronized (idle) {
+            return idle.size() + borrowed.size();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // A conexão já estava quebrada; não há mais nada a fazer.
+        }
+    }
+
+    /**
+     * Conexão física mantida pelo pool, junto com os metadados de empréstimo.
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        volatile long borrowedAt;
+        volatile long lastReturnedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+        // Cache LRU (ordem de acesso) dos comandos preparados nesta conexão. Só é usado por
+        // quem está com a conexão emprestada, uma thread por vez, então dispensa sincronização.
+        final LinkedHashMap<StatementKey, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        /**
+         * Entrega um PreparedStatement para o SQL, reaproveitando o do cache se estiver livre.
+         * Se o mesmo SQL já estiver em uso neste empréstimo (ex: dois comandos iguais abertos
+         * ao mesmo tempo), o segundo é preparado fora do cache.
+         */
+        PreparedStatement prepareCached(StatementKey key, Connection handle) throws SQLException {
+            CachedStatement cached = statements.get(key);
+            if (cached != null && !cached.inUse) {
+                statementCacheHits.incrementAndGet();
+                return cached.checkOut(handle);
+            }
+            statementCacheMisses.incrementAndGet();
+            PreparedStatement prepared = key.autoGeneratedKeys() == StatementKey.NO_KEYS
+                    ? physical.prepareStatement(key.sql())
+                    : physical.prepareStatement(key.sql(), key.autoGeneratedKeys());
+            if (cached != null) {
+                return prepared;
+            }
+            cached = new CachedStatement(key, prepared, this);
+            statements.put(key, cached);
+            evictStatements();
+            return cached.checkOut(handle);
+        }
+
+        /**
+         * Fecha os comandos menos usados recentemente até o cache voltar ao limite.
+         * Comandos em uso nunca são despejados (o cache pode exceder o limite temporariamente).
+         */
+        private void evictStatements() {
+            Iterator<CachedStatement> it = statements.values().iterator();
+            while (statements.size() > statementCacheSize && it.hasNext()) {
+                CachedStatement candidate = it.next();
+                if (!candidate.inUse) {
+                    it.remove();
+                    candidate.closePhysical();
+                }
+            }
+        }
+
+        void discardStatement(CachedStatement cached) {
+            statements.remove(cached.key);
+            cached.closePhysical();
+        }
+
+        /**
+         * Fecha a conexão física junto com os comandos em cache, que não servem para outra conexão.
+         */
+        void discard() {
+            for (CachedStatement cached : statements.values()) {
+                cached.closePhysical();
+            }
+            statements.clear();
+            closeQuietly(physical);
+        }
+
+        void recycleAllStatements() {
+            for (CachedStatement cached : new ArrayList<>(statements.values())) {
+                if (cached.inUse) {
+                    cached.recycle();
+                }
+            }
+        }
+
+        /**
+         * Cria o "handle" entregue ao DAO. Cada empréstimo recebe um handle novo, de modo
+         * que um handle antigo, já fechado, não consegue mais usar a conexão física.
+         */
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * Intercepta as chamadas ao handle: {@code close()} devolve a conexão ao pool e
+     * qualquer outra chamada é repassada à conexão física enquanto o handle estiver aberto.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean handleClosed = false;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                case "prepareStatement":
+                    if (handleClosed) {
+                        throw new SQLException("A conexão já foi devolvida ao pool.");
+                    }
+                    StatementKey key = StatementKey.of(args);
+                    if (statementCacheSize > 0 && key != null) {
+                        return pooled.prepareCached(key, (Connection) proxy);
+                    }
+                    // Variantes não cacheadas (ex: com tipo de ResultSet): repassa à conexão física.
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                default:
+                    if (handleClosed) {
+                        throw new SQLException("A conexão já foi devolvida ao pool.");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    /**
+     * Chave do cache de comandos: o texto SQL e, se pedido, o modo de chaves geradas.
+     */
+    private record StatementKey(String sql, int autoGeneratedKeys) {
+
+        static final int NO_KEYS = -1;
+
+        /**
+         * Monta a chave a partir dos argumentos de {@code prepareStatement}.
+         * @return A chave, ou null para as variantes que não são cacheadas.
+         */
+        static StatementKey of(Object[] args) {
+            if (args.length == 1 && args[0] instanceof String sql) {
+                return new StatementKey(sql, NO_KEYS);
+            }
+            if (args.length == 2 && args[0] instanceof String sql && args[1] instanceof Integer keys) {
+                return new StatementKey(sql, keys);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Um PreparedStatement físico mantido no cache de uma conexão.
+     */
+    private static final class CachedStatement {
+        final StatementKey key;
+        final PreparedStatement physical;
+        final PooledConnection owner;
+        boolean inUse;
+        StatementHandle currentHandle;
+
+        CachedStatement(StatementKey key, PreparedStatement physical, PooledConnection owner) {
+            this.key = key;
+            this.physical = physical;
+            this.owner = owner;
+        }
+
+        /**
+         * Entrega o comando a um DAO. Cada entrega recebe um "handle" novo, de modo que um
+         * handle antigo, já fechado, não consegue mais usar o comando.
+         */
+        PreparedStatement checkOut(Connection connectionHandle) {
+            inUse = true;
+            currentHandle = new StatementHandle(this, connectionHandle);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    currentHandle);
+        }
+
+        /**
+         * Devolve o comando ao cache, limpando o que o DAO deixou nele (parâmetros, lote e
+         * ResultSets abertos). Se a limpeza falhar, o comando é descartado.
+         */
+        void recycle() {
+            StatementHandle handle = currentHandle;
+            currentHandle = null;
+            if (handle != null) {
+                handle.closed = true;
+            }
+            try {
+                if (handle != null) {
+                    for (ResultSet rs : handle.resultSets) {
+                        rs.close();
+                    }
+                }
+                physical.clearParameters();
+                physical.clearBatch();
+                physical.clearWarnings();
+                inUse = false;
+            } catch (SQLException e) {
+                owner.discardStatement(this);
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // O comando já estava inválido (ex: conexão derrubada).
+            }
+        }
+    }
+
+    /**
+     * Intercepta as chamadas ao comando em cache: {@code close()} o devolve ao cache e as
+     * demais são repassadas ao comando físico enquanto o handle estiver aberto.
+     */
+    private static final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection connectionHandle;
+        // ResultSets abertos por este handle, fechados ao devolver o comando.
+        private final List<ResultSet> resultSets = new ArrayList<>(1);
+        private boolean closed = false;
+
+        StatementHandle(CachedStatement cached, Connection connectionHandle) {
+            this.cached = cached;
+            this.connectionHandle = connectionHandle;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        cached.recycle();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "getConnection":
+                    // Nunca expõe a conexão física ao DAO.
+                    return connectionHandle;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.key.sql() + "]";
+                default:
+                    if (closed) {
+                        throw new SQLException("O comando já foi fechado.");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(cached.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof ResultSet rs) {
+                        resultSets.add(rs);
+                    }
+                    return result;
+            }
+        }
+    }
+}
@@ -1,18 +1,18 @@
 package com.example.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * Classe utilitária responsável por gerenciar a conexão com o banco de dados MySQL.
+ * Classe utilitária responsável por gerenciar a conexão com o banco de dados (MySQL ou H2 embutido).
  * Centraliza a lógica de conexão em um único ponto, facilitando a manutenção.
+ * As conexões vêm de um {@link ConnectionPool} compartilhado por todos os DAOs, então
+ * o custo de abrir a conexão (TCP + handshake + autenticação) é pago uma única vez.
  */
 public class DatabaseConnection {
-    // A URL de conexão JDBC. Define o protocolo (jdbc:mysql), o host (localhost),
-    // a porta (3306) e o nome do banco de dados (gestao_projetos_db).
-    // O parâmetro `user=root` é uma forma alternativa de passar o usuário, mas o método getConnection o sobrepõe.
-    private static final String URL = "jdbc:mysql://localhost:3306/gestao_projetos_db?user=root";
+    // O servidor MySQL compartilhado: host e porta (localhost:3306) e nome do banco de dados.
+    private static final String MYSQL_HOST = "localhost:3306";
+    private static final String DATABASE = "gestao_projetos_db";
     
     // Usuário do banco de dados. 'root' é o padrão no MySQL.
     private static final String USER = "root";
@@ -21,17 +21,45 @@ public class DatabaseConnection {
     // ATENÇÃO: Substitua pela senha que você configurou no seu MySQL.
     private static final String PASSWORD = "ccks123456"; // <-- COLOQUE SUA SENHA AQUI
 
+    // --- Escolha do banco ---
+    // -Dgestao.db.backend=h2 usa um banco H2 embutido (arquivo local, sem servidor) em vez do MySQL.
+    // O arquivo fica em -Dgestao.db.h2.path (padrão: ~/.gestao-ccks/gestao_projetos_db) e o esquema
+    // é criado pelas migrações na primeira execução.
+    private static final String BACKEND = System.getProperty("gestao.db.backend", "mysql");
+    private static final String H2_PATH = System.getProperty("gestao.db.h2.path", "~/.gestao-ccks/" + DATABASE);
+
+    private static final SqlDialect DIALECT = "h2".equalsIgnoreCase(BACKEND)
+            ? new H2Dialect(H2_PATH)
+            : new MySqlDialect(MYSQL_HOST, DATABASE, USER, PASSWORD);
+
+    // --- Configuração do pool de conexões ---
+    // Podem ser ajustadas sem recompilar via propriedades de sistema (ex: -Dgestao.pool.max=20).
+    private static final int POOL_MIN_SIZE = Integer.getInteger("gestao.pool.min", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("gestao.pool.max", 10);
+    private static final long POOL_MAX_IDLE_MILLIS = Long.getLong("gestao.pool.maxIdleMillis", 5 * 60_000L);
+    private static final long POOL_BORROW_TIMEOUT_MILLIS = Long.getLong("gestao.pool.borrowTimeoutMillis", 10_000L);
+    private static final long POOL_LEAK_THRESHOLD_MILLIS = Long.getLong("gestao.pool.leakThresholdMillis", 60_000L);
+    // PreparedStatements mantidos em cache por conexão (0 desliga o cache).
+    private static final int POOL_STATEMENT_CACHE_SIZE = Integer.getInteger("gestao.pool.statementCacheSize", 64);
+
+    // O pool é criado na primeira chamada (inicialização preguiçosa e thread-safe via holder).
+    private static class PoolHolder {
+        private static final ConnectionPool POOL = new ConnectionPool(DIALECT.jdbcUrl(), DIALECT.user(), DIALECT.password(),
+                POOL_MIN_SIZE, POOL_MAX_SIZE, POOL_MAX_IDLE_MILLIS,
+                POOL_BORROW_TIMEOUT_MILLIS, POOL_LEAK_THRESHOLD_MILLIS, POOL_STATEMENT_CACHE_SIZE);
+    }
+
     /**
-     * Tenta estabelecer uma conexão com o banco de dados.
+     * Obtém uma conexão com o banco de dados a partir do pool.
      * Este método estático pode ser chamado de qualquer lugar da aplicação para obter uma conexão.
+     * Fechar a conexão retornada (ex: via try-with-resources) a devolve ao pool.
      * @return um objeto Connection se a conexão for bem-sucedida, ou null em caso de falha.
      */
     public static Connection getConnection() {
         Connection connection = null;
         try {
-            // O DriverManager tenta encontrar um driver adequado a partir da URL JDBC fornecida
-            // e estabelecer uma conexão.
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
+            // Reaproveita uma conexão livre do pool ou, se necessário, abre uma nova.
+            connection = PoolHolder.POOL.borrow();
         } catch (SQLException e) {
             // Se uma SQLException ocorrer, significa que a conexão falhou.
             // Pode ser por causa de credenciais erradas, banco de dados offline,
@@ -42,7 +70,7 @@ public class DatabaseConnection {
             
             // Exibe uma mensagem de erro mais amigável no console de erro.
             System.err.println("Falha ao conectar ao banco de dados. Verifique a URL, usuário e senha.");
-            System.err.println("URL: " + URL);
+            System.err.println("URL: " + DIALECT.jdbcUrl());
             
             // Em uma aplicação real, seria ideal usar um sistema de logging (como SLF4J/Logback)
             // e talvez lançar uma exceção customizada para ser tratada pelas camadas superiores.
@@ -51,4 +79,25 @@ public class DatabaseConnection {
         // Retorna a conexão estabelecida com sucesso.
         return connection;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna o dialeto do banco em uso (MySQL ou H2).
+     */
+    public static SqlDialect getDialect() {
+        return DIALECT;
+    }
+
+    /**
+     * Retorna as estatísticas atuais do pool (conexões ativas/livres, tempo de espera, etc.).
+     */
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return PoolHolder.POOL.stats();
+    }
+
+    /**
+     * Fecha todas as conexões do pool. Deve ser chamado no encerramento da aplicação.
+     */
+    public static void shutdown() {
+        PoolHolder.POOL.shutdown();
+    }
+}
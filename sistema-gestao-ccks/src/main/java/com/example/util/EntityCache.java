@@ -0,0 +1,171 @@
+package com.example.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória, de leitura direta ("read-through"), para resultados de consultas.
+ *
+ * - Limitado em tamanho: ao passar de {@code maxSize} entradas, a menos usada recentemente é
+ *   descartada (LRU).
+ * - Cada entrada expira após o TTL, mesmo que ninguém a invalide; isso limita o tempo em que
+ *   alterações feitas por outras instâncias da aplicação ficam invisíveis.
+ * - Os DAOs invalidam as entradas afetadas nos seus métodos de escrita.
+ * - Contadores de acertos, falhas e descartes ficam disponíveis em {@link #stats()}.
+ *
+ * Os valores guardados são compartilhados entre os chamadores: devem ser imutáveis
+ * (ex: {@code List.copyOf}) ou copiados antes de serem devolvidos. Um loader que retorna
+ * null (ex: a consulta falhou) não tem o resultado guardado.
+ *
+ * @param <K> O tipo da chave.
+ * @param <V> O tipo do valor.
+ */
+public class EntityCache<K, V> {
+
+    /**
+     * Estatísticas de uso de um cache.
+     */
+    public record CacheStats(String name, long hits, long misses, long evictions, int size) {
+
+        /** Fração das leituras atendidas pelo cache, entre 0 e 1. */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Guardado pelo monitor de 'this'.
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Incrementado a cada invalidação: um valor carregado antes dela não é guardado.
+    private long generation = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param name Nome do cache, usado nas estatísticas.
+     * @param maxSize Quantidade máxima de entradas.
+     * @param ttlMillis Tempo de vida de cada entrada, em milissegundos.
+     */
+    public EntityCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor em cache para a chave ou, se não houver (ou tiver expirado), carrega-o
+     * com o loader e o guarda.
+     * @param key A chave.
+     * @param loader A consulta que produz o valor; é executada fora de qualquer trava.
+     * @return O valor em cache ou recém-carregado (null se o loader retornar null).
+     */
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAtNanos() - System.nanoTime() > 0) {
+                hits.incrementAndGet();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+
+        V value = loader.get();
+        synchronized (this) {
+            // Se houve uma escrita durante a consulta, o valor pode estar desatualizado: não guarda.
+            if (value != null && loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Retorna o valor em cache para a chave, sem carregá-lo.
+     * @return O valor, ou null se não houver (ou tiver expirado).
+     */
+    public V getIfPresent(K key) {
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAtNanos() - System.nanoTime() > 0) {
+                hits.incrementAndGet();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * A geração atual, para guardar com {@link #putAll} valores carregados fora do cache.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Guarda valores carregados fora do cache (ex: uma consulta que lê vários registros de uma vez).
+     * @param generation A {@link #generation()} lida antes da consulta.
+     * @return false se houve uma invalidação desde então: os valores podem estar desatualizados e
+     *         não são guardados.
+     */
+    public synchronized boolean putAll(Map<K, V> values, long generation) {
+        if (generation != this.generation) {
+            return false;
+        }
+        long expiresAtNanos = System.nanoTime() + ttlNanos;
+        values.forEach((key, value) -> entries.put(key, new Entry<>(value, expiresAtNanos)));
+        return true;
+    }
+
+    /**
+     * Remove a entrada de uma chave.
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Retorna os contadores de uso do cache.
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(name, hits.get(), misses.get(), evictions.get(), entries.size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Dialeto do H2 embutido: o banco é um arquivo local, aberto dentro do próprio processo, sem
+ * servidor nem rede. Indicado para uso offline (ex: notebooks em campo) e para rodar a
+ * aplicação sem um MySQL disponível.
+ *
+ * O H2 roda em modo de compatibilidade com o MySQL, então o esquema (db/migration) e o SQL
+ * dos DAOs são os mesmos.
+ */
+public class H2Dialect implements SqlDialect {
+
+    // Código de erro do H2 para violação de chave única (ErrorCode.DUPLICATE_KEY_1).
+    private static final int DUPLICATE_KEY = 23505;
+
+    private final String path;
+
+    /**
+     * @param path O caminho do arquivo do banco, sem a extensão (ex: "~/.gestao-ccks/gestao_projetos_db").
+     */
+    public H2Dialect(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public String name() {
+        return "H2";
+    }
+
+    @Override
+    public String jdbcUrl() {
+        // DATABASE_TO_LOWER e CASE_INSENSITIVE_IDENTIFIERS reproduzem os nomes de tabela e coluna do MySQL.
+        return "jdbc:h2:file:" + path + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+    }
+
+    @Override
+    public String user() {
+        return "sa";
+    }
+
+    @Override
+    public String password() {
+        return "";
+    }
+
+    @Override
+    public boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == DUPLICATE_KEY;
+    }
+
+    @Override
+    public boolean acquireLock(Connection conn, String name, int timeoutSeconds) {
+        // O arquivo do H2 só pode ser aberto por um processo por vez (o próprio H2 o trava),
+        // então não há outro cliente com quem disputar.
+        return true;
+    }
+
+    @Override
+    public void releaseLock(Connection conn, String name) {
+        // Nada a liberar: ver acquireLock.
+    }
+}
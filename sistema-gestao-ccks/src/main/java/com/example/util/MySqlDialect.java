@@ -0,0 +1,85 @@
+package com.example.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Dialeto do MySQL, usado com o servidor compartilhado (padrão).
+ */
+public class MySqlDialect implements SqlDialect {
+
+    // Código de erro do MySQL para 'Duplicate entry'.
+    private static final int ER_DUP_ENTRY = 1062;
+
+    // Comandos preparados no servidor: o SQL é analisado uma vez por conexão e, a cada execução,
+    // só os parâmetros trafegam. Combinado com o cache de comandos do ConnectionPool, cada SQL é
+    // preparado uma única vez por conexão. -Dgestao.db.serverPrepStmts=false volta ao modo do driver.
+    private static final boolean SERVER_PREP_STMTS =
+            Boolean.parseBoolean(System.getProperty("gestao.db.serverPrepStmts", "true"));
+
+    private final String host;
+    private final String database;
+    private final String user;
+    private final String password;
+
+    /**
+     * @param host O servidor e a porta (ex: "localhost:3306").
+     * @param database O nome do banco de dados.
+     * @param user O usuário do banco.
+     * @param password A senha do usuário.
+     */
+    public MySqlDialect(String host, String database, String user, String password) {
+        this.host = host;
+        this.database = database;
+        this.user = user;
+        this.password = password;
+    }
+
+    @Override
+    public String name() {
+        return "MySQL";
+    }
+
+    @Override
+    public String jdbcUrl() {
+        // `rewriteBatchedStatements=true` faz o driver enviar cada executeBatch como um único INSERT multi-linhas.
+        return "jdbc:mysql://" + host + "/" + database + "?rewriteBatchedStatements=true"
+                + "&useServerPrepStmts=" + SERVER_PREP_STMTS;
+    }
+
+    @Override
+    public String user() {
+        return user;
+    }
+
+    @Override
+    public String password() {
+        return password;
+    }
+
+    @Override
+    public boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == ER_DUP_ENTRY;
+    }
+
+    @Override
+    public boolean acquireLock(Connection conn, String name, int timeoutSeconds) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, name);
+            pstmt.setInt(2, timeoutSeconds);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    @Override
+    public void releaseLock(Connection conn, String name) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, name);
+            pstmt.executeQuery().close();
+        }
+    }
+}
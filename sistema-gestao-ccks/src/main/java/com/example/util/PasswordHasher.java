@@ -0,0 +1,131 @@
+package com.example.util;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * Geração e verificação de hashes de senha com BCrypt, com o custo ("work factor")
+ * ajustado à máquina.
+ *
+ * Em vez de usar sempre o custo padrão do BCrypt, {@link #getDefault()} mede quanto um hash
+ * demora neste computador e escolhe o maior custo que ainda fica dentro do tempo alvo
+ * (propriedade {@code gestao.auth.hashTargetMillis}, padrão 250 ms). Cada ponto de custo dobra
+ * o tempo. O custo também pode ser fixado com {@code gestao.auth.bcryptCost}.
+ *
+ * Hashes gerados com um custo menor que o atual podem ser detectados com
+ * {@link #needsRehash(String)} e regravados após um login bem-sucedido.
+ */
+public class PasswordHasher {
+
+    // Limites do custo: abaixo de 10 é fraco demais; acima de 16 um login leva segundos.
+    public static final int MIN_COST = 10;
+    public static final int MAX_COST = 16;
+
+    private static final long TARGET_MILLIS = Long.getLong("gestao.auth.hashTargetMillis", 250L);
+
+    private static class DefaultHolder {
+        private static final PasswordHasher DEFAULT = new PasswordHasher(
+                Integer.getInteger("gestao.auth.bcryptCost", calibrate(TARGET_MILLIS)));
+    }
+
+    private final int cost;
+
+    /**
+     * @param cost O custo do BCrypt (log2 do número de iterações), entre MIN_COST e MAX_COST.
+     */
+    public PasswordHasher(int cost) {
+        if (cost < MIN_COST || cost > MAX_COST) {
+            throw new IllegalArgumentException("Custo do BCrypt fora do intervalo " + MIN_COST + ".." + MAX_COST + ": " + cost);
+        }
+        this.cost = cost;
+    }
+
+    /**
+     * Retorna o hasher da aplicação. Na primeira chamada o custo é calibrado, o que leva
+     * algumas centenas de milissegundos; por isso ela não deve ocorrer na thread do JavaFX.
+     */
+    public static PasswordHasher getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Mede o tempo de um hash com o custo mínimo e calcula o maior custo que fica dentro do alvo.
+     * @param targetMillis O tempo alvo de um hash (e de uma verificação), em milissegundos.
+     * @return O custo escolhido, entre MIN_COST e MAX_COST.
+     */
+    public static int calibrate(long targetMillis) {
+        String salt = BCrypt.gensalt(MIN_COST);
+        // A primeira execução inclui o aquecimento da JIT: mede duas vezes e fica com a menor.
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibracao", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double minCostMillis = Math.max(best / 1_000_000.0, 1.0);
+
+        int cost = MIN_COST;
+        double estimate = minCostMillis;
+        while (cost < MAX_COST && estimate * 2 <= targetMillis) {
+            cost++;
+            estimate *= 2;
+        }
+        if (Boolean.getBoolean("gestao.debug")) {
+            System.out.printf("Custo do BCrypt calibrado: %d (~%.0f ms por hash; custo %d levou %.1f ms)%n",
+                    cost, estimate, MIN_COST, minCostMillis);
+        }
+        return cost;
+    }
+
+    /**
+     * Gera o hash de uma senha com o custo atual.
+     */
+    public String hash(String plainPassword) {
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost));
+    }
+
+    /**
+     * Verifica uma senha contra um hash armazenado (de qualquer custo).
+     * @return true se a senha corresponder; false se não corresponder ou se o hash for inválido.
+     */
+    public boolean verify(String plainPassword, String storedHash) {
+        if (plainPassword == null || storedHash == null) {
+            return false;
+        }
+        try {
+            return BCrypt.checkpw(plainPassword, storedHash);
+        } catch (IllegalArgumentException e) {
+            // Hash em formato inválido no banco.
+            return false;
+        }
+    }
+
+    /**
+     * Indica se o hash foi gerado com um custo menor que o atual e deve ser regravado.
+     */
+    public boolean needsRehash(String storedHash) {
+        int storedCost = costOf(storedHash);
+        return storedCost >= 0 && storedCost < cost;
+    }
+
+    /**
+     * @return O custo configurado deste hasher.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Extrai o custo de um hash no formato {@code $2a$NN$...}.
+     * @return O custo, ou -1 se o formato não for reconhecido.
+     */
+    static int costOf(String storedHash) {
+        if (storedHash == null || storedHash.length() < 7 || storedHash.charAt(0) != '$' || storedHash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(storedHash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aplica as migrações de esquema versionadas (src/main/resources/db/migration) na inicialização.
+ *
+ * - As migrações são scripts SQL chamados {@code V<versão>__<descrição>.sql}, listados em
+ *   ordem no arquivo {@code db/migration/index.txt} (recursos dentro de um módulo ou jar não
+ *   podem ser listados de forma confiável, então a lista é explícita).
+ * - Cada versão aplicada é registrada na tabela {@code schema_history}, com o checksum
+ *   (SHA-256) do script. Um script já aplicado que foi alterado depois interrompe a migração.
+ * - Caminho rápido: se {@code SELECT MAX(version)} já retorna a última versão disponível,
+ *   nada mais é feito. É o caso de quase toda inicialização, e custa uma única consulta.
+ * - Caminho lento: uma trava consultiva ({@link SqlDialect#acquireLock}, GET_LOCK no MySQL)
+ *   garante que só um cliente migre o banco por vez; os outros esperam e, ao obter a trava,
+ *   encontram as versões já aplicadas.
+ *
+ * No MySQL, comandos DDL (CREATE/ALTER) fazem commit implícito, então uma migração que falhe
+ * no meio não é desfeita: corrija o banco e o script antes de iniciar a aplicação de novo.
+ * Scripts não podem usar DELIMITER (procedures/triggers).
+ */
+public class SchemaMigrator {
+
+    /**
+     * Uma migração disponível nos recursos.
+     */
+    public record Migration(int version, String description, String script, String checksum) {
+    }
+
+    /**
+     * Falha que impede a aplicação de continuar (ex: script alterado após ser aplicado).
+     */
+    public static class MigrationException extends SQLException {
+        private static final long serialVersionUID = 1L;
+
+        public MigrationException(String message) {
+            super(message);
+        }
+    }
+
+    public static final String DEFAULT_LOCATION = "/db/migration";
+
+    private static final String HISTORY_TABLE = "schema_history";
+    private static final String LOCK_NAME = "gestao_projetos_db.schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = Integer.getInteger("gestao.migrate.lockTimeoutSeconds", 60);
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final boolean DEBUG = Boolean.getBoolean("gestao.debug");
+
+    private final String location;
+
+    public SchemaMigrator() {
+        this(DEFAULT_LOCATION);
+    }
+
+    /**
+     * @param location A pasta de recursos com as migrações e o index.txt (ex: "/db/migration").
+     */
+    public SchemaMigrator(String location) {
+        this.location = location;
+    }
+
+    /**
+     * Leva o banco até a última versão disponível.
+     * @param conn A conexão usada em todo o processo (a trava pertence à sessão).
+     * @return Quantas migrações foram aplicadas (0 se o banco já estava atualizado).
+     * @throws SQLException Se uma migração falhar, um checksum não conferir ou a trava não
+     *                      for obtida a tempo.
+     */
+    public int migrate(Connection conn) throws SQLException {
+        List<Migration> available = loadMigrations();
+        if (available.isEmpty()) {
+            return 0;
+        }
+        int latest = available.get(available.size() - 1).version();
+        if (currentVersion(conn) >= latest) {
+            return 0;
+        }
+
+        acquireLock(conn);
+        try {
+            createHistoryTable(conn);
+            Map<Integer, String> applied = appliedChecksums(conn);
+            int count = 0;
+            for (Migration migration : available) {
+                String checksum = applied.get(migration.version());
+                if (checksum == null) {
+                    apply(conn, migration);
+                    count++;
+                } else if (!checksum.equals(migration.checksum())) {
+                    throw new MigrationException("A migração V" + migration.version() + " (" + migration.script()
+                            + ") foi alterada depois de aplicada. Crie uma nova versão em vez de editar a antiga.");
+                }
+            }
+            return count;
+        } finally {
+            releaseLock(conn);
+        }
+    }
+
+    /**
+     * Retorna a última versão registrada, ou -1 se a tabela de histórico ainda não existe.
+     */
+    private int currentVersion(Connection conn) {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM " + HISTORY_TABLE)) {
+            return rs.next() ? rs.getInt(1) : -1;
+        } catch (SQLException e) {
+            // Tabela inexistente: banco anterior às migrações. O caminho lento cria a tabela.
+            return -1;
+        }
+    }
+
+    private void acquireLock(Connection conn) throws SQLException {
+        if (!DatabaseConnection.getDialect().acquireLock(conn, LOCK_NAME, LOCK_TIMEOUT_SECONDS)) {
+            throw new MigrationException("Outro cliente está migrando o banco de dados há mais de "
+                    + LOCK_TIMEOUT_SECONDS + " segundos.");
+        }
+    }
+
+    private void releaseLock(Connection conn) {
+        try {
+            DatabaseConnection.getDialect().releaseLock(conn, LOCK_NAME);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void createHistoryTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "script VARCHAR(255) NOT NULL, "
+                    + "checksum CHAR(64) NOT NULL, "
+                    + "execution_ms INT NOT NULL, "
+                    + "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        String sql;
+        try {
+            sql = readResource(migration.script());
+        } catch (IOException e) {
+            throw new SQLException("Não foi possível ler a migração " + migration.script(), e);
+        }
+        long start = System.nanoTime();
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : splitStatements(sql)) {
+                try {
+                    stmt.execute(statement);
+                } catch (SQLException e) {
+                    throw new SQLException("Falha na migração " + migration.script() + " ao executar: " + statement, e);
+                }
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        String insertSql = "INSERT INTO " + HISTORY_TABLE
+                + " (version, description, script, checksum, execution_ms) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
+            pstmt.setInt(1, migration.version());
+            pstmt.setString(2, migration.description());
+            pstmt.setString(3, migration.script());
+            pstmt.setString(4, migration.checksum());
+            pstmt.setInt(5, (int) elapsedMillis);
+            pstmt.executeUpdate();
+        }
+        // O tempo já fica em schema_history.execution_ms; no console, só com -Dgestao.debug=true.
+        if (DEBUG) {
+            System.out.printf("Migração V%d (%s) aplicada em %d ms.%n", migration.version(), migration.description(), elapsedMillis);
+        }
+    }
+
+    /**
+     * Lê o index.txt e os scripts listados nele.
+     * @return As migrações em ordem crescente de versão.
+     * @throws SQLException Se o índice listar um arquivo inexistente, mal nomeado ou fora de ordem.
+     */
+    List<Migration> loadMigrations() throws SQLException {
+        String index;
+        try {
+            index = readResource("index.txt");
+        } catch (IOException e) {
+            // Sem índice, não há migrações empacotadas.
+            return List.of();
+        }
+        List<Migration> migrations = new ArrayList<>();
+        int previousVersion = 0;
+        for (String line : index.split("\n")) {
+            String script = line.trim();
+            if (script.isEmpty() || script.startsWith("#")) {
+                continue;
+            }
+            Matcher matcher = FILE_NAME.matcher(script);
+            if (!matcher.matches()) {
+                throw new MigrationException("Nome de migração inválido: " + script + " (esperado V<versão>__<descrição>.sql).");
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            if (version <= previousVersion) {
+                throw new MigrationException("As migrações do index.txt devem estar em ordem crescente de versão: " + script);
+            }
+            previousVersion = version;
+            String content;
+            try {
+                content = readResource(script);
+            } catch (IOException e) {
+                throw new MigrationException("Migração listada no index.txt não encontrada: " + script);
+            }
+            migrations.add(new Migration(version, matcher.group(2).replace('_', ' '), script, checksum(content)));
+        }
+        return migrations;
+    }
+
+    private String readResource(String name) throws IOException {
+        InputStream in = SchemaMigrator.class.getResourceAsStream(location + "/" + name);
+        if (in == null) {
+            throw new IOException("Recurso não encontrado: " + location + "/" + name);
+        }
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            // Lê linha a linha: quebras CRLF (checkout no Windows) não mudam o checksum.
+            while ((line = reader.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String checksum(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Divide um script em comandos separados por ';', ignorando ';' dentro de strings,
+     * identificadores entre crases e comentários.
+     */
+    static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                // Comentário até o fim da linha.
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+                continue;
+            }
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = i + 1;
+                while (end < length) {
+                    char d = sql.charAt(end);
+                    if (d == '\\' && c != '`') {
+                        end += 2;
+                        continue;
+                    }
+                    if (d == c) {
+                        // Aspas duplicadas representam a própria aspa.
+                        if (end + 1 < length && sql.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                end = Math.min(end + 1, length);
+                current.append(sql, i, end);
+                i = end;
+                continue;
+            }
+            if (c == ';') {
+                addStatement(statements, current);
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+            i++;
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder statement) {
+        String trimmed = statement.toString().trim();
+        if (!trimmed.isEmpty()) {
+            statements.add(trimmed);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * As diferenças entre os bancos suportados que o SQL comum dos DAOs não consegue esconder.
+ *
+ * As consultas dos DAOs usam apenas SQL aceito pelos dois bancos (o H2 roda em modo de
+ * compatibilidade com o MySQL, e datas relativas como "hoje + 7 dias" são calculadas em Java e
+ * passadas como parâmetro). O que sobra — URL de conexão, códigos de erro e travas — fica aqui.
+ */
+public interface SqlDialect {
+
+    /** Nome do banco, para mensagens (ex: "MySQL"). */
+    String name();
+
+    /** A URL JDBC usada pelo pool de conexões. */
+    String jdbcUrl();
+
+    /** O usuário do banco. */
+    String user();
+
+    /** A senha do usuário do banco. */
+    String password();
+
+    /**
+     * Indica se o erro é uma violação de chave primária ou única (registro duplicado).
+     */
+    boolean isDuplicateKey(SQLException e);
+
+    /**
+     * Indica se o erro é uma violação de restrição (chave duplicada, chave estrangeira, NOT NULL,
+     * CHECK), ou seja, um problema dos dados da linha e não da conexão. Os dois bancos usam a
+     * classe SQLSTATE 23; o erro pode vir encadeado (ex: em um {@code BatchUpdateException}).
+     */
+    default boolean isConstraintViolation(SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            String state = current.getSQLState();
+            if (state != null && state.startsWith("23")) {
+                return true;
+            }
+            if (current.getCause() instanceof SQLException cause && cause.getSQLState() != null
+                    && cause.getSQLState().startsWith("23")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtém uma trava consultiva nomeada, pertencente à sessão da conexão.
+     * @return true se a trava foi obtida dentro do tempo limite.
+     */
+    boolean acquireLock(Connection conn, String name, int timeoutSeconds) throws SQLException;
+
+    /**
+     * Libera uma trava obtida com {@link #acquireLock}.
+     */
+    void releaseLock(Connection conn, String name) throws SQLException;
+}
@@ -11,6 +11,7 @@ module com.example.sistemagestaoccks {
     requires java.sql;             // Para JDBC e conexão com o banco
     requires jbcrypt;              // Para hashing de senhas (nome de módulo automático)
     requires mysql.connector.j;    // Para o driver do MySQL
+    requires com.h2database;       // Para o banco H2 embutido (nome de módulo automático)
 
     // 'Abre' os pacotes para o JavaFX, permitindo que ele use reflexão.
     // Isso é crucial para que o FXML Loader possa instanciar seus controladores
@@ -0,0 +1,85 @@
+-- =================================================================
+-- V1: esquema inicial (o mesmo de gestao_projetos_db.sql).
+-- Escrito para ser idempotente: pode rodar sobre um banco criado antes das migrações
+-- sem falhar nem duplicar os dados de exemplo.
+-- =================================================================
+
+CREATE TABLE IF NOT EXISTS users (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    full_name VARCHAR(255) NOT NULL,
+    cpf VARCHAR(14) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    job_title VARCHAR(100),
+    login VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    profile ENUM('ADMINISTRADOR', 'GERENTE', 'COLABORADOR') NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    start_date DATE NOT NULL,
+    planned_end_date DATE NOT NULL,
+    status ENUM('PLANEJADO', 'EM_ANDAMENTO', 'CONCLUIDO', 'CANCELADO') NOT NULL,
+    manager_id INT,
+    FOREIGN KEY (manager_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS teams (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT
+);
+
+CREATE TABLE IF NOT EXISTS team_members (
+    team_id INT,
+    user_id INT,
+    PRIMARY KEY (team_id, user_id),
+    FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS project_teams (
+    project_id INT,
+    team_id INT,
+    PRIMARY KEY (project_id, team_id),
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    project_id INT NOT NULL,
+    responsible_id INT,
+    status ENUM('PENDENTE', 'EM_EXECUCAO', 'CONCLUIDA') NOT NULL,
+    planned_start_date DATE,
+    planned_end_date DATE,
+    actual_start_date DATE,
+    actual_end_date DATE,
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    FOREIGN KEY (responsible_id) REFERENCES users(id)
+);
+
+-- Usuário 'admin' inicial, com a senha 'admin123' (hash BCrypt). O login é único,
+-- então INSERT IGNORE não duplica o usuário se ele já existir.
+INSERT IGNORE INTO users (full_name, cpf, email, job_title, login, password, profile)
+VALUES (
+    'Administrador do Sistema',
+    '000.000.000-00',
+    'admin@ccks.com',
+    'Admin',
+    'admin',
+    '$2a$10$/G3Jp3SYW2QhHvhIsHBov.1pkhktYzsjbiV76ukb0vfqyEeGwutGm',
+    'ADMINISTRADOR'
+);
+
+-- Projeto de exemplo, criado apenas em um banco ainda sem projetos.
+INSERT INTO projects (name, description, start_date, planned_end_date, status, manager_id)
+SELECT 'Implantação do Sistema', 'Projeto inicial para configuração e implantação do sistema de gestão.',
+       '2024-05-01', '2024-08-31', 'PLANEJADO', u.id
+FROM users u
+WHERE u.login = 'admin' AND NOT EXISTS (SELECT 1 FROM projects);
@@ -0,0 +1,30 @@
+-- =================================================================
+-- V2: índices para os filtros e ordenações mais usados pelos DAOs.
+-- As consultas atendidas por cada índice estão indicadas ao lado.
+-- =================================================================
+
+-- TaskDAO.getAllTasks / getTasksAfter / getTasksAt: ORDER BY planned_end_date, id.
+-- Com o id no fim, a paginação por chave lê só as linhas da página, sem ordenar.
+CREATE INDEX idx_tasks_end_date_id ON tasks (planned_end_date, id);
+
+-- TaskDAO.getUpcomingAndOverdueTasks / countOverdueTasks / countTasksByStatus:
+-- status != 'CONCLUIDA' vira duas faixas em status, e planned_end_date é filtrado dentro
+-- de cada faixa. Para as contagens, o índice é "de cobertura" (não lê a tabela).
+CREATE INDEX idx_tasks_status_end_date ON tasks (status, planned_end_date);
+
+-- TaskDAO.countTasksByProjectAndStatus (GROUP BY project_id, status), coberto pelo índice.
+-- Também atende a chave estrangeira de project_id.
+CREATE INDEX idx_tasks_project_status ON tasks (project_id, status);
+
+-- UserDAO.getManagerUsers: WHERE profile = 'ADMINISTRADOR' OR profile = 'GERENTE'.
+CREATE INDEX idx_users_profile ON users (profile);
+
+-- UserDAO.getAllUsers: ORDER BY full_name.
+CREATE INDEX idx_users_full_name ON users (full_name);
+
+-- ProjectDAO.getAllProjects: ORDER BY name; countProjectsByStatus: GROUP BY status.
+CREATE INDEX idx_projects_name ON projects (name);
+CREATE INDEX idx_projects_status ON projects (status);
+
+-- TeamDAO.getAllTeams: ORDER BY name.
+CREATE INDEX idx_teams_name ON teams (name);
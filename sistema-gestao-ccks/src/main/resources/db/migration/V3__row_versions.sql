@@ -0,0 +1,12 @@
+-- =================================================================
+-- V3: versão de linha para controle de concorrência otimista.
+-- Cada UPDATE de tarefa, projeto ou equipe incrementa a versão e só é aplicado se a
+-- versão no banco ainda for a lida pela tela (WHERE id = ? AND version = ?).
+-- Linhas existentes começam na versão 0.
+-- =================================================================
+
+ALTER TABLE tasks ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE projects ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE teams ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- =================================================================
+-- V4: registro de alterações (change_log) para a atualização incremental das telas.
+-- Cada gravação dos DAOs acrescenta uma linha aqui; as outras instâncias da aplicação
+-- consultam as linhas novas periodicamente (WHERE id > ?) e atualizam só os registros
+-- afetados, em vez de recarregar as listas inteiras. Ver ChangeFeed e ChangeLogPoller.
+-- =================================================================
+
+CREATE TABLE IF NOT EXISTS change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    -- Tipo do registro alterado: USER, PROJECT, TASK ou TEAM.
+    entity VARCHAR(16) NOT NULL,
+    -- ID do registro alterado (0 quando a tabela inteira deve ser recarregada).
+    entity_id INT NOT NULL,
+    -- INSERT, UPDATE, DELETE ou RELOAD (ex: após uma importação em massa).
+    kind VARCHAR(8) NOT NULL,
+    -- Instância da aplicação que fez a gravação; ela mesma ignora as próprias linhas.
+    origin VARCHAR(36) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Limpeza das linhas antigas (DELETE ... WHERE changed_at < ?).
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
@@ -0,0 +1,12 @@
+-- =================================================================
+-- V5: índices para os filtros da lista de tarefas (TaskQuery).
+-- Com o filtro por projeto ou por responsável, a lista continua na ordenação padrão
+-- (planned_end_date, id): o índice entrega as linhas já na ordem da página, sem ordenar.
+-- =================================================================
+
+-- TaskDAO.getTasksAfter / countTasks com TaskQuery.project(...).
+CREATE INDEX idx_tasks_project_end_date ON tasks (project_id, planned_end_date, id);
+
+-- TaskDAO.getTasksAfter / countTasks com TaskQuery.responsible(...).
+-- Também atende a chave estrangeira de responsible_id.
+CREATE INDEX idx_tasks_responsible_end_date ON tasks (responsible_id, planned_end_date, id);
@@ -0,0 +1,17 @@
+-- =================================================================
+-- V6: dependências entre tarefas (término → início), para o cálculo do cronograma
+-- (ScheduleEngine): a sucessora só pode começar depois que a predecessora termina.
+-- A aplicação rejeita as dependências que formariam um ciclo antes de gravá-las.
+-- =================================================================
+
+CREATE TABLE IF NOT EXISTS task_dependencies (
+    predecessor_id INT NOT NULL,
+    successor_id INT NOT NULL,
+    PRIMARY KEY (predecessor_id, successor_id),
+    FOREIGN KEY (predecessor_id) REFERENCES tasks(id) ON DELETE CASCADE,
+    FOREIGN KEY (successor_id) REFERENCES tasks(id) ON DELETE CASCADE
+);
+
+-- TaskDependencyDAO.getPredecessorIds e a junção por projeto partem da sucessora.
+-- Também atende a chave estrangeira de successor_id.
+CREATE INDEX idx_task_dependencies_successor ON task_dependencies (successor_id, predecessor_id);
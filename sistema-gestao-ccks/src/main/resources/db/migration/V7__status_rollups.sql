@@ -0,0 +1,14 @@
+-- =================================================================
+-- V7: valores consolidados pelo StatusRollupJob, lidos prontos pelas telas.
+-- - tasks.overdue: tarefa não concluída com prazo vencido (regra em Task.isOverdue).
+--   Gravado junto com a tarefa e revisto diariamente, quando o prazo passa sem alteração.
+-- - projects.completion_percent: percentual de tarefas concluídas do projeto.
+-- Linhas existentes começam sem atraso e com 0%; a primeira execução do job as corrige.
+-- =================================================================
+
+ALTER TABLE tasks ADD COLUMN overdue BOOLEAN NOT NULL DEFAULT FALSE;
+
+ALTER TABLE projects ADD COLUMN completion_percent INT NOT NULL DEFAULT 0;
+
+-- TaskDAO.countOverdueTasks e o indicador do dashboard contam só as tarefas atrasadas.
+CREATE INDEX idx_tasks_overdue ON tasks (overdue);
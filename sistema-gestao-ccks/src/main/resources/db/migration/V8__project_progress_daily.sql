@@ -0,0 +1,21 @@
+-- =================================================================
+-- V8: histórico diário do andamento de cada projeto, gravado pelo ProgressSnapshotJob.
+-- Uma linha por projeto e dia, com a quantidade de tarefas em cada status (e as atrasadas)
+-- no fim do dia. Os gráficos de burn-down e velocidade leem o período pedido pela chave
+-- primária, sem reler as tarefas. Dias em que a aplicação não rodou ficam sem linha.
+-- =================================================================
+
+CREATE TABLE IF NOT EXISTS project_progress_daily (
+    project_id INT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    pending INT NOT NULL,
+    in_progress INT NOT NULL,
+    completed INT NOT NULL,
+    overdue INT NOT NULL,
+    -- ProjectDAO.getProgressHistory lê um intervalo de datas de um projeto por esta chave.
+    PRIMARY KEY (project_id, snapshot_date),
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE
+);
+
+-- A regravação do dia (ProgressSnapshotJob) apaga as linhas da data.
+CREATE INDEX idx_project_progress_daily_date ON project_progress_daily (snapshot_date);
@@ -0,0 +1,10 @@
+-- =================================================================
+-- V9: projeto das tarefas no registro de alterações.
+-- Uma alteração de tarefa muda as contagens do projeto dela; com o projeto na linha, o
+-- dashboard reconta só os projetos afetados, sem ler todas as tarefas. Uma tarefa que
+-- muda de projeto gera uma linha para o projeto antigo e outra para o novo.
+-- 0 nas linhas de outros registros e nas alterações de tarefa que não mudam as contagens
+-- (ex: dependências).
+-- =================================================================
+
+ALTER TABLE change_log ADD COLUMN project_id INT NOT NULL DEFAULT 0;
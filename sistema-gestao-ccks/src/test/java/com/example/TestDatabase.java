@@ -0,0 +1,155 @@
+package com.example;
+
+import com.example.dao.DAOFactory;
+import com.example.dao.EntityCaches;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.Team;
+import com.example.model.User;
+import com.example.util.DatabaseConnection;
+import com.example.util.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Banco H2 dos testes (configurado no surefire, em target/test-db) e atalhos para criar dados.
+ *
+ * {@link #reset()} aplica as migrações na primeira chamada e esvazia todas as tabelas, para cada
+ * teste começar de um banco limpo.
+ */
+public final class TestDatabase {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static boolean migrated;
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Aplica as migrações (uma vez), apaga os dados de todas as tabelas e descarta os caches.
+     */
+    public static synchronized void reset() {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            if (!migrated) {
+                new SchemaMigrator().migrate(conn);
+                migrated = true;
+            }
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT table_name FROM information_schema.tables "
+                    + "WHERE UPPER(table_schema) = 'PUBLIC' AND table_type = 'BASE TABLE'")) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+            stmt.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            for (String table : tables) {
+                if (!table.equalsIgnoreCase("schema_history")) {
+                    stmt.execute("TRUNCATE TABLE " + table);
+                }
+            }
+            stmt.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao preparar o banco de testes", e);
+        }
+        EntityCaches.invalidateAll();
+    }
+
+    /** Cria um usuário com login, CPF e e-mail únicos. */
+    public static User user(String name) {
+        int n = SEQUENCE.incrementAndGet();
+        User user = new User();
+        user.setFullName(name);
+        user.setLogin(name.toLowerCase() + n);
+        user.setPassword("senha" + n);
+        user.setCpf(String.format("%011d", n));
+        user.setEmail(name.toLowerCase() + n + "@teste.com");
+        user.setProfile(User.UserProfile.GERENTE);
+        if (!DAOFactory.getUserDAO().addUser(user)) {
+            throw new IllegalStateException("Falha ao criar o usuário " + name);
+        }
+        return user;
+    }
+
+    /**
+     * Cria muitos usuários de uma vez, direto no banco (sem o hash de senha de {@link #user}).
+     * @return Os IDs criados, em ordem.
+     */
+    public static List<Integer> users(int count) {
+        int first = SEQUENCE.getAndAdd(count) + 1;
+        List<Integer> ids = new ArrayList<>(count);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO users (full_name, cpf, email, login, password, profile) "
+                            + "SELECT CONCAT('Usuário ', x), LPAD(CAST(x AS VARCHAR), 11, '0'), CONCAT('u', x, '@teste.com'), "
+                            + "CONCAT('u', x), 'hash', 'COLABORADOR' FROM SYSTEM_RANGE(?, ?)")) {
+                pstmt.setInt(1, first);
+                pstmt.setInt(2, first + count - 1);
+                pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT id FROM users WHERE cpf BETWEEN ? AND ? ORDER BY id")) {
+                pstmt.setString(1, String.format("%011d", first));
+                pstmt.setString(2, String.format("%011d", first + count - 1));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao criar usuários", e);
+        }
+        EntityCaches.invalidateAll();
+        return ids;
+    }
+
+    /** Cria um projeto de 01/01/2025 a 31/12/2025. */
+    public static Project project(String name, ProjectStatus status, User manager) {
+        Project project = new Project();
+        project.setName(name);
+        project.setStatus(status);
+        project.setManagerId(manager.getId());
+        project.setStartDate(LocalDate.of(2025, 1, 1));
+        project.setPlannedEndDate(LocalDate.of(2025, 12, 31));
+        if (!DAOFactory.getProjectDAO().addProject(project)) {
+            throw new IllegalStateException("Falha ao criar o projeto " + name);
+        }
+        return project;
+    }
+
+    /** Cria uma tarefa que começa 10 dias antes do prazo informado. */
+    public static Task task(Project project, User responsible, TaskStatus status, LocalDate plannedEnd) {
+        Task task = new Task();
+        task.setTitle("Tarefa " + SEQUENCE.incrementAndGet());
+        task.setProjectId(project.getId());
+        task.setResponsibleId(responsible.getId());
+        task.setStatus(status);
+        task.setPlannedStartDate(plannedEnd.minusDays(10));
+        task.setPlannedEndDate(plannedEnd);
+        if (!DAOFactory.getTaskDAO().addTask(task)) {
+            throw new IllegalStateException("Falha ao criar a tarefa");
+        }
+        return task;
+    }
+
+    /** Cria uma equipe com os membros informados. */
+    public static Team team(String name, List<User> members) {
+        Team team = new Team();
+        team.setName(name);
+        List<Integer> memberIds = members.stream().map(User::getId).toList();
+        if (!DAOFactory.getTeamDAO().addTeam(team, memberIds)) {
+            throw new IllegalStateException("Falha ao criar a equipe " + name);
+        }
+        return team;
+    }
+}
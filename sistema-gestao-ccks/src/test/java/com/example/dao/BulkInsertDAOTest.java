@@ -0,0 +1,73 @@
+package com.example.dao;
+
+import com.example.TestDatabase;
+import com.example.util.DatabaseConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkInsertDAOTest {
+
+    private final BulkInsertDAO bulkInsertDAO = new BulkInsertDAO();
+    // Maior número de conexões emprestadas visto enquanto as linhas eram preenchidas.
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void duplicateRowFallsBackToOneByOneWithASingleConnection() {
+        List<BulkInsertDAO.RowBinder> rows = new ArrayList<>();
+        rows.add(user("ana"));
+        rows.add(user("bruno"));
+        rows.add(user("ana"));
+        rows.add(user("carla"));
+
+        BulkInsertDAO.ChunkResult result = bulkInsertDAO.insertChunk(BulkInsertDAO.Table.USERS, rows, 10);
+
+        assertEquals(3, result.inserted());
+        assertEquals(List.of(2), List.copyOf(result.failures().keySet()));
+        // A conexão do lote que falhou já foi devolvida quando as linhas são regravadas uma a uma.
+        assertEquals(1, maxActive.get());
+        assertEquals(3, DAOFactory.getUserDAO().getAllUsers().size());
+    }
+
+    @Test
+    void nonConstraintErrorFailsTheChunkWithoutRetrying() {
+        AtomicInteger binds = new AtomicInteger();
+        List<BulkInsertDAO.RowBinder> rows = List.of(user("ana"), pstmt -> {
+            binds.incrementAndGet();
+            // Um perfil fora do ENUM: erro de dados (SQLSTATE 22), não de restrição.
+            user("bruno").bind(pstmt);
+            pstmt.setString(7, "PERFIL_INVALIDO_QUE_NAO_EXISTE");
+        });
+
+        BulkInsertDAO.ChunkResult result = bulkInsertDAO.insertChunk(BulkInsertDAO.Table.USERS, rows, 10);
+
+        assertEquals(0, result.inserted());
+        assertEquals(2, result.failures().size());
+        assertEquals(1, binds.get());
+        assertTrue(DAOFactory.getUserDAO().getAllUsers().isEmpty());
+    }
+
+    private BulkInsertDAO.RowBinder user(String login) {
+        return pstmt -> {
+            maxActive.accumulateAndGet(DatabaseConnection.getPoolStats().active(), Math::max);
+            pstmt.setString(1, login);
+            pstmt.setString(2, login.hashCode() + "");
+            pstmt.setString(3, login + "@teste.com");
+            pstmt.setString(4, null);
+            pstmt.setString(5, login);
+            pstmt.setString(6, "hash");
+            pstmt.setString(7, "COLABORADOR");
+        };
+    }
+}
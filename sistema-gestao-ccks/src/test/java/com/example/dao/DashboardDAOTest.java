@@ -0,0 +1,137 @@
+package com.example.dao;
+
+import com.example.TestDatabase;
+import com.example.model.DashboardSnapshot;
+import com.example.model.DashboardSnapshot.ProjectTaskCounts;
+import com.example.model.DashboardSnapshot.TeamMemberCount;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.Team;
+import com.example.model.User;
+import com.example.util.DatabaseConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O {@link DashboardDAO#getSnapshot()} deve dar os mesmos números que a contagem antiga do
+ * dashboard, que carregava todos os projetos, tarefas e equipes e contava na aplicação.
+ */
+class DashboardDAOTest {
+
+    private final DashboardDAO dashboardDAO = new DashboardDAO();
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void snapshotMatchesPerEntityCounting() {
+        LocalDate today = LocalDate.now();
+        User ana = TestDatabase.user("Ana");
+        User bruno = TestDatabase.user("Bruno");
+        User carla = TestDatabase.user("Carla");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Project beta = TestDatabase.project("Beta", ProjectStatus.EM_ANDAMENTO, ana);
+        Project gamma = TestDatabase.project("Gamma", ProjectStatus.PLANEJADO, bruno);
+        TestDatabase.project("Vazio", ProjectStatus.CONCLUIDO, bruno);
+
+        TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.minusDays(3));
+        TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(3));
+        TestDatabase.task(alpha, bruno, TaskStatus.EM_EXECUCAO, today.minusDays(1));
+        TestDatabase.task(alpha, bruno, TaskStatus.CONCLUIDA, today.minusDays(20));
+        TestDatabase.task(beta, carla, TaskStatus.CONCLUIDA, today.plusDays(5));
+        TestDatabase.task(beta, carla, TaskStatus.EM_EXECUCAO, today.plusDays(5));
+        TestDatabase.task(gamma, ana, TaskStatus.PENDENTE, today);
+
+        TestDatabase.team("Backend", List.of(ana, bruno));
+        TestDatabase.team("Frontend", List.of(carla));
+        TestDatabase.team("Sem membros", List.of());
+
+        DashboardSnapshot snapshot = dashboardDAO.getSnapshot();
+
+        // Contagem antiga, sobre as entidades completas.
+        List<Project> projects = DAOFactory.getProjectDAO().getAllProjects();
+        List<Task> tasks = DAOFactory.getTaskDAO().getAllTasks();
+        assertEquals(projects.stream().filter(p -> p.getStatus() == ProjectStatus.EM_ANDAMENTO).count(),
+                snapshot.inProgressProjects());
+        assertEquals(tasks.stream().filter(t -> t.getStatus() == TaskStatus.PENDENTE).count(),
+                snapshot.pendingTasks());
+        assertEquals(tasks.stream().filter(t -> t.getStatus() != TaskStatus.CONCLUIDA
+                        && t.getPlannedEndDate() != null && t.getPlannedEndDate().isBefore(today)).count(),
+                snapshot.overdueTasks());
+        assertEquals(tasks.stream().filter(t -> t.getStatus() == TaskStatus.CONCLUIDA).count(),
+                snapshot.completedTasks());
+
+        Map<Integer, Map<TaskStatus, Long>> byProject = tasks.stream().collect(Collectors.groupingBy(
+                Task::getProjectId, Collectors.groupingBy(Task::getStatus, Collectors.counting())));
+        assertEquals(projects.size(), snapshot.tasksByProject().size());
+        for (ProjectTaskCounts row : snapshot.tasksByProject()) {
+            Map<TaskStatus, Long> counts = byProject.getOrDefault(row.projectId(), Map.of());
+            assertEquals(counts.getOrDefault(TaskStatus.PENDENTE, 0L), row.pending(), row.projectName());
+            assertEquals(counts.getOrDefault(TaskStatus.EM_EXECUCAO, 0L), row.inProgress(), row.projectName());
+            assertEquals(counts.getOrDefault(TaskStatus.CONCLUIDA, 0L), row.completed(), row.projectName());
+        }
+
+        List<Team> teams = DAOFactory.getTeamDAO().getAllTeams();
+        assertEquals(teams.size(), snapshot.teamMembers().size());
+        for (TeamMemberCount row : snapshot.teamMembers()) {
+            assertEquals(DAOFactory.getTeamDAO().getTeamMembers(row.teamId()).size(), row.members(), row.teamName());
+        }
+    }
+
+    @Test
+    void emptyDatabaseGivesEmptySnapshot() {
+        DashboardSnapshot snapshot = dashboardDAO.getSnapshot();
+        assertEquals(0, snapshot.inProgressProjects() + snapshot.pendingTasks() + snapshot.overdueTasks()
+                + snapshot.completedTasks());
+        assertTrue(snapshot.tasksByProject().isEmpty());
+        assertTrue(snapshot.teamMembers().isEmpty());
+    }
+
+    /**
+     * Carga de 1 milhão de tarefas: o snapshot continua com uma linha por projeto e o tempo da
+     * leitura é impresso para comparação. Lento; roda só com -Dgestao.test.scale=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "gestao.test.scale", matches = "true")
+    void snapshotSizeDoesNotGrowWithTasks() throws Exception {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Project beta = TestDatabase.project("Beta", ProjectStatus.EM_ANDAMENTO, ana);
+        int tasks = 1_000_000;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT INTO tasks (title, project_id, responsible_id, status, planned_start_date, planned_end_date) "
+                             + "SELECT CONCAT('Tarefa ', x), CASE WHEN MOD(x, 2) = 0 THEN ? ELSE ? END, ?, "
+                             + "CASE MOD(x, 3) WHEN 0 THEN 'PENDENTE' WHEN 1 THEN 'EM_EXECUCAO' ELSE 'CONCLUIDA' END, "
+                             + "CURRENT_DATE, CURRENT_DATE FROM SYSTEM_RANGE(1, ?)")) {
+            pstmt.setInt(1, alpha.getId());
+            pstmt.setInt(2, beta.getId());
+            pstmt.setInt(3, ana.getId());
+            pstmt.setInt(4, tasks);
+            pstmt.executeUpdate();
+        }
+
+        long start = System.nanoTime();
+        DashboardSnapshot snapshot = dashboardDAO.getSnapshot();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("DashboardDAO.getSnapshot com " + tasks + " tarefas: " + millis + " ms");
+
+        assertEquals(2, snapshot.tasksByProject().size());
+        assertEquals(tasks, snapshot.tasksByProject().stream().mapToInt(ProjectTaskCounts::total).sum());
+    }
+}
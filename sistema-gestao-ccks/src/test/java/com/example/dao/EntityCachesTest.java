@@ -0,0 +1,170 @@
+package com.example.dao;
+
+import com.example.TestDatabase;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Team;
+import com.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.util.EntityCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * As listas em cache devolvem cópias: alterar um objeto lido (ex: em um formulário cuja gravação
+ * falha) não muda o que as outras telas leem. Os registros ficam no cache pelo ID, e as listas
+ * são montadas a partir deles.
+ */
+class EntityCachesTest {
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void cachedProjectsAreCopies() {
+        User ana = TestDatabase.user("Ana");
+        TestDatabase.project("Alpha", ProjectStatus.PLANEJADO, ana);
+        ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+
+        Project first = projectDAO.getAllProjects().get(0);
+        Project second = projectDAO.getAllProjects().get(0);
+        assertNotSame(first, second);
+
+        // Uma edição que esbarra em um conflito de versão não pode sujar o cache.
+        first.setName("Editado");
+        first.setVersion(first.getVersion() + 5);
+        assertEquals(UpdateResult.CONFLICT, projectDAO.updateProject(first));
+        Project reread = projectDAO.getAllProjects().get(0);
+        assertEquals("Alpha", reread.getName());
+        assertEquals(second.getVersion(), reread.getVersion());
+    }
+
+    @Test
+    void cachedTeamsAndUsersAreCopies() {
+        User ana = TestDatabase.user("Ana");
+        TestDatabase.team("Backend", List.of(ana));
+        TeamDAO teamDAO = DAOFactory.getTeamDAO();
+        UserDAO userDAO = DAOFactory.getUserDAO();
+
+        teamDAO.getAllTeams().get(0).setName("Editada");
+        userDAO.getAllUsers().get(0).setFullName("Editado");
+
+        Team team = teamDAO.getAllTeams().get(0);
+        assertEquals("Backend", team.getName());
+        assertEquals("Ana", userDAO.getAllUsers().get(0).getFullName());
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        User ana = TestDatabase.user("Ana");
+        TestDatabase.project("Alpha", ProjectStatus.PLANEJADO, ana);
+        TestDatabase.project("Beta", ProjectStatus.PLANEJADO, ana);
+        ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+
+        projectDAO.getAllProjects();
+        EntityCache.CacheStats before = EntityCaches.PROJECTS.stats();
+        assertEquals(2, before.size());
+        assertEquals(2, projectDAO.getAllProjects().size());
+        EntityCache.CacheStats after = EntityCaches.PROJECTS.stats();
+        assertEquals(before.hits() + 2, after.hits());
+        assertEquals(before.misses(), after.misses());
+    }
+
+    @Test
+    void updateInvalidatesOnlyTheChangedRecordAndTheList() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.PLANEJADO, ana);
+        TestDatabase.project("Beta", ProjectStatus.PLANEJADO, ana);
+        ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+        assertEquals(List.of("Alpha", "Beta"), names(projectDAO.getAllProjects()));
+
+        Project renamed = projectDAO.getProjectById(alpha.getId());
+        renamed.setName("Zeta");
+        assertEquals(UpdateResult.UPDATED, projectDAO.updateProject(renamed));
+        assertEquals(1, EntityCaches.PROJECTS.stats().size());
+
+        // A lista é relida: o projeto renomeado muda de posição.
+        assertEquals(List.of("Beta", "Zeta"), names(projectDAO.getAllProjects()));
+    }
+
+    @Test
+    void managersAreFilteredFromTheCachedUsers() {
+        User ana = TestDatabase.user("Ana");
+        TestDatabase.users(3);
+        UserDAO userDAO = DAOFactory.getUserDAO();
+
+        assertEquals(4, userDAO.getAllUsers().size());
+        long misses = EntityCaches.USERS.stats().misses();
+        List<User> managers = userDAO.getManagerUsers();
+        assertEquals(List.of(ana.getId()), managers.stream().map(User::getId).toList());
+        assertEquals(misses, EntityCaches.USERS.stats().misses());
+
+        User collaborator = userDAO.getUserById(ana.getId());
+        collaborator.setProfile(User.UserProfile.COLABORADOR);
+        assertTrue(userDAO.updateUser(collaborator));
+        assertTrue(userDAO.getManagerUsers().isEmpty());
+    }
+
+    @Test
+    void membershipFollowsTeamUpdates() {
+        User ana = TestDatabase.user("Ana");
+        User bruno = TestDatabase.user("Bruno");
+        Team backend = TestDatabase.team("Backend", List.of(ana));
+        Team frontend = TestDatabase.team("Frontend", List.of(bruno));
+        TeamDAO teamDAO = DAOFactory.getTeamDAO();
+        assertEquals(List.of(ana.getId()), teamDAO.getMemberIdsByTeam().get(backend.getId()));
+
+        assertEquals(UpdateResult.UPDATED, teamDAO.updateTeam(teamDAO.getAllTeams().get(0),
+                List.of(ana.getId(), bruno.getId())));
+        assertEquals(List.of(ana.getId(), bruno.getId()), teamDAO.getMemberIdsByTeam().get(backend.getId()));
+        assertEquals(List.of(bruno.getId()), teamDAO.getMemberIdsByTeam().get(frontend.getId()));
+
+        assertTrue(teamDAO.deleteTeam(frontend.getId()));
+        assertEquals(1, teamDAO.getMemberIdsByTeam().size());
+    }
+
+    @Test
+    void recordsBeyondTheLimitAreEvicted() {
+        EntityCaches.Table<Integer> table = new EntityCaches.Table<>("teste", 3, Integer::intValue);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Integer>> small = () -> {
+            loads.incrementAndGet();
+            return List.of(1, 2);
+        };
+        assertEquals(List.of(1, 2), table.getAll(small));
+        assertEquals(List.of(1, 2), table.getAll(small));
+        assertEquals(1, loads.get());
+
+        // Uma lista maior que o limite não cabe: é relida a cada vez, mas continua correta.
+        List<Integer> big = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            big.add(i);
+        }
+        table.invalidateAll();
+        Supplier<List<Integer>> bigLoader = () -> {
+            loads.incrementAndGet();
+            return big;
+        };
+        assertEquals(big, table.getAll(bigLoader));
+        assertEquals(big, table.getAll(bigLoader));
+        assertEquals(3, loads.get());
+        EntityCache.CacheStats stats = table.stats();
+        assertEquals(3, stats.size());
+        assertTrue(stats.evictions() >= 2);
+    }
+
+    private static List<String> names(List<Project> projects) {
+        return projects.stream().map(Project::getName).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.dao;
+
+import com.example.TestDatabase;
+import com.example.model.Project;
+import com.example.model.ProjectProgress;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link JdbcProjectDAO#recordProgressSnapshot} grava uma linha por projeto e por dia, e
+ * {@link JdbcProjectDAO#getProgressHistory} lê o intervalo pedido, inclusive nas duas pontas.
+ */
+class JdbcProjectDAOTest {
+
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+    private final LocalDate today = LocalDate.now();
+
+    private User ana;
+    private Project alpha;
+    private Project empty;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        ana = TestDatabase.user("Ana");
+        alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        empty = TestDatabase.project("Sem tarefas", ProjectStatus.PLANEJADO, ana);
+    }
+
+    @Test
+    void snapshotRecordsOneRowPerProjectWithZerosForProjectsWithoutTasks() {
+        TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(3));
+        TestDatabase.task(alpha, ana, TaskStatus.EM_EXECUCAO, today.minusDays(2));
+        TestDatabase.task(alpha, ana, TaskStatus.CONCLUIDA, today.minusDays(5));
+        TestDatabase.task(alpha, ana, TaskStatus.CONCLUIDA, today.plusDays(1));
+
+        assertEquals(2, projectDAO.recordProgressSnapshot(today));
+
+        assertEquals(List.of(new ProjectProgress(today, 1, 1, 2, 1)), projectDAO.getProgressHistory(alpha.getId(), today, today));
+        assertEquals(List.of(new ProjectProgress(today, 0, 0, 0, 0)), projectDAO.getProgressHistory(empty.getId(), today, today));
+    }
+
+    @Test
+    void rerunOnTheSameDayReplacesItsRows() {
+        Task task = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(3));
+        assertEquals(2, projectDAO.recordProgressSnapshot(today.minusDays(1)));
+        assertEquals(2, projectDAO.recordProgressSnapshot(today));
+
+        Task completed = taskDAO.getTaskById(task.getId());
+        completed.setStatus(TaskStatus.CONCLUIDA);
+        assertEquals(UpdateResult.UPDATED, taskDAO.updateTask(completed));
+        assertTrue(projectDAO.deleteProject(empty.getId()));
+        assertEquals(1, projectDAO.recordProgressSnapshot(today));
+
+        // O dia anterior não muda; o dia regravado tem só os números novos.
+        assertEquals(List.of(new ProjectProgress(today.minusDays(1), 1, 0, 0, 0), new ProjectProgress(today, 0, 0, 1, 0)),
+                projectDAO.getProgressHistory(alpha.getId(), today.minusDays(1), today));
+        assertTrue(projectDAO.getProgressHistory(empty.getId(), today.minusDays(1), today).isEmpty());
+    }
+
+    @Test
+    void historyRangeIncludesBothEndsInDateOrder() {
+        for (int daysAgo = 4; daysAgo >= 0; daysAgo--) {
+            TestDatabase.task(alpha, ana, TaskStatus.CONCLUIDA, today.plusDays(10));
+            assertEquals(2, projectDAO.recordProgressSnapshot(today.minusDays(daysAgo)));
+        }
+
+        List<ProjectProgress> history = projectDAO.getProgressHistory(alpha.getId(), today.minusDays(3), today.minusDays(1));
+        assertEquals(List.of(today.minusDays(3), today.minusDays(2), today.minusDays(1)),
+                history.stream().map(ProjectProgress::date).toList());
+        assertEquals(List.of(2, 3, 4), history.stream().map(ProjectProgress::completed).toList());
+
+        assertEquals(1, projectDAO.getProgressHistory(alpha.getId(), today, today).size());
+        assertEquals(5, projectDAO.getProgressHistory(alpha.getId(), today.minusYears(1), today.plusYears(1)).size());
+        assertTrue(projectDAO.getProgressHistory(alpha.getId(), today.plusDays(1), today.plusDays(30)).isEmpty());
+        assertTrue(projectDAO.getProgressHistory(alpha.getId(), today, today.minusDays(4)).isEmpty());
+        assertTrue(projectDAO.getProgressHistory(-1, today.minusDays(4), today).isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.dao;
+
+import com.example.TestDatabase;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link JdbcTaskDAO#getTasksByIds} lê as tarefas em blocos de {@link NamedSql#ID_LIST_SIZE} IDs
+ * e devolve o mesmo que uma leitura por ID.
+ */
+class JdbcTaskDAOTest {
+
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void tasksByIdsMatchesReadingOneByOne() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        // Mais de dois blocos, com o último incompleto.
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < NamedSql.ID_LIST_SIZE * 2 + 7; i++) {
+            ids.add(TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, LocalDate.now().plusDays(i % 30)).getId());
+        }
+        List<Integer> requested = new ArrayList<>(ids);
+        requested.add(-1);
+        requested.add(ids.get(0));
+
+        Map<Integer, Task> tasks = taskDAO.getTasksByIds(requested);
+
+        assertEquals(ids.size(), tasks.size());
+        for (int id : ids) {
+            Task expected = taskDAO.getTaskById(id);
+            Task actual = tasks.get(id);
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getVersion(), actual.getVersion());
+            assertEquals(expected.getPlannedEndDate(), actual.getPlannedEndDate());
+        }
+    }
+
+    @Test
+    void emptyAndMissingIdsGiveEmptyMap() {
+        assertTrue(taskDAO.getTasksByIds(List.of()).isEmpty());
+        assertTrue(taskDAO.getTasksByIds(List.of(-1, -2)).isEmpty());
+    }
+}
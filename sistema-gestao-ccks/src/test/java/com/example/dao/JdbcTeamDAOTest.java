@@ -0,0 +1,171 @@
+package com.example.dao;
+
+import com.example.TestDatabase;
+import com.example.model.Team;
+import com.example.util.DatabaseConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link JdbcTeamDAO#updateTeam} grava só a diferença entre os membros atuais e os novos, na mesma
+ * transação da equipe.
+ */
+class JdbcTeamDAOTest {
+
+    private final TeamDAO teamDAO = DAOFactory.getTeamDAO();
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void addsOnlyNewMembers() {
+        List<Integer> users = TestDatabase.users(4);
+        Team team = team(users.subList(0, 2));
+
+        assertEquals(UpdateResult.UPDATED, teamDAO.updateTeam(team, users));
+        assertEquals(Set.copyOf(users), members(team));
+    }
+
+    @Test
+    void removesMembersAcrossDeleteChunks() {
+        // Mais que MEMBER_CHUNK_SIZE (500) saídas: o DELETE ... IN é feito em blocos.
+        List<Integer> users = TestDatabase.users(1200);
+        Team team = team(users);
+
+        List<Integer> kept = users.subList(0, 100);
+        assertEquals(UpdateResult.UPDATED, teamDAO.updateTeam(team, kept));
+        assertEquals(Set.copyOf(kept), members(team));
+    }
+
+    @Test
+    void addsAndRemovesInOneSave() {
+        List<Integer> users = TestDatabase.users(5);
+        Team team = team(users.subList(0, 3));
+
+        List<Integer> next = List.of(users.get(1), users.get(3), users.get(4));
+        assertEquals(UpdateResult.UPDATED, teamDAO.updateTeam(team, next));
+        assertEquals(Set.copyOf(next), members(team));
+    }
+
+    @Test
+    void unchangedMembersOnlyUpdateTheTeam() {
+        List<Integer> users = TestDatabase.users(3);
+        Team team = team(users);
+        int version = team.getVersion();
+
+        team.setName("Renomeada");
+        assertEquals(UpdateResult.UPDATED, teamDAO.updateTeam(team, users));
+        assertEquals(Set.copyOf(users), members(team));
+        assertEquals(version + 1, team.getVersion());
+        assertEquals("Renomeada", teamDAO.getTeamById(team.getId()).getName());
+    }
+
+    @Test
+    void staleVersionIsAConflictAndChangesNothing() {
+        List<Integer> users = TestDatabase.users(3);
+        Team team = team(users.subList(0, 2));
+        Team stale = teamDAO.getTeamById(team.getId());
+        team.setName("Primeira");
+        assertEquals(UpdateResult.UPDATED, teamDAO.updateTeam(team, users.subList(0, 2)));
+
+        stale.setName("Segunda");
+        assertEquals(UpdateResult.CONFLICT, teamDAO.updateTeam(stale, List.of(users.get(2))));
+        assertEquals(Set.copyOf(users.subList(0, 2)), members(team));
+        assertEquals("Primeira", teamDAO.getTeamById(team.getId()).getName());
+    }
+
+    @Test
+    void failureRollsBackTheWholeSave() {
+        List<Integer> users = TestDatabase.users(3);
+        Team team = team(users.subList(0, 2));
+        int version = team.getVersion();
+
+        // Remove um membro e adiciona um usuário inexistente: a chave estrangeira falha no INSERT,
+        // depois que a equipe e o DELETE já foram gravados na transação.
+        team.setName("Não gravada");
+        assertEquals(UpdateResult.FAILED, teamDAO.updateTeam(team, List.of(users.get(0), -1)));
+
+        Team reread = teamDAO.getTeamById(team.getId());
+        assertEquals(version, reread.getVersion());
+        assertEquals("Equipe", reread.getName());
+        assertEquals(Set.copyOf(users.subList(0, 2)), members(team));
+    }
+
+    /**
+     * Compara a gravação por diferença com a antiga (apaga todos e insere de novo) ao adicionar um
+     * membro a equipes de vários tamanhos. Lento; roda só com -Dgestao.test.scale=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "gestao.test.scale", matches = "true")
+    void diffIsCheaperThanDeleteAllAndReinsert() throws SQLException {
+        List<Integer> users = TestDatabase.users(5001);
+        for (int size : new int[] {100, 1000, 2000, 5000}) {
+            Team team = team(users.subList(0, size));
+            List<Integer> plusOne = users.subList(0, size + 1);
+            List<Integer> original = users.subList(0, size);
+            int rounds = 20;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                teamDAO.updateTeam(team, i % 2 == 0 ? plusOne : original);
+            }
+            long diffMicros = (System.nanoTime() - start) / 1000 / rounds;
+
+            start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                deleteAllAndReinsert(team.getId(), i % 2 == 0 ? plusOne : original);
+            }
+            long rewriteMicros = (System.nanoTime() - start) / 1000 / rounds;
+
+            System.out.printf("Equipe com %d membros, +1/-1 membro: diferença %d µs, apaga e reinsere %d µs%n",
+                    size, diffMicros, rewriteMicros);
+            assertEquals(Set.copyOf(original), members(team));
+            teamDAO.deleteTeam(team.getId());
+        }
+    }
+
+    private Team team(List<Integer> memberIds) {
+        Team team = new Team();
+        team.setName("Equipe");
+        teamDAO.addTeam(team, memberIds);
+        return teamDAO.getTeamById(team.getId());
+    }
+
+    private Set<Integer> members(Team team) {
+        return new HashSet<>(teamDAO.getMemberIdsByTeam().getOrDefault(team.getId(), List.of()));
+    }
+
+    /** A estratégia antiga de updateTeam, para comparação. */
+    private static void deleteAllAndReinsert(int teamId, List<Integer> memberIds) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM team_members WHERE team_id = ?");
+                 PreparedStatement insert = conn.prepareStatement(NamedSql.TEAM_MEMBER_INSERT.sql())) {
+                delete.setInt(1, teamId);
+                delete.executeUpdate();
+                for (Integer memberId : new ArrayList<>(memberIds)) {
+                    insert.setInt(1, teamId);
+                    insert.setInt(2, memberId);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryFanOutTest {
+
+    @Test
+    void joinCombinesResults() {
+        QueryFanOut fanOut = new QueryFanOut("teste", Duration.ofSeconds(5));
+        CompletableFuture<Integer> a = fanOut.fork("a", () -> 1);
+        CompletableFuture<Integer> b = fanOut.fork("b", () -> 2);
+        assertEquals(3, fanOut.join(() -> a.join() + b.join()).join());
+        assertEquals(2, fanOut.getTiming().latenciesMillis().size());
+    }
+
+    /**
+     * Uma consulta com erro faz o grupo falhar na hora, mas a consulta irmã que já está rodando
+     * não é interrompida (o que fecharia a conexão dela): ela termina normalmente.
+     */
+    @Test
+    void failureFailsFastWithoutInterruptingSiblings() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        QueryFanOut fanOut = new QueryFanOut("teste", Duration.ofSeconds(5));
+        CompletableFuture<String> slow = fanOut.fork("lenta", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            interrupted.compareAndSet(false, Thread.currentThread().isInterrupted());
+            finished.countDown();
+            return "ok";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        fanOut.fork("com erro", () -> {
+            throw new IllegalStateException("falhou");
+        });
+        CompletableFuture<String> result = fanOut.join(slow::join);
+
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertTrue(slow.isCancelled());
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+    }
+}
@@ -0,0 +1,405 @@
+package com.example.dao;
+
+import com.example.TestDatabase;
+import com.example.model.TaskStatus;
+import com.example.util.DatabaseConnection;
+import com.example.util.MySqlDialect;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Confere os planos de execução das consultas dos DAOs: nenhuma tabela pode ser lida por
+ * varredura completa sem que isso seja esperado. Detecta uma consulta nova, ou alterada, que
+ * deixou de usar os índices (db/migration/V2__indexes.sql, V5__task_filter_indexes.sql).
+ *
+ * - Todas as entradas de {@link NamedSql} são conferidas: {@link #plan} é um {@code switch} sem
+ *   {@code default}, então uma entrada nova não compila até ganhar parâmetros de exemplo aqui.
+ * - As listas de tarefas são conferidas em todas as combinações de filtros e de ordenação de
+ *   {@link TaskQuery}.
+ * - O banco é populado antes ({@link #TASKS} tarefas e o resto em proporção), para que o plano
+ *   seja o de uma base real e não o de tabelas quase vazias.
+ *
+ * Roda no H2 dos testes (lê o plano do {@code EXPLAIN} do H2) ou, com
+ * {@code -Dgestao.db.backend=mysql} apontando para um banco descartável, no MySQL
+ * ({@code type = ALL} do {@code EXPLAIN}).
+ */
+class QueryPlanTest {
+
+    /** Tarefas da base de exemplo. */
+    static final int TASKS = 20_000;
+    private static final int PROJECTS = 200;
+    private static final int USERS = 500;
+    private static final int TEAMS = 25;
+    private static final int CHANGE_LOG_ROWS = 5_000;
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final Date SAMPLE_DATE = Date.valueOf(TODAY);
+
+    // Plano do H2: "/* public.tasks.tableScan */" marca a leitura completa da tabela.
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* public\\.(\\w+)\\.tableScan",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * O que conferir em uma consulta.
+     * @param params Valores de exemplo para os parâmetros (null: a consulta não lê tabelas, ex: INSERT ... VALUES).
+     * @param scanAllowed Tabelas (ou aliases) que a consulta lê por inteiro de propósito.
+     */
+    record Plan(List<Object> params, Set<String> scanAllowed) {
+
+        static final Plan WRITE_ONLY = new Plan(null, Set.of());
+
+        static Plan of(Object... params) {
+            return new Plan(List.of(params), Set.of());
+        }
+
+        static Plan scanning(Set<String> scanAllowed, Object... params) {
+            return new Plan(List.of(params), scanAllowed);
+        }
+    }
+
+    /**
+     * Uma varredura completa inesperada.
+     */
+    record FullScan(String query, String table) {
+    }
+
+    @BeforeAll
+    static void populate() throws SQLException {
+        TestDatabase.reset();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            insertRows(conn, "INSERT INTO users (full_name, cpf, email, login, password, profile) VALUES (?, ?, ?, ?, ?, ?)",
+                    USERS, (pstmt, i) -> {
+                        pstmt.setString(1, "Usuário " + i);
+                        pstmt.setString(2, String.format("%011d", i));
+                        pstmt.setString(3, "u" + i + "@teste.com");
+                        pstmt.setString(4, "u" + i);
+                        pstmt.setString(5, "hash");
+                        pstmt.setString(6, i % 20 == 0 ? "GERENTE" : "COLABORADOR");
+                    });
+            int firstUser = minId(conn, "users");
+            insertRows(conn, "INSERT INTO projects (name, start_date, planned_end_date, status, manager_id) VALUES (?, ?, ?, ?, ?)",
+                    PROJECTS, (pstmt, i) -> {
+                        pstmt.setString(1, "Projeto " + i);
+                        pstmt.setDate(2, Date.valueOf(TODAY.minusYears(1)));
+                        pstmt.setDate(3, Date.valueOf(TODAY.plusYears(1)));
+                        pstmt.setString(4, i % 2 == 0 ? "EM_ANDAMENTO" : "PLANEJADO");
+                        pstmt.setInt(5, firstUser);
+                    });
+            int firstProject = minId(conn, "projects");
+            // Prazos espalhados por três anos: as faixas de data selecionam uma fração das tarefas.
+            insertRows(conn, "INSERT INTO tasks (title, project_id, responsible_id, status, planned_start_date, "
+                            + "planned_end_date, overdue) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    TASKS, (pstmt, i) -> {
+                        LocalDate end = TODAY.minusDays(365).plusDays(i % 1095);
+                        TaskStatus status = TaskStatus.values()[i % TaskStatus.values().length];
+                        pstmt.setString(1, "Tarefa " + i);
+                        pstmt.setInt(2, firstProject + i % PROJECTS);
+                        pstmt.setInt(3, firstUser + i % USERS);
+                        pstmt.setString(4, status.name());
+                        pstmt.setDate(5, Date.valueOf(end.minusDays(10)));
+                        pstmt.setDate(6, Date.valueOf(end));
+                        pstmt.setBoolean(7, status != TaskStatus.CONCLUIDA && end.isBefore(TODAY));
+                    });
+            int firstTask = minId(conn, "tasks");
+            insertRows(conn, "INSERT INTO task_dependencies (predecessor_id, successor_id) VALUES (?, ?)",
+                    TASKS / 2, (pstmt, i) -> {
+                        pstmt.setInt(1, firstTask + 2 * i);
+                        pstmt.setInt(2, firstTask + 2 * i + 1);
+                    });
+            insertRows(conn, "INSERT INTO teams (name) VALUES (?)",
+                    TEAMS, (pstmt, i) -> pstmt.setString(1, "Equipe " + i));
+            int firstTeam = minId(conn, "teams");
+            insertRows(conn, "INSERT INTO team_members (team_id, user_id) VALUES (?, ?)",
+                    USERS, (pstmt, i) -> {
+                        pstmt.setInt(1, firstTeam + i % TEAMS);
+                        pstmt.setInt(2, firstUser + i);
+                    });
+            insertRows(conn, "INSERT INTO project_teams (project_id, team_id) VALUES (?, ?)",
+                    PROJECTS, (pstmt, i) -> {
+                        pstmt.setInt(1, firstProject + i);
+                        pstmt.setInt(2, firstTeam + i % TEAMS);
+                    });
+            insertRows(conn, "INSERT INTO project_progress_daily (project_id, snapshot_date, pending, in_progress, "
+                            + "completed, overdue) VALUES (?, ?, 1, 1, 1, 0)",
+                    PROJECTS * 30, (pstmt, i) -> {
+                        pstmt.setInt(1, firstProject + i % PROJECTS);
+                        pstmt.setDate(2, Date.valueOf(TODAY.minusDays(i / PROJECTS)));
+                    });
+            insertRows(conn, "INSERT INTO change_log (entity, entity_id, kind, origin, project_id) VALUES ('TASK', ?, 'UPDATE', 'teste', ?)",
+                    CHANGE_LOG_ROWS, (pstmt, i) -> {
+                        pstmt.setInt(1, firstTask + i);
+                        pstmt.setInt(2, firstProject + i % PROJECTS);
+                    });
+            conn.commit();
+            conn.setAutoCommit(true);
+
+            // Atualiza as estatísticas usadas pelo otimizador.
+            try (Statement stmt = conn.createStatement()) {
+                if (isMySql()) {
+                    stmt.execute("ANALYZE TABLE users, projects, tasks, task_dependencies, teams, team_members, "
+                            + "project_teams, project_progress_daily, change_log");
+                } else {
+                    stmt.execute("ANALYZE");
+                }
+            }
+        }
+        EntityCaches.invalidateAll();
+    }
+
+    /** A própria verificação: uma consulta sem índice (o título) tem de ser apontada. */
+    @Test
+    void unindexedQueryIsReported() throws SQLException {
+        List<FullScan> violations = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            check(conn, "sem índice", "SELECT * FROM tasks WHERE title = ?", Plan.of("Tarefa 1"), violations);
+        }
+        assertEquals(List.of(new FullScan("sem índice", "tasks")), violations);
+    }
+
+    @Test
+    void namedSqlUsesTheIndexes() throws SQLException {
+        List<FullScan> violations = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (NamedSql sql : NamedSql.values()) {
+                Plan plan = plan(sql);
+                if (plan.params() != null) {
+                    check(conn, sql.name(), sql.sql(), plan, violations);
+                }
+            }
+        }
+        assertEquals(List.of(), violations);
+    }
+
+    @Test
+    void daoSqlUsesTheIndexes() throws SQLException {
+        List<FullScan> violations = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            // O painel agrega todos os projetos e equipes, mas não deve varrer as tarefas no filtro de atraso.
+            check(conn, "DashboardDAO.getSnapshot", DashboardDAO.SNAPSHOT_SQL,
+                    Plan.scanning(Set.of("projects", "p", "teams", "tm")), violations);
+            check(conn, "DashboardDAO.getTeamMemberCounts", DashboardDAO.TEAM_MEMBERS_SQL,
+                    Plan.scanning(Set.of("teams", "tm")), violations);
+            // Análise de alocação: lê todas as tarefas atribuídas (e todas as alocações) de propósito.
+            check(conn, "AllocationDAO.getAssignments", AllocationDAO.ASSIGNMENTS_SQL,
+                    Plan.scanning(Set.of("tasks", "t")), violations);
+            check(conn, "AllocationDAO.getTeamAssignments", AllocationDAO.TEAM_ASSIGNMENTS_SQL,
+                    Plan.of(minId(conn, "teams")), violations);
+            check(conn, "AllocationDAO.getTeamIdsByProject", AllocationDAO.PROJECT_TEAMS_SQL,
+                    Plan.scanning(Set.of("project_teams")), violations);
+        }
+        assertEquals(List.of(), violations);
+    }
+
+    /**
+     * Todas as combinações de filtros da tela de tarefas, na ordenação padrão (paginação por chave)
+     * e em cada coluna de ordenação ({@code LIMIT/OFFSET}). Com o filtro por projeto ou por
+     * responsável, ou na primeira página da ordenação padrão, as tarefas não podem ser varridas;
+     * sem esses filtros, uma ordenação por outra coluna lê a lista inteira de propósito.
+     */
+    @Test
+    void taskQueriesUseTheIndexes() throws SQLException {
+        List<FullScan> violations = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            int projectId = minId(conn, "projects");
+            int responsibleId = minId(conn, "users");
+            TaskDAO.TaskKey key = new TaskDAO.TaskKey(TODAY, minId(conn, "tasks"));
+            for (int filters = 0; filters < 32; filters++) {
+                for (TaskQuery.SortColumn column : sortVariants()) {
+                    TaskQuery.Builder builder = TaskQuery.builder();
+                    if ((filters & 1) != 0) {
+                        builder.project(projectId);
+                    }
+                    if ((filters & 2) != 0) {
+                        builder.responsible(responsibleId);
+                    }
+                    if ((filters & 4) != 0) {
+                        builder.statuses(TaskStatus.PENDENTE, TaskStatus.EM_EXECUCAO);
+                    }
+                    if ((filters & 8) != 0) {
+                        builder.plannedStartBetween(TODAY.minusDays(30), TODAY);
+                    }
+                    if ((filters & 16) != 0) {
+                        builder.plannedEndBetween(TODAY, TODAY.plusDays(30));
+                    }
+                    if (column != null) {
+                        builder.sortBy(column, true);
+                    }
+                    TaskQuery query = builder.build();
+                    boolean indexed = (filters & 3) != 0;
+                    Set<String> scanAllowed = indexed ? Set.of() : Set.of("tasks", "t");
+                    String name = "TaskQuery " + query;
+                    List<Object> filterParams = query.filterParameters();
+
+                    check(conn, name + " (contagem)", query.countSql(),
+                            new Plan(filterParams, indexed ? Set.of() : Set.of("tasks", "t")), violations);
+                    if (query.usesKeyset()) {
+                        List<Object> params = new ArrayList<>(filterParams);
+                        params.addAll(TaskQuery.keysetParameters(key));
+                        params.add(100);
+                        // A página segue o índice de prazo: nunca varre as tarefas, com ou sem filtro.
+                        check(conn, name + " (página por chave)", query.pageAfterSql(key), new Plan(params, Set.of()),
+                                violations);
+                    } else {
+                        List<Object> params = new ArrayList<>(filterParams);
+                        params.add(100);
+                        params.add(200);
+                        check(conn, name + " (página por offset)", query.pageAtOffsetSql(),
+                                new Plan(params, scanAllowed), violations);
+                    }
+                }
+            }
+        }
+        assertEquals(List.of(), violations);
+    }
+
+    /** A ordenação padrão (null) e cada coluna de ordenação. */
+    private static List<TaskQuery.SortColumn> sortVariants() {
+        List<TaskQuery.SortColumn> variants = new ArrayList<>();
+        variants.add(null);
+        Collections.addAll(variants, TaskQuery.SortColumn.values());
+        return variants;
+    }
+
+    /**
+     * Os parâmetros de exemplo de cada entrada de {@link NamedSql} e as tabelas que ela pode
+     * varrer. Sem {@code default}: uma entrada nova precisa ser incluída aqui.
+     */
+    private static Plan plan(NamedSql sql) {
+        Object[] ids = Collections.nCopies(NamedSql.ID_LIST_SIZE, 1).toArray();
+        return switch (sql) {
+            case USER_INSERT, PROJECT_INSERT, PROJECT_ADD_TEAM, TASK_INSERT, TASK_DEPENDENCY_INSERT,
+                 TEAM_INSERT, TEAM_MEMBER_INSERT, CHANGE_LOG_INSERT -> Plan.WRITE_ONLY;
+
+            case USER_FIND_BY_LOGIN -> Plan.of("u1");
+            case USER_UPDATE_PASSWORD_HASH -> Plan.of("hash", 1, "hash");
+            case USER_UPDATE -> Plan.of("Nome", "00000000001", "u1@teste.com", "Cargo", "u1", "COLABORADOR", 1);
+            case USER_UPDATE_WITH_PASSWORD -> Plan.of("Nome", "00000000001", "u1@teste.com", "Cargo", "u1",
+                    "COLABORADOR", "hash", 1);
+            case USER_DELETE, USER_SELECT_BY_ID -> Plan.of(1);
+
+            case PROJECT_UPDATE -> Plan.of("Nome", "Descrição", SAMPLE_DATE, SAMPLE_DATE, "PLANEJADO", 1, 1, 0);
+            case PROJECT_EXISTS, PROJECT_DELETE, PROJECT_SELECT_BY_ID -> Plan.of(1);
+
+            case TASK_SELECT_UPCOMING -> Plan.of(Date.valueOf(TODAY.plusDays(7)));
+            case TASK_COUNT_OVERDUE, TASK_COUNT_BY_PROJECT_AND_STATUS -> Plan.of();
+            case TASK_UPDATE -> Plan.of("Título", "Descrição", 1, 1, "PENDENTE", SAMPLE_DATE, SAMPLE_DATE,
+                    SAMPLE_DATE, SAMPLE_DATE, false, 1, 0);
+            case TASK_EXISTS, TASK_DELETE, TASK_PROJECT_FOR_DELETE, TASK_SELECT_BY_ID -> Plan.of(1);
+            case TASK_PROJECT_OF_VERSION -> Plan.of(1, 0);
+            case TASK_SELECT_BY_IDS, TASK_COUNTS_BY_PROJECT_IDS -> Plan.of(ids);
+
+            case TASK_DEPENDENCY_DELETE -> Plan.of(1, 2);
+            case TASK_DEPENDENCY_PREDECESSORS, TASK_DEPENDENCIES_BY_PROJECT -> Plan.of(1);
+
+            case TEAM_UPDATE -> Plan.of("Nome", "Descrição", 1, 0);
+            case TEAM_EXISTS, TEAM_DELETE, TEAM_SELECT_BY_ID, TEAM_MEMBER_IDS_FOR_UPDATE, TEAM_MEMBERS -> Plan.of(1);
+
+            // Listas completas, mantidas em cache (EntityCaches), e contagens de todas as linhas.
+            case USER_SELECT_ALL -> Plan.scanning(Set.of("users"));
+            case PROJECT_SELECT_ALL, PROJECT_COUNT_BY_STATUS -> Plan.scanning(Set.of("projects"));
+            case TASK_SELECT_ALL, TASK_COUNT_BY_STATUS -> Plan.scanning(Set.of("tasks"));
+            case TEAM_SELECT_ALL -> Plan.scanning(Set.of("teams"));
+            case TEAM_MEMBERSHIP_ALL, TEAM_MEMBER_COUNTS -> Plan.scanning(Set.of("team_members"));
+
+            // Consolidação: agrega todos os projetos; as tarefas só pelos índices.
+            case ROLLUP_PROJECT_TOTALS -> Plan.scanning(Set.of("projects", "p"));
+            case ROLLUP_PROJECT_TOTALS_BY_IDS -> Plan.of(ids);
+            case ROLLUP_OVERDUE_CANDIDATES, ROLLUP_NOT_OVERDUE_CANDIDATES -> Plan.of(SAMPLE_DATE);
+            case ROLLUP_TASK_SET_OVERDUE, ROLLUP_TASK_CLEAR_OVERDUE -> Plan.of(1, SAMPLE_DATE);
+            case ROLLUP_PROJECT_COMPLETION -> Plan.of(50, 1);
+            case ROLLUP_PROJECT_STATUS -> Plan.of("EM_ANDAMENTO", 1, 0);
+
+            case PROGRESS_DELETE_DAY -> Plan.of(SAMPLE_DATE);
+            case PROGRESS_SNAPSHOT_DAY -> Plan.scanning(Set.of("projects", "p"), SAMPLE_DATE,
+                    TaskStatus.PENDENTE.name(), TaskStatus.EM_EXECUCAO.name(), TaskStatus.CONCLUIDA.name());
+            case PROGRESS_SELECT_RANGE -> Plan.of(1, Date.valueOf(TODAY.minusYears(1)), SAMPLE_DATE);
+
+            case CHANGE_LOG_MAX_ID -> Plan.of();
+            // O cursor do ChangeLogPoller fica perto do fim da tabela.
+            case CHANGE_LOG_AFTER -> Plan.of((long) CHANGE_LOG_ROWS, 100);
+            case CHANGE_LOG_PRUNE -> Plan.of(new Timestamp(System.currentTimeMillis() - 3_600_000L));
+        };
+    }
+
+    /**
+     * Roda EXPLAIN na consulta e guarda as varreduras completas inesperadas.
+     */
+    private static void check(Connection conn, String name, String sql, Plan plan, List<FullScan> violations)
+            throws SQLException {
+        // EXPLAIN não aceita (ou ignora) a trava; o plano é o da consulta.
+        String explained = "EXPLAIN " + sql.replace(" FOR UPDATE", "");
+        try (PreparedStatement pstmt = conn.prepareStatement(explained)) {
+            for (int i = 0; i < plan.params().size(); i++) {
+                pstmt.setObject(i + 1, plan.params().get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (isMySql()) {
+                        String table = rs.getString("table");
+                        if ("ALL".equals(rs.getString("type")) && table != null
+                                && !plan.scanAllowed().contains(table)) {
+                            violations.add(new FullScan(name, table));
+                        }
+                    } else {
+                        Matcher matcher = H2_TABLE_SCAN.matcher(rs.getString(1));
+                        while (matcher.find()) {
+                            String table = matcher.group(1).toLowerCase(Locale.ROOT);
+                            if (!plan.scanAllowed().contains(table)) {
+                                violations.add(new FullScan(name, table));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isMySql() {
+        return DatabaseConnection.getDialect() instanceof MySqlDialect;
+    }
+
+    @FunctionalInterface
+    private interface RowFiller {
+        void fill(PreparedStatement pstmt, int i) throws SQLException;
+    }
+
+    private static void insertRows(Connection conn, String sql, int count, RowFiller filler) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                filler.fill(pstmt, i);
+                pstmt.addBatch();
+                if (i % 1000 == 999) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static int minId(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(id) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
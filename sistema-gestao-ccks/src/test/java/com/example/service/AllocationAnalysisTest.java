@@ -0,0 +1,108 @@
+package com.example.service;
+
+import com.example.dao.AllocationDAO.Assignment;
+import com.example.model.TaskStatus;
+import com.example.service.AllocationAnalysis.Overload;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Curvas por responsável e por equipe do {@link AllocationAnalysis}.
+ */
+class AllocationAnalysisTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private int nextTaskId;
+
+    @Test
+    void sameDayStartAndEndCountsForBothTasks() {
+        List<Assignment> assignments = List.of(
+                assignment(1, TaskStatus.EM_EXECUCAO, DAY.minusDays(4), DAY),
+                assignment(1, TaskStatus.PENDENTE, DAY, DAY.plusDays(4)),
+                assignment(1, TaskStatus.PENDENTE, DAY, DAY));
+        AllocationAnalysis analysis = AllocationAnalysis.analyze(assignments, Map.of(), DAY.minusDays(30));
+
+        LoadCurve curve = analysis.userCurve(1);
+        assertEquals(1, curve.loadAt(DAY.minusDays(1).toEpochDay()));
+        assertEquals(3, curve.loadAt(DAY.toEpochDay()));
+        assertEquals(1, curve.loadAt(DAY.plusDays(1).toEpochDay()));
+        assertEquals(List.of(new Overload(1, DAY, DAY, 3, 2)), analysis.userOverloads(2, DAY.minusDays(30), DAY.plusDays(30)));
+    }
+
+    @Test
+    void overdueOpenTasksRunUntilTodayAndEndBeforeStartIsOneDay() {
+        LocalDate today = DAY.plusDays(10);
+        List<Assignment> assignments = List.of(
+                assignment(1, TaskStatus.PENDENTE, DAY, DAY.plusDays(2)),
+                assignment(1, TaskStatus.CONCLUIDA, DAY, DAY.plusDays(2)),
+                assignment(2, TaskStatus.PENDENTE, today.plusDays(5), today.plusDays(3)));
+        AllocationAnalysis analysis = AllocationAnalysis.analyze(assignments, Map.of(), today);
+
+        assertEquals(1, analysis.userCurve(1).loadAt(today.toEpochDay()));
+        assertEquals(0, analysis.userCurve(1).loadAt(today.plusDays(1).toEpochDay()));
+        assertEquals(1, analysis.userCurve(2).loadAt(today.plusDays(5).toEpochDay()));
+        assertEquals(0, analysis.userCurve(2).loadAt(today.plusDays(6).toEpochDay()));
+        assertEquals(0, analysis.userCurve(99).peak());
+    }
+
+    @Test
+    void teamCurveSumsMembersCountingRepeatedMembersOnce() {
+        List<Assignment> assignments = List.of(
+                assignment(1, TaskStatus.PENDENTE, DAY, DAY.plusDays(2)),
+                assignment(1, TaskStatus.PENDENTE, DAY.plusDays(2), DAY.plusDays(2)),
+                assignment(2, TaskStatus.PENDENTE, DAY.plusDays(2), DAY.plusDays(4)),
+                assignment(3, TaskStatus.PENDENTE, DAY, DAY.plusDays(4)));
+        // O membro 1 aparece repetido; o membro 4 não tem tarefas, mas conta na capacidade.
+        AllocationAnalysis analysis = AllocationAnalysis.analyze(assignments,
+                Map.of(10, List.of(1, 1, 2, 4), 20, List.of(), 30, List.of(1, 2)), DAY);
+
+        LoadCurve team = analysis.teamCurve(10);
+        assertEquals(1, team.loadAt(DAY.toEpochDay()));
+        assertEquals(3, team.loadAt(DAY.plusDays(2).toEpochDay()));
+        assertEquals(1, team.loadAt(DAY.plusDays(3).toEpochDay()));
+        assertEquals(0, team.loadAt(DAY.plusDays(5).toEpochDay()));
+        assertEquals(3, analysis.teamCapacity(10, 1));
+        assertEquals(0, analysis.teamCurve(20).peak());
+        assertEquals(0, analysis.teamCapacity(20, 1));
+        // Só a equipe 30 (capacidade 2) passa da capacidade, no dia em que as tarefas se encontram.
+        assertEquals(List.of(new Overload(30, DAY.plusDays(2), DAY.plusDays(2), 3, 2)),
+                analysis.teamOverloads(1, DAY, DAY.plusDays(10)));
+    }
+
+    @Test
+    void parallelSweepMatchesSequentialCurves() {
+        // Responsáveis suficientes para o fork/join dividir o trabalho.
+        List<Assignment> assignments = new ArrayList<>();
+        for (int user = 0; user < 500; user++) {
+            for (int k = 0; k <= user % 5; k++) {
+                assignments.add(assignment(user, TaskStatus.PENDENTE, DAY.plusDays(k), DAY.plusDays(k + user % 3)));
+            }
+        }
+        AllocationAnalysis analysis = AllocationAnalysis.analyze(assignments, Map.of(), DAY);
+
+        assertEquals(500, analysis.userIds().size());
+        for (int user = 0; user < 500; user++) {
+            int id = user;
+            long[] starts = assignments.stream().filter(a -> a.responsibleId() == id)
+                    .mapToLong(a -> a.start().toEpochDay()).toArray();
+            long[] ends = assignments.stream().filter(a -> a.responsibleId() == id)
+                    .mapToLong(a -> a.end().toEpochDay()).toArray();
+            LoadCurve expected = LoadCurve.sweep(starts, ends);
+            for (int d = -1; d < 10; d++) {
+                long day = DAY.plusDays(d).toEpochDay();
+                assertEquals(expected.loadAt(day), analysis.userCurve(user).loadAt(day));
+            }
+        }
+    }
+
+    private Assignment assignment(int responsibleId, TaskStatus status, LocalDate start, LocalDate end) {
+        return new Assignment(++nextTaskId, responsibleId, 1, status, start, end);
+    }
+}
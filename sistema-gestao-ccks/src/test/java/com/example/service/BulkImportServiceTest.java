@@ -0,0 +1,146 @@
+package com.example.service;
+
+import com.example.TestDatabase;
+import com.example.dao.DAOFactory;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import com.example.service.BulkImportService.EntityType;
+import com.example.service.BulkImportService.Format;
+import com.example.service.BulkImportService.ImportReport;
+import com.example.service.BulkImportService.Progress;
+import com.example.service.BulkImportService.RowError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Importação em blocos do {@link BulkImportService}: numeração das linhas com erro ao longo
+ * dos blocos, andamento e gravação no banco.
+ */
+class BulkImportServiceTest {
+
+    // Um hash BCrypt qualquer: evita o custo do hash de senha por linha.
+    private static final String HASH = "$2a$10$abcdefghijklmnopqrstuu5Tk0yQnEpKzUGh3hVrYb2/j1tV1q0Pa";
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void rowErrorsKeepTheirFileRowNumbersAcrossChunks() throws IOException {
+        // Blocos de 3 linhas: [1-3], [4-6], [7]. A linha 2 falha na validação, a 5 no banco
+        // (login repetido de um bloco anterior) e a 6 na validação do segundo bloco.
+        String csv = "full_name;cpf;email;login;password_hash;profile\n"
+                + userLine("Ana", 1, "ana") + "\n"
+                + "Sem login;00000000002;semlogin@teste.com;;" + HASH + ";COLABORADOR\n"
+                + userLine("Bruno", 3, "bruno") + "\n"
+                + "\n"
+                + userLine("Carla", 4, "carla") + "\n"
+                + userLine("Outra Ana", 5, "ana") + "\n"
+                + "Perfil;00000000006;perfil@teste.com;perfil;" + HASH + ";DIRETOR\n"
+                + userLine("Dani", 7, "dani") + "\n";
+        List<Progress> progress = new ArrayList<>();
+
+        ImportReport report = new BulkImportService(2, 3)
+                .importFrom(new StringReader(csv), Format.CSV, EntityType.USERS, progress::add);
+
+        assertEquals(7, report.rowsRead());
+        assertEquals(4, report.rowsImported());
+        assertEquals(3, report.rowsFailed());
+        Map<Long, String> errors = new TreeMap<>();
+        for (RowError error : report.errors()) {
+            errors.put(error.row(), error.message());
+        }
+        assertEquals(List.of(2L, 5L, 6L), List.copyOf(errors.keySet()));
+        assertEquals("Campo obrigatório ausente: login.", errors.get(2L));
+        assertEquals("Valor inválido para profile: DIRETOR.", errors.get(6L));
+        assertEquals(List.of("Ana", "Bruno", "Carla", "Dani"),
+                DAOFactory.getUserDAO().getAllUsers().stream().map(User::getFullName).toList());
+
+        // Um aviso por bloco, com os totais acumulados.
+        assertEquals(3, progress.size());
+        assertEquals(List.of(3L, 6L, 7L), progress.stream().map(Progress::rowsRead).toList());
+        assertEquals(List.of(2L, 3L, 4L), progress.stream().map(Progress::rowsImported).toList());
+        assertEquals(List.of(1L, 3L, 3L), progress.stream().map(Progress::rowsFailed).toList());
+        assertTrue(progress.stream().allMatch(p -> p.rowsPerSecond() > 0));
+    }
+
+    @Test
+    void tasksAreImportedFromJson() throws IOException {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        String json = "[\n"
+                + "{\"title\": \"Atrasada\", \"project_id\": " + alpha.getId() + ", \"responsible_id\": " + ana.getId()
+                + ", \"status\": \"pendente\", \"planned_start_date\": \"01/01/2020\", \"planned_end_date\": \"2020-01-10\"},\n"
+                + "{\"title\": \"Sem projeto\", \"project_id\": 999999, \"status\": \"PENDENTE\"},\n"
+                + "{\"title\": \"Invertida\", \"project_id\": " + alpha.getId()
+                + ", \"status\": \"PENDENTE\", \"planned_start_date\": \"2020-02-10\", \"planned_end_date\": \"2020-02-01\"}\n"
+                + "]";
+
+        ImportReport report = new BulkImportService()
+                .importFrom(new StringReader(json), Format.JSON, EntityType.TASKS, null);
+
+        assertEquals(1, report.rowsImported());
+        assertEquals(List.of(new RowError(2, "project_id 999999 não existe."),
+                new RowError(3, "planned_end_date anterior a planned_start_date.")), report.errors());
+        Task task = DAOFactory.getTaskDAO().getAllTasks().get(0);
+        assertEquals("Atrasada", task.getTitle());
+        assertEquals(TaskStatus.PENDENTE, task.getStatus());
+        assertEquals(LocalDate.of(2020, 1, 1), task.getPlannedStartDate());
+        assertTrue(task.isOverdue());
+    }
+
+    @Test
+    void malformedFileStopsTheImport() {
+        BulkImportService service = new BulkImportService();
+        assertThrows(IOException.class, () -> service.importFrom(
+                new StringReader("[{\"title\": {}}]"), Format.JSON, EntityType.TASKS, null));
+        assertThrows(IllegalArgumentException.class, () -> new BulkImportService(10, 5));
+    }
+
+    /**
+     * Importa 100 mil tarefas de um CSV e imprime a vazão. Lento; roda só com
+     * -Dgestao.test.scale=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "gestao.test.scale", matches = "true")
+    void importsOneHundredThousandRows() throws IOException {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        int rows = 100_000;
+        StringBuilder csv = new StringBuilder("title,project_id,responsible_id,status,planned_start_date,planned_end_date\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append("Tarefa ").append(i).append(',').append(alpha.getId()).append(',').append(ana.getId())
+                    .append(",PENDENTE,2025-01-01,2025-12-31\n");
+        }
+
+        ImportReport report = new BulkImportService()
+                .importFrom(new StringReader(csv.toString()), Format.CSV, EntityType.TASKS, null);
+
+        System.out.printf("Importação de %d tarefas: %d ms (%.0f linhas/s)%n",
+                rows, report.elapsedMillis(), report.rowsPerSecond());
+        assertEquals(rows, report.rowsImported());
+        assertEquals(0, report.rowsFailed());
+        assertEquals(rows, DAOFactory.getTaskDAO().countTasksByStatus().get(TaskStatus.PENDENTE));
+    }
+
+    private static String userLine(String name, int n, String login) {
+        return name + ";" + String.format("%011d", n) + ";" + login + n + "@teste.com;" + login + ";" + HASH + ";COLABORADOR";
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Leitura de CSV do {@link CsvRecordReader}, como as planilhas exportam: aspas da RFC 4180,
+ * ponto e vírgula, BOM e linhas em branco.
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFieldsKeepSeparatorsLineBreaksAndDoubledQuotes() throws IOException {
+        List<Map<String, String>> records = readAll(
+                "title,description\n"
+                        + "\"a,b\",\"linha 1\nlinha 2 \"\"citada\"\"\"\n"
+                        + "\"\",\"  com espaços  \"\n");
+
+        assertEquals(2, records.size());
+        assertEquals("a,b", records.get(0).get("title"));
+        assertEquals("linha 1\nlinha 2 \"citada\"", records.get(0).get("description"));
+        // Aspas vazias viram null; entre aspas, os espaços são mantidos.
+        assertNull(records.get(1).get("title"));
+        assertEquals("  com espaços  ", records.get(1).get("description"));
+    }
+
+    @Test
+    void semicolonIsDetectedFromTheHeader() throws IOException {
+        List<Map<String, String>> records = readAll("Title;Description\r\n1,5 dias;texto\r\n");
+
+        assertEquals(1, records.size());
+        assertEquals("1,5 dias", records.get(0).get("title"));
+        assertEquals("texto", records.get(0).get("description"));
+    }
+
+    @Test
+    void commaWinsWhenTheHeaderHasBoth() throws IOException {
+        List<Map<String, String>> records = readAll("title,notes;extra\na;b,c\n");
+
+        assertEquals("a;b", records.get(0).get("title"));
+        assertEquals("c", records.get(0).get("notes;extra"));
+    }
+
+    @Test
+    void byteOrderMarkIsRemovedFromTheFirstColumn() throws IOException {
+        List<Map<String, String>> records = readAll("\uFEFFlogin;email\nana;ana@teste.com\n");
+
+        assertEquals(Map.of("login", "ana", "email", "ana@teste.com"), records.get(0));
+    }
+
+    @Test
+    void blankLinesAreSkippedAndMissingFieldsAreNull() throws IOException {
+        List<Map<String, String>> records = readAll("a,b,c\n\n1, 2 \n\r\n\n3,,\n\n");
+
+        assertEquals(2, records.size());
+        assertEquals("1", records.get(0).get("a"));
+        assertEquals("2", records.get(0).get("b"));
+        assertNull(records.get(0).get("c"));
+        assertEquals("3", records.get(1).get("a"));
+        assertNull(records.get(1).get("b"));
+    }
+
+    @Test
+    void lastLineWithoutLineBreakIsRead() throws IOException {
+        List<Map<String, String>> records = readAll("a,b\n1,2");
+
+        assertEquals(List.of(Map.of("a", "1", "b", "2")), records);
+    }
+
+    @Test
+    void malformedInputIsRejected() {
+        assertThrows(IOException.class, () -> readAll(""));
+        assertThrows(IOException.class, () -> readAll("a,b\n\"aberto,2\n"));
+    }
+
+    private static List<Map<String, String>> readAll(String csv) throws IOException {
+        List<Map<String, String>> records = new ArrayList<>();
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+            assertNull(reader.next());
+        }
+        return records;
+    }
+}
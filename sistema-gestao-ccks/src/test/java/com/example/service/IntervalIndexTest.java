@@ -0,0 +1,112 @@
+package com.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Consultas do {@link IntervalIndex}: as extremidades dos intervalos e da janela são inclusivas.
+ */
+class IntervalIndexTest {
+
+    @Test
+    void windowTouchingAnEndpointOverlaps() {
+        IntervalIndex index = IntervalIndex.of(new int[] {1, 2, 3}, new long[] {10, 20, 15}, new long[] {20, 30, 15});
+
+        assertEquals(Set.of(1, 2), overlapping(index, 20, 20));
+        assertEquals(Set.of(1), overlapping(index, 0, 10));
+        assertEquals(Set.of(2), overlapping(index, 30, 40));
+        assertEquals(Set.of(1, 3), overlapping(index, 15, 15));
+        assertEquals(Set.of(), overlapping(index, 0, 9));
+        assertEquals(Set.of(), overlapping(index, 31, 40));
+        assertEquals(Set.of(1, 2, 3), overlapping(index, 0, 100));
+    }
+
+    @Test
+    void intervalsSharingEndpointsAreAllFound() {
+        // Vários intervalos com o mesmo início ou o mesmo fim, e de um único ponto.
+        IntervalIndex index = IntervalIndex.of(new int[] {1, 2, 3, 4, 5},
+                new long[] {5, 5, 5, 1, 9}, new long[] {5, 9, 7, 5, 9});
+
+        assertEquals(Set.of(1, 2, 3, 4), overlapping(index, 5, 5));
+        assertEquals(Set.of(2, 5), overlapping(index, 9, 9));
+        assertEquals(Set.of(2, 3), overlapping(index, 6, 7));
+        assertEquals(Set.of(2), overlapping(index, 8, 8));
+        assertEquals(4, index.countOverlapping(4, 5));
+    }
+
+    @Test
+    void reversedWindowAndEmptyIndexFindNothing() {
+        IntervalIndex index = IntervalIndex.of(new int[] {1}, new long[] {0}, new long[] {10});
+        assertEquals(0, index.countOverlapping(5, 4));
+        assertEquals(0, IntervalIndex.empty().countOverlapping(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(0, IntervalIndex.of(new int[0], new long[0], new long[0]).size());
+    }
+
+    @Test
+    void invalidIntervalsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> IntervalIndex.of(new int[] {1}, new long[] {10}, new long[] {9}));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntervalIndex.of(new int[] {1, 2}, new long[] {1}, new long[] {2}));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomIntervals() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(300);
+            int[] ids = new int[n];
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = i;
+                starts[i] = random.nextInt(100);
+                ends[i] = starts[i] + random.nextInt(random.nextBoolean() ? 3 : 30);
+            }
+            IntervalIndex index = IntervalIndex.of(ids, starts, ends);
+            for (long from = -2; from < 135; from += 1 + random.nextInt(4)) {
+                long to = from + random.nextInt(10);
+                assertEquals(bruteForce(ids, starts, ends, from, to), overlapping(index, from, to),
+                        "janela [" + from + ", " + to + "]");
+                // Cada intervalo é entregue uma única vez.
+                assertEquals(bruteForce(ids, starts, ends, from, to).size(), index.countOverlapping(from, to));
+            }
+        }
+    }
+
+    @Test
+    void valuesFarApartUseTheGeneralSort() {
+        IntervalIndex index = IntervalIndex.of(new int[] {1, 2, 3},
+                new long[] {Long.MIN_VALUE, 0, Long.MAX_VALUE - 1}, new long[] {-1, 0, Long.MAX_VALUE});
+        assertEquals(Set.of(1), overlapping(index, Long.MIN_VALUE, Long.MIN_VALUE));
+        assertEquals(Set.of(2), overlapping(index, 0, 0));
+        assertEquals(Set.of(3), overlapping(index, Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(Set.of(1, 2), overlapping(index, -1, 0));
+    }
+
+    private static Set<Integer> overlapping(IntervalIndex index, long from, long to) {
+        List<Integer> found = new ArrayList<>();
+        index.forEachOverlapping(from, to, found::add);
+        Set<Integer> unique = new TreeSet<>(found);
+        assertEquals(unique.size(), found.size(), "intervalo repetido");
+        return unique;
+    }
+
+    private static Set<Integer> bruteForce(int[] ids, long[] starts, long[] ends, long from, long to) {
+        Set<Integer> found = new TreeSet<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (starts[i] <= to && ends[i] >= from) {
+                found.add(ids[i]);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Leitura de JSON do {@link JsonRecordReader}: arrays e NDJSON, escapes e objetos planos.
+ */
+class JsonRecordReaderTest {
+
+    @Test
+    void arrayAndNdjsonGiveTheSameRecords() throws IOException {
+        List<Map<String, String>> expected = List.of(
+                Map.of("title", "A", "project_id", "7"),
+                Map.of("title", "B", "project_id", "8"));
+
+        assertEquals(expected, readAll(" [ {\"Title\": \"A\", \"project_id\": 7},\n{\"title\":\"B\",\"project_id\":8} ] "));
+        assertEquals(expected, readAll("{\"title\": \"A\", \"project_id\": 7}\n{\"title\": \"B\", \"project_id\": 8}\n"));
+        assertEquals(expected, readAll("\uFEFF{\"title\":\"A\",\"project_id\":7}{\"title\":\"B\",\"project_id\":8}"));
+    }
+
+    @Test
+    void emptyInputsHaveNoRecords() throws IOException {
+        assertTrue(readAll("[]").isEmpty());
+        assertTrue(readAll(" \n ").isEmpty());
+        assertEquals(List.of(Map.of()), readAll("[{}]"));
+    }
+
+    @Test
+    void literalsAreReturnedAsTextAndNullOrEmptyAsNull() throws IOException {
+        Map<String, String> record = readAll("{\"n\": -1.5e3, \"ok\": true, \"vazio\": \"\", \"nada\": null}").get(0);
+
+        assertEquals("-1.5e3", record.get("n"));
+        assertEquals("true", record.get("ok"));
+        assertTrue(record.containsKey("vazio"));
+        assertNull(record.get("vazio"));
+        assertTrue(record.containsKey("nada"));
+        assertNull(record.get("nada"));
+    }
+
+    @Test
+    void escapesAreDecoded() throws IOException {
+        String json = "{\"description\": \"linha 1\\nlinha 2\\t\\\"citada\\\" \\\\ \\/ A\\u00e7\\u00E3o \\ud83d\\ude00\"}";
+
+        assertEquals("linha 1\nlinha 2\t\"citada\" \\ / Ação \uD83D\uDE00", readAll(json).get(0).get("description"));
+    }
+
+    @Test
+    void nestedValuesAreRejected() {
+        IOException object = assertThrows(IOException.class, () -> readAll("[{\"title\": \"A\", \"meta\": {\"x\": 1}}]"));
+        assertTrue(object.getMessage().contains("\"meta\""), object.getMessage());
+        IOException array = assertThrows(IOException.class, () -> readAll("{\"tags\": [\"a\"]}"));
+        assertTrue(array.getMessage().contains("\"tags\""), array.getMessage());
+    }
+
+    @Test
+    void malformedInputIsRejected() {
+        assertThrows(IOException.class, () -> readAll("[{\"a\": 1} {\"a\": 2}]"));
+        assertThrows(IOException.class, () -> readAll("[{\"a\": 1},"));
+        assertThrows(IOException.class, () -> readAll("{\"a\" 1}"));
+        assertThrows(IOException.class, () -> readAll("{\"a\": \"sem fim}"));
+        assertThrows(IOException.class, () -> readAll("{\"a\": \"\\uzzzz\"}"));
+        assertThrows(IOException.class, () -> readAll("{\"a\": \"\\x\"}"));
+        assertThrows(IOException.class, () -> readAll("{a: 1}"));
+        assertThrows(IOException.class, () -> readAll("\"texto\""));
+    }
+
+    private static List<Map<String, String>> readAll(String json) throws IOException {
+        List<Map<String, String>> records = new ArrayList<>();
+        try (JsonRecordReader reader = new JsonRecordReader(new StringReader(json))) {
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+            assertNull(reader.next());
+        }
+        return records;
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.service;
+
+import com.example.TestDatabase;
+import com.example.dao.ChangeEvent;
+import com.example.dao.ChangeFeed;
+import com.example.dao.DAOFactory;
+import com.example.dao.DashboardDAO;
+import com.example.dao.ProjectDAO;
+import com.example.dao.TaskDAO;
+import com.example.dao.UpdateResult;
+import com.example.model.DashboardSnapshot;
+import com.example.model.DashboardSnapshot.ProjectTaskCounts;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import com.example.ui.ChangeSubscription;
+import com.example.util.DatabaseConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Os contadores do {@link KpiEngine}, ajustados como faz o dashboard (recontando só os projetos
+ * indicados nos eventos do {@link ChangeFeed}), devem dar o mesmo retrato que um
+ * {@link KpiEngine#load} completo.
+ */
+class KpiEngineTest {
+
+    private final DashboardDAO dashboardDAO = new DashboardDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+
+    private final List<ChangeEvent> published = new ArrayList<>();
+    private final ChangeFeed.Listener listener = published::addAll;
+    private KpiEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        ChangeFeed.subscribe(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ChangeFeed.unsubscribe(listener);
+    }
+
+    @Test
+    void incrementalChangesMatchAFullLoad() {
+        LocalDate today = LocalDate.now();
+        User ana = TestDatabase.user("Ana");
+        User bruno = TestDatabase.user("Bruno");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Project beta = TestDatabase.project("Beta", ProjectStatus.PLANEJADO, bruno);
+        Task late = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.minusDays(2));
+        Task running = TestDatabase.task(alpha, bruno, TaskStatus.EM_EXECUCAO, today.plusDays(4));
+        TestDatabase.task(beta, bruno, TaskStatus.CONCLUIDA, today.minusDays(30));
+
+        engine = KpiEngine.load(dashboardDAO, projectDAO);
+        published.clear();
+        assertMatchesFullLoad();
+
+        // Inclusões.
+        Project gamma = TestDatabase.project("Gamma", ProjectStatus.EM_ANDAMENTO, ana);
+        Task added = TestDatabase.task(gamma, ana, TaskStatus.PENDENTE, today.plusDays(1));
+        Task addedLate = TestDatabase.task(beta, ana, TaskStatus.EM_EXECUCAO, today.minusDays(1));
+        applyPublished();
+        assertMatchesFullLoad();
+
+        // Alterações: status, prazo (entra e sai do atraso) e troca de projeto.
+        updateTask(late.getId(), t -> t.setStatus(TaskStatus.CONCLUIDA));
+        updateTask(running.getId(), t -> t.setPlannedEndDate(today.minusDays(1)));
+        updateTask(addedLate.getId(), t -> t.setPlannedEndDate(today.plusDays(10)));
+        updateTask(added.getId(), t -> t.setProjectId(alpha.getId()));
+        updateProject(beta.getId(), p -> p.setStatus(ProjectStatus.EM_ANDAMENTO));
+        updateProject(alpha.getId(), p -> {
+            p.setStatus(ProjectStatus.CONCLUIDO);
+            p.setName("Alpha renomeado");
+        });
+        applyPublished();
+        assertMatchesFullLoad();
+
+        // Exclusões: uma tarefa e um projeto com tarefas (excluídas em cascata, sem evento por tarefa).
+        assertTrue(taskDAO.deleteTask(running.getId()));
+        assertTrue(projectDAO.deleteProject(beta.getId()));
+        applyPublished();
+        assertMatchesFullLoad();
+    }
+
+    @Test
+    void movedTaskRecountsBothProjects() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Project beta = TestDatabase.project("Beta", ProjectStatus.EM_ANDAMENTO, ana);
+        Task task = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, LocalDate.now().minusDays(1));
+        engine = KpiEngine.load(dashboardDAO, projectDAO);
+        published.clear();
+
+        updateTask(task.getId(), t -> t.setProjectId(beta.getId()));
+        ChangeSubscription.Batch batch = new ChangeSubscription.Batch(List.copyOf(published));
+        assertEquals(Set.of(alpha.getId(), beta.getId()), batch.taskProjectIds());
+
+        applyPublished();
+        Map<Integer, ProjectTaskCounts> rows = rowsById(engine.snapshot(List.of()));
+        assertEquals(0, rows.get(alpha.getId()).total());
+        assertEquals(0, rows.get(alpha.getId()).overdue());
+        assertEquals(1, rows.get(beta.getId()).pending());
+        assertEquals(1, rows.get(beta.getId()).overdue());
+        assertMatchesFullLoad();
+    }
+
+    @Test
+    void olderProjectVersionArrivingLateIsIgnored() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.PLANEJADO, ana);
+        engine = KpiEngine.load(dashboardDAO, projectDAO);
+
+        Project stale = projectDAO.getProjectById(alpha.getId());
+        updateProject(alpha.getId(), p -> p.setStatus(ProjectStatus.EM_ANDAMENTO));
+        applyPublished();
+        assertFalse(engine.putProject(stale));
+        assertEquals(1, engine.snapshot(List.of()).inProgressProjects());
+        assertMatchesFullLoad();
+    }
+
+    /**
+     * O custo de aplicar a alteração de uma tarefa (recontar o projeto dela e montar o retrato)
+     * não deve crescer com o total de tarefas: um projeto pequeno é alterado enquanto outro projeto
+     * cresce até 1 milhão de tarefas. A carga completa (agregada no banco) é impressa para
+     * comparação. Lento; roda só com -Dgestao.test.scale=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "gestao.test.scale", matches = "true")
+    void refreshCostDoesNotGrowWithTasks() throws SQLException {
+        User ana = TestDatabase.user("Ana");
+        Project small = TestDatabase.project("Pequeno", ProjectStatus.EM_ANDAMENTO, ana);
+        Project big = TestDatabase.project("Grande", ProjectStatus.EM_ANDAMENTO, ana);
+        insertTasks(small, ana, 100);
+        Task edited = TestDatabase.task(small, ana, TaskStatus.PENDENTE, LocalDate.now().plusDays(3));
+
+        int inserted = 0;
+        for (int total : new int[] {10_000, 100_000, 1_000_000}) {
+            insertTasks(big, ana, total - inserted);
+            inserted = total;
+
+            long start = System.nanoTime();
+            engine = KpiEngine.load(dashboardDAO, projectDAO);
+            long loadMillis = (System.nanoTime() - start) / 1_000_000;
+
+            int rounds = 200;
+            published.clear();
+            start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                updateTask(edited.getId(), t -> t.setStatus(t.getStatus() == TaskStatus.PENDENTE
+                        ? TaskStatus.EM_EXECUCAO : TaskStatus.PENDENTE));
+                applyPublished();
+                engine.snapshot(List.of());
+            }
+            long refreshMicros = (System.nanoTime() - start) / 1000 / rounds;
+
+            System.out.printf("KpiEngine com %d tarefas: carga %d ms, alteração de uma tarefa %d µs%n",
+                    total, loadMillis, refreshMicros);
+            assertEquals(2, engine.snapshot(List.of()).tasksByProject().size());
+        }
+    }
+
+    private void updateTask(int taskId, Consumer<Task> change) {
+        Task task = taskDAO.getTaskById(taskId);
+        change.accept(task);
+        assertEquals(UpdateResult.UPDATED, taskDAO.updateTask(task));
+    }
+
+    private void updateProject(int projectId, Consumer<Project> change) {
+        Project project = projectDAO.getProjectById(projectId);
+        change.accept(project);
+        assertEquals(UpdateResult.UPDATED, projectDAO.updateProject(project));
+    }
+
+    /** Como o dashboard: reconta os projetos indicados nos eventos e relê os projetos alterados. */
+    private void applyPublished() {
+        ChangeSubscription.Batch batch = new ChangeSubscription.Batch(List.copyOf(published));
+        published.clear();
+        Set<Integer> projectIds = batch.ids(ChangeEvent.Entity.PROJECT);
+        for (Integer id : projectIds) {
+            Project project = projectDAO.getProjectById(id);
+            if (project == null) {
+                engine.removeProject(id);
+            } else {
+                engine.putProject(project);
+            }
+        }
+        List<Integer> countIds = new ArrayList<>(projectIds);
+        countIds.addAll(batch.taskProjectIds());
+        Map<Integer, ProjectTaskCounts> counts = dashboardDAO.getProjectTaskCounts(countIds);
+        assertNotNull(counts);
+        for (Integer id : countIds) {
+            if (counts.containsKey(id)) {
+                engine.putProjectCounts(counts.get(id));
+            } else {
+                engine.removeProject(id);
+            }
+        }
+    }
+
+    private void assertMatchesFullLoad() {
+        DashboardSnapshot expected = KpiEngine.load(dashboardDAO, projectDAO).snapshot(List.of());
+        DashboardSnapshot actual = engine.snapshot(List.of());
+        assertEquals(expected, actual);
+
+        // E os totais batem com os do snapshot agregado no banco.
+        DashboardSnapshot database = dashboardDAO.getSnapshot();
+        assertEquals(database.inProgressProjects(), actual.inProgressProjects());
+        assertEquals(database.pendingTasks(), actual.pendingTasks());
+        assertEquals(database.overdueTasks(), actual.overdueTasks());
+        assertEquals(database.completedTasks(), actual.completedTasks());
+        assertEquals(rowsById(database), rowsById(actual));
+    }
+
+    private static Map<Integer, ProjectTaskCounts> rowsById(DashboardSnapshot snapshot) {
+        Map<Integer, ProjectTaskCounts> rows = new HashMap<>();
+        for (ProjectTaskCounts row : snapshot.tasksByProject()) {
+            rows.put(row.projectId(), row);
+        }
+        return rows;
+    }
+
+    private static void insertTasks(Project project, User responsible, int count) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT INTO tasks (title, project_id, responsible_id, status, planned_start_date, planned_end_date) "
+                             + "SELECT CONCAT('Tarefa ', x), ?, ?, "
+                             + "CASE MOD(x, 3) WHEN 0 THEN 'PENDENTE' WHEN 1 THEN 'EM_EXECUCAO' ELSE 'CONCLUIDA' END, "
+                             + "CURRENT_DATE, CURRENT_DATE FROM SYSTEM_RANGE(1, ?)")) {
+            pstmt.setInt(1, project.getId());
+            pstmt.setInt(2, responsible.getId());
+            pstmt.setInt(3, count);
+            pstmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.service;
+
+import com.example.service.LoadCurve.Period;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Varredura do {@link LoadCurve}: os dias de início e fim contam como dias de carga.
+ */
+class LoadCurveTest {
+
+    @Test
+    void singleDayTaskLoadsOnlyThatDay() {
+        LoadCurve curve = sweep(new long[] {10}, new long[] {10});
+        assertEquals(0, curve.loadAt(9));
+        assertEquals(1, curve.loadAt(10));
+        assertEquals(0, curve.loadAt(11));
+        assertEquals(1, curve.peak());
+        assertEquals(List.of(new Period(10, 10, 1)), curve.periodsAbove(0));
+    }
+
+    @Test
+    void tasksStartingAndEndingOnTheSameDayOverlapThatDay() {
+        // A primeira termina no dia 5 e a segunda começa no dia 5: as duas contam no dia 5.
+        LoadCurve curve = sweep(new long[] {1, 5}, new long[] {5, 9});
+        assertEquals(1, curve.loadAt(4));
+        assertEquals(2, curve.loadAt(5));
+        assertEquals(1, curve.loadAt(6));
+        assertEquals(List.of(new Period(5, 5, 2)), curve.periodsAbove(1));
+    }
+
+    @Test
+    void taskStartingTheDayAfterAnotherEndsKeepsTheLoadFlat() {
+        LoadCurve curve = sweep(new long[] {1, 6}, new long[] {5, 9});
+        for (long day = 1; day <= 9; day++) {
+            assertEquals(1, curve.loadAt(day), "dia " + day);
+        }
+        assertEquals(0, curve.loadAt(10));
+        assertEquals(List.of(new Period(1, 9, 1)), curve.periodsAbove(0));
+    }
+
+    @Test
+    void identicalIntervalsStackUp() {
+        LoadCurve curve = sweep(new long[] {3, 3, 3}, new long[] {3, 3, 7});
+        assertEquals(3, curve.loadAt(3));
+        assertEquals(1, curve.loadAt(4));
+        assertEquals(3, curve.peakBetween(0, 3));
+        assertEquals(1, curve.peakBetween(4, 100));
+        assertEquals(List.of(new Period(3, 3, 3)), curve.periodsAbove(1));
+    }
+
+    @Test
+    void periodsAboveAreClippedToTheWindowByOverlap() {
+        LoadCurve curve = sweep(new long[] {1, 2, 20, 21}, new long[] {10, 10, 30, 30});
+        assertEquals(List.of(new Period(2, 10, 2), new Period(21, 30, 2)), curve.periodsAbove(1));
+        assertEquals(List.of(new Period(2, 10, 2)), curve.periodsAbove(1, 10, 20));
+        assertEquals(List.of(new Period(21, 30, 2)), curve.periodsAbove(1, 21, 21));
+        assertTrue(curve.periodsAbove(1, 11, 20).isEmpty());
+        assertTrue(curve.periodsAbove(2).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> curve.periodsAbove(-1));
+    }
+
+    @Test
+    void emptyCurveHasNoLoad() {
+        LoadCurve curve = sweep(new long[0], new long[0]);
+        assertEquals(0, curve.peak());
+        assertEquals(0, curve.loadAt(0));
+        assertTrue(curve.periodsAbove(0).isEmpty());
+    }
+
+    @Test
+    void matchesDayByDayCountingOnRandomIntervals() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int n = random.nextInt(40);
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = random.nextInt(60);
+                ends[i] = starts[i] + random.nextInt(random.nextBoolean() ? 2 : 15);
+            }
+            LoadCurve curve = sweep(starts, ends);
+            int peak = 0;
+            for (long day = -1; day <= 80; day++) {
+                int expected = 0;
+                for (int i = 0; i < n; i++) {
+                    if (starts[i] <= day && day <= ends[i]) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, curve.loadAt(day), "dia " + day);
+                peak = Math.max(peak, expected);
+            }
+            assertEquals(peak, curve.peak());
+        }
+    }
+
+    /** A varredura ordena os arrays no lugar: passa cópias. */
+    private static LoadCurve sweep(long[] starts, long[] ends) {
+        return LoadCurve.sweep(starts.clone(), ends.clone());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTest {
+
+    @Test
+    void locksAfterMaxFailuresIgnoringCase() {
+        LoginThrottle throttle = new LoginThrottle(100, 3, 300);
+        throttle.recordFailure("ana");
+        throttle.recordFailure("ANA");
+        assertEquals(0, throttle.secondsUntilAllowed("ana"));
+        throttle.recordFailure("Ana");
+        assertTrue(throttle.secondsUntilAllowed("ana") > 0);
+    }
+
+    @Test
+    void failuresOnOtherLoginsDoNotLockAUser() {
+        LoginThrottle throttle = new LoginThrottle(10_000, 5, 300);
+        for (int i = 0; i < 5 * 2048; i++) {
+            throttle.recordFailure("aleatorio" + i);
+        }
+        assertEquals(0, throttle.secondsUntilAllowed("ana"));
+    }
+
+    @Test
+    void successOnlyResetsItsOwnLogin() {
+        LoginThrottle throttle = new LoginThrottle(100, 2, 300);
+        throttle.recordFailure("vitima");
+        throttle.recordFailure("vitima");
+        throttle.recordFailure("atacante");
+        throttle.recordSuccess("atacante");
+        assertTrue(throttle.secondsUntilAllowed("vitima") > 0);
+        throttle.recordSuccess("vitima");
+        assertEquals(0, throttle.secondsUntilAllowed("vitima"));
+    }
+
+    @Test
+    void staysBoundedAndKeepsLockedLogins() {
+        LoginThrottle throttle = new LoginThrottle(50, 2, 300);
+        throttle.recordFailure("vitima");
+        throttle.recordFailure("vitima");
+        for (int i = 0; i < 1000; i++) {
+            throttle.recordFailure("aleatorio" + i);
+        }
+        assertTrue(throttle.size() <= 50);
+        assertTrue(throttle.secondsUntilAllowed("vitima") > 0);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.service;
+
+import com.example.model.ProjectProgress;
+import com.example.service.ProgressTrend.Velocity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cálculos do {@link ProgressTrend} sobre o histórico diário de um projeto.
+ */
+class ProgressTrendTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    @Test
+    void downsampleKeepsTheEndsAndNeverExceedsTheLimit() {
+        for (int size = 0; size <= 300; size++) {
+            List<ProjectProgress> history = days(size);
+            for (int maxPoints = 2; maxPoints <= 40; maxPoints++) {
+                List<ProjectProgress> points = ProgressTrend.downsample(history, maxPoints);
+                String context = size + " dias, " + maxPoints + " pontos";
+                assertTrue(points.size() <= maxPoints, context);
+                assertEquals(Math.min(size, 2), Math.min(points.size(), 2), context);
+                if (size > 0) {
+                    assertEquals(history.get(0), points.get(0), context);
+                    assertEquals(history.get(size - 1), points.get(points.size() - 1), context);
+                }
+                for (int i = 1; i < points.size(); i++) {
+                    assertTrue(points.get(i - 1).date().isBefore(points.get(i).date()), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    void downsampleUsesAFixedStepCountedFromTheLastDay() {
+        List<ProjectProgress> history = days(11);
+        assertEquals(List.of(history.get(0), history.get(2), history.get(6), history.get(10)),
+                ProgressTrend.downsample(history, 4));
+        assertSame(history, ProgressTrend.downsample(history, 11));
+        assertSame(history, ProgressTrend.downsample(history, 1));
+    }
+
+    @Test
+    void velocityIsTheCompletedBalancePerPeriod() {
+        List<ProjectProgress> history = List.of(
+                day(MONDAY, 10, 0),
+                day(MONDAY.plusDays(2), 8, 2),
+                day(MONDAY.plusDays(6), 7, 3),      // Domingo: ainda a primeira semana.
+                day(MONDAY.plusDays(8), 5, 5),
+                // Semana de 20/01 sem registros; uma tarefa reaberta.
+                day(MONDAY.plusDays(21), 6, 4),
+                day(LocalDate.of(2025, 2, 3), 0, 10));
+
+        assertEquals(List.of(
+                        new Velocity(MONDAY, 3),
+                        new Velocity(MONDAY.plusDays(7), 2),
+                        new Velocity(MONDAY.plusDays(21), -1),
+                        new Velocity(LocalDate.of(2025, 2, 3), 6)),
+                ProgressTrend.velocity(history, false));
+        assertEquals(List.of(new Velocity(LocalDate.of(2025, 1, 1), 4), new Velocity(LocalDate.of(2025, 2, 1), 6)),
+                ProgressTrend.velocity(history, true));
+        assertTrue(ProgressTrend.velocity(List.of(), false).isEmpty());
+    }
+
+    @Test
+    void forecastProjectsTheRateOfTheWindow() {
+        // Ritmo antigo de 1 tarefa a cada 10 dias; nos últimos 10 dias, 5 tarefas.
+        List<ProjectProgress> history = List.of(
+                day(MONDAY, 20, 0),
+                day(MONDAY.plusDays(10), 19, 1),
+                day(MONDAY.plusDays(20), 15, 5),
+                day(MONDAY.plusDays(30), 10, 10));
+
+        // Janela de 10 dias: 5 tarefas em 10 dias, faltam 10 → 20 dias.
+        assertEquals(MONDAY.plusDays(50), ProgressTrend.forecastFinish(history, 10));
+        // Janela de 30 dias: 10 tarefas em 30 dias, faltam 10 → 30 dias.
+        assertEquals(MONDAY.plusDays(60), ProgressTrend.forecastFinish(history, 30));
+        // A janela de 25 dias começa no dia 5 e parte do primeiro dia registrado nela (o dia 10):
+        // 9 tarefas em 20 dias, faltam 10 → 22,2 dias, arredondados para cima.
+        assertEquals(MONDAY.plusDays(30 + 23), ProgressTrend.forecastFinish(history, 25));
+        // Nenhum outro dia na janela de 1 dia.
+        assertNull(ProgressTrend.forecastFinish(history, 1));
+    }
+
+    @Test
+    void forecastEdgeCases() {
+        assertNull(ProgressTrend.forecastFinish(List.of(), 28));
+        assertNull(ProgressTrend.forecastFinish(List.of(day(MONDAY, 5, 0)), 28));
+        assertNull(ProgressTrend.forecastFinish(List.of(day(MONDAY, 5, 2), day(MONDAY.plusDays(7), 5, 2)), 28));
+        assertNull(ProgressTrend.forecastFinish(List.of(day(MONDAY, 4, 2), day(MONDAY.plusDays(7), 5, 1)), 28));
+        assertEquals(MONDAY.plusDays(7),
+                ProgressTrend.forecastFinish(List.of(day(MONDAY, 3, 2), day(MONDAY.plusDays(7), 0, 5)), 28));
+        // 1 tarefa em 3 dias, faltam 2 → 6 dias.
+        assertEquals(MONDAY.plusDays(3 + 6),
+                ProgressTrend.forecastFinish(List.of(day(MONDAY, 3, 0), day(MONDAY.plusDays(3), 2, 1)), 28));
+
+        List<ProjectProgress> history = List.of(day(MONDAY, 3, 0), day(MONDAY.plusDays(3), 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> ProgressTrend.forecastFinish(history, 0));
+        assertThrows(IllegalArgumentException.class, () -> ProgressTrend.forecastFinish(history, -7));
+    }
+
+    private static List<ProjectProgress> days(int count) {
+        List<ProjectProgress> history = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            history.add(day(MONDAY.plusDays(i), count - i, i));
+        }
+        return history;
+    }
+
+    /** Um dia com as tarefas restantes (todas pendentes) e as concluídas. */
+    private static ProjectProgress day(LocalDate date, int remaining, int completed) {
+        return new ProjectProgress(date, remaining, 0, completed, 0);
+    }
+}
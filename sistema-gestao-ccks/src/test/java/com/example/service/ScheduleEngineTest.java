@@ -0,0 +1,220 @@
+package com.example.service;
+
+import com.example.model.Task;
+import com.example.model.TaskDependency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Passagens para frente e para trás do {@link ScheduleEngine}, rejeição de ciclos e o
+ * recálculo incremental comparado a uma montagem completa.
+ */
+class ScheduleEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    // Losango: A (3 dias) → B (2) e C (5) → D (1). Todas planejadas para o início do projeto.
+    private static final int A = 1;
+    private static final int B = 2;
+    private static final int C = 3;
+    private static final int D = 4;
+
+    @Test
+    void forwardAndBackwardPasses() {
+        ScheduleEngine engine = diamond();
+
+        assertEquals(day(1), engine.earliestStart(A));
+        assertEquals(day(3), engine.earliestFinish(A));
+        assertEquals(day(4), engine.earliestStart(B));
+        assertEquals(day(5), engine.earliestFinish(B));
+        assertEquals(day(4), engine.earliestStart(C));
+        assertEquals(day(8), engine.earliestFinish(C));
+        assertEquals(day(9), engine.earliestStart(D));
+        assertEquals(day(9), engine.finish());
+
+        assertEquals(day(9), engine.latestFinish(D));
+        assertEquals(day(8), engine.latestFinish(C));
+        assertEquals(day(8), engine.latestFinish(B));
+        assertEquals(day(7), engine.latestStart(B));
+        assertEquals(day(3), engine.latestFinish(A));
+        assertEquals(day(1), engine.latestStart(A));
+
+        assertEquals(3, engine.slack(B));
+        assertEquals(0, engine.slack(C));
+        assertEquals(Set.of(A, C, D), engine.criticalTaskIds());
+        assertEquals(List.of(A, C, D), engine.criticalPath());
+        assertTrue(engine.isCritical(A));
+        assertFalse(engine.isCritical(B));
+    }
+
+    @Test
+    void plannedStartLaterThanPredecessorsIsKept() {
+        ScheduleEngine engine = diamond();
+        engine.putTask(5, day(20), day(21));
+        assertTrue(engine.addDependency(A, 5));
+
+        assertEquals(day(20), engine.earliestStart(5));
+        assertEquals(day(21), engine.finish());
+        // O novo término empurra o término mais tarde de todas as outras.
+        assertEquals(day(21), engine.latestFinish(D));
+        assertEquals(12, engine.slack(D));
+        assertEquals(12, engine.slack(A));
+        // A termina bem antes do início planejado de 5: o caminho crítico é só a tarefa 5.
+        assertEquals(Set.of(5), engine.criticalTaskIds());
+        assertEquals(List.of(5), engine.criticalPath());
+    }
+
+    @Test
+    void changesPropagateForwardAndBackward() {
+        ScheduleEngine engine = diamond();
+        // B passa a durar 10 dias: vira o caminho crítico e C ganha folga.
+        engine.putTask(B, START, day(10));
+        assertEquals(day(14), engine.earliestStart(D));
+        assertEquals(Set.of(A, B, D), engine.criticalTaskIds());
+        assertEquals(5, engine.slack(C));
+
+        assertTrue(engine.removeDependency(B, D));
+        assertEquals(day(9), engine.earliestStart(D));
+        assertEquals(day(13), engine.finish());
+
+        engine.removeTask(B);
+        assertFalse(engine.contains(B));
+        assertNull(engine.earliestStart(B));
+        assertEquals(3, engine.size());
+        assertEquals(day(9), engine.finish());
+        assertEquals(Set.of(A, C, D), engine.criticalTaskIds());
+    }
+
+    @Test
+    void dependencyClosingACycleIsRejected() {
+        ScheduleEngine engine = diamond();
+        LocalDate finish = engine.finish();
+
+        assertEquals(List.of(A, C, D), engine.findCycle(D, A));
+        assertFalse(engine.addDependency(D, A));
+        assertEquals(List.of(A), engine.findCycle(A, A));
+        assertFalse(engine.addDependency(A, A));
+        assertFalse(engine.addDependency(A, B), "dependência repetida");
+        assertFalse(engine.addDependency(A, 99), "tarefa desconhecida");
+        assertEquals(List.of(), engine.findCycle(A, D));
+        assertEquals(finish, engine.finish());
+        assertTopological(engine, Set.of(new TaskDependency(A, B), new TaskDependency(A, C),
+                new TaskDependency(B, D), new TaskDependency(C, D)));
+
+        // Uma dependência entre ramos paralelos não fecha ciclo e reordena as tarefas.
+        assertTrue(engine.addDependency(C, B));
+        assertEquals(List.of(), engine.findCycle(C, B));
+        assertEquals(List.of(C, B), engine.findCycle(B, C));
+        assertEquals(day(9), engine.earliestStart(B));
+        assertEquals(List.of(A, C, B, D), engine.topologicalOrder());
+    }
+
+    @Test
+    void buildRejectsDependenciesThatCloseACycle() {
+        List<Task> tasks = List.of(task(A, 0, 1), task(B, 0, 1), task(C, 0, 1), task(D, 0, 1));
+        // A → B → C → A é um ciclo; D depende de C.
+        List<TaskDependency> dependencies = List.of(new TaskDependency(A, B), new TaskDependency(B, C),
+                new TaskDependency(C, A), new TaskDependency(C, D), new TaskDependency(A, B));
+        ScheduleEngine engine = ScheduleEngine.build(START, tasks, dependencies);
+
+        assertEquals(1, engine.rejectedDependencies().size());
+        Set<TaskDependency> kept = new HashSet<>(dependencies);
+        kept.removeAll(engine.rejectedDependencies());
+        assertEquals(3, kept.size());
+        assertTopological(engine, kept);
+        // O que sobrou é uma cadeia de quatro tarefas de dois dias.
+        assertEquals(day(8), engine.finish());
+        assertEquals(Set.of(A, B, C, D), engine.criticalTaskIds());
+    }
+
+    @Test
+    void incrementalChangesMatchAFullBuild() {
+        Random random = new Random(11);
+        ScheduleEngine engine = new ScheduleEngine(START);
+        Map<Integer, Task> tasks = new HashMap<>();
+        Set<TaskDependency> dependencies = new HashSet<>();
+
+        for (int step = 0; step < 400; step++) {
+            int op = random.nextInt(10);
+            if (op < 3 || tasks.size() < 2) {
+                int id = 1 + random.nextInt(40);
+                Task task = random.nextInt(8) == 0 ? task(id, -1, -1) : task(id, random.nextInt(30), random.nextInt(6));
+                tasks.put(id, task);
+                engine.putTask(id, task.getPlannedStartDate(), task.getPlannedEndDate());
+            } else if (op < 8) {
+                List<Integer> ids = new ArrayList<>(tasks.keySet());
+                int u = ids.get(random.nextInt(ids.size()));
+                int v = ids.get(random.nextInt(ids.size()));
+                boolean closesCycle = !engine.findCycle(u, v).isEmpty();
+                boolean added = engine.addDependency(u, v);
+                assertEquals(!closesCycle && u != v && !dependencies.contains(new TaskDependency(u, v)), added);
+                if (added) {
+                    dependencies.add(new TaskDependency(u, v));
+                }
+            } else if (op < 9 && !dependencies.isEmpty()) {
+                TaskDependency dependency = new ArrayList<>(dependencies).get(random.nextInt(dependencies.size()));
+                assertTrue(engine.removeDependency(dependency.predecessorId(), dependency.successorId()));
+                dependencies.remove(dependency);
+            } else {
+                int id = new ArrayList<>(tasks.keySet()).get(random.nextInt(tasks.size()));
+                engine.removeTask(id);
+                tasks.remove(id);
+                dependencies.removeIf(d -> d.predecessorId() == id || d.successorId() == id);
+            }
+
+            ScheduleEngine expected = ScheduleEngine.build(START, tasks.values(), dependencies);
+            assertTrue(expected.rejectedDependencies().isEmpty());
+            assertEquals(expected.finish(), engine.finish(), "passo " + step);
+            for (int id : tasks.keySet()) {
+                assertEquals(expected.earliestStart(id), engine.earliestStart(id), "passo " + step + ", tarefa " + id);
+                assertEquals(expected.latestFinish(id), engine.latestFinish(id), "passo " + step + ", tarefa " + id);
+            }
+            assertTopological(engine, dependencies);
+        }
+    }
+
+    private static ScheduleEngine diamond() {
+        List<Task> tasks = List.of(task(A, 0, 2), task(B, 0, 1), task(C, 0, 4), task(D, 0, 0));
+        List<TaskDependency> dependencies = List.of(new TaskDependency(A, B), new TaskDependency(A, C),
+                new TaskDependency(B, D), new TaskDependency(C, D));
+        return ScheduleEngine.build(START, tasks, dependencies);
+    }
+
+    /** Tarefa que começa {@code offset} dias após o início do projeto e dura {@code extraDays} + 1 dias; sem datas se negativo. */
+    private static Task task(int id, int offset, int extraDays) {
+        Task task = new Task();
+        task.setId(id);
+        if (offset >= 0) {
+            task.setPlannedStartDate(START.plusDays(offset));
+            task.setPlannedEndDate(START.plusDays(offset + extraDays));
+        }
+        return task;
+    }
+
+    /** O dia do mês de janeiro de 2025. */
+    private static LocalDate day(int dayOfMonth) {
+        return START.plusDays(dayOfMonth - 1L);
+    }
+
+    private static void assertTopological(ScheduleEngine engine, Set<TaskDependency> dependencies) {
+        List<Integer> order = engine.topologicalOrder();
+        assertEquals(engine.size(), order.size());
+        for (TaskDependency dependency : dependencies) {
+            assertTrue(order.indexOf(dependency.predecessorId()) < order.indexOf(dependency.successorId()),
+                    dependency + " fora de ordem em " + order);
+        }
+    }
+}
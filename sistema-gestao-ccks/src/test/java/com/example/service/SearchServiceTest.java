@@ -0,0 +1,113 @@
+package com.example.service;
+
+import com.example.TestDatabase;
+import com.example.dao.ChangeEvent;
+import com.example.dao.DAOFactory;
+import com.example.dao.ProjectDAO;
+import com.example.dao.TaskDAO;
+import com.example.dao.UpdateResult;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O {@link SearchService} acompanha as gravações pelo ChangeFeed: cada busca vê as inclusões,
+ * alterações e exclusões feitas antes dela, e uma importação em massa recarrega o índice.
+ */
+class SearchServiceTest {
+
+    private final SearchService search = SearchService.get();
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        SearchService.start();
+        // O banco foi limpo sem eventos: descarta o que outro teste tenha carregado.
+        search.onChanges(List.of(
+                new ChangeEvent(ChangeEvent.Entity.TASK, 0, ChangeEvent.Kind.RELOAD),
+                new ChangeEvent(ChangeEvent.Entity.PROJECT, 0, ChangeEvent.Kind.RELOAD),
+                new ChangeEvent(ChangeEvent.Entity.USER, 0, ChangeEvent.Kind.RELOAD)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SearchService.stop();
+    }
+
+    @Test
+    void taskSearchCatchesUpWithInsertUpdateAndDelete() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Task first = task(alpha, ana, "Migração do banco");
+        assertEquals(List.of(first.getId()), searchTasks("migracao"));
+
+        Task second = task(alpha, ana, "Migrar relatórios");
+        assertEquals(List.of(first.getId(), second.getId()), searchTasks("migr"));
+
+        Task renamed = taskDAO.getTaskById(first.getId());
+        renamed.setTitle("Treinamento da equipe");
+        assertEquals(UpdateResult.UPDATED, taskDAO.updateTask(renamed));
+        assertEquals(List.of(second.getId()), searchTasks("migr"));
+        assertEquals(List.of(first.getId()), searchTasks("treinamento equipe"));
+
+        assertTrue(taskDAO.deleteTask(second.getId()));
+        assertTrue(searchTasks("migr").isEmpty());
+    }
+
+    @Test
+    void bulkImportReloadsTheIndex() throws IOException {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Task existing = task(alpha, ana, "Auditoria interna");
+        assertEquals(List.of(existing.getId()), searchTasks("auditoria"));
+
+        String csv = "title,project_id,status\n"
+                + "Auditoria externa," + alpha.getId() + ",PENDENTE\n"
+                + "Auditoria fiscal," + alpha.getId() + ",PENDENTE\n";
+        new BulkImportService().importFrom(new StringReader(csv), BulkImportService.Format.CSV,
+                BulkImportService.EntityType.TASKS, null);
+
+        assertEquals(3, searchTasks("auditoria").size());
+        assertEquals(1, searchTasks("auditoria fiscal").size());
+    }
+
+    @Test
+    void changesBeforeTheFirstSearchAreInTheLoad() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Project renamed = projectDAO.getProjectById(alpha.getId());
+        renamed.setName("Portal do cliente");
+        assertEquals(UpdateResult.UPDATED, projectDAO.updateProject(renamed));
+
+        assertEquals(List.of(alpha.getId()), search.search(ChangeEvent.Entity.PROJECT, "portal", 10));
+        assertTrue(search.search(ChangeEvent.Entity.PROJECT, "alpha", 10).isEmpty());
+        assertEquals(List.of(ana.getId()), search.search(ChangeEvent.Entity.USER, ana.getLogin(), 10));
+    }
+
+    private Task task(Project project, User responsible, String title) {
+        int id = TestDatabase.task(project, responsible, TaskStatus.PENDENTE, LocalDate.now().plusDays(5)).getId();
+        Task task = taskDAO.getTaskById(id);
+        task.setTitle(title);
+        assertEquals(UpdateResult.UPDATED, taskDAO.updateTask(task));
+        return task;
+    }
+
+    private List<Integer> searchTasks(String query) {
+        return search.search(ChangeEvent.Entity.TASK, query, 10);
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.service;
+
+import com.example.TestDatabase;
+import com.example.dao.ChangeEvent;
+import com.example.dao.ChangeFeed;
+import com.example.dao.DAOFactory;
+import com.example.dao.ProjectDAO;
+import com.example.dao.RollupDAO;
+import com.example.dao.RollupDAO.OverdueChange;
+import com.example.dao.RollupDAO.RollupResult;
+import com.example.dao.RollupDAO.StatusChange;
+import com.example.dao.TaskDAO;
+import com.example.dao.UpdateResult;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import com.example.util.DatabaseConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Consolidação do {@link StatusRollupJob} e gravações do {@link RollupDAO}: só o atraso
+ * desatualizado é revisto, em lotes, e nada é gravado sobre uma tarefa ou um projeto alterado
+ * desde a leitura.
+ */
+class StatusRollupJobTest {
+
+    private final StatusRollupJob job = new StatusRollupJob();
+    private final RollupDAO rollupDAO = new RollupDAO();
+    private final ProjectDAO projectDAO = DAOFactory.getProjectDAO();
+    private final TaskDAO taskDAO = DAOFactory.getTaskDAO();
+
+    private final List<ChangeEvent> published = new ArrayList<>();
+    private final ChangeFeed.Listener listener = published::addAll;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        ChangeFeed.subscribe(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ChangeFeed.unsubscribe(listener);
+    }
+
+    @Test
+    void rollUpFollowsTheTasks() {
+        // Sem tarefas, ou cancelado: não muda.
+        assertEquals(ProjectStatus.PLANEJADO, StatusRollupJob.rollUp(ProjectStatus.PLANEJADO, 0, 0, 0));
+        assertEquals(ProjectStatus.CONCLUIDO, StatusRollupJob.rollUp(ProjectStatus.CONCLUIDO, 0, 0, 0));
+        assertEquals(ProjectStatus.CANCELADO, StatusRollupJob.rollUp(ProjectStatus.CANCELADO, 3, 1, 2));
+        assertEquals(ProjectStatus.CANCELADO, StatusRollupJob.rollUp(ProjectStatus.CANCELADO, 2, 0, 2));
+        // Todas concluídas.
+        assertEquals(ProjectStatus.CONCLUIDO, StatusRollupJob.rollUp(ProjectStatus.PLANEJADO, 2, 0, 2));
+        assertEquals(ProjectStatus.CONCLUIDO, StatusRollupJob.rollUp(ProjectStatus.EM_ANDAMENTO, 2, 0, 2));
+        // Concluído com tarefas abertas volta a andar.
+        assertEquals(ProjectStatus.EM_ANDAMENTO, StatusRollupJob.rollUp(ProjectStatus.CONCLUIDO, 3, 0, 2));
+        // Planejado só começa com alguma tarefa iniciada ou concluída.
+        assertEquals(ProjectStatus.PLANEJADO, StatusRollupJob.rollUp(ProjectStatus.PLANEJADO, 3, 0, 0));
+        assertEquals(ProjectStatus.EM_ANDAMENTO, StatusRollupJob.rollUp(ProjectStatus.PLANEJADO, 3, 1, 0));
+        assertEquals(ProjectStatus.EM_ANDAMENTO, StatusRollupJob.rollUp(ProjectStatus.PLANEJADO, 3, 0, 1));
+        assertEquals(ProjectStatus.EM_ANDAMENTO, StatusRollupJob.rollUp(ProjectStatus.EM_ANDAMENTO, 3, 0, 0));
+    }
+
+    @Test
+    void runOnceRevisesOnlyStaleOverdueFlags() {
+        LocalDate today = LocalDate.now();
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Project beta = TestDatabase.project("Beta", ProjectStatus.EM_ANDAMENTO, ana);
+        Task dueTomorrow = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(1));
+        Task runningDue = TestDatabase.task(beta, ana, TaskStatus.EM_EXECUCAO, today.plusDays(2));
+        TestDatabase.task(beta, ana, TaskStatus.CONCLUIDA, today.minusDays(1));
+        TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(10));
+        TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.minusDays(3));
+        assertTrue(rollupDAO.findOverdueChanges(today).isEmpty());
+        job.runOnce(today);
+        published.clear();
+
+        // Cinco dias depois, duas tarefas abertas venceram.
+        LocalDate later = today.plusDays(5);
+        Set<OverdueChange> expected = Set.of(
+                new OverdueChange(dueTomorrow.getId(), alpha.getId(), true),
+                new OverdueChange(runningDue.getId(), beta.getId(), true));
+        assertEquals(expected, new HashSet<>(rollupDAO.findOverdueChanges(later)));
+
+        RollupResult result = job.runOnce(later);
+        assertNotNull(result);
+        assertEquals(2, result.overdueTasks());
+        assertTrue(taskDAO.getTaskById(dueTomorrow.getId()).isOverdue());
+        assertTrue(taskDAO.getTaskById(runningDue.getId()).isOverdue());
+        assertTrue(published.contains(taskUpdated(dueTomorrow.getId(), alpha.getId())));
+        assertTrue(published.contains(taskUpdated(runningDue.getId(), beta.getId())));
+
+        // Nada mais a rever.
+        assertTrue(rollupDAO.findOverdueChanges(later).isEmpty());
+        assertEquals(0, job.runOnce(later).overdueTasks());
+    }
+
+    @Test
+    void runOnceClearsOverdueOfCompletedAndPostponedTasks() throws SQLException {
+        LocalDate today = LocalDate.now();
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Task completed = TestDatabase.task(alpha, ana, TaskStatus.CONCLUIDA, today.minusDays(1));
+        Task postponed = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(3));
+        Task late = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.minusDays(3));
+        setOverdue(completed.getId(), true);
+        setOverdue(postponed.getId(), true);
+
+        assertEquals(Set.of(new OverdueChange(completed.getId(), alpha.getId(), false),
+                        new OverdueChange(postponed.getId(), alpha.getId(), false)),
+                new HashSet<>(rollupDAO.findOverdueChanges(today)));
+        assertEquals(2, job.runOnce(today).overdueTasks());
+        assertFalse(taskDAO.getTaskById(completed.getId()).isOverdue());
+        assertFalse(taskDAO.getTaskById(postponed.getId()).isOverdue());
+        assertTrue(taskDAO.getTaskById(late.getId()).isOverdue());
+    }
+
+    @Test
+    void overdueWritesAreBatched() {
+        LocalDate today = LocalDate.now();
+        LocalDate later = today.plusDays(30);
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            tasks.add(TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(i)));
+        }
+
+        // Lotes de 1, de 3 (o último incompleto) e um só lote com tudo.
+        for (int batchSize : new int[] {1, 3, 1000}) {
+            List<OverdueChange> changes = rollupDAO.findOverdueChanges(later);
+            assertEquals(tasks.size(), changes.size());
+            published.clear();
+            RollupResult result = rollupDAO.applyRollup(later, changes, Map.of(), List.of(), batchSize);
+            assertNotNull(result);
+            assertEquals(tasks.size(), result.overdueTasks());
+            assertEquals(tasks.size(), published.size());
+            for (Task task : tasks) {
+                assertTrue(taskDAO.getTaskById(task.getId()).isOverdue());
+            }
+
+            // E de volta, pelo caso inverso.
+            changes = rollupDAO.findOverdueChanges(today);
+            assertEquals(tasks.size(), changes.size());
+            assertEquals(tasks.size(), rollupDAO.applyRollup(today, changes, Map.of(), List.of(), batchSize).overdueTasks());
+            for (Task task : tasks) {
+                assertFalse(taskDAO.getTaskById(task.getId()).isOverdue());
+            }
+        }
+    }
+
+    @Test
+    void taskChangedAfterTheReadIsNotOverwritten() {
+        LocalDate today = LocalDate.now();
+        LocalDate later = today.plusDays(5);
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Task due = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(1));
+        Task finished = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, today.plusDays(2));
+
+        List<OverdueChange> changes = rollupDAO.findOverdueChanges(later);
+        assertEquals(2, changes.size());
+        // Concluída entre a leitura e a gravação: não pode ficar atrasada.
+        Task task = taskDAO.getTaskById(finished.getId());
+        task.setStatus(TaskStatus.CONCLUIDA);
+        assertEquals(UpdateResult.UPDATED, taskDAO.updateTask(task));
+        published.clear();
+
+        RollupResult result = rollupDAO.applyRollup(later, changes, Map.of(), List.of(), 10);
+        assertEquals(1, result.overdueTasks());
+        assertTrue(taskDAO.getTaskById(due.getId()).isOverdue());
+        assertFalse(taskDAO.getTaskById(finished.getId()).isOverdue());
+        assertEquals(List.of(taskUpdated(due.getId(), alpha.getId())), published);
+    }
+
+    @Test
+    void statusChangeNeedsTheVersionRead() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.PLANEJADO, ana);
+        Project read = projectDAO.getProjectById(alpha.getId());
+
+        // O projeto foi editado depois da leitura: a mudança de status é descartada.
+        Project edited = projectDAO.getProjectById(alpha.getId());
+        edited.setName("Alpha editado");
+        assertEquals(UpdateResult.UPDATED, projectDAO.updateProject(edited));
+        RollupResult result = rollupDAO.applyRollup(LocalDate.now(), List.of(), Map.of(),
+                List.of(new StatusChange(alpha.getId(), read.getVersion(), ProjectStatus.EM_ANDAMENTO)), 10);
+        assertEquals(0, result.statusChanges());
+        Project current = projectDAO.getProjectById(alpha.getId());
+        assertEquals(ProjectStatus.PLANEJADO, current.getStatus());
+        assertEquals("Alpha editado", current.getName());
+
+        // Com a versão atual, o status muda e a versão avança.
+        published.clear();
+        result = rollupDAO.applyRollup(LocalDate.now(), List.of(), Map.of(),
+                List.of(new StatusChange(alpha.getId(), current.getVersion(), ProjectStatus.EM_ANDAMENTO)), 10);
+        assertEquals(1, result.statusChanges());
+        Project updated = projectDAO.getProjectById(alpha.getId());
+        assertEquals(ProjectStatus.EM_ANDAMENTO, updated.getStatus());
+        assertEquals(current.getVersion() + 1, updated.getVersion());
+        assertEquals(List.of(new ChangeEvent(ChangeEvent.Entity.PROJECT, alpha.getId(), ChangeEvent.Kind.UPDATE)),
+                published);
+    }
+
+    @Test
+    void runForProjectsTouchesOnlyTheGivenProjects() {
+        LocalDate today = LocalDate.now();
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.PLANEJADO, ana);
+        Project beta = TestDatabase.project("Beta", ProjectStatus.PLANEJADO, ana);
+        Project empty = TestDatabase.project("Vazio", ProjectStatus.PLANEJADO, ana);
+        TestDatabase.task(alpha, ana, TaskStatus.CONCLUIDA, today);
+        TestDatabase.task(alpha, ana, TaskStatus.CONCLUIDA, today);
+        TestDatabase.task(beta, ana, TaskStatus.CONCLUIDA, today);
+        TestDatabase.task(beta, ana, TaskStatus.EM_EXECUCAO, today);
+        TestDatabase.task(beta, ana, TaskStatus.PENDENTE, today);
+
+        RollupResult result = job.runForProjects(List.of(alpha.getId(), empty.getId()));
+        assertEquals(new RollupResult(0, 1, 1), result);
+        assertEquals(ProjectStatus.CONCLUIDO, projectDAO.getProjectById(alpha.getId()).getStatus());
+        assertEquals(100, projectDAO.getProjectById(alpha.getId()).getCompletionPercent());
+        assertEquals(ProjectStatus.PLANEJADO, projectDAO.getProjectById(beta.getId()).getStatus());
+        assertEquals(0, projectDAO.getProjectById(beta.getId()).getCompletionPercent());
+        assertEquals(ProjectStatus.PLANEJADO, projectDAO.getProjectById(empty.getId()).getStatus());
+
+        // A execução completa alcança os demais.
+        result = job.runOnce(today);
+        assertEquals(new RollupResult(0, 1, 1), result);
+        assertEquals(ProjectStatus.EM_ANDAMENTO, projectDAO.getProjectById(beta.getId()).getStatus());
+        assertEquals(33, projectDAO.getProjectById(beta.getId()).getCompletionPercent());
+        assertEquals(new RollupResult(0, 0, 0), job.runOnce(today));
+    }
+
+    @Test
+    void changedProjectsStayMarkedUntilRolledUp() {
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.PLANEJADO, ana);
+        TestDatabase.task(alpha, ana, TaskStatus.EM_EXECUCAO, LocalDate.now());
+
+        job.projectsChanged(List.of(alpha.getId()));
+        job.runChangedProjects();
+        assertEquals(ProjectStatus.EM_ANDAMENTO, projectDAO.getProjectById(alpha.getId()).getStatus());
+
+        // Já reconsolidado: a próxima execução não tem o que fazer.
+        published.clear();
+        job.runChangedProjects();
+        assertTrue(published.isEmpty());
+    }
+
+    private static ChangeEvent taskUpdated(int taskId, int projectId) {
+        return new ChangeEvent(ChangeEvent.Entity.TASK, taskId, ChangeEvent.Kind.UPDATE, projectId);
+    }
+
+    private static void setOverdue(int taskId, boolean overdue) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("UPDATE tasks SET overdue = ? WHERE id = ?")) {
+            pstmt.setBoolean(1, overdue);
+            pstmt.setInt(2, taskId);
+            pstmt.executeUpdate();
+        }
+    }
+}
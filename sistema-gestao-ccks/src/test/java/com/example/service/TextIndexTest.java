@@ -0,0 +1,181 @@
+package com.example.service;
+
+import com.example.service.TextIndex.Hit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Busca do {@link TextIndex}: normalização dos termos, prefixos, todos os termos obrigatórios
+ * e ordem dos resultados.
+ */
+class TextIndexTest {
+
+    @Test
+    void accentsAndCaseAreFolded() {
+        assertEquals(List.of("acao", "implantacao", "sao", "paulo", "2024"),
+                TextIndex.tokenize("Ação de IMPLANTAÇÃO — São Paulo/2024"));
+
+        TextIndex index = new TextIndex(1f);
+        index.put(1, "Plano de Ação");
+        index.put(2, "acao corretiva");
+        assertEquals(List.of(1, 2), ids(index.search("AÇÃO", 10)));
+        assertEquals(List.of(1, 2), ids(index.search("acao", 10)));
+    }
+
+    @Test
+    void stopWordsAreNotIndexedNorSearched() {
+        assertTrue(TextIndex.tokenize("de para com os").isEmpty());
+        assertTrue(TextIndex.tokenize(null).isEmpty());
+
+        TextIndex index = new TextIndex(1f);
+        index.put(1, "Manual do usuário");
+        assertTrue(index.search("do", 10).isEmpty());
+        // A palavra comum na consulta é ignorada, não exigida.
+        assertEquals(List.of(1), ids(index.search("manual do", 10)));
+    }
+
+    @Test
+    void oneLetterTermsOnlyMatchTheExactWord() {
+        TextIndex index = new TextIndex(1f);
+        index.put(1, "Vitamina C");
+        index.put(2, "Cadastro de clientes");
+        index.put(3, "Linguagem C e compiladores");
+
+        assertEquals(List.of(1, 3), ids(index.search("c", 10)));
+        assertEquals(List.of(2), ids(index.search("ca", 10)));
+    }
+
+    @Test
+    void termsMatchByPrefixAndAllAreRequired() {
+        TextIndex index = new TextIndex(1f);
+        index.put(1, "Implantação do sistema financeiro");
+        index.put(2, "Implementar relatório financeiro");
+        index.put(3, "Sistema de estoque");
+
+        assertEquals(List.of(1, 2), ids(index.search("impl", 10)));
+        assertEquals(List.of(1), ids(index.search("impl sist", 10)));
+        assertEquals(List.of(1, 3), ids(index.search("sistema", 10)));
+        assertTrue(index.search("sistema relatório", 10).isEmpty());
+        assertTrue(index.search("inexistente", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("sistema", 0).isEmpty());
+    }
+
+    @Test
+    void commonTermsAreCheckedInTheCandidatesOfTheRareOne() {
+        // Com muitos documentos no termo comum, ele é conferido documento a documento; com
+        // poucos, a lista dele é cruzada com os candidatos. O resultado deve ser o mesmo.
+        TextIndex index = new TextIndex(3f, 1f);
+        for (int id = 1; id <= 100; id++) {
+            index.put(id, "Relatório " + id, id % 2 == 0 ? "projeto financeiro" : "projeto");
+        }
+        index.put(200, "Relatório raro", "projeto financeiro");
+
+        assertEquals(List.of(new Hit(200, 6f + 2f)), index.search("raro projeto", 10));
+        assertEquals(List.of(new Hit(200, 6f + 1f)), index.search("raro proj", 10));
+        assertEquals(List.of(new Hit(200, 6f + 2f + 2f)), index.search("financeiro raro projeto", 10));
+        assertEquals(51, index.search("financeiro projeto relatorio", 100).size());
+        assertTrue(index.search("raro inexistente", 10).isEmpty());
+    }
+
+    @Test
+    void rankingWeighsFieldsExactWordsAndBreaksTiesById() {
+        TextIndex index = new TextIndex(3f, 1f);
+        index.put(4, "Outro assunto", "Revisar o contrato");
+        index.put(2, "Contrato de manutenção", null);
+        index.put(3, "Contratação", null);
+        index.put(1, "Revisão", "contrato anual");
+
+        // Título (3) × exato (2) = 6; descrição (1) × exato = 2, empatados pelo ID.
+        assertEquals(List.of(new Hit(2, 6f), new Hit(1, 2f), new Hit(4, 2f)), index.search("contrato", 10));
+        // Só por prefixo: título = 3, descrição = 1.
+        assertEquals(List.of(new Hit(2, 3f), new Hit(3, 3f), new Hit(1, 1f), new Hit(4, 1f)), index.search("contrat", 10));
+        assertEquals(List.of(2, 3), ids(index.search("contrat", 2)));
+
+        // Termos repetidos contam uma vez; um termo presente nos dois campos soma os pesos.
+        index.put(5, "Contrato", "contrato");
+        assertEquals(new Hit(5, 8f), index.search("contrato contrato", 1).get(0));
+    }
+
+    @Test
+    void putReplacesAndRemoveForgetsTheDocument() {
+        TextIndex index = new TextIndex(1f);
+        index.put(1, "Migração do banco");
+        index.put(1, "Treinamento da equipe");
+        assertEquals(1, index.size());
+        assertTrue(index.search("migracao", 10).isEmpty());
+        assertEquals(List.of(1), ids(index.search("trein", 10)));
+
+        index.remove(1);
+        index.remove(42);
+        assertEquals(0, index.size());
+        assertTrue(index.search("treinamento", 10).isEmpty());
+
+        index.put(2, "Backup");
+        index.clear();
+        assertEquals(0, index.size());
+        assertThrows(IllegalArgumentException.class, () -> index.put(3, "a", "b"));
+    }
+
+    /**
+     * Buscas de uso comum (um prefixo e uma palavra) em 1 milhão de documentos devem levar menos
+     * de 10 ms em média. Lento; roda só com -Dgestao.test.scale=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "gestao.test.scale", matches = "true")
+    void searchStaysFastWithAMillionDocuments() {
+        int documents = 1_000_000;
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 20_000);
+        TextIndex index = new TextIndex(3f, 1f);
+        for (int id = 1; id <= documents; id++) {
+            index.put(id,
+                    vocabulary[random.nextInt(vocabulary.length)] + " " + vocabulary[random.nextInt(vocabulary.length)],
+                    vocabulary[random.nextInt(vocabulary.length)] + " " + vocabulary[random.nextInt(vocabulary.length)]
+                            + " " + vocabulary[random.nextInt(200)]);
+        }
+
+        String[] queries = new String[200];
+        for (int i = 0; i < queries.length; i++) {
+            String word = vocabulary[random.nextInt(vocabulary.length)];
+            queries[i] = word.substring(0, 3) + " " + vocabulary[random.nextInt(200)];
+        }
+        for (String query : queries) {
+            index.search(query, 50); // Aquecimento do JIT.
+        }
+        long start = System.nanoTime();
+        for (String query : queries) {
+            index.search(query, 50);
+        }
+        double averageMillis = (System.nanoTime() - start) / 1e6 / queries.length;
+
+        System.out.printf("TextIndex com %d documentos: %.2f ms por busca%n", documents, averageMillis);
+        assertEquals(documents, index.size());
+        assertTrue(averageMillis < 10, "média de " + averageMillis + " ms por busca");
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] syllables = {"ba", "ce", "di", "fo", "gu", "la", "me", "ni", "po", "ru", "sa", "te", "vi", "xo", "za"};
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 3 + random.nextInt(3);
+            for (int s = 0; s < length; s++) {
+                word.append(syllables[random.nextInt(syllables.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static List<Integer> ids(List<Hit> hits) {
+        return hits.stream().map(Hit::id).toList();
+    }
+}
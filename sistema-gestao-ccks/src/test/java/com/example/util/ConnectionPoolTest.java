@@ -0,0 +1,203 @@
+package com.example.util;
+
+import com.example.TestDatabase;
+import com.example.model.Project;
+import com.example.model.ProjectStatus;
+import com.example.model.Task;
+import com.example.model.TaskStatus;
+import com.example.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cache de PreparedStatements do {@link ConnectionPool}: o mesmo SQL na mesma conexão física
+ * reaproveita o mesmo comando, e os comandos são fechados quando a conexão é descartada.
+ */
+class ConnectionPoolTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sameSqlReusesThePreparedStatement() throws SQLException {
+        pool = memoryPool(4);
+        PreparedStatement first;
+        try (Connection conn = pool.borrow()) {
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1")) {
+                first = physical(pstmt);
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1")) {
+                assertSame(first, physical(pstmt));
+            }
+        }
+        // A conexão física volta ao pool com o cache: o próximo empréstimo também o aproveita.
+        try (Connection conn = pool.borrow();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT 1")) {
+            assertSame(first, physical(pstmt));
+        }
+
+        ConnectionPool.PoolStats stats = pool.stats();
+        assertEquals(2, stats.statementCacheHits());
+        assertEquals(1, stats.statementCacheMisses());
+        assertFalse(first.isClosed());
+    }
+
+    @Test
+    void statementInUseIsNotHandedOutTwice() throws SQLException {
+        pool = memoryPool(4);
+        try (Connection conn = pool.borrow();
+             PreparedStatement a = conn.prepareStatement("SELECT 1");
+             PreparedStatement b = conn.prepareStatement("SELECT 1")) {
+            assertNotSame(physical(a), physical(b));
+        }
+    }
+
+    @Test
+    void closedHandleCannotUseTheCachedStatement() throws SQLException {
+        pool = memoryPool(4);
+        try (Connection conn = pool.borrow()) {
+            PreparedStatement pstmt = conn.prepareStatement("SELECT 1");
+            pstmt.close();
+            assertTrue(pstmt.isClosed());
+            assertThrows(SQLException.class, pstmt::executeQuery);
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsClosedOnEviction() throws SQLException {
+        pool = memoryPool(1);
+        try (Connection conn = pool.borrow()) {
+            PreparedStatement evicted;
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1")) {
+                evicted = physical(pstmt);
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT 2")) {
+                assertTrue(evicted.isClosed());
+                assertFalse(physical(pstmt).isClosed());
+            }
+        }
+    }
+
+    @Test
+    void statementsAreClosedWhenTheConnectionIsDiscarded() throws SQLException {
+        pool = memoryPool(4);
+        Connection idle = pool.borrow();
+        Connection borrowed = pool.borrow();
+        PreparedStatement idleStatement;
+        PreparedStatement borrowedStatement;
+        try (PreparedStatement a = idle.prepareStatement("SELECT 1");
+             PreparedStatement b = borrowed.prepareStatement("SELECT 1")) {
+            idleStatement = physical(a);
+            borrowedStatement = physical(b);
+        }
+        idle.close();
+
+        // A conexão ociosa é fechada no shutdown; a emprestada, ao ser devolvida depois dele.
+        pool.shutdown();
+        assertTrue(idleStatement.isClosed());
+        assertFalse(borrowedStatement.isClosed());
+        borrowed.close();
+        assertTrue(borrowedStatement.isClosed());
+    }
+
+    @Test
+    void disabledCacheHandsOutPlainStatements() throws SQLException {
+        pool = memoryPool(0);
+        try (Connection conn = pool.borrow()) {
+            PreparedStatement first;
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1")) {
+                first = physical(pstmt);
+            }
+            assertTrue(first.isClosed());
+        }
+        assertEquals(0, pool.stats().statementCacheHits() + pool.stats().statementCacheMisses());
+    }
+
+    /**
+     * Vazão do UPDATE de tarefas (o mesmo SQL de JdbcTaskDAO.updateTask), com e sem o cache de
+     * comandos, emprestando uma conexão por gravação como os DAOs. Lento; roda só com
+     * -Dgestao.test.scale=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "gestao.test.scale", matches = "true")
+    void updateTaskThroughputWithAndWithoutCache() throws SQLException {
+        TestDatabase.reset();
+        User ana = TestDatabase.user("Ana");
+        Project alpha = TestDatabase.project("Alpha", ProjectStatus.EM_ANDAMENTO, ana);
+        Task task = TestDatabase.task(alpha, ana, TaskStatus.PENDENTE, LocalDate.now().plusDays(5));
+        SqlDialect dialect = DatabaseConnection.getDialect();
+        int updates = 20_000;
+
+        int version = task.getVersion();
+        for (int cacheSize : new int[] {0, 64, 0, 64}) {
+            ConnectionPool measured = new ConnectionPool(dialect.jdbcUrl(), dialect.user(), dialect.password(),
+                    1, 1, 60_000, 10_000, 0, cacheSize);
+            try {
+                long start = System.nanoTime();
+                for (int i = 0; i < updates; i++) {
+                    updateTask(measured, task, version++);
+                }
+                long nanos = System.nanoTime() - start;
+                System.out.printf("updateTask, cache de comandos %d: %.0f gravações/s (acertos %d)%n",
+                        cacheSize, updates * 1e9 / nanos, measured.stats().statementCacheHits());
+            } finally {
+                measured.shutdown();
+            }
+        }
+    }
+
+    private static void updateTask(ConnectionPool measured, Task task, int version) throws SQLException {
+        String sql = "UPDATE tasks SET title = ?, description = ?, project_id = ?, responsible_id = ?, status = ?, "
+                + "planned_start_date = ?, planned_end_date = ?, actual_start_date = ?, actual_end_date = ?, overdue = ?, "
+                + "version = version + 1 WHERE id = ? AND version = ?";
+        try (Connection conn = measured.borrow();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, task.getTitle());
+            pstmt.setString(2, task.getDescription());
+            pstmt.setInt(3, task.getProjectId());
+            pstmt.setInt(4, task.getResponsibleId());
+            pstmt.setString(5, task.getStatus().name());
+            pstmt.setDate(6, Date.valueOf(task.getPlannedStartDate()));
+            pstmt.setDate(7, Date.valueOf(task.getPlannedEndDate()));
+            pstmt.setDate(8, null);
+            pstmt.setDate(9, null);
+            pstmt.setBoolean(10, false);
+            pstmt.setInt(11, task.getId());
+            pstmt.setInt(12, version);
+            assertEquals(1, pstmt.executeUpdate());
+        }
+    }
+
+    private static ConnectionPool memoryPool(int statementCacheSize) {
+        String url = "jdbc:h2:mem:pool" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        return new ConnectionPool(url, "sa", "", 0, 2, 60_000, 1_000, 0, statementCacheSize);
+    }
+
+    /** O comando físico por trás do handle entregue pelo pool. */
+    private static PreparedStatement physical(PreparedStatement handle) throws SQLException {
+        return handle.unwrap(PreparedStatement.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.util;
+
+import com.example.util.SchemaMigrator.MigrationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migrações do {@link SchemaMigrator} em um banco H2 novo (fora do banco dos outros testes):
+ * caminho lento, caminho rápido, checksums e erros do index.txt. As migrações de teste ficam em
+ * src/test/resources/db/migration-tests.
+ */
+class SchemaMigratorTest {
+
+    private static final String TESTS = "/db/migration-tests/";
+
+    @TempDir
+    Path directory;
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        H2Dialect dialect = new H2Dialect(directory.resolve("migrator").toString());
+        conn = DriverManager.getConnection(dialect.jdbcUrl(), dialect.user(), dialect.password());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void freshDatabaseReachesTheLatestVersion() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+        List<SchemaMigrator.Migration> available = migrator.loadMigrations();
+
+        assertEquals(available.size(), migrator.migrate(conn));
+        assertEquals(available.get(available.size() - 1).version(), queryInt("SELECT MAX(version) FROM schema_history"));
+        assertEquals(available.size(), queryInt("SELECT COUNT(*) FROM schema_history"));
+        // As tabelas das várias versões existem.
+        assertEquals(0, queryInt("SELECT COUNT(*) FROM tasks"));
+        assertEquals(0, queryInt("SELECT COUNT(*) FROM change_log"));
+    }
+
+    @Test
+    void upToDateDatabaseTakesTheFastPathWithoutWrites() throws SQLException {
+        assertEquals(2, new SchemaMigrator(TESTS + "applied").migrate(conn));
+
+        List<String> executed = new ArrayList<>();
+        assertEquals(0, new SchemaMigrator(TESTS + "applied").migrate(recording(conn, executed)));
+        assertEquals(List.of("SELECT MAX(version) FROM schema_history"), executed);
+    }
+
+    @Test
+    void editedMigrationIsRejected() throws SQLException {
+        assertEquals(2, new SchemaMigrator(TESTS + "applied").migrate(conn));
+
+        MigrationException e = assertThrows(MigrationException.class,
+                () -> new SchemaMigrator(TESTS + "edited").migrate(conn));
+        assertTrue(e.getMessage().contains("V1"), e.getMessage());
+        // A V3 não foi aplicada.
+        assertEquals(2, queryInt("SELECT MAX(version) FROM schema_history"));
+    }
+
+    @Test
+    void indexOutOfOrderOrWithMissingScriptIsRejectedBeforeAnyWrite() throws SQLException {
+        MigrationException outOfOrder = assertThrows(MigrationException.class,
+                () -> new SchemaMigrator(TESTS + "out-of-order").migrate(conn));
+        assertTrue(outOfOrder.getMessage().contains("ordem crescente"), outOfOrder.getMessage());
+
+        MigrationException missing = assertThrows(MigrationException.class,
+                () -> new SchemaMigrator(TESTS + "missing").migrate(conn));
+        assertTrue(missing.getMessage().contains("V2__nao_existe.sql"), missing.getMessage());
+
+        assertEquals(0, queryInt("SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) "
+                + "IN ('schema_history', 'clientes')"));
+        // Sem index.txt, não há migrações.
+        assertEquals(0, new SchemaMigrator(TESTS + "inexistente").migrate(conn));
+    }
+
+    @Test
+    void splitIgnoresSemicolonsInQuotesBackticksAndComments() {
+        assertEquals(List.of("CREATE TABLE a (x INT)", "INSERT INTO a VALUES (1)"),
+                SchemaMigrator.splitStatements("CREATE TABLE a (x INT);\nINSERT INTO a VALUES (1);\n"));
+
+        assertEquals(List.of("INSERT INTO t VALUES ('a;b', 'it''s; ok', \"d;q\", 'barra\\';x')", "SELECT 2"),
+                SchemaMigrator.splitStatements("INSERT INTO t VALUES ('a;b', 'it''s; ok', \"d;q\", 'barra\\';x'); SELECT 2"));
+
+        assertEquals(List.of("CREATE TABLE `es;tranha` (`c;1` INT)"),
+                SchemaMigrator.splitStatements("CREATE TABLE `es;tranha` (`c;1` INT);"));
+
+        assertEquals(List.of("SELECT 1", "SELECT 2", "SELECT '--;'"),
+                SchemaMigrator.splitStatements("-- comentário; com ponto e vírgula\nSELECT 1; /* bloco; */ SELECT 2;\n"
+                        + "SELECT '--;' -- fim"));
+
+        assertTrue(SchemaMigrator.splitStatements(" ;; -- só comentário\n /* ; */ ").isEmpty());
+    }
+
+    /** Uma conexão que anota o SQL executado pelos Statements criados a partir dela. */
+    private static Connection recording(Connection target, List<String> executed) {
+        return (Connection) Proxy.newProxyInstance(SchemaMigratorTest.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (method.getName().startsWith("prepare")) {
+                        executed.add((String) args[0]);
+                    }
+                    if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                        return Proxy.newProxyInstance(SchemaMigratorTest.class.getClassLoader(),
+                                new Class<?>[] {Statement.class}, (p, m, a) -> {
+                                    if (m.getName().startsWith("execute") && a != null && a[0] instanceof String sql) {
+                                        executed.add(sql);
+                                    }
+                                    return invoke(statement, m, a);
+                                });
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private int queryInt(String sql) throws SQLException {
+        return queryInts(sql).get(0);
+    }
+
+    private List<Integer> queryInts(String sql) throws SQLException {
+        List<Integer> values = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getInt(1));
+            }
+        }
+        return values;
+    }
+}
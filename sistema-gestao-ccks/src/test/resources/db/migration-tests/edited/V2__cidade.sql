@@ -0,0 +1 @@
+ALTER TABLE clientes ADD COLUMN cidade VARCHAR(100);
@@ -0,0 +1 @@
+ALTER TABLE clientes ADD COLUMN email VARCHAR(100);
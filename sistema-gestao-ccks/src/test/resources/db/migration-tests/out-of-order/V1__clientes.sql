@@ -0,0 +1 @@
+CREATE TABLE clientes (id INT PRIMARY KEY, nome VARCHAR(100) NOT NULL);